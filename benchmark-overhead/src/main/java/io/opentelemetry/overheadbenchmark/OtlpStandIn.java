@@ -0,0 +1,144 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.overheadbenchmark;
+
+import io.grpc.HandlerRegistry;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.Status;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stands in for an OTLP collector: accepts every gRPC call, i.e. the trace and metric exports of
+ * the agent, counts the requests and their bytes and responds with an empty message, which is a
+ * valid response to all OTLP export calls. Neither the OTLP protos nor a Docker image are needed.
+ */
+final class OtlpStandIn {
+
+  private static final byte[] EMPTY_RESPONSE = new byte[0];
+
+  private static final MethodDescriptor.Marshaller<Long> REQUEST_SIZE =
+      new MethodDescriptor.Marshaller<Long>() {
+        @Override
+        public InputStream stream(Long value) {
+          throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Long parse(InputStream stream) {
+          byte[] buffer = new byte[8192];
+          long size = 0;
+          try {
+            for (int read = stream.read(buffer); read != -1; read = stream.read(buffer)) {
+              size += read;
+            }
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          return size;
+        }
+      };
+
+  private static final MethodDescriptor.Marshaller<byte[]> RESPONSE =
+      new MethodDescriptor.Marshaller<byte[]>() {
+        @Override
+        public InputStream stream(byte[] value) {
+          return new ByteArrayInputStream(value);
+        }
+
+        @Override
+        public byte[] parse(InputStream stream) {
+          throw new UnsupportedOperationException();
+        }
+      };
+
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder bytes = new LongAdder();
+  private final ConcurrentHashMap<String, ServerMethodDefinition<?, ?>> methods =
+      new ConcurrentHashMap<>();
+  private final Server server;
+
+  private OtlpStandIn() throws IOException {
+    server = ServerBuilder.forPort(0).fallbackHandlerRegistry(new AnyMethod()).build().start();
+  }
+
+  static OtlpStandIn start() throws IOException {
+    return new OtlpStandIn();
+  }
+
+  String endpoint() {
+    return "http://localhost:" + server.getPort();
+  }
+
+  /** Returns the number of export requests since the last {@link #reset()}. */
+  long requests() {
+    return requests.sum();
+  }
+
+  /** Returns the number of bytes of all export requests since the last {@link #reset()}. */
+  long bytes() {
+    return bytes.sum();
+  }
+
+  void reset() {
+    requests.reset();
+    bytes.reset();
+  }
+
+  void stop() throws InterruptedException {
+    server.shutdownNow().awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  private ServerMethodDefinition<?, ?> newMethod(String fullMethodName) {
+    MethodDescriptor<Long, byte[]> method =
+        MethodDescriptor.<Long, byte[]>newBuilder()
+            .setType(MethodDescriptor.MethodType.UNARY)
+            .setFullMethodName(fullMethodName)
+            .setRequestMarshaller(REQUEST_SIZE)
+            .setResponseMarshaller(RESPONSE)
+            .build();
+    return ServerMethodDefinition.create(method, new CountingHandler());
+  }
+
+  private final class AnyMethod extends HandlerRegistry {
+    @Override
+    public ServerMethodDefinition<?, ?> lookupMethod(String methodName, String authority) {
+      return methods.computeIfAbsent(methodName, OtlpStandIn.this::newMethod);
+    }
+  }
+
+  private final class CountingHandler implements ServerCallHandler<Long, byte[]> {
+    @Override
+    public ServerCall.Listener<Long> startCall(ServerCall<Long, byte[]> call, Metadata headers) {
+      call.request(1);
+      return new ServerCall.Listener<Long>() {
+        @Override
+        public void onMessage(Long size) {
+          requests.increment();
+          bytes.add(size);
+        }
+
+        @Override
+        public void onHalfClose() {
+          call.sendHeaders(new Metadata());
+          call.sendMessage(EMPTY_RESPONSE);
+          call.close(Status.OK, new Metadata());
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.overheadbenchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Measures the overhead of the agent on the {@link Workload}: runs it alternately without and with
+ * the agent, each time in a fresh JVM, and writes the median of every metric and the difference
+ * between both configurations to a JSON report. The agent exports to an in-process {@link
+ * OtlpStandIn}, so that the export is part of the measured overhead.
+ */
+@Command(mixinStandardHelpOptions = true, description = "Measures the overhead of the agent")
+public class OverheadBenchmark implements Callable<Integer> {
+
+  private static final String[] METRICS = {
+    Workload.STARTUP_MILLIS,
+    Workload.THROUGHPUT,
+    Workload.P50_LATENCY_MICROS,
+    Workload.P99_LATENCY_MICROS,
+    Workload.ALLOCATION_RATE,
+    Workload.ALLOCATED_BYTES_PER_REQUEST,
+    Workload.RSS_BYTES,
+    Workload.ERRORS
+  };
+
+  private static final String EXPORT_REQUESTS = "exportRequests";
+  private static final String EXPORT_BYTES = "exportBytes";
+
+  @Option(names = "--agent", required = true, description = "Path to the agent jar")
+  private File agent;
+
+  @Option(
+      names = "--output",
+      defaultValue = "overhead.json",
+      description = "File to write the report to")
+  private Path output;
+
+  @Option(names = "--runs", defaultValue = "3", description = "Number of runs per configuration")
+  private int runs;
+
+  @Option(names = "--threads", defaultValue = "8", description = "Number of client threads")
+  private int threads;
+
+  @Option(names = "--warmup", defaultValue = "20", description = "Warmup time, in seconds")
+  private int warmupSeconds;
+
+  @Option(names = "--duration", defaultValue = "60", description = "Measured time, in seconds")
+  private int durationSeconds;
+
+  @Option(names = "--heap", defaultValue = "512m", description = "Heap size of the workload")
+  private String heap;
+
+  @Override
+  public Integer call() throws Exception {
+    if (runs < 1) {
+      System.err.println("At least one run is needed");
+      return 1;
+    }
+    if (!agent.isFile()) {
+      System.err.println("Agent jar not found: " + agent);
+      return 1;
+    }
+    Path outputDirectory = output.toAbsolutePath().getParent();
+    Files.createDirectories(outputDirectory);
+
+    OtlpStandIn standIn = OtlpStandIn.start();
+    List<Map<String, Double>> withoutAgent = new ArrayList<>();
+    List<Map<String, Double>> withAgent = new ArrayList<>();
+    try {
+      // alternating the configurations spreads any drift of the machine over both of them
+      for (int run = 1; run <= runs; run++) {
+        System.out.println("Run " + run + "/" + runs + " without the agent");
+        withoutAgent.add(runWorkload(outputDirectory, "no-agent-" + run, null));
+
+        System.out.println("Run " + run + "/" + runs + " with the agent");
+        standIn.reset();
+        Map<String, Double> results = runWorkload(outputDirectory, "agent-" + run, standIn);
+        results.put(EXPORT_REQUESTS, (double) standIn.requests());
+        results.put(EXPORT_BYTES, (double) standIn.bytes());
+        withAgent.add(results);
+      }
+    } finally {
+      standIn.stop();
+    }
+
+    try (Writer writer = Files.newBufferedWriter(output, UTF_8)) {
+      writer.write(report(withoutAgent, withAgent));
+    }
+    System.out.println("Report written to " + output);
+    return 0;
+  }
+
+  public static void main(String[] args) {
+    int exitCode = new CommandLine(new OverheadBenchmark()).execute(args);
+    System.exit(exitCode);
+  }
+
+  private Map<String, Double> runWorkload(Path directory, String name, OtlpStandIn standIn)
+      throws IOException, InterruptedException {
+    Path result = directory.resolve(name + ".properties");
+    Path log = directory.resolve(name + ".log");
+
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.add("-Xms" + heap);
+    command.add("-Xmx" + heap);
+    if (standIn != null) {
+      command.add("-javaagent:" + agent.getAbsolutePath());
+      command.add("-Dotel.exporter.otlp.endpoint=" + standIn.endpoint());
+    }
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(Workload.class.getName());
+    command.add("--threads=" + threads);
+    command.add("--warmup=" + warmupSeconds);
+    command.add("--duration=" + durationSeconds);
+    command.add("--result=" + result);
+
+    Process process =
+        new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+    int exitCode = process.waitFor();
+    if (exitCode != 0) {
+      throw new IllegalStateException(
+          "Workload " + name + " failed with exit code " + exitCode + ", see " + log);
+    }
+
+    Properties properties = new Properties();
+    try (InputStream in = Files.newInputStream(result)) {
+      properties.load(in);
+    }
+    Map<String, Double> results = new LinkedHashMap<>();
+    for (String metric : METRICS) {
+      String value = properties.getProperty(metric);
+      results.put(metric, value == null ? Double.NaN : Double.parseDouble(value));
+    }
+    return results;
+  }
+
+  private String report(
+      List<Map<String, Double>> withoutAgent, List<Map<String, Double>> withAgent) {
+    Map<String, Double> withoutAgentMedians = medians(withoutAgent);
+    Map<String, Double> withAgentMedians = medians(withAgent);
+
+    StringBuilder json = new StringBuilder("{\n  \"workload\": ");
+    Map<String, Object> workload = new LinkedHashMap<>();
+    workload.put("threads", threads);
+    workload.put("warmupSeconds", warmupSeconds);
+    workload.put("durationSeconds", durationSeconds);
+    workload.put("runs", runs);
+    workload.put("heap", heap);
+    workload.put("javaVersion", System.getProperty("java.version"));
+    appendObject(json, workload);
+    json.append(",\n");
+    appendConfiguration(json, "withoutAgent", withoutAgent, withoutAgentMedians);
+    json.append(",\n");
+    appendConfiguration(json, "withAgent", withAgent, withAgentMedians);
+    json.append(",\n  \"overhead\": {");
+    for (int i = 0; i < METRICS.length; i++) {
+      String metric = METRICS[i];
+      double baseline = withoutAgentMedians.get(metric);
+      double difference = withAgentMedians.get(metric) - baseline;
+      Map<String, Object> overhead = new LinkedHashMap<>();
+      overhead.put("absolute", difference);
+      overhead.put("relativePercent", baseline == 0 ? Double.NaN : 100 * difference / baseline);
+      json.append(i == 0 ? "\n    \"" : ",\n    \"").append(metric).append("\": ");
+      appendObject(json, overhead);
+    }
+    json.append("\n  }\n}\n");
+    return json.toString();
+  }
+
+  private static void appendConfiguration(
+      StringBuilder json,
+      String name,
+      List<Map<String, Double>> runs,
+      Map<String, Double> medians) {
+    json.append("  \"").append(name).append("\": {\n    \"runs\": [");
+    for (int i = 0; i < runs.size(); i++) {
+      json.append(i == 0 ? "\n      " : ",\n      ");
+      appendObject(json, runs.get(i));
+    }
+    json.append("\n    ],\n    \"median\": ");
+    appendObject(json, medians);
+    json.append("\n  }");
+  }
+
+  // values are numbers, written as null if they are NaN, or strings without characters to escape
+  private static void appendObject(StringBuilder json, Map<String, ?> values) {
+    json.append('{');
+    boolean first = true;
+    for (Map.Entry<String, ?> entry : values.entrySet()) {
+      json.append(first ? "\"" : ", \"").append(entry.getKey()).append("\": ");
+      Object value = entry.getValue();
+      if (value instanceof Number) {
+        json.append(number(((Number) value).doubleValue()));
+      } else {
+        json.append('"').append(value).append('"');
+      }
+      first = false;
+    }
+    json.append('}');
+  }
+
+  private static Map<String, Double> medians(List<Map<String, Double>> runs) {
+    Map<String, Double> medians = new LinkedHashMap<>();
+    for (String metric : runs.get(0).keySet()) {
+      double[] values = new double[runs.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = runs.get(i).get(metric);
+      }
+      Arrays.sort(values);
+      int middle = values.length / 2;
+      medians.put(
+          metric,
+          values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2);
+    }
+    return medians;
+  }
+
+  // JSON has no representation of NaN, e.g. of a metric that isn't available on this platform
+  private static String number(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return "null";
+    }
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return String.valueOf((long) value);
+    }
+    return String.valueOf(value);
+  }
+}
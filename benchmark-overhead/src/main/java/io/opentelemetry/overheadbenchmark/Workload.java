@@ -0,0 +1,484 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.overheadbenchmark;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.h2.jdbcx.JdbcConnectionPool;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * The application whose overhead is measured, run by {@link OverheadBenchmark} in a JVM of its
+ * own. A request to {@code /order} queries an in-memory H2 database, fans out more queries to a
+ * thread pool and calls {@code /inventory} on the same server with {@link HttpURLConnection}, i.e.
+ * it goes through the servlet, JDBC, executor and HTTP client instrumentation of the agent.
+ *
+ * <p>The load is generated by closed-loop client threads in the same JVM. They talk HTTP over
+ * plain sockets, so that the agent doesn't trace them.
+ */
+@Command(mixinStandardHelpOptions = true, description = "Runs the workload of the benchmark")
+public class Workload implements Callable<Integer> {
+
+  static final String STARTUP_MILLIS = "startupMillis";
+  static final String THROUGHPUT = "throughput";
+  static final String P50_LATENCY_MICROS = "p50LatencyMicros";
+  static final String P99_LATENCY_MICROS = "p99LatencyMicros";
+  static final String ALLOCATION_RATE = "allocatedBytesPerSecond";
+  static final String ALLOCATED_BYTES_PER_REQUEST = "allocatedBytesPerRequest";
+  static final String RSS_BYTES = "rssBytes";
+  static final String ERRORS = "errors";
+
+  private static final int CUSTOMERS = 1000;
+  private static final int PRODUCTS = 100;
+  private static final int FAN_OUT = 3;
+
+  @Option(names = "--threads", defaultValue = "8", description = "Number of client threads")
+  private int threads;
+
+  @Option(names = "--warmup", defaultValue = "20", description = "Warmup time, in seconds")
+  private int warmupSeconds;
+
+  @Option(names = "--duration", defaultValue = "60", description = "Measured time, in seconds")
+  private int durationSeconds;
+
+  @Option(names = "--result", required = true, description = "File to write the results to")
+  private Path result;
+
+  @Override
+  public Integer call() throws Exception {
+    JdbcConnectionPool dataSource =
+        JdbcConnectionPool.create("jdbc:h2:mem:overhead;DB_CLOSE_DELAY=-1", "sa", "");
+    createDatabase(dataSource);
+    ExecutorService executor = Executors.newFixedThreadPool(FAN_OUT * threads);
+
+    Server server = new Server(new InetSocketAddress("localhost", 0));
+    ServletContextHandler context = new ServletContextHandler();
+    server.setHandler(context);
+    server.start();
+    int port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+    context.addServlet(
+        new ServletHolder(new OrderServlet(dataSource, executor, port)), "/order");
+    context.addServlet(new ServletHolder(new InventoryServlet(dataSource)), "/inventory");
+
+    try (HttpConnection connection = new HttpConnection(port)) {
+      if (connection.get("/order?id=1") != 200) {
+        throw new IllegalStateException("The workload doesn't respond");
+      }
+    }
+    // from the start of the JVM, including the premain of the agent, up to the first response
+    long startupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+    long now = System.nanoTime();
+    long measurementStart = now + TimeUnit.SECONDS.toNanos(warmupSeconds);
+    long measurementEnd = measurementStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+    List<Client> clients = new ArrayList<>();
+    List<Thread> clientThreads = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      Client client = new Client(port, i, measurementStart, measurementEnd);
+      clients.add(client);
+      clientThreads.add(new Thread(client, "client-" + i));
+    }
+    clientThreads.forEach(Thread::start);
+
+    sleepUntil(measurementStart);
+    long allocatedAtStart = allocatedBytes();
+    sleepUntil(measurementEnd);
+    long allocatedAtEnd = allocatedBytes();
+    long rssBytes = rssBytes();
+    for (Thread thread : clientThreads) {
+      thread.join();
+    }
+
+    server.stop();
+    executor.shutdown();
+    dataSource.dispose();
+
+    long requests = 0;
+    long errors = 0;
+    for (Client client : clients) {
+      requests += client.requests;
+      errors += client.errors;
+    }
+    long[] latencies = new long[(int) requests];
+    int offset = 0;
+    for (Client client : clients) {
+      System.arraycopy(client.latencies, 0, latencies, offset, client.requests);
+      offset += client.requests;
+    }
+    Arrays.sort(latencies);
+
+    Properties properties = new Properties();
+    properties.setProperty(STARTUP_MILLIS, String.valueOf(startupMillis));
+    properties.setProperty(THROUGHPUT, String.valueOf(requests / (double) durationSeconds));
+    properties.setProperty(P50_LATENCY_MICROS, String.valueOf(percentile(latencies, 0.50)));
+    properties.setProperty(P99_LATENCY_MICROS, String.valueOf(percentile(latencies, 0.99)));
+    if (allocatedAtStart >= 0 && requests > 0) {
+      long allocated = allocatedAtEnd - allocatedAtStart;
+      properties.setProperty(ALLOCATION_RATE, String.valueOf(allocated / (double) durationSeconds));
+      properties.setProperty(
+          ALLOCATED_BYTES_PER_REQUEST, String.valueOf(allocated / (double) requests));
+    }
+    if (rssBytes >= 0) {
+      properties.setProperty(RSS_BYTES, String.valueOf(rssBytes));
+    }
+    properties.setProperty(ERRORS, String.valueOf(errors));
+    try (OutputStream out = Files.newOutputStream(result)) {
+      properties.store(out, null);
+    }
+    return 0;
+  }
+
+  public static void main(String[] args) {
+    int exitCode = new CommandLine(new Workload()).execute(args);
+    System.exit(exitCode);
+  }
+
+  private static void sleepUntil(long nanoTime) throws InterruptedException {
+    long millis = TimeUnit.NANOSECONDS.toMillis(nanoTime - System.nanoTime());
+    if (millis > 0) {
+      Thread.sleep(millis);
+    }
+  }
+
+  private static void createDatabase(DataSource dataSource) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE customers (id INT PRIMARY KEY, name VARCHAR(64))");
+      statement.execute(
+          "CREATE TABLE order_lines (order_id INT, line INT, product_id INT, quantity INT,"
+              + " PRIMARY KEY (order_id, line))");
+      statement.execute("CREATE TABLE inventory (product_id INT PRIMARY KEY, stock INT)");
+      for (int id = 0; id < CUSTOMERS; id++) {
+        statement.execute("INSERT INTO customers VALUES (" + id + ", 'customer " + id + "')");
+        for (int line = 0; line < FAN_OUT; line++) {
+          int product = (id + line) % PRODUCTS;
+          statement.execute(
+              String.format(
+                  "INSERT INTO order_lines VALUES (%d, %d, %d, %d)", id, line, product, line + 1));
+        }
+      }
+      for (int product = 0; product < PRODUCTS; product++) {
+        statement.execute("INSERT INTO inventory VALUES (" + product + ", " + product * 10 + ")");
+      }
+    }
+  }
+
+  private static String query(DataSource dataSource, String sql, int... params)
+      throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(sql)) {
+      for (int i = 0; i < params.length; i++) {
+        statement.setInt(i + 1, params[i]);
+      }
+      try (ResultSet resultSet = statement.executeQuery()) {
+        return resultSet.next() ? resultSet.getString(1) : null;
+      }
+    }
+  }
+
+  private static long percentile(long[] sortedLatencies, double percentile) {
+    if (sortedLatencies.length == 0) {
+      return -1;
+    }
+    int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+    return TimeUnit.NANOSECONDS.toMicros(sortedLatencies[Math.max(index, 0)]);
+  }
+
+  // only counts the threads that are still alive, which are all threads of the workload as long as
+  // its pools don't shrink
+  private static long allocatedBytes() {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+      return -1;
+    }
+    com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+    if (!allocationBean.isThreadAllocatedMemorySupported()
+        || !allocationBean.isThreadAllocatedMemoryEnabled()) {
+      return -1;
+    }
+    long allocated = 0;
+    for (long bytes : allocationBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+      if (bytes > 0) {
+        allocated += bytes;
+      }
+    }
+    return allocated;
+  }
+
+  // the resident set size is only available on linux
+  private static long rssBytes() {
+    Path status = Paths.get("/proc/self/status");
+    if (!Files.isReadable(status)) {
+      return -1;
+    }
+    try {
+      for (String line : Files.readAllLines(status, US_ASCII)) {
+        // e.g. "VmRSS:	  123456 kB"
+        if (line.startsWith("VmRSS:")) {
+          String kilobytes = line.substring("VmRSS:".length()).replace("kB", "").trim();
+          return Long.parseLong(kilobytes) * 1024;
+        }
+      }
+    } catch (IOException | NumberFormatException ignored) {
+      // not available
+    }
+    return -1;
+  }
+
+  private static final class OrderServlet extends HttpServlet {
+    private final DataSource dataSource;
+    private final ExecutorService executor;
+    private final int port;
+
+    private OrderServlet(DataSource dataSource, ExecutorService executor, int port) {
+      this.dataSource = dataSource;
+      this.executor = executor;
+      this.port = port;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp)
+        throws ServletException, IOException {
+      int id = Integer.parseInt(req.getParameter("id"));
+      try {
+        String customer = query(dataSource, "SELECT name FROM customers WHERE id = ?", id);
+
+        List<Future<String>> productIds = new ArrayList<>();
+        for (int line = 0; line < FAN_OUT; line++) {
+          int orderLine = line;
+          productIds.add(
+              executor.submit(
+                  () ->
+                      query(
+                          dataSource,
+                          "SELECT product_id FROM order_lines WHERE order_id = ? AND line = ?",
+                          id,
+                          orderLine)));
+        }
+        StringBuilder stock = new StringBuilder();
+        for (Future<String> productId : productIds) {
+          stock.append(' ').append(fetchStock(productId.get()));
+        }
+
+        writeResponse(resp, customer + ":" + stock);
+      } catch (Exception e) {
+        throw new ServletException(e);
+      }
+    }
+
+    private String fetchStock(String productId) throws IOException {
+      URL url = new URL("http://localhost:" + port + "/inventory?product=" + productId);
+      HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+      try (InputStream in = connection.getInputStream()) {
+        return new String(readFully(in), UTF_8);
+      }
+    }
+  }
+
+  private static final class InventoryServlet extends HttpServlet {
+    private final DataSource dataSource;
+
+    private InventoryServlet(DataSource dataSource) {
+      this.dataSource = dataSource;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp)
+        throws ServletException, IOException {
+      int product = Integer.parseInt(req.getParameter("product"));
+      try {
+        writeResponse(
+            resp, query(dataSource, "SELECT stock FROM inventory WHERE product_id = ?", product));
+      } catch (SQLException e) {
+        throw new ServletException(e);
+      }
+    }
+  }
+
+  private static void writeResponse(HttpServletResponse resp, String body) throws IOException {
+    byte[] bytes = body.getBytes(UTF_8);
+    resp.setContentType("text/plain;charset=utf-8");
+    resp.setContentLength(bytes.length);
+    resp.getOutputStream().write(bytes);
+  }
+
+  private static byte[] readFully(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+
+  /** Sends requests one after the other and records the latencies in the measured time. */
+  private static final class Client implements Runnable {
+    private final int port;
+    private final int index;
+    private final long measurementStart;
+    private final long measurementEnd;
+
+    private long[] latencies = new long[1024];
+    private int requests;
+    private long errors;
+
+    private Client(int port, int index, long measurementStart, long measurementEnd) {
+      this.port = port;
+      this.index = index;
+      this.measurementStart = measurementStart;
+      this.measurementEnd = measurementEnd;
+    }
+
+    @Override
+    public void run() {
+      HttpConnection connection = null;
+      int id = index;
+      for (long start = System.nanoTime(); start < measurementEnd; start = System.nanoTime()) {
+        id = (id + 1) % CUSTOMERS;
+        boolean ok;
+        try {
+          if (connection == null) {
+            connection = new HttpConnection(port);
+          }
+          ok = connection.get("/order?id=" + id) == 200;
+        } catch (IOException e) {
+          ok = false;
+          close(connection);
+          connection = null;
+        }
+        long end = System.nanoTime();
+        if (start >= measurementStart && end <= measurementEnd) {
+          if (ok) {
+            record(end - start);
+          } else {
+            errors++;
+          }
+        }
+      }
+      close(connection);
+    }
+
+    private void record(long latency) {
+      if (requests == latencies.length) {
+        latencies = Arrays.copyOf(latencies, requests * 2);
+      }
+      latencies[requests++] = latency;
+    }
+
+    private static void close(Closeable closeable) {
+      try {
+        if (closeable != null) {
+          closeable.close();
+        }
+      } catch (IOException ignored) {
+        // the connection is not used anymore
+      }
+    }
+  }
+
+  /** A minimal HTTP/1.1 client with a persistent connection, which is not traced by the agent. */
+  private static final class HttpConnection implements Closeable {
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+
+    private HttpConnection(int port) throws IOException {
+      socket = new Socket("localhost", port);
+      socket.setTcpNoDelay(true);
+      in = new BufferedInputStream(socket.getInputStream());
+      out = socket.getOutputStream();
+    }
+
+    /** Sends a GET request, reads the whole response and returns its status code. */
+    private int get(String path) throws IOException {
+      out.write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(US_ASCII));
+      out.flush();
+
+      // e.g. "HTTP/1.1 200 OK"
+      String statusLine = readLine();
+      if (statusLine.length() < 12) {
+        throw new IOException("Invalid status line: " + statusLine);
+      }
+      int status = Integer.parseInt(statusLine.substring(9, 12));
+      long contentLength = -1;
+      for (String header = readLine(); !header.isEmpty(); header = readLine()) {
+        if (header.regionMatches(true, 0, "Content-Length:", 0, "Content-Length:".length())) {
+          contentLength = Long.parseLong(header.substring("Content-Length:".length()).trim());
+        }
+      }
+      if (contentLength < 0) {
+        throw new IOException("Response without Content-Length");
+      }
+      while (contentLength > 0) {
+        long skipped = in.skip(contentLength);
+        if (skipped <= 0) {
+          throw new IOException("Connection closed");
+        }
+        contentLength -= skipped;
+      }
+      return status;
+    }
+
+    private String readLine() throws IOException {
+      StringBuilder line = new StringBuilder();
+      for (int c = in.read(); c != '\n'; c = in.read()) {
+        if (c == -1) {
+          throw new IOException("Connection closed");
+        }
+        if (c != '\r') {
+          line.append((char) c);
+        }
+      }
+      return line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+      socket.close();
+    }
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import io.opentelemetry.instrumentation.awssdk.v2_2.AwsSdkTracing;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+
+/**
+ * Runs DynamoDB calls against a stub {@link SdkHttpClient} that answers in-process with canned
+ * responses, without tracing, with a sampled span and with an unsampled span. The score is the
+ * cost of the client itself plus the interceptor, which reads the request and response fields into
+ * attributes, e.g. the consumed capacity, only for sampled spans.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Thread)
+public class AwsSdkBenchmark {
+
+  private static final String TARGET_HEADER = "X-Amz-Target";
+
+  private static final Map<String, byte[]> RESPONSES = new HashMap<>();
+
+  static {
+    RESPONSES.put(
+        "DynamoDB_20120810.PutItem",
+        ("{\"ConsumedCapacity\":{\"TableName\":\"benchmark\",\"CapacityUnits\":1.0},"
+                + "\"ItemCollectionMetrics\":{\"ItemCollectionKey\":{\"id\":{\"S\":\"1\"}},"
+                + "\"SizeEstimateRangeGB\":[0.0,1.0]}}")
+            .getBytes(UTF_8));
+    RESPONSES.put(
+        "DynamoDB_20120810.Query",
+        ("{\"ConsumedCapacity\":{\"TableName\":\"benchmark\",\"CapacityUnits\":0.5},"
+                + "\"Count\":1,\"ScannedCount\":1,"
+                + "\"Items\":[{\"id\":{\"S\":\"1\"},\"value\":{\"S\":\"value\"}}]}")
+            .getBytes(UTF_8));
+  }
+
+  @Param({"none", "sampled", "unsampled"})
+  public String tracing;
+
+  private DynamoDbClient client;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    DynamoDbClientBuilder builder =
+        DynamoDbClient.builder()
+            .httpClient(new StubHttpClient())
+            .endpointOverride(URI.create("http://localhost:8000"))
+            .region(Region.US_EAST_1)
+            .credentialsProvider(
+                StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret")));
+    if (!tracing.equals("none")) {
+      Sampler sampler = tracing.equals("sampled") ? Sampler.alwaysOn() : Sampler.alwaysOff();
+      AwsSdkTracing awsSdkTracing =
+          AwsSdkTracing.newBuilder(
+                  OpenTelemetrySdk.builder()
+                      .setTracerProvider(SdkTracerProvider.builder().setSampler(sampler).build())
+                      .build())
+              .setCaptureExperimentalSpanAttributes(true)
+              .build();
+      builder.overrideConfiguration(
+          ClientOverrideConfiguration.builder()
+              .addExecutionInterceptor(awsSdkTracing.newExecutionInterceptor())
+              .build());
+    }
+    client = builder.build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    client.close();
+  }
+
+  @Benchmark
+  public PutItemResponse putItem() {
+    Map<String, AttributeValue> item = new HashMap<>();
+    item.put("id", AttributeValue.builder().s("1").build());
+    item.put("value", AttributeValue.builder().s("value").build());
+    return client.putItem(
+        request ->
+            request
+                .tableName("benchmark")
+                .item(item)
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL));
+  }
+
+  @Benchmark
+  public QueryResponse query() {
+    return client.query(
+        request ->
+            request
+                .tableName("benchmark")
+                .keyConditionExpression("id = :id")
+                .expressionAttributeValues(
+                    Collections.singletonMap(":id", AttributeValue.builder().s("1").build()))
+                .projectionExpression("id, value")
+                .consistentRead(true)
+                .limit(10)
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL));
+  }
+
+  private static final class StubHttpClient implements SdkHttpClient {
+
+    @Override
+    public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+      byte[] body =
+          RESPONSES.get(request.httpRequest().firstMatchingHeader(TARGET_HEADER).orElse(""));
+      return new ExecutableHttpRequest() {
+        @Override
+        public HttpExecuteResponse call() {
+          return HttpExecuteResponse.builder()
+              .response(
+                  SdkHttpResponse.builder()
+                      .statusCode(200)
+                      .putHeader("Content-Type", "application/x-amz-json-1.0")
+                      .putHeader("Content-Length", String.valueOf(body.length))
+                      .putHeader("x-amzn-RequestId", "benchmark")
+                      .build())
+              .responseBody(AbortableInputStream.create(new ByteArrayInputStream(body)))
+              .build();
+        }
+
+        @Override
+        public void abort() {}
+      };
+    }
+
+    @Override
+    public void close() {}
+  }
+}
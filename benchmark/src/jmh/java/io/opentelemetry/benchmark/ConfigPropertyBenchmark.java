@@ -0,0 +1,47 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.instrumentation.api.config.ConfigProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares checking an instrumentation flag through {@link Config}, as done for every request by
+ * some instrumentations, with reading a {@link ConfigProperty} resolved once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(
+    value = 3,
+    jvmArgsAppend = "-Dotel.instrumentation.benchmark.experimental-span-attributes=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+public class ConfigPropertyBenchmark {
+
+  private static final String NAME = "otel.instrumentation.benchmark.experimental-span-attributes";
+
+  private static final ConfigProperty<Boolean> PROPERTY =
+      ConfigProperty.booleanProperty(NAME, false);
+
+  @Benchmark
+  public boolean config() {
+    return Config.get().getBooleanProperty(NAME, false);
+  }
+
+  @Benchmark
+  public boolean configProperty() {
+    return PROPERTY.get();
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.Executor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the context store used by the executor instrumentation, once for a task class that had
+ * a context field injected and once for a task class that is excluded from transformation and
+ * therefore falls back to the weak map.
+ *
+ * <p>Each operation submits a new task twice to an instrumented executor that drops its tasks: the
+ * first submission stores the task state ({@code putIfAbsent}), the second one finds it ({@code
+ * get}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(
+    value = 3,
+    jvmArgsAppend = {
+      "-javaagent:/path/to/opentelemetry-java-instrumentation"
+          + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+      "-Dotel.traces.exporter=none",
+      "-Dotel.metrics.exporter=none",
+      "-Dotel.instrumentation.executors.include="
+          + "io.opentelemetry.benchmark.ContextStoreBenchmark$DroppingExecutor",
+      "-Dotel.javaagent.exclude-classes=io.opentelemetry.benchmark.ContextStoreBenchmark$MapTask"
+    })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@Threads(1)
+public class ContextStoreBenchmark {
+
+  private static final ContextKey<String> KEY = ContextKey.named("benchmark");
+
+  private static final Executor executor = new DroppingExecutor();
+
+  @State(org.openjdk.jmh.annotations.Scope.Thread)
+  public static class CurrentContext {
+    private Scope scope;
+
+    @Setup(Level.Trial)
+    public void makeCurrent() {
+      // the executor instrumentation doesn't propagate the root context
+      scope = Context.root().with(KEY, "value").makeCurrent();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+      scope.close();
+    }
+  }
+
+  @Benchmark
+  public Runnable fieldBacked(CurrentContext context) {
+    Runnable task = new FieldTask();
+    executor.execute(task);
+    executor.execute(task);
+    return task;
+  }
+
+  @Benchmark
+  public Runnable mapBacked(CurrentContext context) {
+    Runnable task = new MapTask();
+    executor.execute(task);
+    executor.execute(task);
+    return task;
+  }
+
+  @Threads(8)
+  public static class Threads8 extends ContextStoreBenchmark {}
+
+  @Threads(16)
+  public static class Threads16 extends ContextStoreBenchmark {}
+
+  @Threads(64)
+  public static class Threads64 extends ContextStoreBenchmark {}
+
+  public static class DroppingExecutor implements Executor {
+    @Override
+    public void execute(Runnable command) {}
+  }
+
+  public static class FieldTask implements Runnable {
+    @Override
+    public void run() {}
+  }
+
+  public static class MapTask implements Runnable {
+    @Override
+    public void run() {}
+  }
+}
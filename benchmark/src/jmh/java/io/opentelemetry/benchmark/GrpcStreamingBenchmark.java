@@ -0,0 +1,208 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.opentelemetry.instrumentation.grpc.v1_5.GrpcMessageEvents;
+import io.opentelemetry.instrumentation.grpc.v1_5.GrpcTracing;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanLimits;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sends messages on a single long-lived bidirectional stream over the in-process transport, with
+ * every {@link GrpcMessageEvents} strategy and without tracing. Everything runs on the benchmark
+ * thread, so the score is the cost of a message through both the client and the server
+ * interceptor.
+ *
+ * <p>The stream lives for a whole iteration, like a stream that lives for hours. The {@code gc}
+ * profiler configured in {@code benchmark.gradle} reports the allocations per message, and the
+ * {@link UsedMemoryProfiler} the heap in use at the end of the iteration, i.e. what the spans of
+ * the still open stream retain. With {@code eventLimit} set to the SDK default of 128 the SDK drops
+ * the events beyond the limit, with the higher limit it keeps all of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@State(Scope.Thread)
+public class GrpcStreamingBenchmark {
+
+  private static final MethodDescriptor<Message, Message> METHOD =
+      MethodDescriptor.<Message, Message>newBuilder()
+          .setType(MethodDescriptor.MethodType.BIDI_STREAMING)
+          .setFullMethodName("benchmark.Streaming/Stream")
+          .setRequestMarshaller(Message.MARSHALLER)
+          .setResponseMarshaller(Message.MARSHALLER)
+          .build();
+
+  private static final Message MESSAGE = new Message(new byte[64]);
+
+  @Param({"none", "all", "capped", "sampled", "aggregated"})
+  public String strategy;
+
+  @Param({"128", "100000000"})
+  public int eventLimit;
+
+  private Server server;
+  private ManagedChannel channel;
+  private ClientCall<Message, Message> call;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    ServerServiceDefinition service =
+        ServerServiceDefinition.builder("benchmark.Streaming")
+            .addMethod(METHOD, new DiscardingHandler())
+            .build();
+    InProcessServerBuilder serverBuilder =
+        InProcessServerBuilder.forName("streaming-benchmark").directExecutor();
+    InProcessChannelBuilder channelBuilder =
+        InProcessChannelBuilder.forName("streaming-benchmark").directExecutor();
+
+    if (strategy.equals("none")) {
+      serverBuilder.addService(service);
+    } else {
+      GrpcTracing tracing =
+          GrpcTracing.newBuilder(
+                  OpenTelemetrySdk.builder()
+                      .setTracerProvider(
+                          SdkTracerProvider.builder()
+                              .setSpanLimits(
+                                  SpanLimits.builder().setMaxNumberOfEvents(eventLimit).build())
+                              .build())
+                      .build())
+              .setMessageEvents(messageEvents())
+              .build();
+      serverBuilder.addService(
+          ServerInterceptors.intercept(service, tracing.newServerInterceptor()));
+      channelBuilder.intercept(tracing.newClientInterceptor());
+    }
+
+    server = serverBuilder.build().start();
+    channel = channelBuilder.build();
+  }
+
+  private GrpcMessageEvents messageEvents() {
+    switch (strategy) {
+      case "capped":
+        return GrpcMessageEvents.capped(128);
+      case "sampled":
+        return GrpcMessageEvents.sampled(100);
+      case "aggregated":
+        return GrpcMessageEvents.aggregated();
+      default:
+        return GrpcMessageEvents.all();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    channel.shutdownNow();
+    server.shutdownNow();
+  }
+
+  @Setup(Level.Iteration)
+  public void openStream() {
+    call = channel.newCall(METHOD, CallOptions.DEFAULT);
+    call.start(new ClientCall.Listener<Message>() {}, new Metadata());
+  }
+
+  @TearDown(Level.Iteration)
+  public void closeStream() {
+    call.halfClose();
+  }
+
+  @Benchmark
+  public void sendMessage() {
+    call.sendMessage(MESSAGE);
+  }
+
+  /** Receives all messages of a stream without responding, and ends it once the client is done. */
+  private static class DiscardingHandler implements ServerCallHandler<Message, Message> {
+    @Override
+    public ServerCall.Listener<Message> startCall(
+        ServerCall<Message, Message> call, Metadata headers) {
+      call.request(Integer.MAX_VALUE);
+      return new ServerCall.Listener<Message>() {
+        @Override
+        public void onHalfClose() {
+          call.sendHeaders(new Metadata());
+          call.close(Status.OK, new Metadata());
+        }
+      };
+    }
+  }
+
+  /**
+   * A message that knows its serialized size like protobuf messages do, so that the aggregated
+   * strategy adds up the bytes.
+   */
+  public static final class Message {
+    static final MethodDescriptor.Marshaller<Message> MARSHALLER =
+        new MethodDescriptor.Marshaller<Message>() {
+          @Override
+          public InputStream stream(Message value) {
+            return new ByteArrayInputStream(value.bytes);
+          }
+
+          @Override
+          public Message parse(InputStream stream) {
+            try {
+              byte[] bytes = new byte[stream.available()];
+              int read = 0;
+              while (read < bytes.length) {
+                read += stream.read(bytes, read, bytes.length - read);
+              }
+              return new Message(bytes);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          }
+        };
+
+    private final byte[] bytes;
+
+    Message(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    public int getSerializedSize() {
+      return bytes.length;
+    }
+  }
+}
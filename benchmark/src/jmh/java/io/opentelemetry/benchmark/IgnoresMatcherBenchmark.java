@@ -0,0 +1,127 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.NameMatchers.nameMatches;
+import static io.opentelemetry.javaagent.tooling.matcher.GlobalIgnoresMatcher.globalIgnoresMatcher;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
+import static net.bytebuddy.matcher.ElementMatchers.none;
+
+import io.opentelemetry.javaagent.spi.IgnoreMatcherProvider;
+import io.opentelemetry.javaagent.tooling.bytebuddy.matcher.NameTrie;
+import java.util.Arrays;
+import java.util.List;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Replays the names of all classes of a Spring Boot web application (and of the other jars on the
+ * benchmark class path) through the global ignores matcher and through the matcher built from
+ * {@code otel.javaagent.exclude-classes}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Benchmark)
+public class IgnoresMatcherBenchmark {
+
+  private static final TypeDescription[] TYPES =
+      TypeMatchingBenchmark.classNames.stream()
+          .map(
+              name ->
+                  new TypeDescription.Latent(
+                      name, Visibility.PUBLIC.getMask(), TypeDescription.Generic.OBJECT))
+          .toArray(TypeDescription[]::new);
+
+  private static final List<String> EXCLUDED_PREFIXES =
+      Arrays.asList(
+          "org.apache.catalina.startup.",
+          "org.apache.catalina.util.",
+          "org.apache.tomcat.util.buf.",
+          "org.apache.tomcat.util.digester.",
+          "org.apache.tomcat.util.modeler.",
+          "org.apache.tomcat.websocket.",
+          "org.hibernate.validator.internal.",
+          "org.jboss.logging.",
+          "org.eclipse.jetty.util.log.",
+          "org.eclipse.jetty.xml.",
+          "com.example.generated.",
+          "com.example.dto.",
+          "com.example.config.",
+          "com.example.mapper.",
+          "com.example.legacy.");
+
+  private final ElementMatcher<TypeDescription> globalIgnores =
+      globalIgnoresMatcher(true, new NoopIgnoreMatcherProvider());
+
+  private final ElementMatcher<TypeDescription> chainedExcludes = chainedExcludes();
+
+  private final ElementMatcher<TypeDescription> trieExcludes = trieExcludes();
+
+  @Benchmark
+  public void globalIgnores(Blackhole blackhole) {
+    for (TypeDescription type : TYPES) {
+      blackhole.consume(globalIgnores.matches(type));
+    }
+  }
+
+  @Benchmark
+  public void configuredExcludesChained(Blackhole blackhole) {
+    for (TypeDescription type : TYPES) {
+      blackhole.consume(chainedExcludes.matches(type));
+    }
+  }
+
+  @Benchmark
+  public void configuredExcludesTrie(Blackhole blackhole) {
+    for (TypeDescription type : TYPES) {
+      blackhole.consume(trieExcludes.matches(type));
+    }
+  }
+
+  // how otel.javaagent.exclude-classes used to be matched
+  private static ElementMatcher<TypeDescription> chainedExcludes() {
+    ElementMatcher.Junction<TypeDescription> matcher = none();
+    for (String prefix : EXCLUDED_PREFIXES) {
+      matcher = matcher.or(nameStartsWith(prefix));
+    }
+    return matcher;
+  }
+
+  private static ElementMatcher<TypeDescription> trieExcludes() {
+    NameTrie.Builder<Boolean> excludes = NameTrie.builder();
+    for (String prefix : EXCLUDED_PREFIXES) {
+      excludes.prefix(prefix, true);
+    }
+    return nameMatches(excludes.build());
+  }
+
+  private static class NoopIgnoreMatcherProvider implements IgnoreMatcherProvider {
+    @Override
+    public Result classloader(ClassLoader classLoader) {
+      return Result.DEFAULT;
+    }
+
+    @Override
+    public Result type(TypeDescription target) {
+      return Result.DEFAULT;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures JDBC calls against an in-memory H2 database. The difference between {@link WithAgent}
+ * and this class is the overhead of the JDBC instrumentation; the {@code gc} profiler configured in
+ * {@code benchmark.gradle} reports it in bytes per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@State(Scope.Thread)
+public class JdbcBenchmark {
+
+  private static final String QUERY = "SELECT name FROM customers WHERE id = ?";
+
+  private Connection connection;
+  private PreparedStatement statement;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connection = DriverManager.getConnection("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+    try (Statement ddl = connection.createStatement()) {
+      ddl.execute("CREATE TABLE IF NOT EXISTS customers (id INT PRIMARY KEY, name VARCHAR(64))");
+      ddl.execute("MERGE INTO customers KEY (id) VALUES (1, 'benchmark')");
+    }
+    statement = connection.prepareStatement(QUERY);
+    statement.setInt(1, 1);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    statement.close();
+    connection.close();
+  }
+
+  /** A DAO that keeps its prepared statement. */
+  @Benchmark
+  public boolean executePrepared() throws SQLException {
+    try (ResultSet resultSet = statement.executeQuery()) {
+      return resultSet.next();
+    }
+  }
+
+  /** A DAO that prepares its statement for every query, e.g. through a pooled connection. */
+  @Benchmark
+  public boolean prepareAndExecute() throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(QUERY)) {
+      statement.setInt(1, 1);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        return resultSet.next();
+      }
+    }
+  }
+
+  @Fork(
+      value = 3,
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dotel.traces.exporter=none",
+        "-Dotel.metrics.exporter=none"
+      })
+  public static class WithAgent extends JdbcBenchmark {}
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Polls a {@link KafkaConsumer} that replays prebuilt records instead of talking to a broker, and
+ * iterates over every record like a typical consumer loop. Each record carries a {@code
+ * traceparent} header, as if it had been sent by an instrumented producer.
+ *
+ * <p>The score is the time spent per {@code poll()}; divide it by {@link #recordsPerPoll} for the
+ * time per record. Consuming 100k records/sec leaves 10us per record for the instrumentation and
+ * the application together. {@link WithAgent} creates a span per record, {@link
+ * WithAgentBatchReceive} a single receive span per poll.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Thread)
+public class KafkaConsumerBenchmark {
+
+  private static final String TOPIC = "benchmark";
+
+  @Param({"1", "100", "2000"})
+  public int recordsPerPoll;
+
+  private ReplayingConsumer consumer;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    List<ConsumerRecord<String, String>> records = new ArrayList<>(recordsPerPoll);
+    for (int i = 0; i < recordsPerPoll; i++) {
+      RecordHeaders headers = new RecordHeaders();
+      headers.add("traceparent", traceparent(i).getBytes(UTF_8));
+      records.add(
+          new ConsumerRecord<>(
+              TOPIC,
+              0,
+              i,
+              System.currentTimeMillis(),
+              TimestampType.CREATE_TIME,
+              null,
+              -1,
+              -1,
+              "key-" + i,
+              "value-" + i,
+              headers));
+    }
+    consumer = new ReplayingConsumer(records);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    consumer.close();
+  }
+
+  private static String traceparent(int i) {
+    return String.format("00-%032x-%016x-01", i + 1, i + 1);
+  }
+
+  @Benchmark
+  public void pollAndIterate(Blackhole blackhole) {
+    for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(100))) {
+      blackhole.consume(record.value());
+    }
+  }
+
+  @Fork(
+      value = 3,
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dotel.traces.exporter=none",
+        "-Dotel.metrics.exporter=none"
+      })
+  public static class WithAgent extends KafkaConsumerBenchmark {}
+
+  @Fork(
+      value = 3,
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dotel.traces.exporter=none",
+        "-Dotel.metrics.exporter=none",
+        "-Dotel.instrumentation.kafka.experimental-batch-receive.enabled=true"
+      })
+  public static class WithAgentBatchReceive extends KafkaConsumerBenchmark {}
+
+  /** Never connects to the (non-existent) broker, every poll returns the same records. */
+  public static class ReplayingConsumer extends KafkaConsumer<String, String> {
+    private final Map<TopicPartition, List<ConsumerRecord<String, String>>> records;
+
+    ReplayingConsumer(List<ConsumerRecord<String, String>> records) {
+      super(properties());
+      this.records = Collections.singletonMap(new TopicPartition(TOPIC, 0), records);
+    }
+
+    private static Properties properties() {
+      Properties properties = new Properties();
+      properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+      properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+      properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+      return properties;
+    }
+
+    @Override
+    @Deprecated
+    public ConsumerRecords<String, String> poll(long timeout) {
+      return new ConsumerRecords<>(records);
+    }
+
+    @Override
+    public ConsumerRecords<String, String> poll(Duration timeout) {
+      // a new instance for every poll, like the real consumer
+      return new ConsumerRecords<>(records);
+    }
+  }
+}
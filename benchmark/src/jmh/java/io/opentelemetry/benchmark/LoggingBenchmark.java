@@ -0,0 +1,155 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.logback.v1_0.OpenTelemetryAppender;
+import java.util.ArrayList;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Logs through Log4j 2, in garbage-free mode with the {@code OpenTelemetryContextDataProvider}, and
+ * through Logback, with the {@link OpenTelemetryAppender}, into no-op appenders that read the trace
+ * id of the event. The {@code gc} profiler configured in {@code benchmark.gradle} reports the bytes
+ * allocated per log event, compare the results with and without a current span.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(
+    value = 3,
+    jvmArgsAppend = {
+      "-Dlog4j2.enableThreadlocals=true",
+      "-Dlog4j2.enableDirectEncoders=true",
+      "-Dlog4j2.garbagefreeThreadContextMap=true"
+    })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+public class LoggingBenchmark {
+
+  private static final SpanContext SPAN_CONTEXT =
+      SpanContext.create(
+          "ff01020304050600ff0a0b0c0d0e0f00",
+          "090a0b0c0d0e0f00",
+          TraceFlags.getSampled(),
+          TraceState.getDefault());
+
+  @Param({"false", "true"})
+  public boolean span;
+
+  private org.apache.logging.log4j.Logger log4jLogger;
+  private Log4jNoopAppender log4jAppender;
+
+  private ch.qos.logback.classic.LoggerContext logbackContext;
+  private ch.qos.logback.classic.Logger logbackLogger;
+  private LogbackNoopAppender logbackAppender;
+
+  private Scope scope;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    LoggerContext log4jContext = (LoggerContext) LogManager.getContext(false);
+    Configuration configuration = log4jContext.getConfiguration();
+    log4jAppender = new Log4jNoopAppender();
+    log4jAppender.start();
+    configuration.addAppender(log4jAppender);
+    LoggerConfig rootConfig = configuration.getRootLogger();
+    for (String appender : new ArrayList<>(rootConfig.getAppenders().keySet())) {
+      rootConfig.removeAppender(appender);
+    }
+    rootConfig.addAppender(log4jAppender, null, null);
+    rootConfig.setLevel(org.apache.logging.log4j.Level.INFO);
+    log4jContext.updateLoggers();
+    log4jLogger = log4jContext.getLogger("benchmark");
+
+    logbackContext = new ch.qos.logback.classic.LoggerContext();
+    logbackAppender = new LogbackNoopAppender();
+    logbackAppender.setContext(logbackContext);
+    logbackAppender.start();
+    OpenTelemetryAppender openTelemetryAppender = new OpenTelemetryAppender();
+    openTelemetryAppender.setContext(logbackContext);
+    openTelemetryAppender.addAppender(logbackAppender);
+    openTelemetryAppender.start();
+    logbackLogger = logbackContext.getLogger("benchmark");
+    logbackLogger.setAdditive(false);
+    logbackLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+    logbackLogger.addAppender(openTelemetryAppender);
+
+    if (span) {
+      scope = Span.wrap(SPAN_CONTEXT).makeCurrent();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (scope != null) {
+      scope.close();
+    }
+    logbackContext.stop();
+    LogManager.shutdown();
+  }
+
+  @Benchmark
+  public String log4j() {
+    log4jLogger.info("log message");
+    return log4jAppender.traceId;
+  }
+
+  @Benchmark
+  public String logback() {
+    logbackLogger.info("log message");
+    return logbackAppender.traceId;
+  }
+
+  private static final class Log4jNoopAppender extends AbstractAppender {
+    private String traceId;
+
+    private Log4jNoopAppender() {
+      super("noop", null, null, true, Property.EMPTY_ARRAY);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+      traceId = event.getContextData().getValue("trace_id");
+    }
+  }
+
+  private static final class LogbackNoopAppender
+      extends UnsynchronizedAppenderBase<ILoggingEvent> {
+    private String traceId;
+
+    @Override
+    protected void append(ILoggingEvent event) {
+      traceId = event.getMDCPropertyMap().get("trace_id");
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Feeds HTTP requests to a Netty server pipeline running on an {@link EmbeddedChannel}, so that
+ * only the pipeline and its handlers are measured, not the network.
+ *
+ * <p>{@link #connectionChurn} opens a new channel for every request, like short-lived connections
+ * do. {@link #chunkedBody} sends a request with a body of 64 chunks over a single channel. The
+ * {@code gc} profiler configured in {@code benchmark.gradle} reports the allocations per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Thread)
+public class NettyServerBenchmark {
+
+  private static final byte[] GET_REQUEST =
+      "GET /hello HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(US_ASCII);
+
+  private static final byte[] CHUNKED_REQUEST = chunkedRequest(64);
+
+  private EmbeddedChannel channel;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    channel = newChannel();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  private static EmbeddedChannel newChannel() {
+    return new EmbeddedChannel(new HttpServerCodec(), new Responder());
+  }
+
+  private static byte[] chunkedRequest(int chunks) {
+    StringBuilder request =
+        new StringBuilder(
+            "POST /upload HTTP/1.1\r\nHost: localhost\r\nTransfer-Encoding: chunked\r\n\r\n");
+    StringBuilder chunk = new StringBuilder();
+    for (int i = 0; i < 256; i++) {
+      chunk.append('x');
+    }
+    for (int i = 0; i < chunks; i++) {
+      request.append(Integer.toHexString(chunk.length())).append("\r\n").append(chunk);
+      request.append("\r\n");
+    }
+    return request.append("0\r\n\r\n").toString().getBytes(US_ASCII);
+  }
+
+  @Benchmark
+  public int connectionChurn() {
+    EmbeddedChannel channel = newChannel();
+    channel.writeInbound(Unpooled.wrappedBuffer(GET_REQUEST));
+    int responseBuffers = releaseOutbound(channel);
+    channel.finishAndReleaseAll();
+    return responseBuffers;
+  }
+
+  @Benchmark
+  public int chunkedBody() {
+    channel.writeInbound(Unpooled.wrappedBuffer(CHUNKED_REQUEST));
+    return releaseOutbound(channel);
+  }
+
+  // the encoded response may be written as several buffers
+  private static int releaseOutbound(EmbeddedChannel channel) {
+    int count = 0;
+    for (Object msg = channel.readOutbound(); msg != null; msg = channel.readOutbound()) {
+      ReferenceCountUtil.release(msg);
+      count++;
+    }
+    return count;
+  }
+
+  @Fork(
+      value = 3,
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dotel.traces.exporter=none",
+        "-Dotel.metrics.exporter=none"
+      })
+  public static class WithAgent extends NettyServerBenchmark {}
+
+  /** Responds to every request once its last chunk has been read. */
+  private static class Responder extends ChannelInboundHandlerAdapter {
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+      boolean last = msg instanceof LastHttpContent;
+      ReferenceCountUtil.release(msg);
+      if (last) {
+        DefaultFullHttpResponse response =
+            new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, 0);
+        ctx.writeAndFlush(response);
+      }
+    }
+  }
+}
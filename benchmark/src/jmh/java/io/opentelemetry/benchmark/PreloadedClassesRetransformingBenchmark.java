@@ -0,0 +1,100 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.implementation.StubMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time it takes to attach the agent to a JVM that has already loaded 10k application
+ * classes, i.e. the time until all of them are retransformed and the agent is ready.
+ *
+ * <p>The {@link Parallel} variant runs the matching phase on a fork-join pool.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(value = 5, jvmArgsAppend = "-Djdk.attach.allowAttachSelf=true")
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@OutputTimeUnit(MILLISECONDS)
+public class PreloadedClassesRetransformingBenchmark extends ClassRetransformingBenchmark {
+
+  private static final int PRELOADED_CLASSES = 10_000;
+
+  private static final String AGENT_PATH =
+      System.getProperty(
+          "io.opentelemetry.benchmark.agent.shadowJar.path",
+          "/path/to/opentelemetry-java-instrumentation"
+              + "/javaagent/build/libs/opentelemetry-javaagent.jar");
+
+  @State(Scope.Benchmark)
+  public static class PreloadedClasses {
+    final List<Class<?>> classes = new ArrayList<>(PRELOADED_CLASSES);
+
+    @Setup(Level.Trial)
+    public void preload() throws ClassNotFoundException {
+      Map<String, byte[]> typeDefinitions = new HashMap<>();
+      for (int i = 0; i < PRELOADED_CLASSES; i++) {
+        String name = "io.opentelemetry.benchmark.preloaded.Preloaded" + i;
+        ByteBuddy byteBuddy = new ByteBuddy();
+        // every other class implements an interface that some instrumentations match on
+        byte[] bytes =
+            i % 2 == 0
+                ? byteBuddy
+                    .subclass(Object.class)
+                    .name(name)
+                    .implement(Runnable.class)
+                    .method(named("run"))
+                    .intercept(StubMethod.INSTANCE)
+                    .make()
+                    .getBytes()
+                : byteBuddy.subclass(Object.class).name(name).make().getBytes();
+        typeDefinitions.put(name, bytes);
+      }
+
+      ClassLoader classLoader =
+          new ByteArrayClassLoader(
+              PreloadedClassesRetransformingBenchmark.class.getClassLoader(), typeDefinitions);
+      for (String name : typeDefinitions.keySet()) {
+        classes.add(Class.forName(name, true, classLoader));
+      }
+    }
+  }
+
+  @Benchmark
+  public void attachAgent(PreloadedClasses preloadedClasses) {
+    ByteBuddyAgent.attach(
+        new File(AGENT_PATH), ByteBuddyAgent.ProcessProvider.ForCurrentVm.INSTANCE);
+  }
+
+  @Fork(
+      value = 5,
+      jvmArgsAppend = {
+        "-Djdk.attach.allowAttachSelf=true",
+        "-Dotel.javaagent.experimental.parallel-retransformation.enabled=true"
+      })
+  public static class Parallel extends PreloadedClassesRetransformingBenchmark {}
+}
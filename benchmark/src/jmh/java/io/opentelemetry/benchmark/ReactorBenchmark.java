@@ -0,0 +1,83 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.reactor.TracingOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+/**
+ * Runs Flux operator chains with and without the {@link TracingOperator} hook, while a context is
+ * current, i.e. with a context to propagate. The {@code gc} profiler configured in {@code
+ * benchmark.gradle} reports the allocations per operation.
+ *
+ * <p>{@link #flatMap} subscribes to fuseable inner publishers, which only stay fused if the hook
+ * preserves fusion.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(SECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+public class ReactorBenchmark {
+
+  private static final ContextKey<String> KEY = ContextKey.named("benchmark");
+
+  @Param({"false", "true"})
+  public boolean hook;
+
+  private Scope scope;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    if (hook) {
+      TracingOperator.registerOnEachOperator();
+    }
+    scope = Context.root().with(KEY, "value").makeCurrent();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    scope.close();
+    TracingOperator.resetOnEachOperator();
+  }
+
+  @Benchmark
+  public Integer mapFilter() {
+    return Flux.range(0, 1000)
+        .map(i -> i + 1)
+        .filter(i -> (i & 1) == 0)
+        .map(i -> i * 2)
+        .reduce(0, Integer::sum)
+        .block();
+  }
+
+  @Benchmark
+  public Integer flatMap() {
+    return Flux.range(0, 100)
+        .flatMap(i -> Flux.range(i, 10).map(j -> j + 1))
+        .filter(i -> (i & 1) == 0)
+        .reduce(0, Integer::sum)
+        .block();
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.reactor.ContextPropagationOperator;
+import io.opentelemetry.instrumentation.reactor.TracingOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Compares the {@link TracingOperator} hook, which wraps every operator of every pipeline, with
+ * {@link ContextPropagationOperator}, which keeps the context in the subscriber context and only
+ * hooks the schedulers, and with no propagation at all. {@link #mixed} runs nine untraced
+ * pipelines, like those of a driver or of a framework, for every traced one, which is subscribed to
+ * under a context, like a request handler, and hops to another thread with {@code publishOn}.
+ * Each pipeline returns whether the context was current in its last operator, so the score of a
+ * mode that doesn't propagate the context is visible in the result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+public class ReactorContextPropagationBenchmark {
+
+  private static final ContextKey<String> KEY = ContextKey.named("benchmark");
+
+  @Param({"none", "on-each-operator", "subscriber-context"})
+  public String mode;
+
+  private Context context;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    if (mode.equals("on-each-operator")) {
+      TracingOperator.registerOnEachOperator();
+    } else if (mode.equals("subscriber-context")) {
+      ContextPropagationOperator.registerOnScheduleHook();
+    }
+    context = Context.root().with(KEY, "value");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    TracingOperator.resetOnEachOperator();
+    ContextPropagationOperator.resetOnScheduleHook();
+  }
+
+  @Benchmark
+  public int untraced() {
+    return untracedPipeline();
+  }
+
+  @Benchmark
+  public boolean traced() {
+    return tracedPipeline();
+  }
+
+  @Benchmark
+  public int mixed() {
+    int result = 0;
+    for (int i = 0; i < 9; i++) {
+      result += untracedPipeline();
+    }
+    return tracedPipeline() ? result : -result;
+  }
+
+  private static int untracedPipeline() {
+    return Flux.range(0, 100)
+        .map(i -> i + 1)
+        .filter(i -> (i & 1) == 0)
+        .flatMap(i -> Mono.just(i * 2))
+        .reduce(0, Integer::sum)
+        .block();
+  }
+
+  private boolean tracedPipeline() {
+    Mono<Boolean> pipeline =
+        Flux.range(0, 10)
+            .map(i -> i + 1)
+            .publishOn(Schedulers.parallel())
+            .map(i -> i * 2)
+            .reduce(0, Integer::sum)
+            .map(sum -> "value".equals(Context.current().get(KEY)));
+    try (Scope ignored = context.makeCurrent()) {
+      return ContextPropagationOperator.runWithContext(pipeline, context).block();
+    }
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.javaagent.instrumentation.servlet.v3_0.MappingResolver;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolves request paths against a servlet with 230 mappings: exact mappings of a REST API,
+ * prefix mappings of legacy services, extension mappings and a default mapping. Request paths have
+ * high cardinality, e.g. contain ids, as in real traffic.
+ *
+ * <p>{@link #linear} is the previous implementation, which concatenated servlet path and path info
+ * and tried each wildcard mapping in turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@State(Scope.Thread)
+public class ServletMappingBenchmark {
+
+  private static final String[] EXTENSIONS = {
+    "do", "action", "jsp", "jspx", "xhtml", "jsf", "faces", "json", "xml", "csv"
+  };
+
+  private MappingResolver trie;
+  private LinearMappingResolver linear;
+  // servlet path and path info pairs
+  private String[][] requests;
+  private int index;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    List<String> mappings = new ArrayList<>();
+    for (int i = 0; i < 150; i++) {
+      mappings.add("/api/v" + (1 + i % 3) + "/resource" + i);
+    }
+    for (int i = 0; i < 60; i++) {
+      mappings.add("/services/legacy" + i + "/*");
+    }
+    for (int i = 0; i < 10; i++) {
+      mappings.add("/static/bundle" + i + "/*");
+    }
+    for (String extension : EXTENSIONS) {
+      mappings.add("*." + extension);
+    }
+    mappings.add("/");
+    trie = MappingResolver.build(mappings);
+    linear = LinearMappingResolver.build(mappings);
+
+    Random random = new Random(0);
+    requests = new String[4096][];
+    for (int i = 0; i < requests.length; i++) {
+      int id = random.nextInt(1_000_000);
+      switch (i % 4) {
+        case 0:
+          requests[i] = new String[] {"/api/v" + (1 + id % 3) + "/resource" + (id % 150), null};
+          break;
+        case 1:
+          requests[i] = new String[] {"/services/legacy" + (id % 60), "/orders/" + id + "/items"};
+          break;
+        case 2:
+          requests[i] =
+              new String[] {"/app/page" + id + "." + EXTENSIONS[id % EXTENSIONS.length], null};
+          break;
+        default:
+          requests[i] = new String[] {"/", "assets/" + id + "/"};
+          break;
+      }
+    }
+  }
+
+  @Benchmark
+  public String trie() {
+    String[] request = nextRequest();
+    return trie.resolve(request[0], request[1]);
+  }
+
+  @Benchmark
+  public String linear() {
+    String[] request = nextRequest();
+    return linear.resolve(request[0], request[1]);
+  }
+
+  private String[] nextRequest() {
+    String[] request = requests[index];
+    index = (index + 1) & (requests.length - 1);
+    return request;
+  }
+
+  /** The previous implementation, without the special cases that don't matter here. */
+  private static class LinearMappingResolver {
+    private final Set<String> exactMatches;
+    // mapping, then prefix for prefix mappings or suffix for extension mappings
+    private final List<String[]> wildcardMatchers;
+    private final boolean hasDefault;
+
+    private LinearMappingResolver(
+        Set<String> exactMatches, List<String[]> wildcardMatchers, boolean hasDefault) {
+      this.exactMatches = exactMatches;
+      this.wildcardMatchers = wildcardMatchers;
+      this.hasDefault = hasDefault;
+    }
+
+    static LinearMappingResolver build(Collection<String> mappings) {
+      Set<String> exactMatches = new HashSet<>();
+      List<String[]> wildcardMatchers = new ArrayList<>();
+      boolean hasDefault = false;
+      for (String mapping : mappings) {
+        if (mapping.equals("/") || mapping.equals("/*")) {
+          hasDefault = true;
+        } else if (mapping.startsWith("*.")) {
+          wildcardMatchers.add(new String[] {"/" + mapping, mapping.substring(1)});
+        } else if (mapping.endsWith("/*")) {
+          wildcardMatchers.add(
+              new String[] {mapping, mapping.substring(0, mapping.length() - 2)});
+        } else {
+          exactMatches.add(mapping);
+        }
+      }
+      return new LinearMappingResolver(exactMatches, wildcardMatchers, hasDefault);
+    }
+
+    String resolve(String servletPath, String pathInfo) {
+      String path = servletPath;
+      if (pathInfo != null) {
+        path += pathInfo;
+      }
+      if (path.endsWith("/") && !path.equals("/")) {
+        path = path.substring(0, path.length() - 1);
+      }
+      if (exactMatches.contains(path)) {
+        return path;
+      }
+      for (String[] matcher : wildcardMatchers) {
+        boolean match =
+            matcher[0].startsWith("/*.")
+                ? path.endsWith(matcher[1])
+                : path.equals(matcher[1]) || path.startsWith(matcher[1] + "/");
+        if (match) {
+          return matcher[0];
+        }
+      }
+      if (hasDefault) {
+        return path.equals("/") ? "/" : "/*";
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
+import java.util.HashMap;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Names the server spans of requests to a servlet mapped to {@code /}, whose servlet path is the
+ * whole request path, over 1M distinct paths, by concatenating strings as the servlet tracer did
+ * before and with {@link SpanNames}. Spans are counted by name, as an exporter batch or a backend
+ * index would, so the {@link UsedMemoryProfiler} shows the heap that the distinct names retain, and
+ * the {@code gc} profiler the bytes allocated per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@State(Scope.Thread)
+public class SpanNamesBenchmark {
+
+  private static final int PATHS = 1_000_000;
+  private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+  @Param({"concat", "span-names"})
+  public String naming;
+
+  private boolean spanNames;
+  private String[] paths;
+  private Map<String, long[]> spansByName;
+  private int index;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    spanNames = naming.equals("span-names");
+    paths = new String[PATHS];
+    for (int i = 0; i < PATHS; i++) {
+      paths[i] = "/users/" + i + "/orders";
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpIteration() {
+    spansByName = new HashMap<>();
+  }
+
+  @Benchmark
+  public String servletPath() {
+    String method = METHODS[index & 3];
+    String path = paths[index];
+    index = index + 1 == PATHS ? 0 : index + 1;
+
+    String spanName;
+    if (spanNames) {
+      spanName = SpanNames.path("/app", path, SpanNames.http(method));
+    } else {
+      spanName = "/app" + path;
+    }
+    spansByName.computeIfAbsent(spanName, name -> new long[1])[0]++;
+    return spanName;
+  }
+
+  @Benchmark
+  public String httpMethod() {
+    String method = METHODS[index & 3];
+    index = index + 1 == PATHS ? 0 : index + 1;
+
+    return spanNames ? SpanNames.http(method) : "HTTP " + method;
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures agent startup with the persistent type cache enabled. Each invocation starts a new JVM
+ * with the agent attached that loads all classes that {@link TypeMatchingBenchmark} loads and then
+ * exits, so the measured time is the whole agent startup plus class loading.
+ *
+ * <p>The {@code coldCache} benchmark deletes the cache before each JVM start, the {@code warmCache}
+ * benchmark reuses the cache written by a previous JVM.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(MILLISECONDS)
+@Timeout(time = 5, timeUnit = MINUTES)
+public class TypeCacheStartupBenchmark {
+
+  private static final String AGENT_PATH =
+      System.getProperty(
+          "io.opentelemetry.benchmark.agent.shadowJar.path",
+          "/path/to/opentelemetry-java-instrumentation"
+              + "/javaagent/build/libs/opentelemetry-javaagent.jar");
+
+  @State(Scope.Benchmark)
+  public static class CacheDirectory {
+    Path path;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      path = Files.createTempDirectory("otel-type-cache");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      delete(path);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class ColdCache extends CacheDirectory {
+    @Setup(Level.Invocation)
+    public void clear() throws IOException {
+      delete(path);
+      Files.createDirectories(path);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class WarmCache extends CacheDirectory {
+    @Setup(Level.Trial)
+    public void populate() throws Exception {
+      startJvm(path);
+    }
+  }
+
+  @Benchmark
+  public void coldCache(ColdCache cache) throws Exception {
+    startJvm(cache.path);
+  }
+
+  @Benchmark
+  public void warmCache(WarmCache cache) throws Exception {
+    startJvm(cache.path);
+  }
+
+  private static void startJvm(Path cacheDirectory) throws Exception {
+    String java =
+        System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    List<String> command =
+        Arrays.asList(
+            java,
+            "-javaagent:" + AGENT_PATH,
+            "-Dotel.javaagent.experimental.type-cache.directory=" + cacheDirectory,
+            "-Dotel.traces.exporter=none",
+            "-Dotel.metrics.exporter=none",
+            "-cp",
+            System.getProperty("java.class.path"),
+            LoadClasses.class.getName());
+    Process process = new ProcessBuilder(command).inheritIO().start();
+    int exitCode = process.waitFor();
+    if (exitCode != 0) {
+      throw new IllegalStateException("JVM exited with " + exitCode);
+    }
+  }
+
+  private static void delete(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      return;
+    }
+    try (Stream<Path> files = Files.walk(path)) {
+      files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  public static class LoadClasses {
+    public static void main(String[] args) throws Exception {
+      new TypeMatchingBenchmark().loadLotsOfClasses();
+    }
+  }
+}
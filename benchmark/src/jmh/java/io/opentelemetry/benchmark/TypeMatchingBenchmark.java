@@ -29,7 +29,7 @@ import org.openjdk.jmh.annotations.Warmup;
 @OutputTimeUnit(MILLISECONDS)
 public class TypeMatchingBenchmark {
 
-  private static final Set<String> classNames;
+  static final Set<String> classNames;
 
   static {
     classNames = new HashSet<>();
@@ -0,0 +1,118 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.AgentElementMatchers.implementsInterface;
+import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.NameMatchers.namedOneOf;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.javaagent.tooling.bytebuddy.AgentCachingPoolStrategy;
+import java.util.Collections;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.pool.TypePool;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the total time spent in type matching, and the type pool cache hit rate, while matching
+ * all classes that {@link TypeMatchingBenchmark} loads against a hierarchy matcher similar to the
+ * ones used by the servlet, executor and spring instrumentations.
+ *
+ * <p>{@code typeCapacity = 64} corresponds to the previous fixed size cache, {@code 0} uses the
+ * capacity derived from the heap size.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(3)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@OutputTimeUnit(MILLISECONDS)
+@State(Scope.Benchmark)
+public class TypePoolCacheBenchmark {
+
+  private static final ElementMatcher<TypeDescription> MATCHER =
+      implementsInterface(
+          namedOneOf(
+              "java.lang.Runnable",
+              "java.util.concurrent.Executor",
+              "javax.servlet.Filter",
+              "javax.servlet.Servlet",
+              "org.springframework.web.servlet.HandlerAdapter",
+              "org.springframework.web.servlet.HandlerMapping"));
+
+  @Param({"64", "0"})
+  public int typeCapacity;
+
+  private AgentCachingPoolStrategy poolStrategy;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    Config config =
+        typeCapacity == 0
+            ? Config.create(Collections.emptyMap())
+            : Config.create(
+                Collections.singletonMap(
+                    "otel.javaagent.experimental.type-pool-cache.size",
+                    String.valueOf(typeCapacity)));
+    poolStrategy = AgentCachingPoolStrategy.create(config, 0);
+  }
+
+  @Benchmark
+  public int matchLotsOfClasses(CacheStats stats) {
+    ClassLoader classLoader = TypePoolCacheBenchmark.class.getClassLoader();
+    ClassFileLocator classFileLocator = ClassFileLocator.ForClassLoader.of(classLoader);
+    int matches = 0;
+    for (String className : TypeMatchingBenchmark.classNames) {
+      // the agent creates a new type pool for each transformed class
+      TypePool typePool = poolStrategy.typePool(classFileLocator, classLoader);
+      TypePool.Resolution resolution = typePool.describe(className);
+      if (resolution.isResolved() && MATCHER.matches(resolution.resolve())) {
+        matches++;
+      }
+    }
+    stats.record(poolStrategy);
+    return matches;
+  }
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class CacheStats {
+    public long hits;
+    public long misses;
+    public long evictions;
+
+    void record(AgentCachingPoolStrategy poolStrategy) {
+      hits = poolStrategy.hitCount();
+      misses = poolStrategy.missCount();
+      evictions = poolStrategy.evictionCount();
+    }
+
+    public double hitRate() {
+      long lookups = hits + misses;
+      return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      hits = 0;
+      misses = 0;
+      evictions = 0;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Forks 1M tasks into virtual threads under a span, through {@code
+ * Executors.newVirtualThreadPerTaskExecutor()} and through {@code Thread.ofVirtual()}, and waits
+ * for all of them. Each task reads the current span, which the agent propagates into the virtual
+ * thread. Compare the results with those of {@link WithAgent}, the {@code gc} profiler configured
+ * in {@code benchmark.gradle} reports the allocations per 1M tasks.
+ *
+ * <p>Requires JDK 21+. The virtual thread APIs are looked up reflectively, because this module is
+ * compiled for Java 8.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(3)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(MILLISECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+  private static final int TASKS = 1_000_000;
+
+  private final LongAdder tasksWithSpan = new LongAdder();
+
+  private ExecutorService executor;
+  private ThreadFactory virtualThreadFactory;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    executor =
+        (ExecutorService)
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+    // the same as Thread.ofVirtual().start(task), without having to call the builder reflectively
+    virtualThreadFactory =
+        (ThreadFactory)
+            Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Benchmark
+  public long virtualThreadPerTaskExecutor() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(TASKS);
+    Runnable task = newTask(done);
+    Span span = GlobalOpenTelemetry.getTracer("benchmark").spanBuilder("fork").startSpan();
+    try (Scope ignored = span.makeCurrent()) {
+      for (int i = 0; i < TASKS; i++) {
+        executor.execute(task);
+      }
+    } finally {
+      span.end();
+    }
+    done.await();
+    return tasksWithSpan.sum();
+  }
+
+  @Benchmark
+  public long threadOfVirtual() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(TASKS);
+    Runnable task = newTask(done);
+    Span span = GlobalOpenTelemetry.getTracer("benchmark").spanBuilder("fork").startSpan();
+    try (Scope ignored = span.makeCurrent()) {
+      for (int i = 0; i < TASKS; i++) {
+        virtualThreadFactory.newThread(task).start();
+      }
+    } finally {
+      span.end();
+    }
+    done.await();
+    return tasksWithSpan.sum();
+  }
+
+  private Runnable newTask(CountDownLatch done) {
+    return () -> {
+      if (Span.current().getSpanContext().isValid()) {
+        tasksWithSpan.increment();
+      }
+      done.countDown();
+    };
+  }
+
+  @Fork(
+      value = 3,
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dotel.traces.exporter=none",
+        "-Dotel.metrics.exporter=none"
+      })
+  public static class WithAgent extends VirtualThreadBenchmark {}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.benchmark;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.extension.annotations.WithSpan;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a no-op method traced by {@code @WithSpan}, by an external {@code @Trace} annotation and
+ * by {@code otel.instrumentation.methods.include}. The difference between {@link WithAgent} and
+ * this class is the cost of the span and of the advice, e.g. of resolving the span name; the
+ * {@code gc} profiler configured in {@code benchmark.gradle} reports the allocations per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@State(Scope.Thread)
+public class WithSpanBenchmark {
+
+  private final Traced traced = new Traced();
+
+  @Benchmark
+  public Object notTraced() {
+    return traced.notTraced();
+  }
+
+  @Benchmark
+  public Object withSpan() {
+    return traced.withSpan();
+  }
+
+  @Benchmark
+  public Object withSpanNameAndKind() {
+    return traced.withSpanNameAndKind();
+  }
+
+  @Benchmark
+  public Object traceAnnotation() {
+    return traced.traceAnnotation();
+  }
+
+  @Benchmark
+  public Object traceMethods() {
+    return traced.traceMethods();
+  }
+
+  public static class Traced {
+    public Object notTraced() {
+      return this;
+    }
+
+    @WithSpan
+    public Object withSpan() {
+      return this;
+    }
+
+    @WithSpan(value = "named", kind = SpanKind.CLIENT)
+    public Object withSpanNameAndKind() {
+      return this;
+    }
+
+    @Trace
+    public Object traceAnnotation() {
+      return this;
+    }
+
+    public Object traceMethods() {
+      return this;
+    }
+  }
+
+  /** Stands in for the {@code @Trace} annotations of other tracers. */
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.METHOD)
+  public @interface Trace {}
+
+  @Fork(
+      value = 3,
+      jvmArgsAppend = {
+        "-javaagent:/path/to/opentelemetry-java-instrumentation"
+            + "/javaagent/build/libs/opentelemetry-javaagent.jar",
+        "-Dotel.traces.exporter=none",
+        "-Dotel.metrics.exporter=none",
+        "-Dotel.instrumentation.external-annotations.include="
+            + "io.opentelemetry.benchmark.WithSpanBenchmark$Trace",
+        "-Dotel.instrumentation.methods.include="
+            + "io.opentelemetry.benchmark.WithSpanBenchmark$Traced[traceMethods]"
+      })
+  public static class WithAgent extends WithSpanBenchmark {}
+}
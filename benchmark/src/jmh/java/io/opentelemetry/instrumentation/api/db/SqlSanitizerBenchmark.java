@@ -0,0 +1,112 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the JFlex generated SQL lexer with the hand-written scanner, on short OLTP style
+ * statements and on a 32KB analytic query. Allocation rates are reported by the {@code gc} profiler
+ * configured in {@code benchmark.gradle}.
+ *
+ * <p>{@link #sanitizerWithVaryingLiterals} goes through {@link SqlStatementSanitizer} with
+ * statements that are never repeated but only differ in their literals, i.e. every statement is a
+ * statement cache miss and is scanned.
+ *
+ * <p>This class lives in the sanitizer package because both lexers are package-private.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Thread)
+public class SqlSanitizerBenchmark {
+
+  private static final String[] OLTP_STATEMENTS = {
+    "SELECT o.id, o.status, o.total FROM orders o WHERE o.customer_id = 4711 AND o.status = 'OPEN'",
+    "INSERT INTO order_lines (order_id, product_id, quantity, price) VALUES (4711, 42, 3, 19.99)",
+    "UPDATE customers SET last_login = '2021-02-03 10:11:12', login_count = 17 WHERE id = 4711",
+    "DELETE FROM sessions WHERE expires_at < '2021-02-03 10:11:12'"
+  };
+
+  @Param({"oltp", "analytic"})
+  public String workload;
+
+  private String[] statements;
+  private String[] varyingStatements;
+  private int index;
+  private int varyingIndex;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    statements = "oltp".equals(workload) ? OLTP_STATEMENTS : new String[] {analyticQuery()};
+    // well above the statement cache size, but not too many copies of the 32KB query
+    varyingStatements = new String["oltp".equals(workload) ? 100_000 : 5_000];
+    for (int i = 0; i < varyingStatements.length; i++) {
+      // a distinct literal makes every statement a statement cache miss
+      varyingStatements[i] = statements[i % statements.length].replace("4711", String.valueOf(i));
+    }
+  }
+
+  private static String analyticQuery() {
+    StringBuilder query = new StringBuilder("SELECT r.region_name");
+    for (int i = 0; query.length() < 32 * 1024 - 200; i++) {
+      query
+          .append(", SUM(CASE WHEN s.product_id = ")
+          .append(1000 + i)
+          .append(" AND s.sold_at >= '2020-0")
+          .append(1 + i % 9)
+          .append("-01' THEN s.amount * 1.")
+          .append(i)
+          .append(" ELSE 0 END) AS product_")
+          .append(i);
+    }
+    query
+        .append(" FROM sales s JOIN regions r ON s.region_id = r.id")
+        .append(" WHERE s.channel IN ('web', 'store', \"partner\") AND s.tenant_id = 4711")
+        .append(" AND s.discount <= 0x1F GROUP BY r.region_name ORDER BY r.region_name");
+    return query.toString();
+  }
+
+  private String nextStatement() {
+    String statement = statements[index];
+    index = (index + 1) % statements.length;
+    return statement;
+  }
+
+  @Benchmark
+  public SqlStatementInfo jflexLexer() {
+    return AutoSqlSanitizer.sanitize(nextStatement());
+  }
+
+  @Benchmark
+  public SqlStatementInfo scanner() {
+    SqlStatementScanner scanner = SqlStatementScanner.scan(nextStatement());
+    return SqlStatementInfo.create(
+        scanner.getSanitizedStatement(), scanner.getOperation(), scanner.getMainTable());
+  }
+
+  @Benchmark
+  public SqlStatementInfo sanitizerWithVaryingLiterals() {
+    String statement = varyingStatements[varyingIndex];
+    varyingIndex = (varyingIndex + 1) % varyingStatements.length;
+    return SqlStatementSanitizer.sanitize(statement);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.lettuce.v5_1;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer;
+import io.opentelemetry.instrumentation.lettuce.common.LettuceArgSplitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Sanitizes a pipeline of MSET or HMSET commands the way the lettuce 5.1 tracing does, from the
+ * {@code redis.args} string that lettuce renders for each command. {@link #splitArgs} copies every
+ * arg into a list first, {@link #argumentAccessor} only copies the keys that the sanitizer keeps.
+ * Allocation rates are reported by the {@code gc} profiler configured in {@code benchmark.gradle}.
+ *
+ * <p>This class lives in the tracing package because {@link LettuceArgs} is package-private.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Thread)
+public class RedisSanitizerBenchmark {
+
+  private static final int PIPELINE_SIZE = 16;
+  private static final int PAIRS_PER_COMMAND = 4;
+
+  @Param({"MSET", "HMSET"})
+  public String command;
+
+  @Param({"64", "1048576"})
+  public int valueSize;
+
+  private String[] pipeline;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    StringBuilder value = new StringBuilder(valueSize);
+    while (value.length() < valueSize) {
+      // lettuce renders binary values as base64
+      value.append("QmVuY2htYXJr");
+    }
+    value.setLength(valueSize);
+
+    pipeline = new String[PIPELINE_SIZE];
+    for (int i = 0; i < PIPELINE_SIZE; i++) {
+      StringBuilder args = new StringBuilder();
+      if (command.equals("HMSET")) {
+        args.append("key<hash").append(i).append("> ");
+      }
+      for (int j = 0; j < PAIRS_PER_COMMAND; j++) {
+        args.append("key<field").append(j).append("> value<").append(value).append("> ");
+      }
+      pipeline[i] = args.toString().trim();
+    }
+  }
+
+  @Benchmark
+  public void splitArgs(Blackhole blackhole) {
+    for (String args : pipeline) {
+      blackhole.consume(
+          RedisCommandSanitizer.sanitize(command, LettuceArgSplitter.splitArgs(args)));
+    }
+  }
+
+  @Benchmark
+  public void argumentAccessor(Blackhole blackhole) {
+    for (String args : pipeline) {
+      blackhole.consume(
+          RedisCommandSanitizer.sanitize(command, new LettuceArgs(args), LettuceArgs.ACCESSOR));
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.mongo;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sanitizing Mongo commands through the shape cache of {@link MongoClientTracer} with
+ * serializing every command to JSON, on find, insert and aggregate commands that have the same
+ * shape but different values every time. Allocation rates are reported by the {@code gc} profiler
+ * configured in {@code benchmark.gradle}.
+ *
+ * <p>This class lives in the tracer package because the uncached serialization is package-private.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(3)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Thread)
+public class MongoSanitizerBenchmark {
+
+  @Param({"find", "insert", "aggregate"})
+  public String command;
+
+  private final MongoClientTracer tracer = new MongoClientTracer();
+  private BsonDocument[] commands;
+  private int index;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    commands = new BsonDocument[1024];
+    for (int i = 0; i < commands.length; i++) {
+      switch (command) {
+        case "find":
+          commands[i] = find(i);
+          break;
+        case "insert":
+          commands[i] = insert(i);
+          break;
+        default:
+          commands[i] = aggregate(i);
+      }
+    }
+  }
+
+  private static BsonDocument find(int i) {
+    return new BsonDocument("find", new BsonString("orders"))
+        .append(
+            "filter",
+            new BsonDocument("customerId", new BsonInt64(4711 + i))
+                .append("status", new BsonString(i % 2 == 0 ? "OPEN" : "SHIPPED")))
+        .append("sort", new BsonDocument("createdAt", new BsonInt32(-1)))
+        .append("limit", new BsonInt32(20))
+        .append("$db", new BsonString("shop"));
+  }
+
+  private static BsonDocument insert(int i) {
+    return new BsonDocument("insert", new BsonString("orders"))
+        .append("ordered", BsonBoolean.TRUE)
+        .append(
+            "documents",
+            new BsonArray(
+                asList(
+                    new BsonDocument("_id", new BsonInt64(i))
+                        .append("customerId", new BsonInt64(4711 + i))
+                        .append("total", new BsonDouble(19.99 * i))
+                        .append(
+                            "lines",
+                            new BsonArray(
+                                asList(
+                                    new BsonDocument("productId", new BsonInt32(42))
+                                        .append("quantity", new BsonInt32(i % 5)),
+                                    new BsonDocument("productId", new BsonInt32(43))
+                                        .append("quantity", new BsonInt32(1))))))))
+        .append("$db", new BsonString("shop"));
+  }
+
+  private static BsonDocument aggregate(int i) {
+    return new BsonDocument("aggregate", new BsonString("orders"))
+        .append(
+            "pipeline",
+            new BsonArray(
+                asList(
+                    new BsonDocument(
+                        "$match",
+                        new BsonDocument("status", new BsonString("OPEN"))
+                            .append("total", new BsonDocument("$gt", new BsonInt32(i)))),
+                    new BsonDocument(
+                        "$group",
+                        new BsonDocument("_id", new BsonString("$customerId"))
+                            .append("total", new BsonDocument("$sum", new BsonString("$total")))),
+                    new BsonDocument("$sort", new BsonDocument("total", new BsonInt32(-1))))))
+        .append("cursor", new BsonDocument())
+        .append("$db", new BsonString("shop"));
+  }
+
+  private BsonDocument nextCommand() {
+    BsonDocument document = commands[index];
+    index = (index + 1) % commands.length;
+    return document;
+  }
+
+  @Benchmark
+  public String shapeCache() {
+    return tracer.sanitizeStatement(nextCommand());
+  }
+
+  @Benchmark
+  public String serialization() {
+    return tracer.serializeScrubbed(nextCommand());
+  }
+}
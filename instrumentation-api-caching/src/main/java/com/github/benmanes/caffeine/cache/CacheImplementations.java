@@ -17,6 +17,9 @@ final class CacheImplementations {
   SSMS<?, ?> ssms; // cache
   PSMS<?, ?> psms; // node
 
+  // Strong keys, strong values, stats, maximum size
+  SSSMS<?, ?> sssms; // cache
+
   // Weak keys, strong values, maximum size
   WSMS<?, ?> wsms; // cache
   FSMS<?, ?> fsms; // node
@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.api.caching;
 
 import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /** A cache from keys to values. */
 public interface Cache<K, V> {
@@ -20,4 +21,20 @@ public interface Cache<K, V> {
    * computes the value using {@code mappingFunction}, stores the result, and returns it.
    */
   V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
+
+  /** Returns the cached value associated with the provided {@code key} if present. */
+  @Nullable
+  V get(K key);
+
+  /** Associates the {@code value} with the {@code key} in this cache. */
+  void put(K key, V value);
+
+  /** Returns the approximate number of entries in this cache. */
+  long estimatedSize();
+
+  /**
+   * Returns the number of entries that were evicted from this cache because of its maximum size, or
+   * {@code 0} if it was not built with {@link CacheBuilder#setRecordEvictions()}.
+   */
+  long evictionCount();
 }
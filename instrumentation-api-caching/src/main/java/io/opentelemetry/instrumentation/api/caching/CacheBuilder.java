@@ -28,6 +28,12 @@ public final class CacheBuilder {
     return this;
   }
 
+  /** Sets that evicted entries should be counted, see {@link Cache#evictionCount()}. */
+  public CacheBuilder setRecordEvictions() {
+    caffeine.recordStats();
+    return this;
+  }
+
   // Visible for testing
   CacheBuilder setExecutor(Executor executor) {
     caffeine.executor(executor);
@@ -21,6 +21,26 @@ final class CaffeineCache<K, V> implements Cache<K, V> {
     return delegate.get(key, mappingFunction);
   }
 
+  @Override
+  public V get(K key) {
+    return delegate.getIfPresent(key);
+  }
+
+  @Override
+  public void put(K key, V value) {
+    delegate.put(key, value);
+  }
+
+  @Override
+  public long estimatedSize() {
+    return delegate.estimatedSize();
+  }
+
+  @Override
+  public long evictionCount() {
+    return delegate.stats().evictionCount();
+  }
+
   // Visible for testing
   Set<K> keySet() {
     return delegate.asMap().keySet();
@@ -0,0 +1,82 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.config;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A typed configuration property whose value is resolved once, when the property is created.
+ *
+ * <p>{@link Config} normalizes the property name and parses its value on every {@code
+ * get*Property()} call. Instrumentation that checks a property for every request or message should
+ * instead keep a {@code ConfigProperty} in a static final field:
+ *
+ * <pre>{@code
+ * private static final ConfigProperty<Boolean> CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES =
+ *     ConfigProperty.booleanProperty(
+ *         "otel.instrumentation.xyz.experimental-span-attributes", false);
+ *
+ * if (CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES.get()) {
+ *   ...
+ * }
+ * }</pre>
+ *
+ * Agent configuration does not change during the runtime, so {@link #get()} returns the value that
+ * was resolved when the property was created. Classes that already read a flag once into a {@code
+ * static final boolean} should keep doing so, which spares the unboxing on every check.
+ */
+public final class ConfigProperty<T> {
+
+  /**
+   * Returns a boolean property resolved from {@link Config#get()}.
+   *
+   * @see Config#getBooleanProperty(String, boolean)
+   */
+  public static ConfigProperty<Boolean> booleanProperty(String name, boolean defaultValue) {
+    return booleanProperty(Config.get(), name, defaultValue);
+  }
+
+  /**
+   * Returns a string property resolved from {@link Config#get()}.
+   *
+   * @see Config#getProperty(String, String)
+   */
+  public static ConfigProperty<String> stringProperty(String name, @Nullable String defaultValue) {
+    return stringProperty(Config.get(), name, defaultValue);
+  }
+
+  static ConfigProperty<Boolean> booleanProperty(
+      Config config, String name, boolean defaultValue) {
+    return new ConfigProperty<>(name, config.getBooleanProperty(name, defaultValue));
+  }
+
+  static ConfigProperty<String> stringProperty(
+      Config config, String name, @Nullable String defaultValue) {
+    return new ConfigProperty<>(name, config.getProperty(name, defaultValue));
+  }
+
+  private final String name;
+  private final T value;
+
+  private ConfigProperty(String name, T value) {
+    this.name = name;
+    this.value = value;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** Returns the value of this property, or its default value if it was not configured. */
+  public T get() {
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return name + '=' + value;
+  }
+}
@@ -13,6 +13,7 @@ import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer.CommandSani
 import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer.CommandSanitizer.KeepAllArgs;
 import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer.CommandSanitizer.MultiKeyValue;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -312,16 +313,97 @@ public final class RedisCommandSanitizer {
     SANITIZERS = unmodifiableMap(sanitizers);
   }
 
+  // buffers that grew larger than this for a huge statement are not kept for the next one
+  private static final int MAX_REUSED_BUFFER_SIZE = 16 * 1024;
+
+  private static final ThreadLocal<StringBuilder> BUFFER =
+      ThreadLocal.withInitial(() -> new StringBuilder(128));
+
   public static String sanitize(String command, List<?> args) {
-    if (!StatementSanitizationConfig.isStatementSanitizationEnabled()) {
-      return KeepAllArgs.INSTANCE.sanitize(command, args);
+    return sanitize(command, args, ListArguments.INSTANCE);
+  }
+
+  /**
+   * Sanitizes the command with arguments that are only decoded, through the {@code accessor}, if
+   * they are kept in the sanitized statement.
+   */
+  public static <ARGS> String sanitize(String command, ARGS args, ArgumentAccessor<ARGS> accessor) {
+    CommandSanitizer sanitizer =
+        StatementSanitizationConfig.isStatementSanitizationEnabled()
+            ? SANITIZERS.getOrDefault(command.toUpperCase(), DEFAULT)
+            : KeepAllArgs.INSTANCE;
+
+    StringBuilder statement = BUFFER.get();
+    statement.setLength(0);
+    statement.append(command);
+    sanitizer.appendArgs(statement, args, accessor);
+    String sanitized = statement.toString();
+    if (statement.capacity() > MAX_REUSED_BUFFER_SIZE) {
+      BUFFER.remove();
+    }
+    return sanitized;
+  }
+
+  /** Gives access to the arguments of a command, e.g. to raw buffers that still need decoding. */
+  public interface ArgumentAccessor<ARGS> {
+    int size(ARGS args);
+
+    /** Decodes the argument with the given {@code index} and appends it to the statement. */
+    void append(StringBuilder statement, ARGS args, int index);
+
+    /** Decodes the argument with the given {@code index}. */
+    default String get(ARGS args, int index) {
+      StringBuilder arg = new StringBuilder();
+      append(arg, args, index);
+      return arg.toString();
+    }
+  }
+
+  private enum ListArguments implements ArgumentAccessor<List<?>> {
+    INSTANCE;
+
+    @Override
+    public int size(List<?> args) {
+      return args.size();
+    }
+
+    @Override
+    public void append(StringBuilder statement, List<?> args, int index) {
+      statement.append(CommandSanitizer.argToString(args.get(index)));
+    }
+
+    @Override
+    public String get(List<?> args, int index) {
+      return CommandSanitizer.argToString(args.get(index));
     }
-    return SANITIZERS.getOrDefault(command.toUpperCase(), DEFAULT).sanitize(command, args);
+  }
+
+  // sanitize(String, List) of the sanitizers that implement appendArgs()
+  private static String sanitizeList(CommandSanitizer sanitizer, String command, List<?> args) {
+    StringBuilder sanitized = new StringBuilder(command);
+    sanitizer.appendArgs(sanitized, args, ListArguments.INSTANCE);
+    return sanitized.toString();
   }
 
   public interface CommandSanitizer {
     String sanitize(String command, List<?> args);
 
+    /**
+     * Appends the arguments of the command to the statement, which already starts with the
+     * command, masking the sensitive ones. The default implementation decodes all arguments and
+     * appends what {@link #sanitize(String, List)} returns for them after an empty command;
+     * override it to only decode the arguments that are kept.
+     */
+    default <ARGS> void appendArgs(
+        StringBuilder statement, ARGS args, ArgumentAccessor<ARGS> accessor) {
+      int size = accessor.size(args);
+      List<String> decodedArgs = new ArrayList<>(size);
+      for (int i = 0; i < size; ++i) {
+        decodedArgs.add(accessor.get(args, i));
+      }
+      statement.append(sanitize("", decodedArgs));
+    }
+
     static String argToString(Object arg) {
       if (arg instanceof byte[]) {
         return new String((byte[]) arg, StandardCharsets.UTF_8);
@@ -335,11 +417,17 @@ public final class RedisCommandSanitizer {
 
       @Override
       public String sanitize(String command, List<?> args) {
-        StringBuilder sanitized = new StringBuilder(command);
-        for (Object arg : args) {
-          sanitized.append(" ").append(argToString(arg));
+        return sanitizeList(this, command, args);
+      }
+
+      @Override
+      public <ARGS> void appendArgs(
+          StringBuilder statement, ARGS args, ArgumentAccessor<ARGS> accessor) {
+        int size = accessor.size(args);
+        for (int i = 0; i < size; ++i) {
+          statement.append(" ");
+          accessor.append(statement, args, i);
         }
-        return sanitized.toString();
       }
     }
 
@@ -354,14 +442,20 @@ public final class RedisCommandSanitizer {
 
       @Override
       public String sanitize(String command, List<?> args) {
-        StringBuilder sanitized = new StringBuilder(command);
-        for (int i = 0; i < numOfArgsToKeep && i < args.size(); ++i) {
-          sanitized.append(" ").append(argToString(args.get(i)));
+        return sanitizeList(this, command, args);
+      }
+
+      @Override
+      public <ARGS> void appendArgs(
+          StringBuilder statement, ARGS args, ArgumentAccessor<ARGS> accessor) {
+        int size = accessor.size(args);
+        for (int i = 0; i < numOfArgsToKeep && i < size; ++i) {
+          statement.append(" ");
+          accessor.append(statement, args, i);
         }
-        for (int i = numOfArgsToKeep; i < args.size(); ++i) {
-          sanitized.append(" ?");
+        for (int i = numOfArgsToKeep; i < size; ++i) {
+          statement.append(" ?");
         }
-        return sanitized.toString();
       }
     }
 
@@ -376,17 +470,25 @@ public final class RedisCommandSanitizer {
 
       @Override
       public String sanitize(String command, List<?> args) {
-        StringBuilder sanitized = new StringBuilder(command);
+        return sanitizeList(this, command, args);
+      }
+
+      @Override
+      public <ARGS> void appendArgs(
+          StringBuilder statement, ARGS args, ArgumentAccessor<ARGS> accessor) {
+        int size = accessor.size(args);
         // append all "initial" arguments before key-value pairs start
-        for (int i = 0; i < numOfArgsBeforeKeyValue && i < args.size(); ++i) {
-          sanitized.append(" ").append(argToString(args.get(i)));
+        for (int i = 0; i < numOfArgsBeforeKeyValue && i < size; ++i) {
+          statement.append(" ");
+          accessor.append(statement, args, i);
         }
 
         // loop over keys only
-        for (int i = numOfArgsBeforeKeyValue; i < args.size(); i += 2) {
-          sanitized.append(" ").append(argToString(args.get(i))).append(" ?");
+        for (int i = numOfArgsBeforeKeyValue; i < size; i += 2) {
+          statement.append(" ");
+          accessor.append(statement, args, i);
+          statement.append(" ?");
         }
-        return sanitized.toString();
       }
     }
 
@@ -395,27 +497,33 @@ public final class RedisCommandSanitizer {
 
       @Override
       public String sanitize(String command, List<?> args) {
-        StringBuilder sanitized = new StringBuilder(command);
+        return sanitizeList(this, command, args);
+      }
+
+      @Override
+      public <ARGS> void appendArgs(
+          StringBuilder statement, ARGS args, ArgumentAccessor<ARGS> accessor) {
+        int size = accessor.size(args);
 
         // get the number of keys passed from the command itself (second arg)
         int numberOfKeys = 0;
-        if (args.size() > 2) {
+        if (size > 2) {
           try {
-            numberOfKeys = Integer.parseInt(argToString(args.get(1)));
+            numberOfKeys = Integer.parseInt(accessor.get(args, 1));
           } catch (NumberFormatException ignored) {
           }
         }
 
         int i = 0;
         // log the script, number of keys and all keys
-        for (; i < (numberOfKeys + 2) && i < args.size(); ++i) {
-          sanitized.append(" ").append(argToString(args.get(i)));
+        for (; i < (numberOfKeys + 2) && i < size; ++i) {
+          statement.append(" ");
+          accessor.append(statement, args, i);
         }
         // mask the rest
-        for (; i < args.size(); ++i) {
-          sanitized.append(" ?");
+        for (; i < size; ++i) {
+          statement.append(" ?");
         }
-        return sanitized.toString();
       }
     }
   }
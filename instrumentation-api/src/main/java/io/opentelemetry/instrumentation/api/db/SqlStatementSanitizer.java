@@ -26,11 +26,14 @@ public final class SqlStatementSanitizer {
       return SqlStatementInfo.create(statement, null, null);
     }
     return sqlToStatementInfoCache.computeIfAbsent(
-        statement,
-        k -> {
-          log.trace("SQL statement cache miss");
-          return AutoSqlSanitizer.sanitize(statement);
-        });
+        statement, SqlStatementSanitizer::computeStatementInfo);
+  }
+
+  private static SqlStatementInfo computeStatementInfo(String statement) {
+    log.trace("SQL statement cache miss");
+    SqlStatementScanner scanner = SqlStatementScanner.scan(statement);
+    return SqlStatementInfo.create(
+        scanner.getSanitizedStatement(), scanner.getOperation(), scanner.getMainTable());
   }
 
   private SqlStatementSanitizer() {}
@@ -0,0 +1,534 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A hand-written, single pass equivalent of the {@code AutoSqlSanitizer} lexer generated from
+ * {@code SqlSanitizer.flex}: it replaces numbers and string literals with {@code ?}, collapses
+ * whitespace and extracts the operation and the main table of the statement.
+ *
+ * <p>The scanner reads the statement directly instead of copying it through a {@link
+ * java.io.Reader} into a lexer buffer, and it keeps its state in a per-thread instance whose output
+ * buffer is reused. Scanning a statement therefore only allocates its results.
+ *
+ * <p>The per-thread instance doesn't keep any reference to the scanned statement, which may contain
+ * sensitive literals, once the results are extracted, nor an output buffer grown by a long
+ * statement.
+ */
+final class SqlStatementScanner {
+
+  // max length of the sanitized statement - SQLs longer than this will be trimmed
+  static final int LIMIT = 32 * 1024;
+
+  // you can reference a table in the FROM clause in one of the following ways:
+  //   table
+  //   table t
+  //   table as t
+  // in other words, you need max 3 identifiers to reference a table
+  private static final int FROM_TABLE_REF_MAX_IDENTIFIERS = 3;
+
+  // output buffers grown beyond this by a long statement are not kept for the next one
+  private static final int MAX_RETAINED_CAPACITY = 1024;
+
+  private static final ThreadLocal<SqlStatementScanner> scanners =
+      ThreadLocal.withInitial(SqlStatementScanner::new);
+
+  /**
+   * Scans the {@code statement} with the scanner of the current thread and returns it. The returned
+   * scanner must not be used after the next call of this method on the same thread.
+   */
+  static SqlStatementScanner scan(CharSequence statement) {
+    SqlStatementScanner scanner = scanners.get();
+    scanner.reset(statement);
+    scanner.scanStatement();
+    scanner.extractResults();
+    return scanner;
+  }
+
+  private enum Operation {
+    NONE,
+    SELECT,
+    INSERT,
+    DELETE,
+    UPDATE,
+    MERGE
+  }
+
+  private StringBuilder builder = new StringBuilder();
+
+  // only set while scanning
+  @Nullable private CharSequence statement;
+  private int parenLevel;
+  private boolean insideComment;
+  private Operation operation;
+  private boolean extractionDone;
+  private boolean expectingTableName;
+  private boolean mainTableSetAlready;
+  private int identifiersAfterMainFromClause;
+  // bounds of the main table name in the scanned statement, -1 if there is no main table
+  private int mainTableStart;
+  private int mainTableEnd;
+
+  private String sanitizedStatement;
+  @Nullable private String mainTable;
+
+  private SqlStatementScanner() {}
+
+  /** Returns the sanitized statement. */
+  String getSanitizedStatement() {
+    return sanitizedStatement;
+  }
+
+  @Nullable
+  String getOperation() {
+    return operation == Operation.NONE ? null : operation.name();
+  }
+
+  @Nullable
+  String getMainTable() {
+    return mainTable;
+  }
+
+  private void extractResults() {
+    sanitizedStatement = builder.toString();
+    mainTable =
+        mainTableStart < 0 ? null : statement.subSequence(mainTableStart, mainTableEnd).toString();
+    statement = null;
+    if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+      builder = new StringBuilder();
+    } else {
+      builder.setLength(0);
+    }
+  }
+
+  private void reset(CharSequence statement) {
+    this.statement = statement;
+    builder.setLength(0);
+    parenLevel = 0;
+    insideComment = false;
+    operation = Operation.NONE;
+    extractionDone = false;
+    expectingTableName = false;
+    mainTableSetAlready = false;
+    identifiersAfterMainFromClause = 0;
+    clearMainTable();
+  }
+
+  private void scanStatement() {
+    CharSequence statement = this.statement;
+    int length = statement.length();
+    int index = 0;
+    // the statement is cut off after the first token that goes over the limit
+    while (index < length && builder.length() <= LIMIT) {
+      char c = statement.charAt(index);
+      int end;
+      switch (c) {
+        case ' ':
+        case '\t':
+        case '\r':
+        case '\n':
+          end = index + 1;
+          while (end < length && isWhitespace(statement.charAt(end))) {
+            end++;
+          }
+          builder.append(' ');
+          index = end;
+          continue;
+        case ',':
+          if (!insideComment && !extractionDone) {
+            extractionDone = handleComma();
+          }
+          break;
+        case '(':
+          if (!insideComment) {
+            parenLevel += 1;
+          }
+          break;
+        case ')':
+          if (!insideComment) {
+            parenLevel -= 1;
+          }
+          break;
+        case '/':
+          if (index + 1 < length && statement.charAt(index + 1) == '*') {
+            insideComment = true;
+            append(index, index + 2);
+            index += 2;
+            continue;
+          }
+          break;
+        case '*':
+          if (index + 1 < length && statement.charAt(index + 1) == '/') {
+            insideComment = false;
+            append(index, index + 2);
+            index += 2;
+            continue;
+          }
+          break;
+        case '\'':
+        case '"':
+          end = quotedStringEnd(index, c);
+          if (end > 0) {
+            builder.append('?');
+            index = end;
+            continue;
+          }
+          break;
+        case '$':
+          end = dollarQuotedStringEnd(index);
+          if (end > 0) {
+            builder.append('?');
+            index = end;
+            continue;
+          }
+          break;
+        case '.':
+        case '+':
+        case '-':
+          end = numberEnd(index);
+          if (end < 0) {
+            // none of the following signs or dots starts a number either
+            end = -end;
+            append(index, end);
+          } else {
+            builder.append('?');
+          }
+          index = end;
+          continue;
+        default:
+          if (isDigit(c)) {
+            end = hexNumberEnd(index);
+            builder.append('?');
+            index = end > 0 ? end : numberEnd(index);
+            continue;
+          }
+          if (c == '_' || Character.isLetter(Character.codePointAt(statement, index))) {
+            end = identifierEnd(index);
+            handleWord(index, end);
+            append(index, end);
+            index = end;
+            continue;
+          }
+      }
+      builder.append(c);
+      index++;
+    }
+    if (builder.length() > LIMIT) {
+      builder.setLength(LIMIT);
+    }
+  }
+
+  private void append(int start, int end) {
+    // anything past the limit would be cut off anyway
+    builder.append(statement, start, Math.min(end, start + LIMIT + 1 - builder.length()));
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isHexDigit(char c) {
+    return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+
+  // [.+-]* [0-9] ([0-9] | [eE.+-])*
+  // returns the negated end of the [.+-]* run if it isn't followed by a digit
+  private int numberEnd(int start) {
+    CharSequence statement = this.statement;
+    int length = statement.length();
+    int index = start;
+    while (index < length && isSignOrDot(statement.charAt(index))) {
+      index++;
+    }
+    if (index == length || !isDigit(statement.charAt(index))) {
+      return -index;
+    }
+    index++;
+    while (index < length) {
+      char c = statement.charAt(index);
+      if (!isDigit(c) && c != 'e' && c != 'E' && !isSignOrDot(c)) {
+        break;
+      }
+      index++;
+    }
+    return index;
+  }
+
+  private static boolean isSignOrDot(char c) {
+    return c == '.' || c == '+' || c == '-';
+  }
+
+  // "0x" ([a-f] | [A-F] | [0-9])+
+  // returns -1 if there's no hex number at start
+  private int hexNumberEnd(int start) {
+    CharSequence statement = this.statement;
+    int length = statement.length();
+    if (start + 2 >= length
+        || statement.charAt(start) != '0'
+        || (statement.charAt(start + 1) != 'x' && statement.charAt(start + 1) != 'X')
+        || !isHexDigit(statement.charAt(start + 2))) {
+      return -1;
+    }
+    int index = start + 3;
+    while (index < length && isHexDigit(statement.charAt(index))) {
+      index++;
+    }
+    return index;
+  }
+
+  // "'" ("''" | [^'])* "'", and the same for double quotes
+  // returns the end of the longest matching string literal, or -1 if there is none
+  private int quotedStringEnd(int start, char quote) {
+    CharSequence statement = this.statement;
+    int length = statement.length();
+    int end = -1;
+    int index = start + 1;
+    while (index < length) {
+      if (statement.charAt(index) != quote) {
+        index++;
+        continue;
+      }
+      int quotes = 1;
+      while (index + quotes < length && statement.charAt(index + quotes) == quote) {
+        quotes++;
+      }
+      if (quotes % 2 == 1) {
+        // all but the last quote are escaped quotes, the last one closes the literal
+        return index + quotes;
+      }
+      // either all quotes are escaped and the literal goes on, or the literal is closed by the
+      // next to last one; the latter is the match if the literal is never closed later on
+      end = index + quotes - 1;
+      index += quotes;
+    }
+    return end;
+  }
+
+  // "$$" [^$]* "$$"
+  // returns -1 if there's no dollar quoted string at start
+  private int dollarQuotedStringEnd(int start) {
+    CharSequence statement = this.statement;
+    int length = statement.length();
+    if (start + 1 >= length || statement.charAt(start + 1) != '$') {
+      return -1;
+    }
+    for (int index = start + 2; index < length; index++) {
+      if (statement.charAt(index) == '$') {
+        return index + 1 < length && statement.charAt(index + 1) == '$' ? index + 2 : -1;
+      }
+    }
+    return -1;
+  }
+
+  // ([:letter:] | "_") ([:letter:] | [0-9] | [_.])*
+  private int identifierEnd(int start) {
+    CharSequence statement = this.statement;
+    int length = statement.length();
+    int index = start + Character.charCount(Character.codePointAt(statement, start));
+    while (index < length) {
+      char c = statement.charAt(index);
+      if (isDigit(c) || c == '_' || c == '.') {
+        index++;
+        continue;
+      }
+      int codePoint = Character.codePointAt(statement, index);
+      if (!Character.isLetter(codePoint)) {
+        break;
+      }
+      index += Character.charCount(codePoint);
+    }
+    return index;
+  }
+
+  private void handleWord(int start, int end) {
+    if (insideComment) {
+      return;
+    }
+    switch (end - start) {
+      case 4:
+        if (isKeyword(start, "FROM")) {
+          if (!extractionDone) {
+            extractionDone = handleFrom();
+          }
+          return;
+        }
+        if (isKeyword(start, "INTO")) {
+          if (!extractionDone) {
+            extractionDone = handleInto();
+          }
+          return;
+        }
+        if (isKeyword(start, "JOIN")) {
+          if (!extractionDone) {
+            extractionDone = handleJoin();
+          }
+          return;
+        }
+        break;
+      case 5:
+        if (isKeyword(start, "MERGE")) {
+          setOperation(Operation.MERGE);
+          return;
+        }
+        break;
+      case 6:
+        if (isKeyword(start, "SELECT")) {
+          setOperation(Operation.SELECT);
+          return;
+        }
+        if (isKeyword(start, "INSERT")) {
+          setOperation(Operation.INSERT);
+          return;
+        }
+        if (isKeyword(start, "DELETE")) {
+          setOperation(Operation.DELETE);
+          return;
+        }
+        if (isKeyword(start, "UPDATE")) {
+          setOperation(Operation.UPDATE);
+          return;
+        }
+        break;
+      default:
+        break;
+    }
+    if (!extractionDone) {
+      extractionDone = handleIdentifier(start, end);
+    }
+  }
+
+  private boolean isKeyword(int start, String keyword) {
+    for (int i = 0; i < keyword.length(); i++) {
+      if (Character.toUpperCase(statement.charAt(start + i)) != keyword.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void setOperation(Operation operation) {
+    if (this.operation == Operation.NONE) {
+      this.operation = operation;
+    }
+  }
+
+  private void setMainTable(int start, int end) {
+    mainTableStart = start;
+    mainTableEnd = end;
+  }
+
+  private void clearMainTable() {
+    mainTableStart = -1;
+    mainTableEnd = -1;
+  }
+
+  // the handlers below return true if all statement info is gathered
+
+  private boolean handleFrom() {
+    switch (operation) {
+      case SELECT:
+        if (parenLevel == 0) {
+          // main query FROM clause
+          expectingTableName = true;
+          return false;
+        }
+        // subquery in WITH or SELECT clause, before main FROM clause; skipping
+        clearMainTable();
+        return true;
+      case DELETE:
+        expectingTableName = true;
+        return false;
+      default:
+        return false;
+    }
+  }
+
+  private boolean handleInto() {
+    if (operation == Operation.INSERT) {
+      expectingTableName = true;
+    }
+    return false;
+  }
+
+  private boolean handleJoin() {
+    if (operation == Operation.SELECT) {
+      // for SELECT statements with joined tables there's no main table
+      clearMainTable();
+      return true;
+    }
+    return false;
+  }
+
+  private boolean handleIdentifier(int start, int end) {
+    switch (operation) {
+      case SELECT:
+        return handleSelectIdentifier(start, end);
+      case INSERT:
+      case DELETE:
+        if (!expectingTableName) {
+          return false;
+        }
+        setMainTable(start, end);
+        return true;
+      case UPDATE:
+      case MERGE:
+        setMainTable(start, end);
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private boolean handleSelectIdentifier(int start, int end) {
+    if (identifiersAfterMainFromClause > 0) {
+      ++identifiersAfterMainFromClause;
+    }
+
+    if (!expectingTableName) {
+      return false;
+    }
+
+    // SELECT FROM (subquery) case
+    if (parenLevel != 0) {
+      clearMainTable();
+      return true;
+    }
+
+    // whenever >1 table is used there is no main table (e.g. unions)
+    if (mainTableSetAlready) {
+      clearMainTable();
+      return true;
+    }
+
+    setMainTable(start, end);
+    mainTableSetAlready = true;
+    expectingTableName = false;
+    // start counting identifiers after encountering main from clause
+    identifiersAfterMainFromClause = 1;
+
+    // continue scanning the query, there may be more than one table (e.g. joins)
+    return false;
+  }
+
+  private boolean handleComma() {
+    // comma was encountered in the FROM clause, i.e. implicit join
+    // (if less than 3 identifiers have appeared before first comma then it means that it's a table
+    // list; any other list that can appear later needs at least 4 idents)
+    if (operation == Operation.SELECT
+        && identifiersAfterMainFromClause > 0
+        && identifiersAfterMainFromClause <= FROM_TABLE_REF_MAX_IDENTIFIERS) {
+      clearMainTable();
+      return true;
+    }
+    return false;
+  }
+}
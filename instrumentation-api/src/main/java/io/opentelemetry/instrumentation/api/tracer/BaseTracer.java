@@ -191,10 +191,11 @@ public abstract class BaseTracer {
 
   /**
    * This method is used to generate an acceptable span (operation) name based on a given method
-   * reference. Anonymous classes are named based on their parent.
+   * reference. Anonymous classes are named based on their parent. Names are cached per class, see
+   * {@link SpanNames#method(Class, String)}.
    */
   public static String spanNameForMethod(Class<?> cl, String methodName) {
-    return spanNameForClass(cl) + "." + methodName;
+    return SpanNames.method(cl, methodName);
   }
 
   /**
@@ -189,7 +189,6 @@ public abstract class HttpClientTracer<REQUEST, CARRIER, RESPONSE> extends BaseT
     if (request == null) {
       return DEFAULT_SPAN_NAME;
     }
-    String method = method(request);
-    return method != null ? "HTTP " + method : DEFAULT_SPAN_NAME;
+    return SpanNames.http(method(request));
   }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.tracer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded table of span names, looked up by a prefix and a suffix so that a name that is already
+ * in the table is returned without concatenating the two. Once the table holds {@code maxSize}
+ * names, names that are not in it yet are not added anymore and the caller's fallback is returned
+ * instead.
+ */
+final class SpanNameTable {
+  private static final Logger log = LoggerFactory.getLogger(SpanNameTable.class);
+
+  private final ConcurrentMap<String, ConcurrentMap<String, String>> namesByPrefix =
+      new ConcurrentHashMap<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicBoolean overflowLogged = new AtomicBoolean();
+  private final String description;
+  private final int maxSize;
+  private final String maxSizeConfig;
+
+  SpanNameTable(String description, int maxSize, String maxSizeConfig) {
+    this.description = description;
+    this.maxSize = maxSize;
+    this.maxSizeConfig = maxSizeConfig;
+  }
+
+  /**
+   * Returns {@code prefix + suffix} from the table, adding it if the table is not full, or {@code
+   * fallback} if it is.
+   */
+  @Nullable
+  String get(String prefix, String suffix, @Nullable String fallback) {
+    ConcurrentMap<String, String> names = namesByPrefix.get(prefix);
+    if (names != null) {
+      String name = names.get(suffix);
+      if (name != null) {
+        return name;
+      }
+    }
+    // concurrent adds may overshoot the maximum size by the number of threads adding at once
+    if (size.get() >= maxSize) {
+      if (overflowLogged.compareAndSet(false, true)) {
+        log.warn(
+            "More than {} distinct {}, falling back to generic span names for new ones;"
+                + " the limit can be changed with {}",
+            maxSize,
+            description,
+            maxSizeConfig);
+      }
+      return fallback;
+    }
+    if (names == null) {
+      names = namesByPrefix.computeIfAbsent(prefix, p -> new ConcurrentHashMap<>());
+    }
+    String name = prefix.isEmpty() ? suffix : prefix + suffix;
+    String previous = names.putIfAbsent(suffix, name);
+    if (previous != null) {
+      return previous;
+    }
+    size.incrementAndGet();
+    return name;
+  }
+
+  int size() {
+    return size.get();
+  }
+}
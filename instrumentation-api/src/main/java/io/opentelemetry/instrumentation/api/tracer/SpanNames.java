@@ -0,0 +1,144 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.tracer;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.instrumentation.api.servlet.ServletContextPath;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Span names shared by the HTTP server (and client) tracers, so that the same name is returned for
+ * every request without allocating it again, and so that names derived from request paths can't
+ * grow the number of distinct span names without limit.
+ *
+ * <p>Route templates, e.g. Spring MVC patterns and servlet mappings, and raw request paths, e.g. a
+ * servlet path that is the whole request path, are kept in two separate bounded tables, so that
+ * requests to distinct paths can't fill the table and starve routes that are matched later. Once a
+ * table is full, names that are not in it yet collapse into the given fallback, and a warning is
+ * logged once. The maximum number of names of each table is read from {@code
+ * otel.instrumentation.common.span-name-table-size}.
+ *
+ * <p>This needs to be in the instrumentation-api module, instead of injected as a helper class into
+ * the different modules that need it, so that all instrumentations share the same tables and limit.
+ */
+public final class SpanNames {
+  private static final Logger log = LoggerFactory.getLogger(SpanNames.class);
+
+  private static final String MAX_SIZE_CONFIG = "otel.instrumentation.common.span-name-table-size";
+  private static final int DEFAULT_MAX_SIZE = 2000;
+
+  private static final String[] HTTP_METHODS = {
+    "GET", "HEAD", "POST", "PUT", "DELETE", "CONNECT", "OPTIONS", "TRACE", "PATCH"
+  };
+  private static final Map<String, String> HTTP_NAMES = new HashMap<>();
+
+  static {
+    for (String method : HTTP_METHODS) {
+      HTTP_NAMES.put(method, "HTTP " + method);
+    }
+  }
+
+  private static final SpanNameTable ROUTES =
+      new SpanNameTable("route span names", maxSize(), MAX_SIZE_CONFIG);
+  private static final SpanNameTable PATHS =
+      new SpanNameTable("path span names", maxSize(), MAX_SIZE_CONFIG);
+
+  private static final ClassValue<ConcurrentMap<String, String>> METHOD_NAMES =
+      new ClassValue<ConcurrentMap<String, String>>() {
+        @Override
+        protected ConcurrentMap<String, String> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private static int maxSize() {
+    String configuredMaxSize = Config.get().getProperty(MAX_SIZE_CONFIG);
+    if (configuredMaxSize != null) {
+      try {
+        return Math.max(0, Integer.parseInt(configuredMaxSize.trim()));
+      } catch (NumberFormatException e) {
+        log.warn("Invalid {} value: {}", MAX_SIZE_CONFIG, configuredMaxSize);
+      }
+    }
+    return DEFAULT_MAX_SIZE;
+  }
+
+  /**
+   * Returns {@code "HTTP " + method}, or {@link HttpClientTracer#DEFAULT_SPAN_NAME} for {@code
+   * null}. Only the names of the standard HTTP methods are shared, other methods are rare and get a
+   * new name every time.
+   */
+  public static String http(@Nullable String method) {
+    if (method == null) {
+      return HttpClientTracer.DEFAULT_SPAN_NAME;
+    }
+    String name = HTTP_NAMES.get(method);
+    return name != null ? name : "HTTP " + method;
+  }
+
+  /**
+   * Returns {@code contextPath + route}, where a {@code null}, empty or root context path is
+   * omitted, or {@code fallback} if the table of routes is full. Only use this for route templates,
+   * e.g. the pattern that matched the request, and {@link #path(String, String, String)} for names
+   * taken from the request path.
+   */
+  @Nullable
+  public static String route(
+      @Nullable String contextPath, String route, @Nullable String fallback) {
+    return ROUTES.get(normalize(contextPath), route, fallback);
+  }
+
+  /**
+   * Returns the route prefixed with the servlet context path stored in the given context, as
+   * {@link ServletContextPath#prepend(Context, String)} does, or {@code fallback} if the table of
+   * routes is full.
+   */
+  @Nullable
+  public static String route(Context context, String route, @Nullable String fallback) {
+    return route(context.get(ServletContextPath.CONTEXT_KEY), route, fallback);
+  }
+
+  /**
+   * Returns {@code contextPath + path}, where a {@code null}, empty or root context path is
+   * omitted, or {@code fallback} if the table of paths is full. For names that are taken from the
+   * request path, which are not bounded by the application.
+   */
+  @Nullable
+  public static String path(@Nullable String contextPath, String path, @Nullable String fallback) {
+    return PATHS.get(normalize(contextPath), path, fallback);
+  }
+
+  private static String normalize(@Nullable String contextPath) {
+    return contextPath == null || contextPath.equals("/") ? "" : contextPath;
+  }
+
+  /**
+   * Returns the name of the class, as returned by {@link BaseTracer#spanNameForClass(Class)}, a dot
+   * and the method name. These names are bounded by the classes that are loaded, so they are cached
+   * per class instead of in the tables.
+   */
+  public static String method(Class<?> clazz, String methodName) {
+    ConcurrentMap<String, String> names = METHOD_NAMES.get(clazz);
+    String name = names.get(methodName);
+    if (name == null) {
+      name = BaseTracer.spanNameForClass(clazz) + "." + methodName;
+      String previous = names.putIfAbsent(methodName, name);
+      if (previous != null) {
+        name = previous;
+      }
+    }
+    return name;
+  }
+
+  private SpanNames() {}
+}
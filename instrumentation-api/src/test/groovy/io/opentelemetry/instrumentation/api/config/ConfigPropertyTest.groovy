@@ -0,0 +1,39 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.config
+
+import spock.lang.Specification
+
+class ConfigPropertyTest extends Specification {
+  def config = new ConfigBuilder().readProperties([
+    "property.boolean": "true",
+    "property.string" : "whatever",
+    "property.invalid": " "
+  ]).build()
+
+  def "should resolve boolean property"() {
+    expect:
+    ConfigProperty.booleanProperty(config, "property.boolean", false).get()
+    !ConfigProperty.booleanProperty(config, "property.invalid", false).get()
+    ConfigProperty.booleanProperty(config, "does-not-exist", true).get()
+  }
+
+  def "should resolve string property"() {
+    expect:
+    ConfigProperty.stringProperty(config, "property.string", "default").get() == "whatever"
+    ConfigProperty.stringProperty(config, "does-not-exist", "default").get() == "default"
+    ConfigProperty.stringProperty(config, "does-not-exist", null).get() == null
+  }
+
+  def "should describe property"() {
+    given:
+    def property = ConfigProperty.booleanProperty(config, "property.boolean", false)
+
+    expect:
+    property.name == "property.boolean"
+    property.toString() == "property.boolean=true"
+  }
+}
@@ -145,4 +145,71 @@ class RedisCommandSanitizerTest extends Specification {
     then:
     sanitized == "NEWAUTH ? ?"
   }
+
+  @Unroll
+  def "should only decode the kept arguments of #command"() {
+    given:
+    def decoded = []
+    def accessor = new RedisCommandSanitizer.ArgumentAccessor<List<String>>() {
+      @Override
+      int size(List<String> list) {
+        return list.size()
+      }
+
+      @Override
+      void append(StringBuilder statement, List<String> list, int index) {
+        decoded.add(index)
+        statement.append(list.get(index))
+      }
+    }
+
+    when:
+    def sanitized = RedisCommandSanitizer.sanitize(command, args, accessor)
+
+    then:
+    sanitized == expected
+    decoded == decodedIndexes
+
+    where:
+    command   | args                                         | expected                    | decodedIndexes
+    "MSET"    | ["key1", "value1", "key2", "value2"]         | "MSET key1 ? key2 ?"        | [0, 2]
+    "HMSET"   | ["hash", "key1", "value1", "key2", "value2"] | "HMSET hash key1 ? key2 ?"  | [0, 1, 3]
+    "SET"     | ["key", "value"]                             | "SET key ?"                 | [0]
+    "EVAL"    | ["script", "1", "key", "value"]              | "EVAL script 1 key ?"       | [1, 0, 1, 2]
+    "AUTH"    | ["password"]                                 | "AUTH ?"                    | []
+  }
+
+  def "should append the arguments of a sanitizer that only implements sanitize"() {
+    given:
+    def sanitizer = new RedisCommandSanitizer.CommandSanitizer() {
+      @Override
+      String sanitize(String command, List<?> args) {
+        return command + " " + args[0] + " ?"
+      }
+    }
+    def accessor = new RedisCommandSanitizer.ArgumentAccessor<List<String>>() {
+      @Override
+      int size(List<String> list) {
+        return list.size()
+      }
+
+      @Override
+      void append(StringBuilder statement, List<String> list, int index) {
+        statement.append(list.get(index))
+      }
+    }
+    def statement = new StringBuilder("CMD")
+
+    when:
+    sanitizer.appendArgs(statement, ["key", "value"], accessor)
+
+    then:
+    statement.toString() == "CMD key ?"
+  }
+
+  def "built-in sanitizers implement sanitize"() {
+    expect:
+    new RedisCommandSanitizer.CommandSanitizer.MultiKeyValue(0)
+      .sanitize("MSET", ["key", "value"]) == "MSET key ?"
+  }
 }
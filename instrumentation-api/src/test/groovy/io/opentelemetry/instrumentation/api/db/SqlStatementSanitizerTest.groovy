@@ -134,6 +134,40 @@ class SqlStatementSanitizerTest extends Specification {
     null                                                              | SqlStatementInfo.create(sql, null, null)
   }
 
+  def "scanner produces the same results as the generated lexer"() {
+    setup:
+    def fragments = ["select", "SeLeCt", "insert", "delete", "update", "merge", "from", "into", "join",
+                     "t", "t1", "db.t", "_x", "\u0105", " ", "\t\n", ",", "(", ")", "/*", "*/", "/", "*",
+                     "'", "''", "\"", "\$", "\$\$", "1", "-1.5e+3", "0x1f", "0x", ".", "+", "-", "=", "?"]
+    Random r = new Random(0)
+
+    expect:
+    for (int i = 0; i < 10000; i++) {
+      def sb = new StringBuilder()
+      def count = r.nextInt(30)
+      for (int j = 0; j < count; j++) {
+        sb.append(fragments[r.nextInt(fragments.size())])
+      }
+      def statement = sb.toString()
+      def scanner = SqlStatementScanner.scan(statement)
+      def scanned = SqlStatementInfo.create(scanner.getSanitizedStatement(), scanner.getOperation(), scanner.getMainTable())
+      assert scanned == AutoSqlSanitizer.sanitize(statement)
+    }
+  }
+
+  def "scanner doesn't retain the statement or a large buffer"() {
+    setup:
+    def longStatement = "SELECT * FROM table WHERE password = 'secret'" + " AND x = 1" * 1000
+
+    when:
+    def scanner = SqlStatementScanner.scan(longStatement)
+
+    then:
+    scanner.getMainTable() == "table"
+    scanner.@statement == null
+    scanner.@builder.capacity() <= 1024
+  }
+
   def "very long SELECT statements don't cause problems"() {
     given:
     def sb = new StringBuilder("SELECT * FROM table WHERE")
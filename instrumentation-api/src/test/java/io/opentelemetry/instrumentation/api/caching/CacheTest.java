@@ -47,6 +47,53 @@ class CacheTest {
       assertThat(caffeineCache.keySet()).hasSize(1);
       assertThat(cache.computeIfAbsent("cat", unused -> "purr")).isEqualTo("purr");
     }
+
+    @Test
+    void getAndPut() {
+      Cache<String, String> cache = Cache.newBuilder().setMaximumSize(10).build();
+
+      assertThat(cache.get("cat")).isNull();
+      assertThat(cache.estimatedSize()).isEqualTo(0);
+
+      cache.put("cat", "meow");
+      assertThat(cache.get("cat")).isEqualTo("meow");
+      assertThat(cache.estimatedSize()).isEqualTo(1);
+
+      cache.put("cat", "purr");
+      assertThat(cache.get("cat")).isEqualTo("purr");
+      assertThat(cache.computeIfAbsent("cat", unused -> "bark")).isEqualTo("purr");
+      assertThat(cache.estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void evictionCount() {
+      Cache<String, String> cache =
+          Cache.newBuilder().setMaximumSize(1).setRecordEvictions().build();
+
+      CaffeineCache<?, ?> caffeineCache = ((CaffeineCache<?, ?>) cache);
+      cache.put("cat", "meow");
+      cache.put("cat", "purr");
+      caffeineCache.cleanup();
+      // replaced values are not evicted
+      assertThat(cache.evictionCount()).isEqualTo(0);
+
+      cache.put("dog", "bark");
+      cache.put("bird", "tweet");
+      caffeineCache.cleanup();
+      assertThat(cache.evictionCount()).isEqualTo(2);
+      assertThat(cache.estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void evictionsNotRecorded() {
+      Cache<String, String> cache = Cache.newBuilder().setMaximumSize(1).build();
+
+      CaffeineCache<?, ?> caffeineCache = ((CaffeineCache<?, ?>) cache);
+      cache.put("cat", "meow");
+      cache.put("dog", "bark");
+      caffeineCache.cleanup();
+      assertThat(cache.evictionCount()).isEqualTo(0);
+    }
   }
 
   @Nested
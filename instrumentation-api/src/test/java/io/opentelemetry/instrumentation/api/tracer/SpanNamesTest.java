@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.tracer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.servlet.ServletContextPath;
+import org.junit.jupiter.api.Test;
+
+class SpanNamesTest {
+  @Test
+  void http() {
+    assertThat(SpanNames.http("GET")).isEqualTo("HTTP GET").isSameAs(SpanNames.http("GET"));
+    assertThat(SpanNames.http(new String("POST"))).isSameAs(SpanNames.http("POST"));
+    assertThat(SpanNames.http(null)).isEqualTo("HTTP request");
+    assertThat(SpanNames.http("PROPFIND")).isEqualTo("HTTP PROPFIND");
+  }
+
+  @Test
+  void route() {
+    assertThat(SpanNames.route("/app", "/users", null))
+        .isEqualTo("/app/users")
+        .isSameAs(SpanNames.route("/app", "/users", null));
+    assertThat(SpanNames.route((String) null, "/users", null)).isEqualTo("/users");
+    assertThat(SpanNames.route("/", "/users", null)).isEqualTo("/users");
+    assertThat(SpanNames.route("", "/users", null)).isEqualTo("/users");
+    assertThat(SpanNames.route(Context.root(), "/users", null)).isEqualTo("/users");
+    assertThat(
+            SpanNames.route(
+                Context.root().with(ServletContextPath.CONTEXT_KEY, "/app"), "/users", null))
+        .isSameAs(SpanNames.route("/app", "/users", null));
+  }
+
+  @Test
+  void path() {
+    assertThat(SpanNames.path("/app", "/users/1", null))
+        .isEqualTo("/app/users/1")
+        .isSameAs(SpanNames.path("/app", "/users/1", null));
+    assertThat(SpanNames.path(null, "/users/1", null)).isEqualTo("/users/1");
+  }
+
+  @Test
+  void pathsDontStarveRoutes() {
+    for (int i = 0; i < 10_000; i++) {
+      SpanNames.path("/app", "/scan/" + i, "HTTP GET");
+    }
+    assertThat(SpanNames.path("/app", "/scan/x", "HTTP GET")).isEqualTo("HTTP GET");
+
+    assertThat(SpanNames.route("/app", "/orders/{id}", null)).isEqualTo("/app/orders/{id}");
+  }
+
+  @Test
+  void method() {
+    assertThat(SpanNames.method(SpanNamesTest.class, "method"))
+        .isEqualTo("SpanNamesTest.method")
+        .isSameAs(SpanNames.method(SpanNamesTest.class, "method"));
+    assertThat(BaseTracer.spanNameForMethod(SpanNamesTest.class, "method"))
+        .isSameAs(SpanNames.method(SpanNamesTest.class, "method"));
+  }
+
+  @Test
+  void overflow() {
+    SpanNameTable table = new SpanNameTable("span names", 2, "span-name-table-size");
+
+    assertThat(table.get("/app", "/a", "fallback")).isEqualTo("/app/a");
+    assertThat(table.get("", "/b", "fallback")).isEqualTo("/b");
+    assertThat(table.get("/app", "/c", "fallback")).isEqualTo("fallback");
+    assertThat(table.get("/other", "/d", null)).isNull();
+
+    // names already in the table are still returned
+    assertThat(table.get("/app", "/a", "fallback")).isEqualTo("/app/a");
+    assertThat(table.get("", "/b", "fallback")).isEqualTo("/b");
+    assertThat(table.size()).isEqualTo(2);
+  }
+}
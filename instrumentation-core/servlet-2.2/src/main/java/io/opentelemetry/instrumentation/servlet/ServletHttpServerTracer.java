@@ -12,6 +12,7 @@ import io.opentelemetry.instrumentation.api.servlet.AppServerBridge;
 import io.opentelemetry.instrumentation.api.servlet.ServletContextPath;
 import io.opentelemetry.instrumentation.api.servlet.ServletSpanNaming;
 import io.opentelemetry.instrumentation.api.tracer.HttpServerTracer;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -154,15 +155,14 @@ public abstract class ServletHttpServerTracer<RESPONSE>
   }
 
   public static String getSpanName(HttpServletRequest request) {
+    String method = SpanNames.http(request.getMethod());
     String servletPath = request.getServletPath();
     if (servletPath.isEmpty()) {
-      return "HTTP " + request.getMethod();
+      return method;
     }
-    String contextPath = request.getContextPath();
-    if (contextPath == null || contextPath.isEmpty() || contextPath.equals("/")) {
-      return servletPath;
-    }
-    return contextPath + servletPath;
+    // the servlet path is the whole request path for servlets mapped to "/", fall back to the
+    // method once there are too many distinct names
+    return SpanNames.path(request.getContextPath(), servletPath, method);
   }
 
   /**
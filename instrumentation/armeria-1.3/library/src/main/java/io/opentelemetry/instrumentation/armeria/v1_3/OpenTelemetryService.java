@@ -15,6 +15,7 @@ import com.linecorp.armeria.server.SimpleDecoratingHttpService;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 import java.util.concurrent.TimeUnit;
 
 /** Decorates an {@link HttpService} to trace inbound {@link HttpRequest}s. */
@@ -45,8 +46,12 @@ final class OpenTelemetryService extends SimpleDecoratingHttpService {
               log -> {
                 if (log.responseHeaders().status() == HttpStatus.NOT_FOUND) {
                   // Assume a not-found request was not served. The route we use by default will be
-                  // some fallback like `/*` which is not as useful as the requested path.
-                  span.updateName(ctx.path());
+                  // some fallback like `/*` which is not as useful as the requested path. Requested
+                  // paths are unbounded though, so keep the route once there are too many names.
+                  String pathSpanName = SpanNames.path(null, ctx.path(), null);
+                  if (pathSpanName != null) {
+                    span.updateName(pathSpanName);
+                  }
                 }
                 long requestEndTimeNanos = requestStartTimeNanos + log.responseDurationNanos();
                 if (log.responseCause() != null) {
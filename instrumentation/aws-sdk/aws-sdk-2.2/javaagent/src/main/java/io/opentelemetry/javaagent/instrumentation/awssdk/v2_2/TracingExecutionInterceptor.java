@@ -8,6 +8,7 @@ package io.opentelemetry.javaagent.instrumentation.awssdk.v2_2;
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.instrumentation.awssdk.v2_2.AwsSdkTracing;
+import io.opentelemetry.instrumentation.awssdk.v2_2.AwsSdkTracingBuilder;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.Optional;
@@ -41,17 +42,27 @@ import software.amazon.awssdk.http.SdkHttpResponse;
  */
 public class TracingExecutionInterceptor implements ExecutionInterceptor {
 
+  private static final String ATTRIBUTE_VALUE_MAX_LENGTH_CONFIG =
+      "otel.instrumentation.aws-sdk.attribute-value-max-length";
+
   private final ExecutionInterceptor delegate;
 
   public TracingExecutionInterceptor() {
-    delegate =
+    AwsSdkTracingBuilder builder =
         AwsSdkTracing.newBuilder(GlobalOpenTelemetry.get())
             .setCaptureExperimentalSpanAttributes(
                 Config.get()
                     .getBooleanProperty(
-                        "otel.instrumentation.aws-sdk.experimental-span-attributes", false))
-            .build()
-            .newExecutionInterceptor();
+                        "otel.instrumentation.aws-sdk.experimental-span-attributes", false));
+    String maxLength = Config.get().getProperty(ATTRIBUTE_VALUE_MAX_LENGTH_CONFIG);
+    if (maxLength != null) {
+      try {
+        builder.setAttributeValueMaxLength(Integer.parseInt(maxLength.trim()));
+      } catch (NumberFormatException e) {
+        // keep the default
+      }
+    }
+    delegate = builder.build().newExecutionInterceptor();
   }
 
   @Override
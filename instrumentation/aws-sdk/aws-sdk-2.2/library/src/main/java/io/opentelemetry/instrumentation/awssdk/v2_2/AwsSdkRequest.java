@@ -14,6 +14,7 @@ import static io.opentelemetry.instrumentation.awssdk.v2_2.FieldMapping.response
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import software.amazon.awssdk.core.SdkRequest;
 
@@ -115,6 +116,20 @@ enum AwsSdkRequest {
           "aws.dynamodb.provisioned_throughput.write_capacity_units",
           "ProvisionedThroughput.WriteCapacityUnits"));
 
+  private static final ClassValue<Optional<AwsSdkRequest>> REQUESTS =
+      new ClassValue<Optional<AwsSdkRequest>>() {
+        @Override
+        protected Optional<AwsSdkRequest> computeValue(Class<?> requestClass) {
+          // try request type
+          AwsSdkRequest result = ofType(requestClass.getSimpleName());
+          // try parent - generic
+          if (result == null) {
+            result = ofType(requestClass.getSuperclass().getSimpleName());
+          }
+          return Optional.ofNullable(result);
+        }
+      };
+
   private final AwsSdkRequestType type;
   private final String requestClass;
   private final Map<FieldMapping.Type, List<FieldMapping>> fields;
@@ -127,13 +142,7 @@ enum AwsSdkRequest {
 
   @Nullable
   static AwsSdkRequest ofSdkRequest(SdkRequest request) {
-    // try request type
-    AwsSdkRequest result = ofType(request.getClass().getSimpleName());
-    // try parent - generic
-    if (result == null) {
-      result = ofType(request.getClass().getSuperclass().getSimpleName());
-    }
-    return result;
+    return REQUESTS.get(request.getClass()).orElse(null);
   }
 
   private static AwsSdkRequest ofType(String typeName) {
@@ -36,10 +36,15 @@ public class AwsSdkTracing {
 
   private final AwsSdkHttpClientTracer tracer;
   private final boolean captureExperimentalSpanAttributes;
+  private final int attributeValueMaxLength;
 
-  AwsSdkTracing(OpenTelemetry openTelemetry, boolean captureExperimentalSpanAttributes) {
+  AwsSdkTracing(
+      OpenTelemetry openTelemetry,
+      boolean captureExperimentalSpanAttributes,
+      int attributeValueMaxLength) {
     this.tracer = new AwsSdkHttpClientTracer(openTelemetry);
     this.captureExperimentalSpanAttributes = captureExperimentalSpanAttributes;
+    this.attributeValueMaxLength = attributeValueMaxLength;
   }
 
   /**
@@ -47,6 +52,7 @@ public class AwsSdkTracing {
    * ClientOverrideConfiguration.Builder#addExecutionInterceptor(ExecutionInterceptor)}.
    */
   public ExecutionInterceptor newExecutionInterceptor() {
-    return new TracingExecutionInterceptor(tracer, captureExperimentalSpanAttributes);
+    return new TracingExecutionInterceptor(
+        tracer, captureExperimentalSpanAttributes, attributeValueMaxLength);
   }
 }
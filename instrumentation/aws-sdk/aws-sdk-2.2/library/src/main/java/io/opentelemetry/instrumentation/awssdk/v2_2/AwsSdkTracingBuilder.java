@@ -13,6 +13,7 @@ public final class AwsSdkTracingBuilder {
   private final OpenTelemetry openTelemetry;
 
   private boolean captureExperimentalSpanAttributes;
+  private int attributeValueMaxLength = Serializer.DEFAULT_MAX_LENGTH;
 
   AwsSdkTracingBuilder(OpenTelemetry openTelemetry) {
     this.openTelemetry = openTelemetry;
@@ -29,8 +30,19 @@ public final class AwsSdkTracingBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum length of the values of the attributes that are read from the fields of
+   * requests and responses, e.g. {@code aws.dynamodb.consumed_capacity}. Longer values are
+   * truncated. Defaults to 1024.
+   */
+  public AwsSdkTracingBuilder setAttributeValueMaxLength(int attributeValueMaxLength) {
+    this.attributeValueMaxLength = attributeValueMaxLength;
+    return this;
+  }
+
   /** Returns a new {@link AwsSdkTracing} with the settings of this {@link AwsSdkTracingBuilder}. */
   public AwsSdkTracing build() {
-    return new AwsSdkTracing(openTelemetry, captureExperimentalSpanAttributes);
+    return new AwsSdkTracing(
+        openTelemetry, captureExperimentalSpanAttributes, attributeValueMaxLength);
   }
 }
@@ -6,21 +6,41 @@
 package io.opentelemetry.instrumentation.awssdk.v2_2;
 
 import io.opentelemetry.api.trace.Span;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.SdkResponse;
 import software.amazon.awssdk.utils.StringUtils;
 
+/**
+ * Maps the fields of requests and responses to span attributes.
+ *
+ * <p>The getters of every field path are looked up once per request or response class and {@link
+ * AwsSdkRequest}, the resulting extraction plan is then reused for every call.
+ */
 class FieldMapper {
 
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final int REQUEST_COUNT = AwsSdkRequest.values().length;
+
   private final Serializer serializer;
   private final MethodHandleFactory methodHandleFactory;
 
+  // indexed by the ordinal of the AwsSdkRequest, a response class could belong to more than one
+  private final ClassValue<AtomicReferenceArray<FieldExtractor[]>> plans =
+      new ClassValue<AtomicReferenceArray<FieldExtractor[]>>() {
+        @Override
+        protected AtomicReferenceArray<FieldExtractor[]> computeValue(Class<?> type) {
+          return new AtomicReferenceArray<>(REQUEST_COUNT);
+        }
+      };
+
   FieldMapper() {
-    serializer = new Serializer();
-    methodHandleFactory = new MethodHandleFactory();
+    this(new Serializer(), new MethodHandleFactory());
   }
 
   FieldMapper(Serializer serializer, MethodHandleFactory methodHandleFactory) {
@@ -29,57 +49,103 @@ class FieldMapper {
   }
 
   void mapToAttributes(SdkRequest sdkRequest, AwsSdkRequest request, Span span) {
-    mapToAttributes(
-        field -> sdkRequest.getValueForField(field, Object.class).orElse(null),
-        FieldMapping.Type.REQUEST,
-        request,
-        span);
+    mapToAttributes(sdkRequest, FieldMapping.Type.REQUEST, request, span);
   }
 
   void mapToAttributes(SdkResponse sdkResponse, AwsSdkRequest request, Span span) {
-    mapToAttributes(
-        field -> sdkResponse.getValueForField(field, Object.class).orElse(null),
-        FieldMapping.Type.RESPONSE,
-        request,
-        span);
+    mapToAttributes(sdkResponse, FieldMapping.Type.RESPONSE, request, span);
   }
 
   private void mapToAttributes(
-      Function<String, Object> fieldValueProvider,
-      FieldMapping.Type type,
-      AwsSdkRequest request,
-      Span span) {
+      Object target, FieldMapping.Type type, AwsSdkRequest request, Span span) {
+    for (FieldExtractor extractor : plan(target.getClass(), type, request)) {
+      Object value = extractor.extract(target);
+      if (value != null) {
+        String serialized = serializer.serialize(value);
+        if (!StringUtils.isEmpty(serialized)) {
+          span.setAttribute(extractor.attribute, serialized);
+        }
+      }
+    }
+  }
+
+  private FieldExtractor[] plan(
+      Class<?> targetClass, FieldMapping.Type type, AwsSdkRequest request) {
+    AtomicReferenceArray<FieldExtractor[]> classPlans = plans.get(targetClass);
+    FieldExtractor[] plan = classPlans.get(request.ordinal());
+    if (plan == null) {
+      // the type is implied by the class, which is either a request or a response
+      plan = compile(targetClass, type, request);
+      classPlans.set(request.ordinal(), plan);
+    }
+    return plan;
+  }
+
+  private FieldExtractor[] compile(
+      Class<?> targetClass, FieldMapping.Type type, AwsSdkRequest request) {
+    List<FieldExtractor> extractors = new ArrayList<>();
     for (FieldMapping fieldMapping : request.fields(type)) {
-      mapToAttributes(fieldValueProvider, fieldMapping, span);
+      addExtractor(extractors, targetClass, fieldMapping);
     }
     for (FieldMapping fieldMapping : request.type().fields(type)) {
-      mapToAttributes(fieldValueProvider, fieldMapping, span);
+      addExtractor(extractors, targetClass, fieldMapping);
     }
+    return extractors.toArray(new FieldExtractor[0]);
   }
 
-  private void mapToAttributes(
-      Function<String, Object> fieldValueProvider, FieldMapping fieldMapping, Span span) {
-    // traverse path
+  private void addExtractor(
+      List<FieldExtractor> extractors, Class<?> targetClass, FieldMapping fieldMapping) {
     List<String> path = fieldMapping.getFields();
-    Object target = fieldValueProvider.apply(path.get(0));
-    for (int i = 1; i < path.size() && target != null; i++) {
-      target = next(target, path.get(i));
-    }
-    if (target != null) {
-      String value = serializer.serialize(target);
-      if (!StringUtils.isEmpty(value)) {
-        span.setAttribute(fieldMapping.getAttribute(), value);
+    MethodHandle[] getters = new MethodHandle[path.size()];
+    Class<?> current = targetClass;
+    for (int i = 0; i < getters.length; i++) {
+      MethodHandle getter = getter(current, path.get(i));
+      if (getter == null) {
+        // the field doesn't exist in this class, e.g. TableName in a ListTablesRequest
+        return;
       }
+      getters[i] = getter.asType(GETTER_TYPE);
+      current = getter.type().returnType();
     }
+    extractors.add(new FieldExtractor(fieldMapping.getAttribute(), getters));
   }
 
   @Nullable
-  private Object next(Object current, String fieldName) {
+  private MethodHandle getter(Class<?> type, String fieldName) {
+    // like SdkPojo.getValueForField, which returns the string value of enums
+    try {
+      return methodHandleFactory.forField(type, fieldName + "AsString");
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      // not an enum
+    }
     try {
-      return methodHandleFactory.forField(current.getClass(), fieldName).invoke(current);
-    } catch (Throwable t) {
-      // ignore
+      return methodHandleFactory.forField(type, fieldName);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  private static final class FieldExtractor {
+    private final String attribute;
+    private final MethodHandle[] getters;
+
+    private FieldExtractor(String attribute, MethodHandle[] getters) {
+      this.attribute = attribute;
+      this.getters = getters;
+    }
+
+    @Nullable
+    private Object extract(Object target) {
+      Object value = target;
+      try {
+        for (int i = 0; i < getters.length && value != null; i++) {
+          value = (Object) getters[i].invokeExact(value);
+        }
+      } catch (Throwable t) {
+        // ignore
+        return null;
+      }
+      return value;
     }
-    return null;
   }
 }
@@ -5,22 +5,40 @@
 
 package io.opentelemetry.instrumentation.awssdk.v2_2;
 
-import java.io.IOException;
-import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.SdkField;
 import software.amazon.awssdk.core.SdkPojo;
-import software.amazon.awssdk.http.ContentStreamProvider;
-import software.amazon.awssdk.http.SdkHttpFullRequest;
-import software.amazon.awssdk.protocols.core.ProtocolMarshaller;
-import software.amazon.awssdk.utils.IoUtils;
-import software.amazon.awssdk.utils.StringUtils;
+import software.amazon.awssdk.core.util.SdkAutoConstructList;
+import software.amazon.awssdk.core.util.SdkAutoConstructMap;
 
+/**
+ * Renders attribute values: {@link SdkPojo}s as JSON, like the AWS JSON protocol marshaller does,
+ * collections as {@code [a,b]} and maps as the collection of their keys.
+ *
+ * <p>The JSON is written directly from the {@link SdkField}s of the POJO, instead of with a new
+ * protocol marshaller per value. The rendered value is truncated to {@code maxLength} characters,
+ * and the rendering stops as soon as the limit is reached.
+ */
 class Serializer {
 
+  static final int DEFAULT_MAX_LENGTH = 1024;
+
+  private final int maxLength;
+
+  Serializer() {
+    this(DEFAULT_MAX_LENGTH);
+  }
+
+  Serializer(int maxLength) {
+    this.maxLength = maxLength;
+  }
+
   @Nullable
   String serialize(Object target) {
 
@@ -28,41 +46,155 @@ class Serializer {
       return null;
     }
 
+    StringBuilder result = new StringBuilder();
     if (target instanceof SdkPojo) {
-      return serialize((SdkPojo) target);
+      appendJson(result, target);
+    } else if (target instanceof Collection) {
+      appendCollection(result, (Collection<?>) target);
+    } else if (target instanceof Map) {
+      appendCollection(result, ((Map<?, ?>) target).keySet());
+    } else {
+      // simple type
+      String value = target.toString();
+      return value.length() > maxLength ? value.substring(0, maxLength) : value;
     }
-    if (target instanceof Collection) {
-      return serialize((Collection<Object>) target);
+    if (result.length() == 0) {
+      return null;
     }
-    if (target instanceof Map) {
-      return serialize(((Map) target).keySet());
+    if (result.length() > maxLength) {
+      result.setLength(maxLength);
     }
-    // simple type
-    return target.toString();
+    return result.toString();
   }
 
-  @Nullable
-  private String serialize(SdkPojo sdkPojo) {
-    ProtocolMarshaller<SdkHttpFullRequest> marshaller =
-        AwsJsonProtocolFactoryAccess.createMarshaller();
-    if (marshaller == null) {
-      return null;
+  private void appendCollection(StringBuilder result, Collection<?> collection) {
+    int start = result.length();
+    result.append('[');
+    boolean first = true;
+    for (Object element : collection) {
+      if (result.length() > maxLength) {
+        return;
+      }
+      if (!first) {
+        result.append(',');
+      }
+      first = false;
+      if (element instanceof SdkPojo) {
+        appendJson(result, element);
+      } else if (element instanceof Collection) {
+        appendCollection(result, (Collection<?>) element);
+      } else if (element instanceof Map) {
+        appendCollection(result, ((Map<?, ?>) element).keySet());
+      } else {
+        result.append(element);
+      }
+    }
+    if (result.length() == start + 1) {
+      // nothing rendered, e.g. an empty collection
+      result.setLength(start);
+    } else {
+      result.append(']');
     }
-    Optional<ContentStreamProvider> optional = marshaller.marshall(sdkPojo).contentStreamProvider();
-    return optional
-        .map(
-            csp -> {
-              try (InputStream cspIs = csp.newStream()) {
-                return IoUtils.toUtf8String(cspIs);
-              } catch (IOException e) {
-                return null;
-              }
-            })
-        .orElse(null);
   }
 
-  private String serialize(Collection<Object> collection) {
-    String serialized = collection.stream().map(this::serialize).collect(Collectors.joining(","));
-    return (StringUtils.isEmpty(serialized) ? null : "[" + serialized + "]");
+  private void appendJson(StringBuilder result, Object value) {
+    if (value instanceof SdkPojo) {
+      SdkPojo pojo = (SdkPojo) value;
+      result.append('{');
+      boolean first = true;
+      for (SdkField<?> field : pojo.sdkFields()) {
+        if (result.length() > maxLength) {
+          return;
+        }
+        Object fieldValue = field.getValueOrDefault(pojo);
+        // like the marshaller, skip the fields that aren't set
+        if (fieldValue == null
+            || fieldValue instanceof SdkAutoConstructList
+            || fieldValue instanceof SdkAutoConstructMap) {
+          continue;
+        }
+        if (!first) {
+          result.append(',');
+        }
+        first = false;
+        appendJsonString(result, field.locationName());
+        result.append(':');
+        appendJson(result, fieldValue);
+      }
+      result.append('}');
+    } else if (value instanceof Collection) {
+      result.append('[');
+      boolean first = true;
+      for (Object element : (Collection<?>) value) {
+        if (result.length() > maxLength) {
+          return;
+        }
+        if (!first) {
+          result.append(',');
+        }
+        first = false;
+        appendJson(result, element);
+      }
+      result.append(']');
+    } else if (value instanceof Map) {
+      result.append('{');
+      boolean first = true;
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        if (result.length() > maxLength) {
+          return;
+        }
+        if (!first) {
+          result.append(',');
+        }
+        first = false;
+        appendJsonString(result, String.valueOf(entry.getKey()));
+        result.append(':');
+        appendJson(result, entry.getValue());
+      }
+      result.append('}');
+    } else if (value == null) {
+      result.append("null");
+    } else if (value instanceof Number || value instanceof Boolean) {
+      result.append(value);
+    } else if (value instanceof Instant) {
+      // the JSON protocol renders timestamps as epoch seconds
+      result.append(BigDecimal.valueOf(((Instant) value).toEpochMilli(), 3).toPlainString());
+    } else if (value instanceof SdkBytes) {
+      appendJsonString(
+          result, Base64.getEncoder().encodeToString(((SdkBytes) value).asByteArray()));
+    } else {
+      appendJsonString(result, value.toString());
+    }
+  }
+
+  private static void appendJsonString(StringBuilder result, String value) {
+    result.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          result.append("\\\"");
+          break;
+        case '\\':
+          result.append("\\\\");
+          break;
+        case '\n':
+          result.append("\\n");
+          break;
+        case '\r':
+          result.append("\\r");
+          break;
+        case '\t':
+          result.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            result.append(String.format("\\u%04x", (int) c));
+          } else {
+            result.append(c);
+          }
+      }
+    }
+    result.append('"');
   }
 }
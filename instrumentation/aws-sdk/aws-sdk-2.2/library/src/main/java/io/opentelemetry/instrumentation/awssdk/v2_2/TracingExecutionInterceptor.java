@@ -40,10 +40,13 @@ final class TracingExecutionInterceptor implements ExecutionInterceptor {
   private final FieldMapper fieldMapper;
 
   TracingExecutionInterceptor(
-      AwsSdkHttpClientTracer tracer, boolean captureExperimentalSpanAttributes) {
+      AwsSdkHttpClientTracer tracer,
+      boolean captureExperimentalSpanAttributes,
+      int attributeValueMaxLength) {
     this.tracer = tracer;
     this.captureExperimentalSpanAttributes = captureExperimentalSpanAttributes;
-    fieldMapper = new FieldMapper();
+    fieldMapper =
+        new FieldMapper(new Serializer(attributeValueMaxLength), new MethodHandleFactory());
   }
 
   @Override
@@ -103,7 +106,10 @@ final class TracingExecutionInterceptor implements ExecutionInterceptor {
       SdkRequest sdkRequest,
       ExecutionAttributes attributes) {
 
-    fieldMapper.mapToAttributes(sdkRequest, awsSdkRequest, span);
+    // the values are only rendered for spans that are going to be exported
+    if (span.isRecording()) {
+      fieldMapper.mapToAttributes(sdkRequest, awsSdkRequest, span);
+    }
 
     if (awsSdkRequest.type() == DynamoDB) {
       span.setAttribute(SemanticAttributes.DB_SYSTEM, "dynamodb");
@@ -153,7 +159,7 @@ final class TracingExecutionInterceptor implements ExecutionInterceptor {
         span.setAttribute("aws.requestId", ((AwsResponse) response).responseMetadata().requestId());
       }
       AwsSdkRequest sdkRequest = executionAttributes.getAttribute(AWS_SDK_REQUEST_ATTRIBUTE);
-      if (sdkRequest != null) {
+      if (sdkRequest != null && span.isRecording()) {
         fieldMapper.mapToAttributes(response, sdkRequest, span);
       }
     }
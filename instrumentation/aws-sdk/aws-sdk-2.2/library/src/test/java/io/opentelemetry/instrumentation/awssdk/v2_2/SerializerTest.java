@@ -14,6 +14,8 @@ import java.util.List;
 import java.util.Map;
 import org.junit.Test;
 import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.services.dynamodb.model.Capacity;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
 import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughput;
 
 public class SerializerTest {
@@ -70,4 +72,29 @@ public class SerializerTest {
     // then
     assertThat(serialized).isEqualTo("[uno,dos,tres]");
   }
+
+  @Test
+  public void shouldSerializeNestedSdkPojo() {
+    // given
+    SdkPojo sdkPojo =
+        ConsumedCapacity.builder()
+            .tableName("table \"name\"")
+            .table(Capacity.builder().capacityUnits(1.5).build())
+            .build();
+    // when
+    String serialized = new Serializer().serialize(sdkPojo);
+    // then
+    assertThat(serialized)
+        .isEqualTo("{\"TableName\":\"table \\\"name\\\"\",\"Table\":{\"CapacityUnits\":1.5}}");
+  }
+
+  @Test
+  public void shouldTruncateToMaxLength() {
+    // given
+    List<String> collection = Arrays.asList("one", "two", "three");
+    // when
+    String serialized = new Serializer(6).serialize(collection);
+    // then
+    assertThat(serialized).isEqualTo("[one,t");
+  }
 }
@@ -32,7 +32,8 @@ public class ExecutorInstrumentationModule extends InstrumentationModule {
         new FutureInstrumentation(),
         new JavaExecutorInstrumentation(),
         new JavaForkJoinTaskInstrumentation(),
-        new RunnableInstrumentation());
+        new RunnableInstrumentation(),
+        new VirtualThreadInstrumentation());
   }
 
   @Override
@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.javaconcurrent;
+
+import static java.util.Collections.singletonMap;
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.javaagent.tooling.TypeInstrumentation;
+import java.util.Map;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+/**
+ * Propagates the context into virtual threads (JDK 21+), no matter whether they are started by
+ * {@code Thread.ofVirtual()}, by {@code Executors.newVirtualThreadPerTaskExecutor()} or by a
+ * {@code StructuredTaskScope}: all of them create the virtual thread for a task through {@code
+ * ThreadBuilders.newVirtualThread()}, right where the task is forked.
+ *
+ * <p>Unlike tasks submitted to an executor, the task of a virtual thread runs exactly once, on a
+ * thread that is created for it. Wrapping the task with the current context when the thread is
+ * created is therefore enough, without attaching any {@code State} to the task. {@code
+ * VirtualThread} itself is not instrumented, so that no context store field is added to it.
+ */
+public class VirtualThreadInstrumentation implements TypeInstrumentation {
+
+  @Override
+  public ElementMatcher<TypeDescription> typeMatcher() {
+    return named("java.lang.ThreadBuilders");
+  }
+
+  @Override
+  public Map<? extends ElementMatcher<? super MethodDescription>, String> transformers() {
+    // newVirtualThread(Executor scheduler, String name, int characteristics, Runnable task)
+    return singletonMap(
+        named("newVirtualThread")
+            .and(isStatic())
+            .and(takesArguments(4))
+            .and(takesArgument(3, Runnable.class)),
+        VirtualThreadInstrumentation.class.getName() + "$WrapTaskAdvice");
+  }
+
+  public static class WrapTaskAdvice {
+
+    // ThreadBuilders is a JDK 21 class, so there's no need to go through Java8BytecodeBridge
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void wrapTask(@Advice.Argument(value = 3, readOnly = false) Runnable task) {
+      Context context = Context.current();
+      if (task != null && context != Context.root()) {
+        task = context.wrap(task);
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+import static io.opentelemetry.instrumentation.test.utils.TraceUtils.basicSpan
+import static io.opentelemetry.instrumentation.test.utils.TraceUtils.runUnderTrace
+
+import io.opentelemetry.instrumentation.test.AgentInstrumentationSpecification
+import java.util.concurrent.Executors
+import spock.lang.Requires
+import spock.lang.Shared
+
+// virtual threads were added in JDK 21, all calls to them are dynamic so that this compiles on 8
+@Requires({ Thread.methods.any { it.name == "ofVirtual" } })
+class VirtualThreadTest extends AgentInstrumentationSpecification {
+
+  @Shared
+  def threadOfVirtual = { Runnable task -> Thread.ofVirtual().start(task).join() }
+  @Shared
+  def startVirtualThread = { Runnable task -> Thread.startVirtualThread(task).join() }
+  @Shared
+  def virtualThreadPerTaskExecutor = { Runnable task ->
+    def executor = Executors.newVirtualThreadPerTaskExecutor()
+    executor.submit(task).get()
+    executor.shutdown()
+  }
+
+  def "#name propagates"() {
+    setup:
+    def start = method
+
+    when:
+    runUnderTrace("parent") {
+      def child = new JavaAsyncChild()
+      start(child)
+      child.waitForCompletion()
+    }
+
+    then:
+    assertTraces(1) {
+      trace(0, 2) {
+        basicSpan(it, 0, "parent")
+        basicSpan(it, 1, "asyncChild", span(0))
+      }
+    }
+
+    where:
+    name                                | method
+    "Thread.ofVirtual()"                | threadOfVirtual
+    "Thread.startVirtualThread()"       | startVirtualThread
+    "newVirtualThreadPerTaskExecutor()" | virtualThreadPerTaskExecutor
+  }
+
+  def "context is restored after the virtual thread was unparked"() {
+    when:
+    runUnderTrace("parent") {
+      Thread.ofVirtual().start {
+        // parks the virtual thread, which may then continue on a different carrier thread
+        Thread.sleep(10)
+        runUnderTrace("child") {}
+      }.join()
+    }
+
+    then:
+    assertTraces(1) {
+      trace(0, 2) {
+        basicSpan(it, 0, "parent")
+        basicSpan(it, 1, "child", span(0))
+      }
+    }
+  }
+
+  def "virtual threads started without a context don't have one"() {
+    when:
+    Thread.ofVirtual().start {
+      runUnderTrace("child") {}
+    }.join()
+
+    then:
+    assertTraces(1) {
+      trace(0, 1) {
+        basicSpan(it, 0, "child")
+      }
+    }
+  }
+}
@@ -9,17 +9,18 @@ import static io.opentelemetry.javaagent.instrumentation.extannotations.TraceAnn
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
-import java.lang.reflect.Method;
+import io.opentelemetry.javaagent.tooling.bytebuddy.MethodConstant;
+import io.opentelemetry.javaagent.tooling.bytebuddy.SpanNameForMethod;
 import net.bytebuddy.asm.Advice;
 
 public class TraceAdvice {
 
   @Advice.OnMethodEnter(suppress = Throwable.class)
   public static void onEnter(
-      @Advice.Origin Method method,
+      @MethodConstant(SpanNameForMethod.class) String spanName,
       @Advice.Local("otelContext") Context context,
       @Advice.Local("otelScope") Scope scope) {
-    context = tracer().startSpan(method);
+    context = tracer().startSpan(spanName);
     scope = context.makeCurrent();
   }
 
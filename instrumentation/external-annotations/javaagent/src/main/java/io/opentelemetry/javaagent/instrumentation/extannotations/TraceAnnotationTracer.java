@@ -5,9 +5,7 @@
 
 package io.opentelemetry.javaagent.instrumentation.extannotations;
 
-import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.tracer.BaseTracer;
-import java.lang.reflect.Method;
 
 public class TraceAnnotationTracer extends BaseTracer {
   private static final TraceAnnotationTracer TRACER = new TraceAnnotationTracer();
@@ -20,8 +18,4 @@ public class TraceAnnotationTracer extends BaseTracer {
   protected String getInstrumentationName() {
     return "io.opentelemetry.javaagent.external-annotations";
   }
-
-  public Context startSpan(Method method) {
-    return startSpan(spanNameForMethod(method));
-  }
 }
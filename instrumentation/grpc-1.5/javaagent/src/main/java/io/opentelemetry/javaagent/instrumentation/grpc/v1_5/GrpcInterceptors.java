@@ -9,19 +9,53 @@ import io.grpc.ClientInterceptor;
 import io.grpc.ServerInterceptor;
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.instrumentation.grpc.v1_5.GrpcMessageEvents;
 import io.opentelemetry.instrumentation.grpc.v1_5.GrpcTracing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 // Holds singleton references to tracers.
 public final class GrpcInterceptors {
+  private static final Logger log = LoggerFactory.getLogger(GrpcInterceptors.class);
+
   private static final GrpcTracing TRACING =
       GrpcTracing.newBuilder(GlobalOpenTelemetry.get())
           .setCaptureExperimentalSpanAttributes(
               Config.get()
                   .getBooleanProperty(
                       "otel.instrumentation.grpc.experimental-span-attributes", false))
+          .setMessageEvents(
+              messageEvents(
+                  Config.get().getProperty("otel.instrumentation.grpc.message-events", "all")))
           .build();
 
   public static final ClientInterceptor CLIENT_INTERCEPTOR = TRACING.newClientInterceptor();
 
   public static final ServerInterceptor SERVER_INTERCEPTOR = TRACING.newServerInterceptor();
+
+  // one of "all", "capped:<max events>", "sampled:<sampling interval>" or "aggregated"
+  private static GrpcMessageEvents messageEvents(String value) {
+    int separator = value.indexOf(':');
+    String strategy = separator == -1 ? value : value.substring(0, separator);
+    try {
+      switch (strategy) {
+        case "all":
+          return GrpcMessageEvents.all();
+        case "capped":
+          return GrpcMessageEvents.capped(
+              separator == -1 ? 128 : Integer.parseInt(value.substring(separator + 1)));
+        case "sampled":
+          return GrpcMessageEvents.sampled(
+              separator == -1 ? 100 : Integer.parseInt(value.substring(separator + 1)));
+        case "aggregated":
+          return GrpcMessageEvents.aggregated();
+        default:
+          break;
+      }
+    } catch (IllegalArgumentException e) {
+      // NumberFormatException is an IllegalArgumentException too
+    }
+    log.warn("Invalid gRPC message events strategy {}, recording all messages", value);
+    return GrpcMessageEvents.all();
+  }
 }
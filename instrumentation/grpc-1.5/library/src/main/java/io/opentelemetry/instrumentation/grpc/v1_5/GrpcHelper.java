@@ -16,6 +16,15 @@ final class GrpcHelper {
   public static final AttributeKey<String> MESSAGE_TYPE = AttributeKey.stringKey("message.type");
   public static final AttributeKey<Long> MESSAGE_ID = AttributeKey.longKey("message.id");
 
+  // recorded by GrpcMessageEvents.aggregated()
+  public static final AttributeKey<Long> SENT_MESSAGES =
+      AttributeKey.longKey("grpc.sent_messages");
+  public static final AttributeKey<Long> RECEIVED_MESSAGES =
+      AttributeKey.longKey("grpc.received_messages");
+  public static final AttributeKey<Long> SENT_BYTES = AttributeKey.longKey("grpc.sent_bytes");
+  public static final AttributeKey<Long> RECEIVED_BYTES =
+      AttributeKey.longKey("grpc.received_bytes");
+
   public static void prepareSpan(Span span, String fullMethodName) {
 
     int slash = fullMethodName.indexOf('/');
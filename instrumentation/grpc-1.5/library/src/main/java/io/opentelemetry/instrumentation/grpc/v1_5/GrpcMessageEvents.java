@@ -0,0 +1,82 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.grpc.v1_5;
+
+/**
+ * Determines how the messages of a call are recorded on its span. By default there's an event for
+ * every message, which is fine for unary calls but not for long-lived streams that carry millions
+ * of messages, all of them recorded on a single span.
+ */
+public abstract class GrpcMessageEvents {
+
+  private static final GrpcMessageEvents ALL = new Events(Long.MAX_VALUE, 1);
+  private static final GrpcMessageEvents AGGREGATED = new Aggregated();
+
+  /** Returns a {@link GrpcMessageEvents} that records an event for every message. */
+  public static GrpcMessageEvents all() {
+    return ALL;
+  }
+
+  /**
+   * Returns a {@link GrpcMessageEvents} that records an event for each of the first {@code
+   * maxEvents} messages of a call, and ignores the remaining ones.
+   */
+  public static GrpcMessageEvents capped(int maxEvents) {
+    if (maxEvents < 0) {
+      throw new IllegalArgumentException("maxEvents must not be negative: " + maxEvents);
+    }
+    return new Events(maxEvents, 1);
+  }
+
+  /**
+   * Returns a {@link GrpcMessageEvents} that records an event for the first message of a call and
+   * for every {@code samplingInterval}th message after it. The events keep the id of their message,
+   * so the gaps between them are visible.
+   */
+  public static GrpcMessageEvents sampled(int samplingInterval) {
+    if (samplingInterval < 1) {
+      throw new IllegalArgumentException(
+          "samplingInterval must be positive: " + samplingInterval);
+    }
+    return new Events(Long.MAX_VALUE, samplingInterval);
+  }
+
+  /**
+   * Returns a {@link GrpcMessageEvents} that records no events, but the number of messages sent and
+   * received by a call as attributes of its span when it ends. The size of the messages is added
+   * up as well when it's known without serializing them again, i.e. for protobuf messages.
+   */
+  public static GrpcMessageEvents aggregated() {
+    return AGGREGATED;
+  }
+
+  // only the strategies above are supported
+  GrpcMessageEvents() {}
+
+  abstract MessageRecorder newRecorder();
+
+  private static final class Events extends GrpcMessageEvents {
+    private final long maxEvents;
+    private final long samplingInterval;
+
+    private Events(long maxEvents, long samplingInterval) {
+      this.maxEvents = maxEvents;
+      this.samplingInterval = samplingInterval;
+    }
+
+    @Override
+    MessageRecorder newRecorder() {
+      return new MessageRecorder.EventRecorder(maxEvents, samplingInterval);
+    }
+  }
+
+  private static final class Aggregated extends GrpcMessageEvents {
+    @Override
+    MessageRecorder newRecorder() {
+      return new MessageRecorder.AggregatingRecorder();
+    }
+  }
+}
@@ -23,12 +23,17 @@ public final class GrpcTracing {
   }
 
   private final boolean captureExperimentalSpanAttributes;
+  private final GrpcMessageEvents messageEvents;
 
   private final GrpcClientTracer clientTracer;
   private final GrpcServerTracer serverTracer;
 
-  GrpcTracing(OpenTelemetry openTelemetry, boolean captureExperimentalSpanAttributes) {
+  GrpcTracing(
+      OpenTelemetry openTelemetry,
+      boolean captureExperimentalSpanAttributes,
+      GrpcMessageEvents messageEvents) {
     this.captureExperimentalSpanAttributes = captureExperimentalSpanAttributes;
+    this.messageEvents = messageEvents;
     clientTracer = new GrpcClientTracer(openTelemetry);
     serverTracer = new GrpcServerTracer(openTelemetry);
   }
@@ -38,7 +43,7 @@ public final class GrpcTracing {
    * io.grpc.ManagedChannelBuilder#intercept(ClientInterceptor...)}.
    */
   public ClientInterceptor newClientInterceptor() {
-    return new TracingClientInterceptor(clientTracer);
+    return new TracingClientInterceptor(clientTracer, messageEvents);
   }
 
   /**
@@ -46,6 +51,7 @@ public final class GrpcTracing {
    * io.grpc.ServerBuilder#intercept(ServerInterceptor)}.
    */
   public ServerInterceptor newServerInterceptor() {
-    return new TracingServerInterceptor(serverTracer, captureExperimentalSpanAttributes);
+    return new TracingServerInterceptor(
+        serverTracer, captureExperimentalSpanAttributes, messageEvents);
   }
 }
@@ -13,6 +13,7 @@ public final class GrpcTracingBuilder {
   private final OpenTelemetry openTelemetry;
 
   private boolean captureExperimentalSpanAttributes;
+  private GrpcMessageEvents messageEvents = GrpcMessageEvents.all();
 
   GrpcTracingBuilder(OpenTelemetry openTelemetry) {
     this.openTelemetry = openTelemetry;
@@ -29,8 +30,17 @@ public final class GrpcTracingBuilder {
     return this;
   }
 
+  /**
+   * Sets how the messages of a call are recorded on its span, {@link GrpcMessageEvents#all()} by
+   * default.
+   */
+  public GrpcTracingBuilder setMessageEvents(GrpcMessageEvents messageEvents) {
+    this.messageEvents = messageEvents;
+    return this;
+  }
+
   /** Returns a new {@link GrpcTracing} with the settings of this {@link GrpcTracingBuilder}. */
   public GrpcTracing build() {
-    return new GrpcTracing(openTelemetry, captureExperimentalSpanAttributes);
+    return new GrpcTracing(openTelemetry, captureExperimentalSpanAttributes, messageEvents);
   }
 }
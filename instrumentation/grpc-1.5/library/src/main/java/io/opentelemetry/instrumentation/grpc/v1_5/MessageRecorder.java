@@ -0,0 +1,134 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.grpc.v1_5;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Records the messages of a single call on its span, see {@link GrpcMessageEvents}. */
+abstract class MessageRecorder {
+
+  /**
+   * Called for every message received by the call listener, {@code messageType} is the type of the
+   * message event.
+   */
+  abstract void onMessage(Span span, String messageType, Object message);
+
+  /** Called for every message sent by the call. */
+  abstract void onSend(Object message);
+
+  /** Called right before the span of the call ends. */
+  abstract void onEnd(Span span);
+
+  static final class EventRecorder extends MessageRecorder {
+    private final long maxEvents;
+    private final long samplingInterval;
+
+    private final AtomicLong messageId = new AtomicLong();
+
+    EventRecorder(long maxEvents, long samplingInterval) {
+      this.maxEvents = maxEvents;
+      this.samplingInterval = samplingInterval;
+    }
+
+    @Override
+    void onMessage(Span span, String messageType, Object message) {
+      long id = messageId.incrementAndGet();
+      if (id <= maxEvents && (id - 1) % samplingInterval == 0) {
+        span.addEvent(
+            "message",
+            Attributes.of(GrpcHelper.MESSAGE_TYPE, messageType, GrpcHelper.MESSAGE_ID, id));
+      }
+    }
+
+    @Override
+    void onSend(Object message) {}
+
+    @Override
+    void onEnd(Span span) {}
+  }
+
+  static final class AggregatingRecorder extends MessageRecorder {
+    // each counter is only updated by one thread at a time: gRPC calls the listener serially and
+    // doesn't allow messages to be sent concurrently on the same call, so volatile is enough
+    private volatile long receivedMessages;
+    private volatile long sentMessages;
+    // -1 once the size of a message is unknown
+    private volatile long receivedBytes;
+    private volatile long sentBytes;
+
+    @Override
+    void onMessage(Span span, String messageType, Object message) {
+      receivedMessages = receivedMessages + 1;
+      receivedBytes = addSize(receivedBytes, message);
+    }
+
+    @Override
+    void onSend(Object message) {
+      sentMessages = sentMessages + 1;
+      sentBytes = addSize(sentBytes, message);
+    }
+
+    @Override
+    void onEnd(Span span) {
+      span.setAttribute(GrpcHelper.SENT_MESSAGES, sentMessages);
+      span.setAttribute(GrpcHelper.RECEIVED_MESSAGES, receivedMessages);
+      if (sentBytes >= 0) {
+        span.setAttribute(GrpcHelper.SENT_BYTES, sentBytes);
+      }
+      if (receivedBytes >= 0) {
+        span.setAttribute(GrpcHelper.RECEIVED_BYTES, receivedBytes);
+      }
+    }
+
+    private static long addSize(long bytes, Object message) {
+      if (bytes < 0) {
+        return bytes;
+      }
+      int size = MessageSize.of(message);
+      return size < 0 ? -1 : bytes + size;
+    }
+  }
+
+  /**
+   * The serialized size of protobuf messages, which they compute once and memoize. The library
+   * doesn't depend on protobuf, so the method is looked up once per message class.
+   */
+  static final class MessageSize {
+    private static final MethodHandle UNKNOWN =
+        MethodHandles.dropArguments(MethodHandles.constant(int.class, -1), 0, Object.class);
+
+    private static final ClassValue<MethodHandle> SERIALIZED_SIZE =
+        new ClassValue<MethodHandle>() {
+          @Override
+          protected MethodHandle computeValue(Class<?> type) {
+            try {
+              return MethodHandles.publicLookup()
+                  .findVirtual(type, "getSerializedSize", methodType(int.class))
+                  .asType(methodType(int.class, Object.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+              return UNKNOWN;
+            }
+          }
+        };
+
+    /** Returns the serialized size of the given message, or -1 if it's unknown. */
+    static int of(Object message) {
+      try {
+        return (int) SERIALIZED_SIZE.get(message.getClass()).invokeExact(message);
+      } catch (Throwable t) {
+        return -1;
+      }
+    }
+
+    private MessageSize() {}
+  }
+}
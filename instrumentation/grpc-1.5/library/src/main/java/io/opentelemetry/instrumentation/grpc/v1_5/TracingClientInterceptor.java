@@ -18,21 +18,21 @@ import io.grpc.Grpc;
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
 import io.grpc.Status;
-import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.tracer.utils.NetPeerUtils;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
-import java.util.concurrent.atomic.AtomicLong;
 
 final class TracingClientInterceptor implements ClientInterceptor {
 
   private final GrpcClientTracer tracer;
+  private final GrpcMessageEvents messageEvents;
 
-  TracingClientInterceptor(GrpcClientTracer tracer) {
+  TracingClientInterceptor(GrpcClientTracer tracer, GrpcMessageEvents messageEvents) {
     this.tracer = tracer;
+    this.messageEvents = messageEvents;
   }
 
   @Override
@@ -59,7 +59,7 @@ final class TracingClientInterceptor implements ClientInterceptor {
       NetPeerUtils.INSTANCE.setNetPeer(span, inetSocketAddress);
     }
 
-    return new TracingClientCall<>(result, span, context);
+    return new TracingClientCall<>(result, span, context, messageEvents.newRecorder());
   }
 
   final class TracingClientCall<REQUEST, RESPONSE>
@@ -67,18 +67,25 @@ final class TracingClientInterceptor implements ClientInterceptor {
 
     private final Span span;
     private final Context context;
+    private final MessageRecorder messageRecorder;
 
-    TracingClientCall(ClientCall<REQUEST, RESPONSE> delegate, Span span, Context context) {
+    TracingClientCall(
+        ClientCall<REQUEST, RESPONSE> delegate,
+        Span span,
+        Context context,
+        MessageRecorder messageRecorder) {
       super(delegate);
       this.span = span;
       this.context = context;
+      this.messageRecorder = messageRecorder;
     }
 
     @Override
     public void start(Listener<RESPONSE> responseListener, Metadata headers) {
       tracer.inject(context, headers, SETTER);
       try (Scope ignored = context.makeCurrent()) {
-        super.start(new TracingClientCallListener<>(responseListener, context), headers);
+        super.start(
+            new TracingClientCallListener<>(responseListener, context, messageRecorder), headers);
       } catch (Throwable e) {
         tracer.endExceptionally(context, e);
         throw e;
@@ -87,6 +94,7 @@ final class TracingClientInterceptor implements ClientInterceptor {
 
     @Override
     public void sendMessage(REQUEST message) {
+      messageRecorder.onSend(message);
       try (Scope ignored = context.makeCurrent()) {
         super.sendMessage(message);
       } catch (Throwable e) {
@@ -99,21 +107,18 @@ final class TracingClientInterceptor implements ClientInterceptor {
   final class TracingClientCallListener<RESPONSE>
       extends ForwardingClientCallListener.SimpleForwardingClientCallListener<RESPONSE> {
     private final Context context;
+    private final MessageRecorder messageRecorder;
 
-    private final AtomicLong messageId = new AtomicLong();
-
-    TracingClientCallListener(Listener<RESPONSE> delegate, Context context) {
+    TracingClientCallListener(
+        Listener<RESPONSE> delegate, Context context, MessageRecorder messageRecorder) {
       super(delegate);
       this.context = context;
+      this.messageRecorder = messageRecorder;
     }
 
     @Override
     public void onMessage(RESPONSE message) {
-      Span span = Span.fromContext(context);
-      Attributes attributes =
-          Attributes.of(
-              GrpcHelper.MESSAGE_TYPE, "SENT", GrpcHelper.MESSAGE_ID, messageId.incrementAndGet());
-      span.addEvent("message", attributes);
+      messageRecorder.onMessage(Span.fromContext(context), "SENT", message);
       try (Scope ignored = context.makeCurrent()) {
         delegate().onMessage(message);
       } catch (Throwable e) {
@@ -130,6 +135,7 @@ final class TracingClientInterceptor implements ClientInterceptor {
         tracer.endExceptionally(context, e);
         throw e;
       }
+      messageRecorder.onEnd(Span.fromContext(context));
       tracer.end(context, status);
     }
 
@@ -14,23 +14,26 @@ import io.grpc.ServerCall.Listener;
 import io.grpc.ServerCallHandler;
 import io.grpc.ServerInterceptor;
 import io.grpc.Status;
-import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
-import java.util.concurrent.atomic.AtomicLong;
 
 final class TracingServerInterceptor implements ServerInterceptor {
 
   private final GrpcServerTracer tracer;
   private final boolean captureExperimentalSpanAttributes;
+  private final GrpcMessageEvents messageEvents;
 
-  TracingServerInterceptor(GrpcServerTracer tracer, boolean captureExperimentalSpanAttributes) {
+  TracingServerInterceptor(
+      GrpcServerTracer tracer,
+      boolean captureExperimentalSpanAttributes,
+      GrpcMessageEvents messageEvents) {
     this.tracer = tracer;
     this.captureExperimentalSpanAttributes = captureExperimentalSpanAttributes;
+    this.messageEvents = messageEvents;
   }
 
   @Override
@@ -52,9 +55,12 @@ final class TracingServerInterceptor implements ServerInterceptor {
     }
     GrpcHelper.prepareSpan(span, methodName);
 
+    MessageRecorder messageRecorder = messageEvents.newRecorder();
     try (Scope ignored = context.makeCurrent()) {
       return new TracingServerCallListener<>(
-          next.startCall(new TracingServerCall<>(call, context), headers), context);
+          next.startCall(new TracingServerCall<>(call, context, messageRecorder), headers),
+          context,
+          messageRecorder);
     } catch (Throwable e) {
       tracer.endExceptionally(context, e);
       throw e;
@@ -64,10 +70,19 @@ final class TracingServerInterceptor implements ServerInterceptor {
   final class TracingServerCall<REQUEST, RESPONSE>
       extends ForwardingServerCall.SimpleForwardingServerCall<REQUEST, RESPONSE> {
     private final Context context;
+    private final MessageRecorder messageRecorder;
 
-    TracingServerCall(ServerCall<REQUEST, RESPONSE> delegate, Context context) {
+    TracingServerCall(
+        ServerCall<REQUEST, RESPONSE> delegate, Context context, MessageRecorder messageRecorder) {
       super(delegate);
       this.context = context;
+      this.messageRecorder = messageRecorder;
+    }
+
+    @Override
+    public void sendMessage(RESPONSE message) {
+      messageRecorder.onSend(message);
+      super.sendMessage(message);
     }
 
     @Override
@@ -85,24 +100,19 @@ final class TracingServerInterceptor implements ServerInterceptor {
   final class TracingServerCallListener<REQUEST>
       extends ForwardingServerCallListener.SimpleForwardingServerCallListener<REQUEST> {
     private final Context context;
+    private final MessageRecorder messageRecorder;
 
-    private final AtomicLong messageId = new AtomicLong();
-
-    TracingServerCallListener(Listener<REQUEST> delegate, Context context) {
+    TracingServerCallListener(
+        Listener<REQUEST> delegate, Context context, MessageRecorder messageRecorder) {
       super(delegate);
       this.context = context;
+      this.messageRecorder = messageRecorder;
     }
 
     @Override
     public void onMessage(REQUEST message) {
       // TODO(anuraaga): Restore
-      Attributes attributes =
-          Attributes.of(
-              GrpcHelper.MESSAGE_TYPE,
-              "RECEIVED",
-              GrpcHelper.MESSAGE_ID,
-              messageId.incrementAndGet());
-      Span.fromContext(context).addEvent("message", attributes);
+      messageRecorder.onMessage(Span.fromContext(context), "RECEIVED", message);
       try (Scope ignored = context.makeCurrent()) {
         delegate().onMessage(message);
       }
@@ -129,6 +139,7 @@ final class TracingServerInterceptor implements ServerInterceptor {
         tracer.endExceptionally(context, e);
         throw e;
       }
+      messageRecorder.onEnd(Span.fromContext(context));
       tracer.end(context);
     }
 
@@ -140,6 +151,7 @@ final class TracingServerInterceptor implements ServerInterceptor {
         tracer.endExceptionally(context, e);
         throw e;
       }
+      messageRecorder.onEnd(Span.fromContext(context));
       tracer.end(context);
     }
 
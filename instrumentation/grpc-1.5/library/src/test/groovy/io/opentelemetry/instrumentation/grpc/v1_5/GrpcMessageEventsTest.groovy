@@ -0,0 +1,160 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.grpc.v1_5
+
+import static io.opentelemetry.api.trace.SpanKind.CLIENT
+import static io.opentelemetry.api.trace.SpanKind.SERVER
+
+import example.GreeterGrpc
+import example.Helloworld
+import io.grpc.BindableService
+import io.grpc.ManagedChannel
+import io.grpc.Server
+import io.grpc.inprocess.InProcessChannelBuilder
+import io.grpc.inprocess.InProcessServerBuilder
+import io.grpc.stub.StreamObserver
+import io.opentelemetry.instrumentation.test.InstrumentationSpecification
+import io.opentelemetry.instrumentation.test.LibraryTestTrait
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import spock.lang.Unroll
+
+@Unroll
+class GrpcMessageEventsTest extends InstrumentationSpecification implements LibraryTestTrait {
+
+  static final int MESSAGE_COUNT = 10
+
+  def "#name message events"() {
+    setup:
+    def messages = (1..MESSAGE_COUNT).collect {
+      Helloworld.Response.newBuilder().setMessage("call $it").build()
+    }
+    def completed = new CountDownLatch(1)
+
+    BindableService greeter = new GreeterGrpc.GreeterImplBase() {
+      @Override
+      StreamObserver<Helloworld.Response> conversation(StreamObserver<Helloworld.Response> observer) {
+        return new StreamObserver<Helloworld.Response>() {
+          @Override
+          void onNext(Helloworld.Response value) {
+            observer.onNext(value)
+          }
+
+          @Override
+          void onError(Throwable t) {
+            observer.onError(t)
+          }
+
+          @Override
+          void onCompleted() {
+            observer.onCompleted()
+          }
+        }
+      }
+    }
+    def tracing = GrpcTracing.newBuilder(getOpenTelemetry())
+      .setMessageEvents(messageEvents)
+      .build()
+    def serverName = "message-events-$name"
+    Server server = InProcessServerBuilder.forName(serverName)
+      .addService(greeter)
+      .intercept(tracing.newServerInterceptor())
+      .build().start()
+    ManagedChannel channel = InProcessChannelBuilder.forName(serverName)
+      .intercept(tracing.newClientInterceptor())
+      .build()
+
+    when:
+    def observer = GreeterGrpc.newStub(channel).conversation(new StreamObserver<Helloworld.Response>() {
+      @Override
+      void onNext(Helloworld.Response value) {
+      }
+
+      @Override
+      void onError(Throwable t) {
+        completed.countDown()
+      }
+
+      @Override
+      void onCompleted() {
+        completed.countDown()
+      }
+    })
+    messages.each { observer.onNext(it) }
+    observer.onCompleted()
+    completed.await(10, TimeUnit.SECONDS)
+
+    then:
+    // every message is echoed, so both sides send and receive the same messages
+    def bytes = messages.sum { it.serializedSize } as long
+    assertTraces(1) {
+      trace(0, 2) {
+        span(0) {
+          name "example.Greeter/Conversation"
+          kind CLIENT
+          hasNoParent()
+          attributes {
+            "${SemanticAttributes.RPC_SYSTEM.key}" "grpc"
+            "${SemanticAttributes.RPC_SERVICE.key}" "example.Greeter"
+            "${SemanticAttributes.RPC_METHOD.key}" "Conversation"
+            if (aggregated) {
+              "grpc.sent_messages" MESSAGE_COUNT
+              "grpc.received_messages" MESSAGE_COUNT
+              "grpc.sent_bytes" bytes
+              "grpc.received_bytes" bytes
+            }
+          }
+          eventIds.eachWithIndex { messageId, index ->
+            event(index) {
+              eventName "message"
+              attributes {
+                "message.type" "SENT"
+                "message.id" messageId
+              }
+            }
+          }
+        }
+        span(1) {
+          name "example.Greeter/Conversation"
+          kind SERVER
+          childOf span(0)
+          attributes {
+            "${SemanticAttributes.RPC_SYSTEM.key}" "grpc"
+            "${SemanticAttributes.RPC_SERVICE.key}" "example.Greeter"
+            "${SemanticAttributes.RPC_METHOD.key}" "Conversation"
+            if (aggregated) {
+              "grpc.sent_messages" MESSAGE_COUNT
+              "grpc.received_messages" MESSAGE_COUNT
+              "grpc.sent_bytes" bytes
+              "grpc.received_bytes" bytes
+            }
+          }
+          eventIds.eachWithIndex { messageId, index ->
+            event(index) {
+              eventName "message"
+              attributes {
+                "message.type" "RECEIVED"
+                "message.id" messageId
+              }
+            }
+          }
+        }
+      }
+    }
+
+    cleanup:
+    channel?.shutdownNow()?.awaitTermination(10, TimeUnit.SECONDS)
+    server?.shutdownNow()?.awaitTermination()
+
+    where:
+    name         | messageEvents                   | eventIds      | aggregated
+    "all"        | GrpcMessageEvents.all()         | 1..10         | false
+    "capped"     | GrpcMessageEvents.capped(3)     | 1..3          | false
+    "sampled"    | GrpcMessageEvents.sampled(4)    | [1, 5, 9]     | false
+    "aggregated" | GrpcMessageEvents.aggregated()  | []            | true
+  }
+}
@@ -5,6 +5,7 @@
 
 package io.opentelemetry.javaagent.instrumentation.jdbc;
 
+import static io.opentelemetry.javaagent.instrumentation.jdbc.JdbcTracer.tracer;
 import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.AgentElementMatchers.hasInterface;
 import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.AgentElementMatchers.implementsInterface;
 import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.ClassLoaderMatcher.hasClassesNamed;
@@ -15,6 +16,7 @@ import static net.bytebuddy.matcher.ElementMatchers.returns;
 import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 
 import io.opentelemetry.javaagent.tooling.TypeInstrumentation;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.util.Map;
 import net.bytebuddy.asm.Advice;
@@ -47,8 +49,13 @@ public class ConnectionInstrumentation implements TypeInstrumentation {
   public static class ConnectionPrepareAdvice {
     @Advice.OnMethodExit(suppress = Throwable.class)
     public static void addDbInfo(
-        @Advice.Argument(0) String sql, @Advice.Return PreparedStatement statement) {
-      JdbcMaps.preparedStatements.put(statement, sql);
+        @Advice.This Connection connection,
+        @Advice.Argument(0) String sql,
+        @Advice.Return PreparedStatement statement) {
+      PreparedStatementInfo info = tracer().prepareStatementInfo(connection, sql);
+      if (info != null) {
+        JdbcMaps.preparedStatements.put(statement, info);
+      }
     }
   }
 }
@@ -18,5 +18,6 @@ import java.sql.PreparedStatement;
  */
 public class JdbcMaps {
   public static final WeakMap<Connection, DbInfo> connectionInfo = newWeakMap();
-  public static final WeakMap<PreparedStatement, String> preparedStatements = newWeakMap();
+  public static final WeakMap<PreparedStatement, PreparedStatementInfo> preparedStatements =
+      newWeakMap();
 }
@@ -5,10 +5,15 @@
 
 package io.opentelemetry.javaagent.instrumentation.jdbc;
 
+import static io.opentelemetry.api.trace.SpanKind.CLIENT;
 import static io.opentelemetry.javaagent.instrumentation.jdbc.JdbcUtils.connectionFromStatement;
+import static io.opentelemetry.javaagent.instrumentation.jdbc.JdbcUtils.unwrapConnection;
 
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.caching.Cache;
 import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
 import io.opentelemetry.instrumentation.api.db.SqlStatementSanitizer;
 import io.opentelemetry.instrumentation.api.tracer.DatabaseClientTracer;
@@ -23,6 +28,11 @@ import java.sql.Statement;
 public class JdbcTracer extends DatabaseClientTracer<DbInfo, String, SqlStatementInfo> {
   private static final JdbcTracer TRACER = new JdbcTracer();
 
+  // statements are usually prepared over and over again with the same SQL; the connections of a
+  // pool share their DbInfo, and therefore share the prepared statement infos as well
+  private final Cache<DbInfo, Cache<String, PreparedStatementInfo>> preparedStatementInfos =
+      Cache.newBuilder().setMaximumSize(100).build();
+
   public static JdbcTracer tracer() {
     return TRACER;
   }
@@ -33,7 +43,66 @@ public class JdbcTracer extends DatabaseClientTracer<DbInfo, String, SqlStatemen
   }
 
   public Context startSpan(Context parentContext, PreparedStatement statement) {
-    return startSpan(parentContext, statement, JdbcMaps.preparedStatements.get(statement));
+    PreparedStatementInfo info = JdbcMaps.preparedStatements.get(statement);
+    if (info == null) {
+      // the statement was prepared by a method that isn't instrumented, so its SQL is unknown
+      Connection connection = connectionFromStatement(statement);
+      if (connection == null) {
+        return null;
+      }
+      info = createPreparedStatementInfo(extractDbInfo(connection), null);
+      JdbcMaps.preparedStatements.put(statement, info);
+    }
+
+    SpanBuilder span =
+        spanBuilder(parentContext, info.getSpanName(), CLIENT)
+            .setAllAttributes(info.getAttributes());
+    return withClientSpan(parentContext, span.startSpan());
+  }
+
+  /**
+   * Computes the span name and attributes of all future executions of a statement that {@code
+   * connection} prepared, or returns {@code null} if the connection can't be unwrapped.
+   */
+  public PreparedStatementInfo prepareStatementInfo(Connection connection, String query) {
+    DbInfo dbInfo = JdbcMaps.connectionInfo.get(connection);
+    if (dbInfo == null) {
+      // e.g. the proxy of a connection pool, which usually is a new instance whenever a connection
+      // is borrowed, while the DbInfo of the connection that it wraps has already been extracted
+      Connection unwrapped = unwrapConnection(connection);
+      if (unwrapped == null) {
+        return null;
+      }
+      return prepareStatementInfo(extractDbInfo(unwrapped), query);
+    }
+    return prepareStatementInfo(dbInfo, query);
+  }
+
+  private PreparedStatementInfo prepareStatementInfo(DbInfo dbInfo, String query) {
+    if (query == null) {
+      return createPreparedStatementInfo(dbInfo, null);
+    }
+    return preparedStatementInfos
+        .computeIfAbsent(dbInfo, k -> Cache.newBuilder().setMaximumSize(1000).build())
+        .computeIfAbsent(query, q -> createPreparedStatementInfo(dbInfo, q));
+  }
+
+  private PreparedStatementInfo createPreparedStatementInfo(DbInfo dbInfo, String query) {
+    SqlStatementInfo sanitizedStatement = sanitizeStatement(query);
+
+    // the same attributes that startSpan(Context, DbInfo, String) sets one by one
+    AttributesBuilder attributes =
+        Attributes.builder()
+            .put(SemanticAttributes.DB_SYSTEM, dbSystem(dbInfo))
+            .put(SemanticAttributes.DB_USER, dbUser(dbInfo))
+            .put(SemanticAttributes.DB_NAME, dbName(dbInfo))
+            .put(SemanticAttributes.DB_CONNECTION_STRING, dbConnectionString(dbInfo))
+            .put(SemanticAttributes.DB_STATEMENT, sanitizedStatement.getFullStatement())
+            .put(SemanticAttributes.DB_OPERATION, sanitizedStatement.getOperation())
+            .put(SemanticAttributes.DB_SQL_TABLE, sanitizedStatement.getTable());
+
+    return PreparedStatementInfo.create(
+        spanName(dbInfo, query, sanitizedStatement), attributes.build());
   }
 
   public Context startSpan(Context parentContext, Statement statement, String query) {
@@ -22,7 +22,20 @@ public abstract class JdbcUtils {
     Connection connection;
     try {
       connection = statement.getConnection();
+    } catch (Throwable e) {
+      // Had some problem getting the connection.
+      log.debug("Could not get connection for StatementAdvice", e);
+      return null;
+    }
+    return unwrapConnection(connection);
+  }
 
+  /**
+   * Returns the connection that is wrapped by {@code connection}, e.g. by a connection pool proxy,
+   * the connection itself if it is not a wrapper, or null if exception was thrown.
+   */
+  public static Connection unwrapConnection(Connection connection) {
+    try {
       if (c3poField != null) {
         if (connection.getClass().getName().equals("com.mchange.v2.c3p0.impl.NewProxyConnection")) {
           return (Connection) c3poField.get(connection);
@@ -54,8 +67,8 @@ public abstract class JdbcUtils {
         // Stick with original connection.
       }
     } catch (Throwable e) {
-      // Had some problem getting the connection.
-      log.debug("Could not get connection for StatementAdvice", e);
+      // Had some problem unwrapping the connection.
+      log.debug("Could not unwrap connection", e);
       return null;
     }
     return connection;
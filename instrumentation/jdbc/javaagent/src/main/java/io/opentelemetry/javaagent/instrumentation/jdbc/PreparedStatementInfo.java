@@ -0,0 +1,27 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.jdbc;
+
+import com.google.auto.value.AutoValue;
+import io.opentelemetry.api.common.Attributes;
+
+/**
+ * Everything that is needed to start a span for a {@link java.sql.PreparedStatement} execution.
+ * Computed once when the statement is prepared, because neither the connection nor the SQL of a
+ * prepared statement can change afterwards.
+ */
+@AutoValue
+public abstract class PreparedStatementInfo {
+
+  public static PreparedStatementInfo create(String spanName, Attributes attributes) {
+    return new AutoValue_PreparedStatementInfo(spanName, attributes);
+  }
+
+  public abstract String getSpanName();
+
+  /** All attributes of the span, set at span start. */
+  public abstract Attributes getAttributes();
+}
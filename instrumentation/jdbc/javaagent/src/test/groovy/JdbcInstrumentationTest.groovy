@@ -527,6 +527,45 @@ class JdbcInstrumentationTest extends AgentInstrumentationSpecification {
     false            | "derby" | new EmbeddedDriver() | "jdbc:derby:memory:" + dbName + ";create=true" | "APP"    | "SELECT 3 FROM SYSIBM.SYSDUMMY1" | "SELECT ? FROM SYSIBM.SYSDUMMY1" | "SELECT ${dbNameLower}.SYSIBM.SYSDUMMY1" | "derby:memory:" | "SYSIBM.SYSDUMMY1"
   }
 
+  def "prepared statement executed repeatedly generates a span per execution"() {
+    setup:
+    Connection connection = new Driver().connect(jdbcUrls.get("h2"), null)
+    PreparedStatement statement = connection.prepareStatement("SELECT 3")
+
+    when:
+    runUnderTrace("parent") {
+      3.times {
+        statement.executeQuery()
+      }
+    }
+
+    then:
+    assertTraces(1) {
+      trace(0, 4) {
+        basicSpan(it, 0, "parent")
+        for (int i = 1; i <= 3; i++) {
+          span(i) {
+            name "SELECT $dbNameLower"
+            kind CLIENT
+            childOf span(0)
+            errored false
+            attributes {
+              "$SemanticAttributes.DB_SYSTEM.key" "h2"
+              "$SemanticAttributes.DB_NAME.key" dbNameLower
+              "$SemanticAttributes.DB_CONNECTION_STRING.key" "h2:mem:"
+              "$SemanticAttributes.DB_STATEMENT.key" "SELECT ?"
+              "$SemanticAttributes.DB_OPERATION.key" "SELECT"
+            }
+          }
+        }
+      }
+    }
+
+    cleanup:
+    statement.close()
+    connection.close()
+  }
+
   def "calling #datasource.class.simpleName getConnection generates a span when under existing trace"() {
     setup:
     assert datasource instanceof DataSource
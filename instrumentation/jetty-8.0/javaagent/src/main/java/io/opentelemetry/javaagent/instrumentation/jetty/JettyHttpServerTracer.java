@@ -7,6 +7,7 @@ package io.opentelemetry.javaagent.instrumentation.jetty;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.servlet.AppServerBridge;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 import io.opentelemetry.javaagent.instrumentation.servlet.v3_0.Servlet3HttpServerTracer;
 import javax.servlet.http.HttpServletRequest;
 
@@ -18,7 +19,7 @@ public class JettyHttpServerTracer extends Servlet3HttpServerTracer {
   }
 
   public Context startServerSpan(HttpServletRequest request) {
-    return startSpan(request, "HTTP " + request.getMethod());
+    return startSpan(request, SpanNames.http(request.getMethod()));
   }
 
   @Override
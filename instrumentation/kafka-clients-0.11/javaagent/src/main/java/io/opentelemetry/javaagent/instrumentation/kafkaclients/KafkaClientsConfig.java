@@ -9,14 +9,32 @@ import io.opentelemetry.instrumentation.api.config.Config;
 
 public final class KafkaClientsConfig {
 
+  // read once, these are checked for every consumed record
+  private static final boolean PROPAGATION_ENABLED =
+      Config.get()
+          .getBooleanProperty("otel.instrumentation.kafka.client-propagation.enabled", true);
+  private static final boolean CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES =
+      Config.get()
+          .getBooleanProperty("otel.instrumentation.kafka.experimental-span-attributes", false);
+  private static final boolean BATCH_RECEIVE_ENABLED =
+      Config.get()
+          .getBooleanProperty(
+              "otel.instrumentation.kafka.experimental-batch-receive.enabled", false);
+
   public static boolean isPropagationEnabled() {
-    return Config.get()
-        .getBooleanProperty("otel.instrumentation.kafka.client-propagation.enabled", true);
+    return PROPAGATION_ENABLED;
   }
 
   public static boolean captureExperimentalSpanAttributes() {
-    return Config.get()
-        .getBooleanProperty("otel.instrumentation.kafka.experimental-span-attributes", false);
+    return CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES;
+  }
+
+  /**
+   * Returns whether a single receive span is created for each {@code KafkaConsumer.poll()} instead
+   * of a process span for each consumed record.
+   */
+  public static boolean isBatchReceiveEnabled() {
+    return BATCH_RECEIVE_ENABLED;
   }
 
   private KafkaClientsConfig() {}
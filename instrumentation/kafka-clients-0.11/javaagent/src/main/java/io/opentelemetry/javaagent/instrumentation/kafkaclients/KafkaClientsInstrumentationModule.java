@@ -6,11 +6,14 @@
 package io.opentelemetry.javaagent.instrumentation.kafkaclients;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
 
 import com.google.auto.service.AutoService;
+import io.opentelemetry.context.Context;
 import io.opentelemetry.javaagent.tooling.InstrumentationModule;
 import io.opentelemetry.javaagent.tooling.TypeInstrumentation;
 import java.util.List;
+import java.util.Map;
 
 @AutoService(InstrumentationModule.class)
 public class KafkaClientsInstrumentationModule extends InstrumentationModule {
@@ -20,6 +23,15 @@ public class KafkaClientsInstrumentationModule extends InstrumentationModule {
 
   @Override
   public List<TypeInstrumentation> typeInstrumentations() {
-    return asList(new KafkaConsumerInstrumentation(), new KafkaProducerInstrumentation());
+    return asList(
+        new KafkaConsumerInstrumentation(),
+        new KafkaConsumerPollInstrumentation(),
+        new KafkaProducerInstrumentation());
+  }
+
+  @Override
+  public Map<String, String> contextStore() {
+    return singletonMap(
+        "org.apache.kafka.clients.consumer.ConsumerRecords", Context.class.getName());
   }
 }
@@ -13,6 +13,8 @@ import static net.bytebuddy.matcher.ElementMatchers.returns;
 import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 
+import io.opentelemetry.context.Context;
+import io.opentelemetry.javaagent.instrumentation.api.InstrumentationContext;
 import io.opentelemetry.javaagent.tooling.TypeInstrumentation;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -23,6 +25,7 @@ import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
 
 public class KafkaConsumerInstrumentation implements TypeInstrumentation {
 
@@ -62,8 +65,18 @@ public class KafkaConsumerInstrumentation implements TypeInstrumentation {
 
     @Advice.OnMethodExit(suppress = Throwable.class)
     public static void wrap(
+        @Advice.This ConsumerRecords<?, ?> records,
         @Advice.Return(readOnly = false) Iterable<ConsumerRecord<?, ?>> iterable) {
-      if (iterable != null) {
+      if (iterable == null) {
+        return;
+      }
+      if (KafkaClientsConfig.isBatchReceiveEnabled()) {
+        Context receiveContext =
+            InstrumentationContext.get(ConsumerRecords.class, Context.class).get(records);
+        if (receiveContext != null) {
+          iterable = new TracingIterable(iterable, tracer(), receiveContext);
+        }
+      } else {
         iterable = new TracingIterable(iterable, tracer());
       }
     }
@@ -72,8 +85,19 @@ public class KafkaConsumerInstrumentation implements TypeInstrumentation {
   public static class ListAdvice {
 
     @Advice.OnMethodExit(suppress = Throwable.class)
-    public static void wrap(@Advice.Return(readOnly = false) List<ConsumerRecord<?, ?>> iterable) {
-      if (iterable != null) {
+    public static void wrap(
+        @Advice.This ConsumerRecords<?, ?> records,
+        @Advice.Return(readOnly = false) List<ConsumerRecord<?, ?>> iterable) {
+      if (iterable == null) {
+        return;
+      }
+      if (KafkaClientsConfig.isBatchReceiveEnabled()) {
+        Context receiveContext =
+            InstrumentationContext.get(ConsumerRecords.class, Context.class).get(records);
+        if (receiveContext != null) {
+          iterable = new TracingList(iterable, tracer(), receiveContext);
+        }
+      } else {
         iterable = new TracingList(iterable, tracer());
       }
     }
@@ -83,8 +107,19 @@ public class KafkaConsumerInstrumentation implements TypeInstrumentation {
 
     @Advice.OnMethodExit(suppress = Throwable.class)
     public static void wrap(
+        @Advice.This ConsumerRecords<?, ?> records,
         @Advice.Return(readOnly = false) Iterator<ConsumerRecord<?, ?>> iterator) {
-      if (iterator != null) {
+      if (iterator == null) {
+        return;
+      }
+      // in batch receive mode only the records returned by an instrumented poll() are traced
+      if (KafkaClientsConfig.isBatchReceiveEnabled()) {
+        Context receiveContext =
+            InstrumentationContext.get(ConsumerRecords.class, Context.class).get(records);
+        if (receiveContext != null) {
+          iterator = new TracingIterator(iterator, tracer(), receiveContext);
+        }
+      } else {
         iterator = new TracingIterator(iterator, tracer());
       }
     }
@@ -0,0 +1,95 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.kafkaclients;
+
+import static io.opentelemetry.javaagent.instrumentation.kafkaclients.KafkaConsumerTracer.tracer;
+import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.AgentElementMatchers.extendsClass;
+import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.ClassLoaderMatcher.hasClassesNamed;
+import static java.util.Collections.singletonMap;
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
+import static net.bytebuddy.matcher.ElementMatchers.isPublic;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.returns;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.javaagent.instrumentation.api.CallDepthThreadLocalMap;
+import io.opentelemetry.javaagent.instrumentation.api.InstrumentationContext;
+import io.opentelemetry.javaagent.tooling.TypeInstrumentation;
+import java.util.Map;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+
+/**
+ * Creates a single receive span for each {@code poll()} when batch receive mode is enabled. The
+ * receive context is attached to the returned {@link ConsumerRecords}, and made current while each
+ * of them is processed.
+ */
+public class KafkaConsumerPollInstrumentation implements TypeInstrumentation {
+
+  @Override
+  public ElementMatcher<ClassLoader> classLoaderOptimization() {
+    return hasClassesNamed("org.apache.kafka.clients.consumer.KafkaConsumer");
+  }
+
+  @Override
+  public ElementMatcher<TypeDescription> typeMatcher() {
+    return extendsClass(named("org.apache.kafka.clients.consumer.KafkaConsumer"));
+  }
+
+  @Override
+  public Map<? extends ElementMatcher<? super MethodDescription>, String> transformers() {
+    return singletonMap(
+        isMethod()
+            .and(isPublic())
+            .and(named("poll"))
+            .and(takesArguments(1))
+            .and(returns(named("org.apache.kafka.clients.consumer.ConsumerRecords"))),
+        KafkaConsumerPollInstrumentation.class.getName() + "$PollAdvice");
+  }
+
+  public static class PollAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void onEnter(
+        @Advice.Local("otelCallDepth") int callDepth,
+        @Advice.Local("otelParentContext") Context parentContext,
+        @Advice.Local("otelStartTime") long startTimeMillis) {
+      if (!KafkaClientsConfig.isBatchReceiveEnabled()) {
+        return;
+      }
+      // subclasses may delegate to the instrumented poll() of KafkaConsumer
+      callDepth = CallDepthThreadLocalMap.incrementCallDepth(KafkaConsumer.class);
+      if (callDepth > 0) {
+        return;
+      }
+      parentContext = Context.current();
+      startTimeMillis = System.currentTimeMillis();
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void onExit(
+        @Advice.Local("otelCallDepth") int callDepth,
+        @Advice.Local("otelParentContext") Context parentContext,
+        @Advice.Local("otelStartTime") long startTimeMillis,
+        @Advice.Return ConsumerRecords<?, ?> records) {
+      if (!KafkaClientsConfig.isBatchReceiveEnabled() || callDepth > 0) {
+        return;
+      }
+      CallDepthThreadLocalMap.reset(KafkaConsumer.class);
+
+      if (records == null || records.isEmpty()) {
+        return;
+      }
+      Context receiveContext = tracer().receiveSpan(parentContext, records, startTimeMillis);
+      InstrumentationContext.get(ConsumerRecords.class, Context.class).put(records, receiveContext);
+    }
+  }
+}
@@ -9,16 +9,23 @@ import static io.opentelemetry.api.trace.SpanKind.CONSUMER;
 import static io.opentelemetry.javaagent.instrumentation.kafkaclients.TextMapExtractAdapter.GETTER;
 
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.tracer.BaseTracer;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.concurrent.TimeUnit;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.record.TimestampType;
 
 public class KafkaConsumerTracer extends BaseTracer {
   private static final KafkaConsumerTracer TRACER = new KafkaConsumerTracer();
 
+  // the SDK keeps at most 128 links per span by default, there's no point in extracting more
+  private static final int MAX_RECEIVE_LINKS = 128;
+
   public static KafkaConsumerTracer tracer() {
     return TRACER;
   }
@@ -43,6 +50,62 @@ public class KafkaConsumerTracer extends BaseTracer {
     return parentContext.with(span);
   }
 
+  /**
+   * Starts and ends a single span for all {@code records} returned by a {@code poll()} call that
+   * started at {@code startTimeMillis} in {@code parentContext}. The span is linked to the producer
+   * spans of the records.
+   */
+  public Context receiveSpan(
+      Context parentContext, ConsumerRecords<?, ?> records, long startTimeMillis) {
+    String topic = singleTopic(records);
+    SpanBuilder spanBuilder =
+        spanBuilder(parentContext, spanNameOnReceive(topic), CONSUMER)
+            .setStartTimestamp(startTimeMillis, TimeUnit.MILLISECONDS)
+            .setAttribute(SemanticAttributes.MESSAGING_SYSTEM, "kafka")
+            .setAttribute(SemanticAttributes.MESSAGING_DESTINATION_KIND, "topic")
+            .setAttribute(SemanticAttributes.MESSAGING_OPERATION, "receive");
+    if (topic != null) {
+      spanBuilder.setAttribute(SemanticAttributes.MESSAGING_DESTINATION, topic);
+    }
+    if (KafkaClientsConfig.captureExperimentalSpanAttributes()) {
+      spanBuilder.setAttribute("kafka.record_count", (long) records.count());
+    }
+
+    if (KafkaClientsConfig.isPropagationEnabled()) {
+      int links = 0;
+      for (ConsumerRecord<?, ?> record : records) {
+        SpanContext producerSpanContext =
+            Span.fromContext(extract(record.headers(), GETTER)).getSpanContext();
+        if (producerSpanContext.isValid()) {
+          spanBuilder.addLink(producerSpanContext);
+          if (++links == MAX_RECEIVE_LINKS) {
+            break;
+          }
+        }
+      }
+    }
+
+    Span span = spanBuilder.startSpan();
+    span.end();
+    return parentContext.with(span);
+  }
+
+  private static String singleTopic(ConsumerRecords<?, ?> records) {
+    String topic = null;
+    for (TopicPartition partition : records.partitions()) {
+      if (topic == null) {
+        topic = partition.topic();
+      } else if (!topic.equals(partition.topic())) {
+        return null;
+      }
+    }
+    return topic;
+  }
+
+  private static String spanNameOnReceive(String topic) {
+    return topic == null ? "kafka receive" : topic + " receive";
+  }
+
   private Context extractParent(ConsumerRecord<?, ?> record) {
     if (KafkaClientsConfig.isPropagationEnabled()) {
       return extract(record.headers(), GETTER);
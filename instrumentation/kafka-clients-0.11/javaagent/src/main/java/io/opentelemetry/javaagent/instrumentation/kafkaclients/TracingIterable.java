@@ -5,17 +5,28 @@
 
 package io.opentelemetry.javaagent.instrumentation.kafkaclients;
 
+import io.opentelemetry.context.Context;
 import java.util.Iterator;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class TracingIterable implements Iterable<ConsumerRecord<?, ?>> {
   private final Iterable<ConsumerRecord<?, ?>> delegate;
   private final KafkaConsumerTracer tracer;
+  @Nullable private final Context receiveContext;
   private boolean firstIterator = true;
 
   public TracingIterable(Iterable<ConsumerRecord<?, ?>> delegate, KafkaConsumerTracer tracer) {
+    this(delegate, tracer, null);
+  }
+
+  public TracingIterable(
+      Iterable<ConsumerRecord<?, ?>> delegate,
+      KafkaConsumerTracer tracer,
+      @Nullable Context receiveContext) {
     this.delegate = delegate;
     this.tracer = tracer;
+    this.receiveContext = receiveContext;
   }
 
   @Override
@@ -25,7 +36,7 @@ public class TracingIterable implements Iterable<ConsumerRecord<?, ?>> {
     // However, this is not thread-safe, but usually the first (hopefully only) traversal of
     // ConsumerRecords is performed in the same thread that called poll()
     if (firstIterator) {
-      it = new TracingIterator(delegate.iterator(), tracer);
+      it = new TracingIterator(delegate.iterator(), tracer, receiveContext);
       firstIterator = false;
     } else {
       it = delegate.iterator();
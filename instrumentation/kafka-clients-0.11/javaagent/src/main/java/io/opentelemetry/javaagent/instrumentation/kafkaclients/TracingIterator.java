@@ -9,6 +9,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import java.util.Iterator;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,6 +19,9 @@ public class TracingIterator implements Iterator<ConsumerRecord<?, ?>> {
 
   private final Iterator<ConsumerRecord<?, ?>> delegateIterator;
   private final KafkaConsumerTracer tracer;
+  // set in batch receive mode: the records share a single receive span, which is made current
+  // while each record is processed instead of starting a span for each of them
+  @Nullable private final Context receiveContext;
 
   /**
    * Note: this may potentially create problems if this iterator is used from different threads. But
@@ -29,8 +33,16 @@ public class TracingIterator implements Iterator<ConsumerRecord<?, ?>> {
 
   public TracingIterator(
       Iterator<ConsumerRecord<?, ?>> delegateIterator, KafkaConsumerTracer tracer) {
+    this(delegateIterator, tracer, null);
+  }
+
+  public TracingIterator(
+      Iterator<ConsumerRecord<?, ?>> delegateIterator,
+      KafkaConsumerTracer tracer,
+      @Nullable Context receiveContext) {
     this.delegateIterator = delegateIterator;
     this.tracer = tracer;
+    this.receiveContext = receiveContext;
   }
 
   @Override
@@ -48,7 +60,7 @@ public class TracingIterator implements Iterator<ConsumerRecord<?, ?>> {
 
     try {
       if (next != null) {
-        currentContext = tracer.startSpan(next);
+        currentContext = receiveContext != null ? receiveContext : tracer.startSpan(next);
         currentScope = currentContext.makeCurrent();
       }
     } catch (Exception e) {
@@ -61,7 +73,10 @@ public class TracingIterator implements Iterator<ConsumerRecord<?, ?>> {
     if (currentScope != null) {
       currentScope.close();
       currentScope = null;
-      tracer.end(currentContext);
+      // the receive span has already been ended when poll() returned
+      if (receiveContext == null) {
+        tracer.end(currentContext);
+      }
       currentContext = null;
     }
   }
@@ -5,16 +5,25 @@
 
 package io.opentelemetry.javaagent.instrumentation.kafkaclients;
 
+import io.opentelemetry.context.Context;
 import java.util.Collection;
 import java.util.List;
 import java.util.ListIterator;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class TracingList extends TracingIterable implements List<ConsumerRecord<?, ?>> {
   private final List<ConsumerRecord<?, ?>> delegate;
 
   public TracingList(List<ConsumerRecord<?, ?>> delegate, KafkaConsumerTracer tracer) {
-    super(delegate, tracer);
+    this(delegate, tracer, null);
+  }
+
+  public TracingList(
+      List<ConsumerRecord<?, ?>> delegate,
+      KafkaConsumerTracer tracer,
+      @Nullable Context receiveContext) {
+    super(delegate, tracer, receiveContext);
     this.delegate = delegate;
   }
 
@@ -0,0 +1,169 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+import static io.opentelemetry.api.trace.SpanKind.CONSUMER
+import static io.opentelemetry.api.trace.SpanKind.PRODUCER
+import static io.opentelemetry.instrumentation.test.utils.TraceUtils.basicSpan
+import static io.opentelemetry.instrumentation.test.utils.TraceUtils.runInternalSpan
+import static io.opentelemetry.instrumentation.test.utils.TraceUtils.runUnderTrace
+
+import io.opentelemetry.api.trace.Span
+import io.opentelemetry.instrumentation.test.AgentInstrumentationSpecification
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes
+import org.apache.kafka.clients.consumer.ConsumerConfig
+import org.apache.kafka.clients.consumer.KafkaConsumer
+import org.apache.kafka.clients.producer.KafkaProducer
+import org.apache.kafka.clients.producer.ProducerRecord
+import org.apache.kafka.common.TopicPartition
+import org.junit.Rule
+import org.springframework.kafka.test.rule.KafkaEmbedded
+import org.springframework.kafka.test.utils.KafkaTestUtils
+
+class KafkaClientBatchReceiveTest extends AgentInstrumentationSpecification {
+
+  static final BATCH_TOPIC = "batch.topic"
+
+  @Rule
+  KafkaEmbedded embeddedKafka = new KafkaEmbedded(1, true, BATCH_TOPIC)
+
+  def "poll creates a single receive span linked to the producer spans"() {
+    setup:
+    def consumerProperties = KafkaTestUtils.consumerProps("batch", "false", embeddedKafka)
+    consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest")
+    def consumer = new KafkaConsumer<String, String>(consumerProperties)
+    consumer.assign([new TopicPartition(BATCH_TOPIC, 0)])
+
+    def producer = new KafkaProducer(KafkaTestUtils.senderProps(embeddedKafka.getBrokersAsString()))
+
+    when:
+    runUnderTrace("parent") {
+      producer.send(new ProducerRecord<Integer, String>(BATCH_TOPIC, 0, null, "first")).get()
+      producer.send(new ProducerRecord<Integer, String>(BATCH_TOPIC, 0, null, "second")).get()
+    }
+    waitForTraces(1)
+
+    def records = KafkaTestUtils.getRecords(consumer)
+    for (record in records) {
+      runInternalSpan("processing " + record.value())
+    }
+
+    then:
+    records.count() == 2
+
+    SpanData firstSend
+    SpanData secondSend
+    assertTraces(2) {
+      trace(0, 3) {
+        basicSpan(it, 0, "parent")
+        span(1) {
+          name BATCH_TOPIC + " send"
+          kind PRODUCER
+          childOf span(0)
+        }
+        span(2) {
+          name BATCH_TOPIC + " send"
+          kind PRODUCER
+          childOf span(0)
+        }
+        firstSend = span(1)
+        secondSend = span(2)
+      }
+      trace(1, 3) {
+        span(0) {
+          name BATCH_TOPIC + " receive"
+          kind CONSUMER
+          errored false
+          hasNoParent()
+          hasLink(firstSend)
+          hasLink(secondSend)
+          attributes {
+            "${SemanticAttributes.MESSAGING_SYSTEM.key}" "kafka"
+            "${SemanticAttributes.MESSAGING_DESTINATION.key}" BATCH_TOPIC
+            "${SemanticAttributes.MESSAGING_DESTINATION_KIND.key}" "topic"
+            "${SemanticAttributes.MESSAGING_OPERATION.key}" "receive"
+            "kafka.record_count" 2
+          }
+        }
+        basicSpan(it, 1, "processing first", span(0))
+        basicSpan(it, 2, "processing second", span(0))
+      }
+    }
+
+    cleanup:
+    consumer.close()
+    producer.close()
+  }
+
+  def "receive scope is closed after each record is processed"() {
+    setup:
+    def consumerProperties = KafkaTestUtils.consumerProps("batch-scope", "false", embeddedKafka)
+    consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest")
+    consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 1)
+    def consumer = new KafkaConsumer<String, String>(consumerProperties)
+    consumer.assign([new TopicPartition(BATCH_TOPIC, 0)])
+
+    def producer = new KafkaProducer(KafkaTestUtils.senderProps(embeddedKafka.getBrokersAsString()))
+
+    when:
+    runUnderTrace("parent") {
+      producer.send(new ProducerRecord<Integer, String>(BATCH_TOPIC, 0, null, "first")).get()
+      producer.send(new ProducerRecord<Integer, String>(BATCH_TOPIC, 0, null, "second")).get()
+    }
+    waitForTraces(1)
+
+    def iterator = KafkaTestUtils.getRecords(consumer).iterator()
+    def first = iterator.next()
+    runInternalSpan("processing " + first.value())
+    // the scope of the last record is closed once the iterator is exhausted
+    def exhausted = !iterator.hasNext()
+    def leaked = Span.current().spanContext.valid
+    for (record in KafkaTestUtils.getRecords(consumer)) {
+      runInternalSpan("processing " + record.value())
+    }
+
+    then:
+    exhausted
+    !leaked
+    !Span.current().spanContext.valid
+
+    assertTraces(3) {
+      trace(0, 3) {
+        basicSpan(it, 0, "parent")
+        span(1) {
+          name BATCH_TOPIC + " send"
+          kind PRODUCER
+          childOf span(0)
+        }
+        span(2) {
+          name BATCH_TOPIC + " send"
+          kind PRODUCER
+          childOf span(0)
+        }
+      }
+      trace(1, 2) {
+        span(0) {
+          name BATCH_TOPIC + " receive"
+          kind CONSUMER
+          hasNoParent()
+        }
+        basicSpan(it, 1, "processing first", span(0))
+      }
+      // not a child of the first receive span
+      trace(2, 2) {
+        span(0) {
+          name BATCH_TOPIC + " receive"
+          kind CONSUMER
+          hasNoParent()
+        }
+        basicSpan(it, 1, "processing second", span(0))
+      }
+    }
+
+    cleanup:
+    consumer.close()
+    producer.close()
+  }
+}
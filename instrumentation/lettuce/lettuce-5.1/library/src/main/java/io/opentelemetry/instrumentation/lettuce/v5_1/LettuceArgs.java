@@ -0,0 +1,43 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.lettuce.v5_1;
+
+import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer.ArgumentAccessor;
+import io.opentelemetry.instrumentation.lettuce.common.LettuceArgSplitter;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The args that lettuce renders into its {@code redis.args} tag, which are only copied out of it
+ * when the sanitizer keeps them.
+ */
+final class LettuceArgs {
+
+  static final ArgumentAccessor<LettuceArgs> ACCESSOR =
+      new ArgumentAccessor<LettuceArgs>() {
+        @Override
+        public int size(LettuceArgs args) {
+          return args.ranges.length / 2;
+        }
+
+        @Override
+        public void append(StringBuilder statement, LettuceArgs args, int index) {
+          statement.append(args.args, args.ranges[2 * index], args.ranges[2 * index + 1]);
+        }
+
+        @Override
+        public String get(LettuceArgs args, int index) {
+          return args.args.substring(args.ranges[2 * index], args.ranges[2 * index + 1]);
+        }
+      };
+
+  private final String args;
+  private final int[] ranges;
+
+  LettuceArgs(@Nullable String args) {
+    this.args = args;
+    this.ranges = LettuceArgSplitter.splitArgRanges(args);
+  }
+}
@@ -5,8 +5,6 @@
 
 package io.opentelemetry.instrumentation.lettuce.v5_1;
 
-import static io.opentelemetry.instrumentation.lettuce.common.LettuceArgSplitter.splitArgs;
-
 import io.lettuce.core.tracing.TraceContext;
 import io.lettuce.core.tracing.TraceContextProvider;
 import io.lettuce.core.tracing.Tracer;
@@ -261,7 +259,8 @@ final class OpenTelemetryTracing implements Tracing {
     public synchronized void finish() {
       if (span != null) {
         if (name != null) {
-          String statement = RedisCommandSanitizer.sanitize(name, splitArgs(args));
+          String statement =
+              RedisCommandSanitizer.sanitize(name, new LettuceArgs(args), LettuceArgs.ACCESSOR);
           span.setAttribute(SemanticAttributes.DB_STATEMENT, statement);
         }
         span.end();
@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.lettuce.common;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -36,5 +37,28 @@ public final class LettuceArgSplitter {
     return argsList;
   }
 
+  private static final int[] NO_RANGES = new int[0];
+
+  // same as splitArgs(), but returns the start and end index of each arg instead of copying it,
+  // i.e. arg i is args.substring(ranges[2 * i], ranges[2 * i + 1])
+  public static int[] splitArgRanges(@Nullable String args) {
+    if (args == null || args.isEmpty()) {
+      return NO_RANGES;
+    }
+
+    int[] ranges = new int[16];
+    int size = 0;
+    Matcher m = KEY_PATTERN.matcher(args);
+    while (m.find()) {
+      String group = m.start("wrapped") != -1 ? "wrapped" : "plain";
+      if (size == ranges.length) {
+        ranges = Arrays.copyOf(ranges, size * 2);
+      }
+      ranges[size++] = m.start(group);
+      ranges[size++] = m.end(group);
+    }
+    return size == ranges.length ? ranges : Arrays.copyOf(ranges, size);
+  }
+
   private LettuceArgSplitter() {}
 }
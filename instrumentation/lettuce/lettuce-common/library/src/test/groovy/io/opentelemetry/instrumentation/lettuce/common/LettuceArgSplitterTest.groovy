@@ -25,4 +25,23 @@ class LettuceArgSplitterTest extends Specification {
     "a base64 value"         | "TeST123=="                              | ["TeST123=="]
     "a complex list of args" | "key<key> aSDFgh4321= 5 test value<val>" | ["key", "aSDFgh4321=", "5", "test", "val"]
   }
+
+  @Unroll
+  def "should split #desc into the same ranges"() {
+    when:
+    def ranges = LettuceArgSplitter.splitArgRanges(args)
+
+    then:
+    ranges.length == 2 * result.size()
+    (0..<result.size()).collect { args.substring(ranges[2 * it], ranges[2 * it + 1]) } == result
+
+    where:
+    desc                     | args                                     | result
+    "a null value"           | null                                     | []
+    "an empty value"         | ""                                       | []
+    "a single key"           | "key<key>"                               | ["key"]
+    "a plain string"         | "teststring"                             | ["teststring"]
+    "a complex list of args" | "key<key> aSDFgh4321= 5 test value<val>" | ["key", "aSDFgh4321=", "5", "test", "val"]
+    "many args"              | (1..20).collect { "key<k$it> value<v$it>" }.join(" ") | (1..20).collectMany { ["k$it".toString(), "v$it".toString()] }
+  }
 }
@@ -12,6 +12,7 @@ import com.ibm.ws.http.dispatcher.internal.channel.HttpDispatcherLink;
 import com.ibm.wsspi.http.channel.values.StatusCodes;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 import net.bytebuddy.asm.Advice;
 
 /**
@@ -37,7 +38,10 @@ public class LibertyHttpDispatcherLinkAdvice {
     context =
         tracer()
             .startSpan(
-                requestWrapper, connectionWrapper, null, "HTTP " + requestWrapper.getMethod());
+                requestWrapper,
+                connectionWrapper,
+                null,
+                SpanNames.http(requestWrapper.getMethod()));
     scope = context.makeCurrent();
   }
 
@@ -15,13 +15,22 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.logging.log4j.core.util.ContextDataProvider;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringMap;
 
 /**
  * Implementation of Log4j 2's {@link ContextDataProvider} which is loaded via SPI. {@link
  * #supplyContextData()} is called when a log entry is created.
+ *
+ * <p>{@link #supplyStringMap()}, which the garbage-free context data injector calls, fills a
+ * {@link SortedArrayStringMap} directly instead of copying a {@link HashMap}. Nothing is kept
+ * between calls, so pooled threads don't hold on to span contexts or to classes of the application
+ * this provider was loaded by.
  */
 public class OpenTelemetryContextDataProvider implements ContextDataProvider {
 
+  private static final StringMap EMPTY_STRING_MAP = frozen(new SortedArrayStringMap(0));
+
   /**
    * Returns context from the current span when available.
    *
@@ -30,16 +39,35 @@ public class OpenTelemetryContextDataProvider implements ContextDataProvider {
    */
   @Override
   public Map<String, String> supplyContextData() {
-    Span currentSpan = Span.current();
-    if (!currentSpan.getSpanContext().isValid()) {
+    SpanContext spanContext = Span.current().getSpanContext();
+    if (!spanContext.isValid()) {
       return Collections.emptyMap();
     }
 
     Map<String, String> contextData = new HashMap<>();
-    SpanContext spanContext = currentSpan.getSpanContext();
     contextData.put(TRACE_ID, spanContext.getTraceId());
     contextData.put(SPAN_ID, spanContext.getSpanId());
     contextData.put(TRACE_FLAGS, spanContext.getTraceFlags().asHex());
     return contextData;
   }
+
+  /** Returns the same context as {@link #supplyContextData()}, as a {@link StringMap}. */
+  @Override
+  public StringMap supplyStringMap() {
+    SpanContext spanContext = Span.current().getSpanContext();
+    if (!spanContext.isValid()) {
+      return EMPTY_STRING_MAP;
+    }
+
+    StringMap stringMap = new SortedArrayStringMap(3);
+    stringMap.putValue(TRACE_ID, spanContext.getTraceId());
+    stringMap.putValue(SPAN_ID, spanContext.getSpanId());
+    stringMap.putValue(TRACE_FLAGS, spanContext.getTraceFlags().asHex());
+    return stringMap;
+  }
+
+  private static StringMap frozen(StringMap stringMap) {
+    stringMap.freeze();
+    return stringMap;
+  }
 }
@@ -39,7 +39,10 @@ public final class SpanDecoratingContextDataInjector implements ContextDataInjec
       return contextData;
     }
 
-    StringMap newContextData = new SortedArrayStringMap(contextData);
+    // the garbage-free injector returns the reusable map of the log event, which can be modified
+    // in place, the others return the frozen context data of the thread, which has to be copied
+    StringMap newContextData =
+        contextData.isFrozen() ? new SortedArrayStringMap(contextData) : contextData;
     newContextData.putValue(TRACE_ID, currentContext.getTraceId());
     newContextData.putValue(SPAN_ID, currentContext.getSpanId());
     newContextData.putValue(TRACE_FLAGS, currentContext.getTraceFlags().asHex());
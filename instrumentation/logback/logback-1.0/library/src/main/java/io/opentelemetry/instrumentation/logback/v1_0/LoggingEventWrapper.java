@@ -15,18 +15,12 @@ import org.slf4j.Marker;
 final class LoggingEventWrapper implements ILoggingEvent {
   private final ILoggingEvent event;
   private final Map<String, String> mdcPropertyMap;
-  private final LoggerContextVO vo;
+  // created lazily, most appenders don't need it
+  private LoggerContextVO vo;
 
   LoggingEventWrapper(ILoggingEvent event, Map<String, String> mdcPropertyMap) {
     this.event = event;
     this.mdcPropertyMap = mdcPropertyMap;
-
-    final LoggerContextVO oldVo = event.getLoggerContextVO();
-    if (oldVo != null) {
-      vo = new LoggerContextVO(oldVo.getName(), mdcPropertyMap, oldVo.getBirthTime());
-    } else {
-      vo = null;
-    }
   }
 
   @Override
@@ -61,6 +55,12 @@ final class LoggingEventWrapper implements ILoggingEvent {
 
   @Override
   public LoggerContextVO getLoggerContextVO() {
+    if (vo == null) {
+      LoggerContextVO oldVo = event.getLoggerContextVO();
+      if (oldVo != null) {
+        vo = new LoggerContextVO(oldVo.getName(), mdcPropertyMap, oldVo.getBirthTime());
+      }
+    }
     return vo;
   }
 
@@ -0,0 +1,173 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.v1_0.internal;
+
+import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.SPAN_ID;
+import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.TRACE_FLAGS;
+import static io.opentelemetry.instrumentation.api.log.LoggingContextConstants.TRACE_ID;
+
+import io.opentelemetry.api.trace.SpanContext;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable view over an MDC property map, with the trace id, span id and trace flags of a span
+ * context added. Keys resolve from the MDC property map first. Nothing is copied: the span context
+ * entries are read from the span context, which keeps its ids as hex strings, by their index in
+ * a shared array of keys.
+ */
+public final class SpanContextMap extends AbstractMap<String, String> {
+
+  private static final String[] KEYS = {TRACE_ID, SPAN_ID, TRACE_FLAGS};
+
+  /**
+   * Returns a view over the given MDC property map, which may be {@code null}, with the entries of
+   * the given span context added.
+   */
+  public static Map<String, String> create(Map<String, String> mdc, SpanContext spanContext) {
+    return new SpanContextMap(mdc != null ? mdc : Collections.emptyMap(), spanContext);
+  }
+
+  private final Map<String, String> mdc;
+  private final SpanContext spanContext;
+  private int size = -1;
+
+  private SpanContextMap(Map<String, String> mdc, SpanContext spanContext) {
+    this.mdc = mdc;
+    this.spanContext = spanContext;
+  }
+
+  @Override
+  public int size() {
+    if (size >= 0) {
+      return size;
+    }
+
+    int size = mdc.size();
+    for (String key : KEYS) {
+      if (!mdc.containsKey(key)) {
+        size++;
+      }
+    }
+    return this.size = size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return false;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0 || mdc.containsKey(key);
+  }
+
+  @Override
+  public String get(Object key) {
+    String value = mdc.get(key);
+    if (value != null) {
+      return value;
+    }
+    int index = indexOf(key);
+    return index >= 0 ? valueAt(index) : null;
+  }
+
+  @Override
+  public String put(String key, String value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public String remove(Object key) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Set<Entry<String, String>> entrySet() {
+    return new EntrySet();
+  }
+
+  private static int indexOf(Object key) {
+    for (int i = 0; i < KEYS.length; i++) {
+      if (KEYS[i].equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private String valueAt(int index) {
+    switch (index) {
+      case 0:
+        return spanContext.getTraceId();
+      case 1:
+        return spanContext.getSpanId();
+      default:
+        return spanContext.getTraceFlags().asHex();
+    }
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<String, String>> {
+
+    @Override
+    public int size() {
+      return SpanContextMap.this.size();
+    }
+
+    @Override
+    public Iterator<Entry<String, String>> iterator() {
+      return new EntryIterator();
+    }
+  }
+
+  // the MDC entries first, then the span context entries that aren't in the MDC
+  private final class EntryIterator implements Iterator<Entry<String, String>> {
+    private final Iterator<Entry<String, String>> mdcIterator = mdc.entrySet().iterator();
+    private int nextIndex = nextIndex(0);
+
+    private int nextIndex(int from) {
+      for (int i = from; i < KEYS.length; i++) {
+        if (!mdc.containsKey(KEYS[i])) {
+          return i;
+        }
+      }
+      return KEYS.length;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return mdcIterator.hasNext() || nextIndex < KEYS.length;
+    }
+
+    @Override
+    public Entry<String, String> next() {
+      if (mdcIterator.hasNext()) {
+        return mdcIterator.next();
+      }
+      if (nextIndex >= KEYS.length) {
+        throw new NoSuchElementException();
+      }
+      int index = nextIndex;
+      nextIndex = nextIndex(index + 1);
+      return new SimpleImmutableEntry<>(KEYS[index], valueAt(index));
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
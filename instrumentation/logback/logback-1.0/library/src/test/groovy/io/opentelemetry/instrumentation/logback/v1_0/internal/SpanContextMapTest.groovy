@@ -0,0 +1,72 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.v1_0.internal
+
+import io.opentelemetry.api.trace.SpanContext
+import io.opentelemetry.api.trace.TraceFlags
+import io.opentelemetry.api.trace.TraceState
+import spock.lang.Specification
+
+class SpanContextMapTest extends Specification {
+
+  static final TRACE_ID = "ff01020304050600ff0a0b0c0d0e0f00"
+  static final SPAN_ID = "090a0b0c0d0e0f00"
+
+  def spanContext = SpanContext.create(
+    TRACE_ID, SPAN_ID, TraceFlags.getSampled(), TraceState.getDefault())
+
+  def "maps"() {
+    when:
+    def map = SpanContextMap.create(mdc, spanContext)
+
+    then:
+    map['cat'] == 'meow'
+    map['trace_id'] == TRACE_ID
+    map['span_id'] == spanId
+    map['trace_flags'] == '01'
+    map['giraffe'] == null
+
+    !map.isEmpty()
+    map.size() == 4
+    map.containsKey('cat')
+    map.containsKey('trace_id')
+    map.containsKey('span_id')
+    map.containsKey('trace_flags')
+    !map.containsKey('giraffe')
+
+    def set = map.entrySet()
+    set.size() == 4
+    def copy = new HashMap(map)
+    copy == [cat: 'meow', trace_id: TRACE_ID, span_id: spanId, trace_flags: '01']
+
+    where:
+    mdc                                  | spanId
+    [cat: 'meow']                        | SPAN_ID
+    // Overlapping entries in the MDC take precedence.
+    [cat: 'meow', span_id: 'overridden'] | 'overridden'
+  }
+
+  def "no mdc"() {
+    when:
+    def map = SpanContextMap.create(mdc, spanContext)
+
+    then:
+    map.size() == 3
+    new HashMap(map) == [trace_id: TRACE_ID, span_id: SPAN_ID, trace_flags: '01']
+
+    where:
+    mdc << [null, Collections.emptyMap()]
+  }
+
+  def "immutable"() {
+    when:
+    def map = SpanContextMap.create([cat: 'meow'], spanContext)
+    map.put('dog', 'bark')
+
+    then:
+    thrown(UnsupportedOperationException)
+  }
+}
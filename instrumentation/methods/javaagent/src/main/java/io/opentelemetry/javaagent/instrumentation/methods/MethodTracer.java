@@ -5,9 +5,7 @@
 
 package io.opentelemetry.javaagent.instrumentation.methods;
 
-import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.tracer.BaseTracer;
-import java.lang.reflect.Method;
 
 public class MethodTracer extends BaseTracer {
   private static final MethodTracer TRACER = new MethodTracer();
@@ -20,8 +18,4 @@ public class MethodTracer extends BaseTracer {
   protected String getInstrumentationName() {
     return "io.opentelemetry.javaagent.external-annotations";
   }
-
-  public Context startSpan(Method method) {
-    return startSpan(spanNameForMethod(method));
-  }
 }
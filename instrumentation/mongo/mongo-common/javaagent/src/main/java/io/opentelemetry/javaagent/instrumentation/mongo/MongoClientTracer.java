@@ -11,6 +11,7 @@ import com.mongodb.ServerAddress;
 import com.mongodb.connection.ConnectionDescription;
 import com.mongodb.event.CommandStartedEvent;
 import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.instrumentation.api.caching.Cache;
 import io.opentelemetry.instrumentation.api.tracer.DatabaseClientTracer;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes.DbSystemValues;
@@ -33,8 +34,15 @@ public class MongoClientTracer
     extends DatabaseClientTracer<CommandStartedEvent, BsonDocument, String> {
   private static final MongoClientTracer TRACER = new MongoClientTracer();
 
+  // commands with a larger shape, e.g. inserts of many documents, are sanitized without caching
+  private static final int MAX_CACHED_SHAPE_LENGTH = 1024;
+
   private final int maxNormalizedQueryLength;
   private final JsonWriterSettings jsonWriterSettings;
+  // keyed by the shape of the command: the sanitized statement only depends on its keys, its
+  // structure and the preserved command value, not on any of the other values
+  private final Cache<String, String> shapeToStatementCache =
+      Cache.newBuilder().setMaximumSize(1000).build();
 
   public MongoClientTracer() {
     this(32 * 1024);
@@ -56,6 +64,21 @@ public class MongoClientTracer
 
   @Override
   protected String sanitizeStatement(BsonDocument command) {
+    StringBuilder shape = new StringBuilder(128);
+    if (!appendShape(command, shape, true)) {
+      return serializeScrubbed(command);
+    }
+    String shapeKey = shape.toString();
+    String statement = shapeToStatementCache.get(shapeKey);
+    if (statement == null) {
+      statement = serializeScrubbed(command);
+      shapeToStatementCache.put(shapeKey, statement);
+    }
+    return statement;
+  }
+
+  // Visible for benchmarks
+  String serializeScrubbed(BsonDocument command) {
     StringWriter stringWriter = new StringWriter(128);
     writeScrubbed(command, new JsonWriter(stringWriter, jsonWriterSettings), true);
     // If using MongoDB driver >= 3.7, the substring invocation will be a no-op due to use of
@@ -189,6 +212,51 @@ public class MongoClientTracer
 
   private static final String HIDDEN_CHAR = "?";
 
+  /**
+   * Appends everything that {@link #writeScrubbed(BsonDocument, JsonWriter, boolean)} writes
+   * except for the JSON syntax. Keys and the preserved value are prefixed with their length, so
+   * that they can't be confused with the structure around them. Returns {@code false} once the
+   * shape gets too long to be cached.
+   */
+  private static boolean appendShape(BsonDocument origin, StringBuilder shape, boolean isRoot) {
+    shape.append('{');
+    boolean firstField = true;
+    for (Map.Entry<String, BsonValue> entry : origin.entrySet()) {
+      String key = entry.getKey();
+      shape.append(key.length()).append(':').append(key);
+      BsonValue value = entry.getValue();
+      if (isRoot && firstField && value.isString()) {
+        String preserved = value.asString().getValue();
+        shape.append('=').append(preserved.length()).append(':').append(preserved);
+      } else if (!appendShape(value, shape)) {
+        return false;
+      }
+      if (shape.length() > MAX_CACHED_SHAPE_LENGTH) {
+        return false;
+      }
+      firstField = false;
+    }
+    shape.append('}');
+    return true;
+  }
+
+  private static boolean appendShape(BsonValue origin, StringBuilder shape) {
+    if (origin.isDocument()) {
+      return appendShape(origin.asDocument(), shape, false);
+    } else if (origin.isArray()) {
+      shape.append('[');
+      for (BsonValue value : origin.asArray()) {
+        if (!appendShape(value, shape) || shape.length() > MAX_CACHED_SHAPE_LENGTH) {
+          return false;
+        }
+      }
+      shape.append(']');
+    } else {
+      shape.append('?');
+    }
+    return true;
+  }
+
   private static boolean writeScrubbed(BsonDocument origin, JsonWriter writer, boolean isRoot) {
     writer.writeStartDocument();
     boolean firstField = true;
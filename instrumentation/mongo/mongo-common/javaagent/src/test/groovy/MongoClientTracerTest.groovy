@@ -46,6 +46,51 @@ class MongoClientTracerTest extends Specification {
       '{"cmd": "c", "f": "?", "sub": "?"}'
   }
 
+  def 'should sanitize commands with the same shape but different values'() {
+    setup:
+    def tracer = new MongoClientTracer()
+
+    expect:
+    sanitizeStatementAcrossVersions(tracer,
+      new BsonDocument("find", new BsonString("orders"))
+        .append("filter", new BsonDocument("id", new BsonInt32(1)))) ==
+      '{"find": "orders", "filter": {"id": "?"}}'
+
+    sanitizeStatementAcrossVersions(tracer,
+      new BsonDocument("find", new BsonString("orders"))
+        .append("filter", new BsonDocument("id", new BsonString("2")))) ==
+      '{"find": "orders", "filter": {"id": "?"}}'
+
+    sanitizeStatementAcrossVersions(tracer,
+      new BsonDocument("find", new BsonString("customers"))
+        .append("filter", new BsonDocument("id", new BsonInt32(1)))) ==
+      '{"find": "customers", "filter": {"id": "?"}}'
+
+    sanitizeStatementAcrossVersions(tracer,
+      new BsonDocument("find", new BsonString("orders"))
+        .append("filter", new BsonArray(asList(new BsonInt32(1), new BsonInt32(2))))) ==
+      '{"find": "orders", "filter": ["?", "?"]}'
+
+    sanitizeStatementAcrossVersions(tracer,
+      new BsonDocument("find", new BsonString("orders"))
+        .append("filter", new BsonDocument("id", new BsonDocument("\$gt", new BsonInt32(1))))) ==
+      '{"find": "orders", "filter": {"id": {"\$gt": "?"}}}'
+  }
+
+  def 'should sanitize commands that are too large to be cached'() {
+    setup:
+    def tracer = new MongoClientTracer()
+    def documents = (1..500).collect { new BsonDocument("id", new BsonInt32(it)) }
+
+    when:
+    def normalized = sanitizeStatementAcrossVersions(tracer,
+      new BsonDocument("insert", new BsonString("orders"))
+        .append("documents", new BsonArray(documents)))
+
+    then:
+    normalized == '{"insert": "orders", "documents": [' + (['{"id": "?"}'] * 500).join(", ") + ']}'
+  }
+
   def 'should truncate simple command'() {
     setup:
     def tracer = new MongoClientTracer(20)
@@ -9,6 +9,7 @@ import static io.opentelemetry.javaagent.instrumentation.netty.v3_8.server.Netty
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 import io.opentelemetry.javaagent.instrumentation.api.ContextStore;
 import io.opentelemetry.javaagent.instrumentation.netty.v3_8.ChannelTraceContext;
 import org.jboss.netty.channel.Channel;
@@ -48,7 +49,10 @@ public class HttpServerRequestTracingHandler extends SimpleChannelUpstreamHandle
     Context context =
         tracer()
             .startSpan(
-                request, ctx.getChannel(), channelTraceContext, "HTTP " + request.getMethod());
+                request,
+                ctx.getChannel(),
+                channelTraceContext,
+                SpanNames.http(request.getMethod().getName()));
     try (Scope ignored = context.makeCurrent()) {
       ctx.sendUpstream(event);
       // the span is ended normally in HttpServerResponseTracingHandler
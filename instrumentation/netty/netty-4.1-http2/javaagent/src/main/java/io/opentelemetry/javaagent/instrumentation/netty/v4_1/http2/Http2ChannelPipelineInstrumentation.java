@@ -0,0 +1,86 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2;
+
+import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.AgentElementMatchers.implementsInterface;
+import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.ClassLoaderMatcher.hasClassesNamed;
+import static java.util.Collections.singletonMap;
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
+import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2MultiplexCodec;
+import io.opentelemetry.javaagent.tooling.TypeInstrumentation;
+import java.util.Map;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+public class Http2ChannelPipelineInstrumentation implements TypeInstrumentation {
+
+  @Override
+  public ElementMatcher<ClassLoader> classLoaderOptimization() {
+    return hasClassesNamed("io.netty.channel.ChannelPipeline");
+  }
+
+  @Override
+  public ElementMatcher<TypeDescription> typeMatcher() {
+    return implementsInterface(named("io.netty.channel.ChannelPipeline"));
+  }
+
+  @Override
+  public Map<? extends ElementMatcher<? super MethodDescription>, String> transformers() {
+    return singletonMap(
+        isMethod()
+            .and(nameStartsWith("add"))
+            .and(takesArgument(1, String.class))
+            .and(takesArgument(2, named("io.netty.channel.ChannelHandler"))),
+        Http2ChannelPipelineInstrumentation.class.getName() + "$ChannelPipelineAddAdvice");
+  }
+
+  /**
+   * Adds our tracing handler right after the {@link Http2FrameCodec}. All stream frames of the
+   * connection pass it, including the ones that an {@code Http2MultiplexHandler} further down the
+   * pipeline dispatches to (and receives from) the child channel of each stream.
+   *
+   * <p>{@link Http2MultiplexCodec} is skipped: it dispatches stream frames to the child channels
+   * itself, so they never reach a handler added after it.
+   */
+  public static class ChannelPipelineAddAdvice {
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void addHandler(
+        @Advice.This ChannelPipeline pipeline,
+        @Advice.Argument(1) String handlerName,
+        @Advice.Argument(2) ChannelHandler handler) {
+      // no call depth tracking needed: adding our handlers (which aren't codecs) ends up here too
+      if (!(handler instanceof Http2FrameCodec) || handler instanceof Http2MultiplexCodec) {
+        return;
+      }
+
+      String name = handlerName;
+      if (name == null) {
+        name = pipeline.context(handler).name();
+      }
+
+      try {
+        if (((Http2FrameCodec) handler).connection().isServer()) {
+          pipeline.addAfter(
+              name, Http2ServerTracingHandler.class.getName(), Http2ServerTracingHandler.INSTANCE);
+        } else {
+          pipeline.addAfter(
+              name, Http2ClientTracingHandler.class.getName(), Http2ClientTracingHandler.INSTANCE);
+        }
+      } catch (IllegalArgumentException e) {
+        // Prevented adding duplicate handlers.
+      }
+    }
+  }
+}
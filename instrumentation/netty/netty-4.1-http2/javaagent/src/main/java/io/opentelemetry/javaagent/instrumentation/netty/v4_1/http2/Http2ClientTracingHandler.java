@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2;
+
+import static io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2.NettyHttp2ClientTracer.tracer;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http2.Http2FrameStream;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.handler.codec.http2.Http2ResetFrame;
+import io.netty.handler.codec.http2.Http2StreamFrame;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2.Http2StreamContexts.ClientContexts;
+import java.nio.channels.ClosedChannelException;
+import java.util.Map;
+
+/**
+ * Starts a client span when the request headers of a stream are written, and ends it when the
+ * response headers are read. The parent of the span is the context that is current when the
+ * request headers are written, which is the case when they are written on the event loop of the
+ * connection, e.g. from the listener of {@code Http2StreamChannelBootstrap.open()}.
+ */
+@ChannelHandler.Sharable
+public class Http2ClientTracingHandler extends ChannelDuplexHandler {
+
+  public static final Http2ClientTracingHandler INSTANCE = new Http2ClientTracingHandler();
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise prm) {
+    if (!(msg instanceof Http2HeadersFrame) && !(msg instanceof Http2ResetFrame)) {
+      ctx.write(msg, prm);
+      return;
+    }
+
+    Http2FrameStream stream = ((Http2StreamFrame) msg).stream();
+    Map<Http2FrameStream, ClientContexts> contexts = Http2StreamContexts.client(ctx.channel());
+    ClientContexts clientContexts = contexts.get(stream);
+    if (clientContexts != null) {
+      // request trailers, or the stream is cancelled
+      if (msg instanceof Http2ResetFrame) {
+        contexts.remove(stream);
+        tracer()
+            .endExceptionally(
+                clientContexts.getContext(),
+                Http2StreamContexts.streamReset((Http2ResetFrame) msg));
+      }
+      ctx.write(msg, prm);
+      return;
+    }
+
+    // only the request headers start a span
+    if (!(msg instanceof Http2HeadersFrame)) {
+      ctx.write(msg, prm);
+      return;
+    }
+    Http2Headers headers = ((Http2HeadersFrame) msg).headers();
+    Context parentContext = Context.current();
+    if (headers.method() == null || !tracer().shouldStartSpan(parentContext, headers)) {
+      ctx.write(msg, prm);
+      return;
+    }
+
+    Context context = tracer().startSpan(parentContext, headers);
+    contexts.put(stream, new ClientContexts(context, parentContext));
+    try (Scope ignored = context.makeCurrent()) {
+      ctx.write(msg, prm);
+      // the span is ended normally when the response headers are read
+    } catch (Throwable throwable) {
+      contexts.remove(stream);
+      tracer().endExceptionally(context, throwable);
+      throw throwable;
+    }
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    if (!(msg instanceof Http2HeadersFrame) && !(msg instanceof Http2ResetFrame)) {
+      ctx.fireChannelRead(msg);
+      return;
+    }
+
+    Http2FrameStream stream = ((Http2StreamFrame) msg).stream();
+    Map<Http2FrameStream, ClientContexts> contexts = Http2StreamContexts.client(ctx.channel());
+    ClientContexts clientContexts = contexts.get(stream);
+    if (clientContexts == null) {
+      ctx.fireChannelRead(msg);
+      return;
+    }
+
+    if (msg instanceof Http2ResetFrame) {
+      contexts.remove(stream);
+      tracer()
+          .endExceptionally(
+              clientContexts.getContext(), Http2StreamContexts.streamReset((Http2ResetFrame) msg));
+    } else {
+      Http2Headers headers = ((Http2HeadersFrame) msg).headers();
+      if (!Http2StreamContexts.isFinalResponse(headers)) {
+        ctx.fireChannelRead(msg);
+        return;
+      }
+      contexts.remove(stream);
+      tracer().end(clientContexts.getContext(), headers);
+    }
+
+    // We want the callback in the scope of the parent, not the client span
+    Context parentContext = clientContexts.getParentContext();
+    if (parentContext != Context.current()) {
+      try (Scope ignored = parentContext.makeCurrent()) {
+        ctx.fireChannelRead(msg);
+      }
+    } else {
+      ctx.fireChannelRead(msg);
+    }
+  }
+
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+    Map<Http2FrameStream, ClientContexts> contexts = Http2StreamContexts.client(ctx.channel());
+    if (!contexts.isEmpty()) {
+      // the connection was closed before these streams got a response
+      ClosedChannelException exception = new ClosedChannelException();
+      for (ClientContexts clientContexts : contexts.values()) {
+        tracer().endExceptionally(clientContexts.getContext(), exception);
+      }
+      contexts.clear();
+    }
+    super.channelInactive(ctx);
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2;
+
+import io.netty.handler.codec.http2.Http2Headers;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Http2HeadersExtractAdapter implements TextMapGetter<Http2Headers> {
+
+  public static final Http2HeadersExtractAdapter GETTER = new Http2HeadersExtractAdapter();
+
+  @Override
+  public Iterable<String> keys(Http2Headers headers) {
+    List<String> keys = new ArrayList<>(headers.size());
+    for (CharSequence name : headers.names()) {
+      keys.add(name.toString());
+    }
+    return keys;
+  }
+
+  @Override
+  public String get(Http2Headers headers, String key) {
+    CharSequence value = headers.get(key);
+    return value == null ? null : value.toString();
+  }
+}
@@ -0,0 +1,19 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2;
+
+import io.netty.handler.codec.http2.Http2Headers;
+import io.opentelemetry.context.propagation.TextMapSetter;
+
+public class Http2HeadersInjectAdapter implements TextMapSetter<Http2Headers> {
+
+  public static final Http2HeadersInjectAdapter SETTER = new Http2HeadersInjectAdapter();
+
+  @Override
+  public void set(Http2Headers headers, String key, String value) {
+    headers.set(key, value);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2;
+
+import static io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2.NettyHttp2ServerTracer.tracer;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http2.Http2FrameStream;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.handler.codec.http2.Http2ResetFrame;
+import io.netty.handler.codec.http2.Http2StreamFrame;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.nio.channels.ClosedChannelException;
+import java.util.Map;
+
+/**
+ * Starts a server span for the request headers of each stream, and ends it when the response
+ * headers are written. All frames of the stream that are read in between are passed on in the
+ * scope of that span, including to the child channel of the stream if there is one.
+ */
+@ChannelHandler.Sharable
+public class Http2ServerTracingHandler extends ChannelDuplexHandler {
+
+  public static final Http2ServerTracingHandler INSTANCE = new Http2ServerTracingHandler();
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    if (!(msg instanceof Http2StreamFrame)) {
+      ctx.fireChannelRead(msg);
+      return;
+    }
+
+    Http2FrameStream stream = ((Http2StreamFrame) msg).stream();
+    Map<Http2FrameStream, Context> contexts = Http2StreamContexts.server(ctx.channel());
+    Context context = contexts.get(stream);
+    if (context == null) {
+      // trailers don't have pseudo headers, only the request headers start a span
+      if (msg instanceof Http2HeadersFrame
+          && ((Http2HeadersFrame) msg).headers().method() != null) {
+        startSpan(ctx, (Http2HeadersFrame) msg, contexts);
+      } else {
+        ctx.fireChannelRead(msg);
+      }
+      return;
+    }
+
+    if (msg instanceof Http2ResetFrame) {
+      contexts.remove(stream);
+      tracer().endExceptionally(context, Http2StreamContexts.streamReset((Http2ResetFrame) msg));
+    }
+    // no need to switch scope if the server context is already current
+    if (context == Context.current()) {
+      ctx.fireChannelRead(msg);
+    } else {
+      try (Scope ignored = context.makeCurrent()) {
+        ctx.fireChannelRead(msg);
+      }
+    }
+  }
+
+  private static void startSpan(
+      ChannelHandlerContext ctx, Http2HeadersFrame frame, Map<Http2FrameStream, Context> contexts) {
+    Context context = tracer().startSpan(frame.headers(), ctx.channel());
+    contexts.put(frame.stream(), context);
+    try (Scope ignored = context.makeCurrent()) {
+      ctx.fireChannelRead(frame);
+      // the span is ended normally when the response headers are written
+    } catch (Throwable throwable) {
+      contexts.remove(frame.stream());
+      tracer().endExceptionally(context, throwable);
+      throw throwable;
+    }
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise prm) {
+    // response body frames don't need the server context
+    if (!(msg instanceof Http2HeadersFrame) && !(msg instanceof Http2ResetFrame)) {
+      ctx.write(msg, prm);
+      return;
+    }
+
+    Http2FrameStream stream = ((Http2StreamFrame) msg).stream();
+    Map<Http2FrameStream, Context> contexts = Http2StreamContexts.server(ctx.channel());
+    Context context = contexts.get(stream);
+    if (context == null) {
+      ctx.write(msg, prm);
+      return;
+    }
+
+    if (msg instanceof Http2ResetFrame) {
+      contexts.remove(stream);
+      ctx.write(msg, prm);
+      tracer().endExceptionally(context, Http2StreamContexts.streamReset((Http2ResetFrame) msg));
+      return;
+    }
+
+    Http2Headers headers = ((Http2HeadersFrame) msg).headers();
+    if (!Http2StreamContexts.isFinalResponse(headers)) {
+      ctx.write(msg, prm);
+      return;
+    }
+
+    contexts.remove(stream);
+    try (Scope ignored = context.makeCurrent()) {
+      ctx.write(msg, prm);
+    } catch (Throwable throwable) {
+      tracer().endExceptionally(context, throwable);
+      throw throwable;
+    }
+    tracer().end(context, headers);
+  }
+
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+    Map<Http2FrameStream, Context> contexts = Http2StreamContexts.server(ctx.channel());
+    if (!contexts.isEmpty()) {
+      // the connection was closed before these streams got a response
+      ClosedChannelException exception = new ClosedChannelException();
+      for (Context context : contexts.values()) {
+        tracer().endExceptionally(context, exception);
+      }
+      contexts.clear();
+    }
+    super.channelInactive(ctx);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http2.Http2Error;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2FrameStream;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2ResetFrame;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.opentelemetry.context.Context;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The contexts of the HTTP/2 streams of a connection, stored in an attribute of the connection's
+ * channel. Many streams of the same connection are in flight at the same time, so unlike the
+ * HTTP/1.x handlers we can't keep a single context per channel.
+ *
+ * <p>The maps are keyed by the {@link Http2FrameStream} of each frame: the codec sets the same
+ * instance on all frames of a stream, whether they are read or written, and whether the stream
+ * is handled by a child channel or not. All reads and writes happen on the event loop of the
+ * connection, so the maps don't need to be thread safe.
+ */
+public final class Http2StreamContexts {
+
+  private static final AttributeKey<Map<Http2FrameStream, Context>> SERVER_CONTEXTS =
+      AttributeKey.valueOf(Http2StreamContexts.class, "server-contexts");
+  private static final AttributeKey<Map<Http2FrameStream, ClientContexts>> CLIENT_CONTEXTS =
+      AttributeKey.valueOf(Http2StreamContexts.class, "client-contexts");
+
+  /** Returns the server span contexts of the streams of the given connection. */
+  public static Map<Http2FrameStream, Context> server(Channel channel) {
+    return getOrCreate(channel.attr(SERVER_CONTEXTS));
+  }
+
+  /** Returns the client span contexts of the streams of the given connection. */
+  public static Map<Http2FrameStream, ClientContexts> client(Channel channel) {
+    return getOrCreate(channel.attr(CLIENT_CONTEXTS));
+  }
+
+  private static <V> Map<Http2FrameStream, V> getOrCreate(
+      Attribute<Map<Http2FrameStream, V>> attribute) {
+    Map<Http2FrameStream, V> contexts = attribute.get();
+    if (contexts == null) {
+      contexts = new HashMap<>();
+      attribute.set(contexts);
+    }
+    return contexts;
+  }
+
+  /** Returns whether the given headers are the final (i.e. not 1xx) headers of a response. */
+  public static boolean isFinalResponse(Http2Headers headers) {
+    CharSequence status = headers.status();
+    return status != null && status.length() > 0 && status.charAt(0) != '1';
+  }
+
+  /** Returns the exception recorded on the span of a stream that was reset. */
+  public static Http2Exception streamReset(Http2ResetFrame frame) {
+    Http2Error error = Http2Error.valueOf(frame.errorCode());
+    return Http2Exception.streamError(
+        frame.stream().id(),
+        error == null ? Http2Error.INTERNAL_ERROR : error,
+        "Stream reset with error code %d",
+        frame.errorCode());
+  }
+
+  /** The client span context of a stream and the context in which its request was written. */
+  public static final class ClientContexts {
+    private final Context context;
+    private final Context parentContext;
+
+    public ClientContexts(Context context, Context parentContext) {
+      this.context = context;
+      this.parentContext = parentContext;
+    }
+
+    public Context getContext() {
+      return context;
+    }
+
+    public Context getParentContext() {
+      return parentContext;
+    }
+  }
+
+  private Http2StreamContexts() {}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import io.opentelemetry.instrumentation.api.tracer.HttpClientTracer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+
+/** The request, the carrier and the response are the headers of a stream. */
+public class NettyHttp2ClientTracer
+    extends HttpClientTracer<Http2Headers, Http2Headers, Http2Headers> {
+  private static final NettyHttp2ClientTracer TRACER = new NettyHttp2ClientTracer();
+
+  public static NettyHttp2ClientTracer tracer() {
+    return TRACER;
+  }
+
+  public Context startSpan(Context parentContext, Http2Headers headers) {
+    return startSpan(parentContext, headers, headers);
+  }
+
+  @Override
+  protected String method(Http2Headers headers) {
+    return headers.method().toString();
+  }
+
+  @Override
+  protected String flavor(Http2Headers headers) {
+    return "HTTP/2.0";
+  }
+
+  @Override
+  protected URI url(Http2Headers headers) throws URISyntaxException {
+    CharSequence scheme = headers.scheme();
+    return new URI(
+        (scheme == null ? "http" : scheme) + "://" + headers.authority() + headers.path());
+  }
+
+  @Override
+  protected Integer status(Http2Headers headers) {
+    return HttpResponseStatus.parseLine(headers.status()).code();
+  }
+
+  @Override
+  protected String requestHeader(Http2Headers headers, String name) {
+    return header(headers, name);
+  }
+
+  @Override
+  protected String responseHeader(Http2Headers headers, String name) {
+    return header(headers, name);
+  }
+
+  private static String header(Http2Headers headers, String name) {
+    // HTTP/2 header names are always lower case
+    CharSequence value = headers.get(name.toLowerCase(Locale.ROOT));
+    return value == null ? null : value.toString();
+  }
+
+  @Override
+  protected TextMapSetter<Http2Headers> getSetter() {
+    return Http2HeadersInjectAdapter.SETTER;
+  }
+
+  public boolean shouldStartSpan(Context parentContext, Http2Headers headers) {
+    if (!super.shouldStartSpan(parentContext)) {
+      return false;
+    }
+    // The AWS SDK signs its requests before they reach Netty, see NettyHttpClientTracer in the
+    // netty-4.1 instrumentation. Its HTTP/2 client (e.g. for Kinesis) goes through here.
+    return !headers.contains("amz-sdk-invocation-id");
+  }
+
+  @Override
+  protected String getInstrumentationName() {
+    return "io.opentelemetry.javaagent.netty-4.1-http2";
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.instrumentation.api.tracer.HttpServerTracer;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Locale;
+
+/**
+ * The request and the response are the headers of a stream. The server contexts are kept per
+ * stream by {@link Http2ServerTracingHandler}, so there's no request-response-loop storage.
+ */
+public class NettyHttp2ServerTracer
+    extends HttpServerTracer<Http2Headers, Http2Headers, Channel, Void> {
+  private static final NettyHttp2ServerTracer TRACER = new NettyHttp2ServerTracer();
+
+  public static NettyHttp2ServerTracer tracer() {
+    return TRACER;
+  }
+
+  public Context startSpan(Http2Headers headers, Channel channel) {
+    return startSpan(headers, channel, null, SpanNames.http(method(headers)));
+  }
+
+  @Override
+  protected String method(Http2Headers headers) {
+    return headers.method().toString();
+  }
+
+  @Override
+  protected String requestHeader(Http2Headers headers, String name) {
+    // HTTP/2 header names are always lower case
+    CharSequence value = headers.get(name.toLowerCase(Locale.ROOT));
+    return value == null ? null : value.toString();
+  }
+
+  @Override
+  protected int responseStatus(Http2Headers headers) {
+    return HttpResponseStatus.parseLine(headers.status()).code();
+  }
+
+  @Override
+  protected void attachServerContext(Context context, Void none) {}
+
+  @Override
+  public Context getServerContext(Void none) {
+    return null;
+  }
+
+  @Override
+  protected String getInstrumentationName() {
+    return "io.opentelemetry.javaagent.netty-4.1-http2";
+  }
+
+  @Override
+  protected TextMapGetter<Http2Headers> getGetter() {
+    return Http2HeadersExtractAdapter.GETTER;
+  }
+
+  @Override
+  protected String url(Http2Headers headers) {
+    CharSequence scheme = headers.scheme();
+    CharSequence authority = headers.authority();
+    if (authority == null) {
+      authority = headers.get("host");
+    }
+    return (scheme == null ? "http" : scheme) + "://" + authority + headers.path();
+  }
+
+  @Override
+  protected String peerHostIP(Channel channel) {
+    SocketAddress socketAddress = channel.remoteAddress();
+    if (socketAddress instanceof InetSocketAddress) {
+      return ((InetSocketAddress) socketAddress).getAddress().getHostAddress();
+    }
+    return null;
+  }
+
+  @Override
+  protected String flavor(Channel channel, Http2Headers headers) {
+    return "HTTP/2.0";
+  }
+
+  @Override
+  protected Integer peerPort(Channel channel) {
+    SocketAddress socketAddress = channel.remoteAddress();
+    if (socketAddress instanceof InetSocketAddress) {
+      return ((InetSocketAddress) socketAddress).getPort();
+    }
+    return null;
+  }
+}
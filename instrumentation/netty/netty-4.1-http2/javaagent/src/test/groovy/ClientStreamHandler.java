@@ -0,0 +1,55 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
+import java.util.concurrent.CompletableFuture;
+
+/*
+Bridges from async Netty world to the sync world of our tests: completes the given future with
+the status and the body of the response on the child channel of a stream, e.g. "200 /stream/1".
+*/
+public class ClientStreamHandler extends ChannelInboundHandlerAdapter {
+  private final CompletableFuture<String> response;
+  private final StringBuilder body = new StringBuilder();
+  private CharSequence status;
+
+  public ClientStreamHandler(CompletableFuture<String> response) {
+    this.response = response;
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    try {
+      boolean endStream = false;
+      if (msg instanceof Http2HeadersFrame) {
+        Http2HeadersFrame frame = (Http2HeadersFrame) msg;
+        status = frame.headers().status();
+        endStream = frame.isEndStream();
+      } else if (msg instanceof Http2DataFrame) {
+        Http2DataFrame frame = (Http2DataFrame) msg;
+        body.append(frame.content().toString(CharsetUtil.UTF_8));
+        endStream = frame.isEndStream();
+      }
+
+      if (endStream) {
+        response.complete(status + " " + body);
+        ctx.close();
+      }
+    } finally {
+      ReferenceCountUtil.release(msg);
+    }
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    response.completeExceptionally(cause);
+    ctx.close();
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+import static io.opentelemetry.api.trace.SpanKind.CLIENT
+import static io.opentelemetry.api.trace.SpanKind.INTERNAL
+import static io.opentelemetry.api.trace.SpanKind.SERVER
+import static java.util.concurrent.TimeUnit.SECONDS
+
+import io.netty.bootstrap.Bootstrap
+import io.netty.bootstrap.ServerBootstrap
+import io.netty.channel.Channel
+import io.netty.channel.ChannelInitializer
+import io.netty.channel.EventLoopGroup
+import io.netty.channel.nio.NioEventLoopGroup
+import io.netty.channel.socket.nio.NioServerSocketChannel
+import io.netty.channel.socket.nio.NioSocketChannel
+import io.netty.handler.codec.http2.DefaultHttp2Headers
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder
+import io.netty.handler.codec.http2.Http2MultiplexHandler
+import io.netty.handler.codec.http2.Http2StreamChannel
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap
+import io.netty.util.concurrent.Future
+import io.netty.util.concurrent.GenericFutureListener
+import io.opentelemetry.instrumentation.test.AgentInstrumentationSpecification
+import io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2.Http2ClientTracingHandler
+import io.opentelemetry.javaagent.instrumentation.netty.v4_1.http2.Http2ServerTracingHandler
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes
+import java.util.concurrent.CompletableFuture
+import spock.lang.Shared
+
+class Netty41Http2Test extends AgentInstrumentationSpecification {
+
+  // all streams are multiplexed over a single connection
+  static final int STREAMS = 200
+
+  @Shared
+  EventLoopGroup eventLoopGroup = new NioEventLoopGroup()
+  @Shared
+  Channel serverChannel
+  @Shared
+  int port
+
+  def setupSpec() {
+    serverChannel = new ServerBootstrap()
+      .group(eventLoopGroup)
+      .channel(NioServerSocketChannel)
+      .childHandler(new ChannelInitializer<Channel>() {
+        @Override
+        protected void initChannel(Channel ch) {
+          ch.pipeline().addLast(
+            Http2FrameCodecBuilder.forServer().build(),
+            new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
+              @Override
+              protected void initChannel(Channel stream) {
+                stream.pipeline().addLast(new ServerStreamHandler())
+              }
+            }))
+        }
+      })
+      .bind(0).sync().channel()
+    port = ((InetSocketAddress) serverChannel.localAddress()).port
+  }
+
+  def cleanupSpec() {
+    serverChannel?.close()?.sync()
+    eventLoopGroup?.shutdownGracefully()
+  }
+
+  Channel connect() {
+    return new Bootstrap()
+      .group(eventLoopGroup)
+      .channel(NioSocketChannel)
+      .handler(new ChannelInitializer<Channel>() {
+        @Override
+        protected void initChannel(Channel ch) {
+          ch.pipeline().addLast(
+            Http2FrameCodecBuilder.forClient().build(),
+            new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
+              @Override
+              protected void initChannel(Channel stream) {
+              }
+            }))
+        }
+      })
+      .connect("localhost", port).sync().channel()
+  }
+
+  CompletableFuture<String> request(Channel connection, String path) {
+    def response = new CompletableFuture<String>()
+    new Http2StreamChannelBootstrap(connection)
+      .handler(new ClientStreamHandler(response))
+      .open()
+      .addListener({ Future<Http2StreamChannel> future ->
+        if (!future.success) {
+          response.completeExceptionally(future.cause())
+          return
+        }
+        def headers = new DefaultHttp2Headers()
+          .method("GET")
+          .scheme("http")
+          .authority("localhost:$port".toString())
+          .path(path)
+        future.now.writeAndFlush(new DefaultHttp2HeadersFrame(headers, true))
+      } as GenericFutureListener<Future<Http2StreamChannel>>)
+    return response
+  }
+
+  def "tracing handlers are added once after the frame codec"() {
+    when:
+    def connection = connect()
+    def names = connection.pipeline().names()
+
+    then:
+    names.count { it == Http2ClientTracingHandler.name } == 1
+    names.indexOf(Http2ClientTracingHandler.name) == 1
+
+    cleanup:
+    connection?.close()?.sync()
+  }
+
+  def "concurrent streams on a single connection get their own spans"() {
+    setup:
+    def connection = connect()
+
+    when:
+    // open all streams before waiting for any response
+    def responses = (0..<STREAMS).collect { request(connection, "/stream/$it") }
+
+    then:
+    responses.eachWithIndex { response, i ->
+      assert response.get(10, SECONDS) == "200 /stream/$i"
+    }
+    assertTraces(STREAMS) {
+      sortTraces {
+        // the responses arrive in any order, order the traces by the request they belong to
+        traces.sort(true) { trace ->
+          String url = trace[0].attributes.get(SemanticAttributes.HTTP_URL)
+          url.substring(url.lastIndexOf('/') + 1) as int
+        }
+      }
+      STREAMS.times { i ->
+        trace(i, 3) {
+          span(0) {
+            name "HTTP GET"
+            kind CLIENT
+            hasNoParent()
+            errored false
+            attributes {
+              "${SemanticAttributes.NET_TRANSPORT.key}" "IP.TCP"
+              "${SemanticAttributes.NET_PEER_NAME.key}" "localhost"
+              "${SemanticAttributes.NET_PEER_PORT.key}" port
+              "${SemanticAttributes.HTTP_URL.key}" "http://localhost:$port/stream/$i"
+              "${SemanticAttributes.HTTP_METHOD.key}" "GET"
+              "${SemanticAttributes.HTTP_FLAVOR.key}" "2.0"
+              "${SemanticAttributes.HTTP_STATUS_CODE.key}" 200
+            }
+          }
+          span(1) {
+            name "HTTP GET"
+            kind SERVER
+            childOf span(0)
+            errored false
+            attributes {
+              "${SemanticAttributes.NET_PEER_IP.key}" "127.0.0.1"
+              "${SemanticAttributes.NET_PEER_PORT.key}" Long
+              "${SemanticAttributes.HTTP_CLIENT_IP.key}" "127.0.0.1"
+              "${SemanticAttributes.HTTP_URL.key}" "http://localhost:$port/stream/$i"
+              "${SemanticAttributes.HTTP_METHOD.key}" "GET"
+              "${SemanticAttributes.HTTP_FLAVOR.key}" "2.0"
+              "${SemanticAttributes.HTTP_STATUS_CODE.key}" 200
+            }
+          }
+          span(2) {
+            name "controller /stream/$i"
+            kind INTERNAL
+            childOf span(1)
+          }
+        }
+      }
+    }
+
+    cleanup:
+    connection?.close()?.sync()
+  }
+}
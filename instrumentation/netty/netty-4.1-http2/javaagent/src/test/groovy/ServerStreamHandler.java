@@ -0,0 +1,63 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
+import io.opentelemetry.instrumentation.test.utils.TraceUtils;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+Handles the request of a single stream on its child channel. Once the request is complete, creates
+a span named after the request path (which has to end up in the trace of that stream) and responds
+with the path after a random delay, so that the responses of concurrent streams interleave.
+*/
+public class ServerStreamHandler extends ChannelInboundHandlerAdapter {
+  private String path;
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    try {
+      boolean endStream = false;
+      if (msg instanceof Http2HeadersFrame) {
+        Http2HeadersFrame frame = (Http2HeadersFrame) msg;
+        path = frame.headers().path().toString();
+        endStream = frame.isEndStream();
+      } else if (msg instanceof Http2DataFrame) {
+        endStream = ((Http2DataFrame) msg).isEndStream();
+      }
+
+      if (endStream) {
+        TraceUtils.runInternalSpan("controller " + path);
+        ctx.executor()
+            .schedule(
+                () -> {
+                  ctx.write(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().status("200")));
+                  ctx.writeAndFlush(
+                      new DefaultHttp2DataFrame(
+                          Unpooled.copiedBuffer(path, CharsetUtil.UTF_8), true));
+                },
+                ThreadLocalRandom.current().nextInt(10),
+                TimeUnit.MILLISECONDS);
+      }
+    } finally {
+      ReferenceCountUtil.release(msg);
+    }
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    cause.printStackTrace();
+    ctx.close();
+  }
+}
@@ -107,32 +107,32 @@ public class NettyChannelPipelineInstrumentation implements TypeInstrumentation
         // Server pipeline handlers
         if (handler instanceof HttpServerCodec) {
           pipeline.addAfter(
-              name, HttpServerTracingHandler.class.getName(), new HttpServerTracingHandler());
+              name, HttpServerTracingHandler.class.getName(), HttpServerTracingHandler.INSTANCE);
         } else if (handler instanceof HttpRequestDecoder) {
           pipeline.addAfter(
               name,
               HttpServerRequestTracingHandler.class.getName(),
-              new HttpServerRequestTracingHandler());
+              HttpServerRequestTracingHandler.INSTANCE);
         } else if (handler instanceof HttpResponseEncoder) {
           pipeline.addAfter(
               name,
               HttpServerResponseTracingHandler.class.getName(),
-              new HttpServerResponseTracingHandler());
+              HttpServerResponseTracingHandler.INSTANCE);
         } else
         // Client pipeline handlers
         if (handler instanceof HttpClientCodec) {
           pipeline.addAfter(
-              name, HttpClientTracingHandler.class.getName(), new HttpClientTracingHandler());
+              name, HttpClientTracingHandler.class.getName(), HttpClientTracingHandler.INSTANCE);
         } else if (handler instanceof HttpRequestEncoder) {
           pipeline.addAfter(
               name,
               HttpClientRequestTracingHandler.class.getName(),
-              new HttpClientRequestTracingHandler());
+              HttpClientRequestTracingHandler.INSTANCE);
         } else if (handler instanceof HttpResponseDecoder) {
           pipeline.addAfter(
               name,
               HttpClientResponseTracingHandler.class.getName(),
-              new HttpClientResponseTracingHandler());
+              HttpClientResponseTracingHandler.INSTANCE);
         }
       } catch (IllegalArgumentException e) {
         // Prevented adding duplicate handlers.
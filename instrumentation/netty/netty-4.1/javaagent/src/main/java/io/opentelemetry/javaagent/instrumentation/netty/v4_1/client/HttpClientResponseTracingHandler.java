@@ -7,6 +7,7 @@ package io.opentelemetry.javaagent.instrumentation.netty.v4_1.client;
 
 import static io.opentelemetry.javaagent.instrumentation.netty.v4_1.client.NettyHttpClientTracer.tracer;
 
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.HttpResponse;
@@ -15,8 +16,12 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.netty.v4_1.AttributeKeys;
 
+@ChannelHandler.Sharable
 public class HttpClientResponseTracingHandler extends ChannelInboundHandlerAdapter {
 
+  public static final HttpClientResponseTracingHandler INSTANCE =
+      new HttpClientResponseTracingHandler();
+
   @Override
   public void channelRead(ChannelHandlerContext ctx, Object msg) {
     Context context = ctx.channel().attr(AttributeKeys.CLIENT_CONTEXT).get();
@@ -32,7 +37,7 @@ public class HttpClientResponseTracingHandler extends ChannelInboundHandlerAdapt
     // We want the callback in the scope of the parent, not the client span
     Attribute<Context> parentAttr = ctx.channel().attr(AttributeKeys.CLIENT_PARENT_CONTEXT);
     Context parentContext = parentAttr.get();
-    if (parentContext != null) {
+    if (parentContext != null && parentContext != Context.current()) {
       try (Scope ignored = parentContext.makeCurrent()) {
         ctx.fireChannelRead(msg);
       }
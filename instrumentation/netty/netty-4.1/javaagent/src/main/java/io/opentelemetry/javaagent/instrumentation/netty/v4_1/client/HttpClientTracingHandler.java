@@ -5,13 +5,28 @@
 
 package io.opentelemetry.javaagent.instrumentation.netty.v4_1.client;
 
-import io.netty.channel.CombinedChannelDuplexHandler;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 
-public class HttpClientTracingHandler
-    extends CombinedChannelDuplexHandler<
-        HttpClientResponseTracingHandler, HttpClientRequestTracingHandler> {
+/**
+ * Combines {@link HttpClientResponseTracingHandler} and {@link HttpClientRequestTracingHandler}.
+ * Unlike {@code CombinedChannelDuplexHandler} it doesn't keep any state, so a single instance is
+ * shared by all channels.
+ */
+@ChannelHandler.Sharable
+public class HttpClientTracingHandler extends ChannelDuplexHandler {
+
+  public static final HttpClientTracingHandler INSTANCE = new HttpClientTracingHandler();
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    HttpClientResponseTracingHandler.INSTANCE.channelRead(ctx, msg);
+  }
 
-  public HttpClientTracingHandler() {
-    super(new HttpClientResponseTracingHandler(), new HttpClientRequestTracingHandler());
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise prm) {
+    HttpClientRequestTracingHandler.INSTANCE.write(ctx, msg, prm);
   }
 }
@@ -17,6 +17,7 @@ import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapSetter;
 import io.opentelemetry.instrumentation.api.tracer.HttpClientTracer;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 import io.opentelemetry.instrumentation.api.tracer.utils.NetPeerUtils;
 import java.net.InetSocketAddress;
 import java.net.URI;
@@ -41,6 +42,11 @@ public class NettyHttpClientTracer
     return context;
   }
 
+  @Override
+  protected String spanNameForRequest(HttpRequest request) {
+    return SpanNames.http(request.method().name());
+  }
+
   @Override
   protected String method(HttpRequest httpRequest) {
     return httpRequest.method().name();
@@ -8,21 +8,28 @@ package io.opentelemetry.javaagent.instrumentation.netty.v4_1.server;
 import static io.opentelemetry.javaagent.instrumentation.netty.v4_1.server.NettyHttpServerTracer.tracer;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.HttpRequest;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 
+@ChannelHandler.Sharable
 public class HttpServerRequestTracingHandler extends ChannelInboundHandlerAdapter {
 
+  public static final HttpServerRequestTracingHandler INSTANCE =
+      new HttpServerRequestTracingHandler();
+
   @Override
   public void channelRead(ChannelHandlerContext ctx, Object msg) {
     Channel channel = ctx.channel();
 
     if (!(msg instanceof HttpRequest)) {
       Context serverContext = tracer().getServerContext(channel);
-      if (serverContext == null) {
+      // no need to switch scope if the server context is already current
+      if (serverContext == null || serverContext == Context.current()) {
         ctx.fireChannelRead(msg);
       } else {
         try (Scope ignored = serverContext.makeCurrent()) {
@@ -33,7 +40,8 @@ public class HttpServerRequestTracingHandler extends ChannelInboundHandlerAdapte
     }
 
     HttpRequest request = (HttpRequest) msg;
-    Context context = tracer().startSpan(request, channel, channel, "HTTP " + request.method());
+    Context context =
+        tracer().startSpan(request, channel, channel, SpanNames.http(request.method().name()));
     try (Scope ignored = context.makeCurrent()) {
       ctx.fireChannelRead(msg);
       // the span is ended normally in HttpServerResponseTracingHandler
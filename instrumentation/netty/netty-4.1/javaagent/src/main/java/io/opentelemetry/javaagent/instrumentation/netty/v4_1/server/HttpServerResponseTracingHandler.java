@@ -7,6 +7,7 @@ package io.opentelemetry.javaagent.instrumentation.netty.v4_1.server;
 
 import static io.opentelemetry.javaagent.instrumentation.netty.v4_1.server.NettyHttpServerTracer.tracer;
 
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
@@ -14,12 +15,21 @@ import io.netty.handler.codec.http.HttpResponse;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 
+@ChannelHandler.Sharable
 public class HttpServerResponseTracingHandler extends ChannelOutboundHandlerAdapter {
 
+  public static final HttpServerResponseTracingHandler INSTANCE =
+      new HttpServerResponseTracingHandler();
+
   @Override
   public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise prm) {
+    // response body chunks don't need the server context
+    if (!(msg instanceof HttpResponse)) {
+      ctx.write(msg, prm);
+      return;
+    }
     Context context = tracer().getServerContext(ctx.channel());
-    if (context == null || !(msg instanceof HttpResponse)) {
+    if (context == null) {
       ctx.write(msg, prm);
       return;
     }
@@ -5,13 +5,28 @@
 
 package io.opentelemetry.javaagent.instrumentation.netty.v4_1.server;
 
-import io.netty.channel.CombinedChannelDuplexHandler;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 
-public class HttpServerTracingHandler
-    extends CombinedChannelDuplexHandler<
-        HttpServerRequestTracingHandler, HttpServerResponseTracingHandler> {
+/**
+ * Combines {@link HttpServerRequestTracingHandler} and {@link HttpServerResponseTracingHandler}.
+ * Unlike {@code CombinedChannelDuplexHandler} it doesn't keep any state, so a single instance is
+ * shared by all channels.
+ */
+@ChannelHandler.Sharable
+public class HttpServerTracingHandler extends ChannelDuplexHandler {
+
+  public static final HttpServerTracingHandler INSTANCE = new HttpServerTracingHandler();
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    HttpServerRequestTracingHandler.INSTANCE.channelRead(ctx, msg);
+  }
 
-  public HttpServerTracingHandler() {
-    super(new HttpServerRequestTracingHandler(), new HttpServerResponseTracingHandler());
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise prm) {
+    HttpServerResponseTracingHandler.INSTANCE.write(ctx, msg, prm);
   }
 }
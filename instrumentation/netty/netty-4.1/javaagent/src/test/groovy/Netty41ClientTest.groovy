@@ -258,6 +258,21 @@ class Netty41ClientTest extends HttpClientTest implements AgentTestTrait {
     thrown NoSuchElementException
   }
 
+  def "the same tracing handler is added to all channels"() {
+    setup:
+    def first = new EmbeddedChannel()
+    def second = new EmbeddedChannel()
+
+    when:
+    first.pipeline().addLast("name", new HttpClientCodec())
+    second.pipeline().addLast("name", new HttpClientCodec())
+
+    then:
+    def handler = first.pipeline().get(HttpClientTracingHandler.getName())
+    handler != null
+    handler.is(second.pipeline().get(HttpClientTracingHandler.getName()))
+  }
+
   def "handlers of different types can be added"() {
     setup:
     def channel = new EmbeddedChannel()
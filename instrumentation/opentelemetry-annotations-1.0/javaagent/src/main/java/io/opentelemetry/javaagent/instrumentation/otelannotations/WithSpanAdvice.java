@@ -11,29 +11,30 @@ import application.io.opentelemetry.extension.annotations.WithSpan;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
-import java.lang.reflect.Method;
+import io.opentelemetry.javaagent.tooling.bytebuddy.MethodConstant;
 import net.bytebuddy.asm.Advice;
 
 /**
  * Instrumentation for methods annotated with {@link WithSpan} annotation.
  *
+ * <p>The span name and kind are resolved from the annotation when the method is transformed, see
+ * {@link WithSpanConstants}.
+ *
  * @see WithSpanInstrumentationModule
  */
 public class WithSpanAdvice {
 
   @Advice.OnMethodEnter(suppress = Throwable.class)
   public static void onEnter(
-      @Advice.Origin Method method,
+      @MethodConstant(WithSpanConstants.SpanName.class) String spanName,
+      @MethodConstant(WithSpanConstants.Kind.class) SpanKind kind,
       @Advice.Local("otelContext") Context context,
       @Advice.Local("otelScope") Scope scope) {
-    WithSpan applicationAnnotation = method.getAnnotation(WithSpan.class);
-
-    SpanKind kind = tracer().extractSpanKind(applicationAnnotation);
     Context current = Context.current();
 
     // don't create a nested span if you're not supposed to.
     if (tracer().shouldStartSpan(current, kind)) {
-      context = tracer().startSpan(current, applicationAnnotation, method, kind);
+      context = tracer().startSpan(current, spanName, kind);
       scope = context.makeCurrent();
     }
   }
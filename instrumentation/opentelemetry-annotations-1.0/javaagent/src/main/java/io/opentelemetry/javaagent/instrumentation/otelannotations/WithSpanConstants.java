@@ -0,0 +1,76 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.otelannotations;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.javaagent.tooling.bytebuddy.MethodConstant;
+import io.opentelemetry.javaagent.tooling.bytebuddy.SpanNameForMethod;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.annotation.AnnotationValue;
+import net.bytebuddy.description.enumeration.EnumerationDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves the span name and kind of a method annotated with {@code WithSpan} when it is
+ * transformed, see {@link WithSpanAdvice}.
+ *
+ * <p>The annotation is only read as a ByteBuddy description: the {@code WithSpan} and {@code
+ * SpanKind} classes of the application are not visible from the agent class loader.
+ */
+public final class WithSpanConstants {
+  private static final Logger log = LoggerFactory.getLogger(WithSpanConstants.class);
+
+  // this string is relocated to the annotation of the application, like the one in the matcher of
+  // WithSpanInstrumentationModule
+  private static final String WITH_SPAN_ANNOTATION =
+      "application.io.opentelemetry.extension.annotations.WithSpan";
+
+  public static class SpanName implements MethodConstant.Resolver {
+    @Override
+    public Object resolve(MethodDescription method) {
+      AnnotationValue<?, ?> value = annotationValue(method, "value");
+      String spanName = value == null ? null : value.resolve(String.class);
+      if (spanName != null && !spanName.isEmpty()) {
+        return spanName;
+      }
+      return SpanNameForMethod.spanNameForMethod(method);
+    }
+  }
+
+  public static class Kind implements MethodConstant.Resolver {
+    @Override
+    public Object resolve(MethodDescription method) {
+      AnnotationValue<?, ?> value = annotationValue(method, "kind");
+      if (value == null) {
+        return SpanKind.INTERNAL;
+      }
+      String applicationKind = value.resolve(EnumerationDescription.class).getValue();
+      try {
+        return SpanKind.valueOf(applicationKind);
+      } catch (IllegalArgumentException e) {
+        log.debug("unexpected span kind: {}", applicationKind);
+        return SpanKind.INTERNAL;
+      }
+    }
+  }
+
+  // the value of the given annotation property, or its default
+  private static AnnotationValue<?, ?> annotationValue(MethodDescription method, String property) {
+    for (AnnotationDescription annotation : method.getDeclaredAnnotations()) {
+      if (annotation.getAnnotationType().getName().equals(WITH_SPAN_ANNOTATION)) {
+        return annotation.getValue(
+            annotation.getAnnotationType().getDeclaredMethods().filter(named(property)).getOnly());
+      }
+    }
+    return null;
+  }
+
+  private WithSpanConstants() {}
+}
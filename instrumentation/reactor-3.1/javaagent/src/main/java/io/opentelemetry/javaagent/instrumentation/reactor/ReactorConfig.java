@@ -0,0 +1,21 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.reactor;
+
+import io.opentelemetry.instrumentation.api.config.ConfigProperty;
+
+public class ReactorConfig {
+
+  // "on-each-operator" (default) wraps every operator with TracingOperator, "subscriber-context"
+  // keeps the context in the subscriber context and only hooks the Reactor schedulers
+  private static final ConfigProperty<String> CONTEXT_PROPAGATION =
+      ConfigProperty.stringProperty(
+          "otel.instrumentation.reactor.context-propagation", "on-each-operator");
+
+  public static boolean useSubscriberContext() {
+    return "subscriber-context".equals(CONTEXT_PROPAGATION.get());
+  }
+}
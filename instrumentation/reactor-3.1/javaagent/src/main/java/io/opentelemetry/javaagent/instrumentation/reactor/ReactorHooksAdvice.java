@@ -5,12 +5,17 @@
 
 package io.opentelemetry.javaagent.instrumentation.reactor;
 
+import io.opentelemetry.instrumentation.reactor.ContextPropagationOperator;
 import io.opentelemetry.instrumentation.reactor.TracingOperator;
 import net.bytebuddy.asm.Advice;
 
 public class ReactorHooksAdvice {
   @Advice.OnMethodExit(suppress = Throwable.class)
   public static void postStaticInitializer() {
-    TracingOperator.registerOnEachOperator();
+    if (ReactorConfig.useSubscriberContext()) {
+      ContextPropagationOperator.registerOnScheduleHook();
+    } else {
+      TracingOperator.registerOnEachOperator();
+    }
   }
 }
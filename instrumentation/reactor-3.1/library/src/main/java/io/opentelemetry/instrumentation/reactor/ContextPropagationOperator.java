@@ -0,0 +1,76 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor;
+
+import io.opentelemetry.context.Context;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * An alternative to {@link TracingOperator}, which wraps every operator of every pipeline. The
+ * OpenTelemetry {@link Context} travels in the subscriber {@link reactor.util.context.Context}
+ * instead, and is only made current at instrumented boundaries: around the handler of a request
+ * and the signals of a client response, by the instrumentation that subscribes to them, and in the
+ * tasks that Reactor schedulers run, with the hook registered by {@link
+ * #registerOnScheduleHook()}. No operator is wrapped, so the only cost for pipelines that are not
+ * traced is one {@link Context#current()} lookup per scheduled task. Operator callbacks that run on
+ * a thread that Reactor doesn't schedule, e.g. a Netty event loop that reads a response body, only
+ * see the context if instrumentation restores it there.
+ */
+public final class ContextPropagationOperator {
+
+  private static final String CONTEXT_KEY = ContextPropagationOperator.class.getName() + ".Context";
+  private static final String SCHEDULE_HOOK_KEY = ContextPropagationOperator.class.getName();
+
+  /**
+   * Registers a hook that makes the {@link Context} that is current when a task is scheduled on a
+   * Reactor scheduler current while the task runs, e.g. for {@code publishOn} and {@code
+   * subscribeOn}. Tasks scheduled without a current context are not wrapped.
+   */
+  public static void registerOnScheduleHook() {
+    Schedulers.onScheduleHook(SCHEDULE_HOOK_KEY, ContextPropagationOperator::wrap);
+  }
+
+  /** Unregisters the hook registered by {@link #registerOnScheduleHook()}. */
+  public static void resetOnScheduleHook() {
+    Schedulers.resetOnScheduleHook(SCHEDULE_HOOK_KEY);
+  }
+
+  /** Stores the given {@link Context} in the given subscriber context. */
+  public static reactor.util.context.Context storeOpenTelemetryContext(
+      reactor.util.context.Context context, Context tracingContext) {
+    return context.put(CONTEXT_KEY, tracingContext);
+  }
+
+  /**
+   * Returns the {@link Context} stored in the given subscriber context, or {@code defaultContext}
+   * if there is none.
+   */
+  public static Context getOpenTelemetryContext(
+      reactor.util.context.Context context, Context defaultContext) {
+    return context.getOrDefault(CONTEXT_KEY, defaultContext);
+  }
+
+  /** Stores the given {@link Context} in the subscriber context of the given {@link Mono}. */
+  public static <T> Mono<T> runWithContext(Mono<T> publisher, Context tracingContext) {
+    return publisher.subscriberContext(
+        context -> storeOpenTelemetryContext(context, tracingContext));
+  }
+
+  /** Stores the given {@link Context} in the subscriber context of the given {@link Flux}. */
+  public static <T> Flux<T> runWithContext(Flux<T> publisher, Context tracingContext) {
+    return publisher.subscriberContext(
+        context -> storeOpenTelemetryContext(context, tracingContext));
+  }
+
+  private static Runnable wrap(Runnable task) {
+    Context context = Context.current();
+    return context == Context.root() ? task : context.wrap(task);
+  }
+
+  private ContextPropagationOperator() {}
+}
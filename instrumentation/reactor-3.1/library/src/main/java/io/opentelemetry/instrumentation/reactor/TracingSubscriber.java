@@ -24,17 +24,26 @@ import io.opentelemetry.context.Scope;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
 import reactor.util.context.Context;
 
 /**
  * Based on OpenTracing code.
  * https://github.com/opentracing-contrib/java-reactor/blob/master/src/main/java/io/opentracing/contrib/reactor/TracedSubscriber.java
+ *
+ * <p>When the upstream subscription supports fusion this subscriber passes itself downstream as a
+ * {@link Fuseable.QueueSubscription}, so that wrapping an operator doesn't disable Reactor's
+ * operator fusion.
  */
-public class TracingSubscriber<T> implements CoreSubscriber<T> {
+public class TracingSubscriber<T> implements CoreSubscriber<T>, Fuseable.QueueSubscription<T> {
   private final io.opentelemetry.context.Context traceContext;
   private final Subscriber<? super T> subscriber;
   private final Context context;
 
+  private Subscription subscription;
+  // only set if the upstream subscription supports fusion
+  private Fuseable.QueueSubscription<T> queueSubscription;
+
   public TracingSubscriber(Subscriber<? super T> subscriber, Context ctx) {
     this(subscriber, ctx, io.opentelemetry.context.Context.current());
   }
@@ -49,23 +58,52 @@ public class TracingSubscriber<T> implements CoreSubscriber<T> {
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public void onSubscribe(Subscription subscription) {
-    subscriber.onSubscribe(subscription);
+    this.subscription = subscription;
+    if (subscription instanceof Fuseable.QueueSubscription) {
+      queueSubscription = (Fuseable.QueueSubscription<T>) subscription;
+      subscriber.onSubscribe(this);
+    } else {
+      // nothing to intercept, let downstream talk to the upstream subscription directly
+      subscriber.onSubscribe(subscription);
+    }
   }
 
+  // scopes are not created with a lambda to avoid allocating one for every signal, and are skipped
+  // when the context is already current, e.g. for all but the first operator of a synchronous chain
+
   @Override
   public void onNext(T o) {
-    withActiveSpan(() -> subscriber.onNext(o));
+    if (isContextCurrent()) {
+      subscriber.onNext(o);
+      return;
+    }
+    try (Scope ignored = traceContext.makeCurrent()) {
+      subscriber.onNext(o);
+    }
   }
 
   @Override
   public void onError(Throwable throwable) {
-    withActiveSpan(() -> subscriber.onError(throwable));
+    if (isContextCurrent()) {
+      subscriber.onError(throwable);
+      return;
+    }
+    try (Scope ignored = traceContext.makeCurrent()) {
+      subscriber.onError(throwable);
+    }
   }
 
   @Override
   public void onComplete() {
-    withActiveSpan(subscriber::onComplete);
+    if (isContextCurrent()) {
+      subscriber.onComplete();
+      return;
+    }
+    try (Scope ignored = traceContext.makeCurrent()) {
+      subscriber.onComplete();
+    }
   }
 
   @Override
@@ -73,13 +111,48 @@ public class TracingSubscriber<T> implements CoreSubscriber<T> {
     return context;
   }
 
-  private void withActiveSpan(Runnable runnable) {
-    if (traceContext != null) {
-      try (Scope ignored = traceContext.makeCurrent()) {
-        runnable.run();
-      }
-    } else {
-      runnable.run();
+  @Override
+  public void request(long n) {
+    subscription.request(n);
+  }
+
+  @Override
+  public void cancel() {
+    subscription.cancel();
+  }
+
+  @Override
+  public int requestFusion(int requestedMode) {
+    return queueSubscription != null ? queueSubscription.requestFusion(requestedMode) : NONE;
+  }
+
+  @Override
+  public T poll() {
+    // when fused, upstream operators run their functions while downstream polls
+    if (isContextCurrent()) {
+      return queueSubscription.poll();
     }
+    try (Scope ignored = traceContext.makeCurrent()) {
+      return queueSubscription.poll();
+    }
+  }
+
+  @Override
+  public int size() {
+    return queueSubscription.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return queueSubscription.isEmpty();
+  }
+
+  @Override
+  public void clear() {
+    queueSubscription.clear();
+  }
+
+  private boolean isContextCurrent() {
+    return traceContext == null || traceContext == io.opentelemetry.context.Context.current();
   }
 }
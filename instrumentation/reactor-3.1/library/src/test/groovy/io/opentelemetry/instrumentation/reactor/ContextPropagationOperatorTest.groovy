@@ -0,0 +1,67 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor
+
+import static io.opentelemetry.instrumentation.test.utils.TraceUtils.runUnderTrace
+
+import io.opentelemetry.api.trace.Span
+import io.opentelemetry.context.Context
+import io.opentelemetry.context.ContextKey
+import io.opentelemetry.instrumentation.test.LibraryInstrumentationSpecification
+import java.time.Duration
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.core.scheduler.Schedulers
+
+class ContextPropagationOperatorTest extends LibraryInstrumentationSpecification {
+
+  def setupSpec() {
+    ContextPropagationOperator.registerOnScheduleHook()
+  }
+
+  def cleanupSpec() {
+    ContextPropagationOperator.resetOnScheduleHook()
+  }
+
+  def "context is propagated to scheduled tasks"() {
+    when:
+    def spanIds = []
+    def parentSpanId = runUnderTrace("parent") {
+      publisher
+        .map { spanIds.add(Span.current().spanContext.spanId); it }
+        .collectList()
+        .block()
+      return Span.current().spanContext.spanId
+    }
+
+    then:
+    spanIds == [parentSpanId] * count
+
+    where:
+    count | publisher
+    1     | Mono.just(1).publishOn(Schedulers.single())
+    2     | Flux.just(1, 2).subscribeOn(Schedulers.single())
+    2     | Flux.just(1, 2).delayElements(Duration.ofMillis(10))
+  }
+
+  def "context is stored in the subscriber context"() {
+    setup:
+    def context = Context.root().with(ContextKey.named("test"), "value")
+
+    when:
+    def stored = ContextPropagationOperator.runWithContext(
+      Mono.subscriberContext().map {
+        ContextPropagationOperator.getOpenTelemetryContext(it, Context.root())
+      },
+      context)
+      .block()
+
+    then:
+    stored == context
+    ContextPropagationOperator.getOpenTelemetryContext(
+      reactor.util.context.Context.empty(), context) == context
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor
+
+import static io.opentelemetry.instrumentation.test.utils.TraceUtils.runUnderTrace
+
+import io.opentelemetry.api.trace.Span
+import io.opentelemetry.instrumentation.test.LibraryInstrumentationSpecification
+import org.reactivestreams.Subscription
+import reactor.core.CoreSubscriber
+import reactor.core.Fuseable
+import reactor.core.publisher.Flux
+
+class FusionTest extends LibraryInstrumentationSpecification {
+
+  def setupSpec() {
+    TracingOperator.registerOnEachOperator()
+  }
+
+  def cleanupSpec() {
+    TracingOperator.resetOnEachOperator()
+  }
+
+  def "fusion is preserved and polled values see the subscription context"() {
+    setup:
+    def spanIds = []
+    def subscriber = new FusingSubscriber()
+
+    when:
+    def parentSpanId = runUnderTrace("parent") {
+      Flux.range(1, 3)
+        .map { spanIds.add(Span.current().spanContext.spanId); it + 1 }
+        .map { it * 2 }
+        .subscribe(subscriber)
+      return Span.current().spanContext.spanId
+    }
+    // polled outside of the parent span
+    def values = subscriber.drain()
+
+    then:
+    subscriber.fusionMode == Fuseable.SYNC
+    values == [4, 6, 8]
+    spanIds == [parentSpanId] * 3
+  }
+
+  static class FusingSubscriber implements CoreSubscriber<Integer> {
+    Fuseable.QueueSubscription<Integer> queueSubscription
+    int fusionMode = Fuseable.NONE
+
+    @Override
+    void onSubscribe(Subscription subscription) {
+      if (subscription instanceof Fuseable.QueueSubscription) {
+        queueSubscription = (Fuseable.QueueSubscription<Integer>) subscription
+        fusionMode = queueSubscription.requestFusion(Fuseable.SYNC)
+      }
+    }
+
+    List<Integer> drain() {
+      def values = []
+      if (fusionMode == Fuseable.SYNC) {
+        for (Integer value = queueSubscription.poll(); value != null; value = queueSubscription.poll()) {
+          values.add(value)
+        }
+      }
+      return values
+    }
+
+    @Override
+    void onNext(Integer value) {
+    }
+
+    @Override
+    void onError(Throwable throwable) {
+    }
+
+    @Override
+    void onComplete() {
+    }
+  }
+}
@@ -11,10 +11,11 @@ import static java.util.Collections.singletonList;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer;
+import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer.ArgumentAccessor;
+import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer.CommandSanitizer;
 import io.opentelemetry.instrumentation.api.tracer.DatabaseClientTracer;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes.DbSystemValues;
 import java.net.InetSocketAddress;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.redisson.client.RedisConnection;
@@ -70,27 +71,49 @@ public class RedissonClientTracer
   }
 
   private String normalizeSingleCommand(CommandData<?, ?> command) {
-    Object[] commandParams = command.getParams();
-    List<Object> args = new ArrayList<>(commandParams.length + 1);
-    if (command.getCommand().getSubName() != null) {
-      args.add(command.getCommand().getSubName());
+    return RedisCommandSanitizer.sanitize(
+        command.getCommand().getName(), command, CommandArguments.INSTANCE);
+  }
+
+  // the sub command followed by the params, only the kept ones are decoded by the codec
+  private enum CommandArguments implements ArgumentAccessor<CommandData<?, ?>> {
+    INSTANCE;
+
+    @Override
+    public int size(CommandData<?, ?> command) {
+      int size = command.getParams().length;
+      return command.getCommand().getSubName() != null ? size + 1 : size;
+    }
+
+    @Override
+    public void append(StringBuilder statement, CommandData<?, ?> command, int index) {
+      statement.append(get(command, index));
     }
-    for (Object param : commandParams) {
+
+    @Override
+    public String get(CommandData<?, ?> command, int index) {
+      String subName = command.getCommand().getSubName();
+      if (subName != null) {
+        if (index == 0) {
+          return subName;
+        }
+        index--;
+      }
+      Object param = command.getParams()[index];
       if (param instanceof ByteBuf) {
         try {
           // slice() does not copy the actual byte buffer, it only returns a readable/writable
           // "view" of the original buffer (i.e. read and write marks are not shared)
           ByteBuf buf = ((ByteBuf) param).slice();
           // state can be null here: no Decoders used by Codecs use it
-          args.add(command.getCodec().getValueDecoder().decode(buf, null));
+          return CommandSanitizer.argToString(
+              command.getCodec().getValueDecoder().decode(buf, null));
         } catch (Exception ignored) {
-          args.add("?");
+          return "?";
         }
-      } else {
-        args.add(param);
       }
+      return CommandSanitizer.argToString(param);
     }
-    return RedisCommandSanitizer.sanitize(command.getCommand().getName(), args);
   }
 
   @Override
@@ -5,41 +5,59 @@
 
 package io.opentelemetry.javaagent.instrumentation.servlet.v3_0;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * Resolves the servlet mapping that matched a request path.
+ *
+ * <p>Exact and prefix mappings are stored in a trie of path segments, extension mappings in a table
+ * keyed by the extension. Both are looked up directly on the servlet path and path info of the
+ * request, without concatenating them or allocating any intermediate strings.
+ */
 public class MappingResolver {
-  private final Set<String> exactMatches;
-  private final List<WildcardMatcher> wildcardMatchers;
+  private static final int NO_MATCH = Integer.MAX_VALUE;
+
+  private final Node root;
+  private final Table<SuffixMapping> suffixMappings;
+  private final int maxSuffixLength;
   private final boolean hasDefault;
 
   private MappingResolver(
-      Set<String> exactMatches, List<WildcardMatcher> wildcardMatchers, boolean hasDefault) {
-    this.exactMatches = exactMatches.isEmpty() ? Collections.emptySet() : exactMatches;
-    this.wildcardMatchers = wildcardMatchers.isEmpty() ? Collections.emptyList() : wildcardMatchers;
+      Node root, Table<SuffixMapping> suffixMappings, int maxSuffixLength, boolean hasDefault) {
+    this.root = root;
+    this.suffixMappings = suffixMappings;
+    this.maxSuffixLength = maxSuffixLength;
     this.hasDefault = hasDefault;
   }
 
   public static MappingResolver build(Collection<String> mappings) {
-    List<WildcardMatcher> wildcardMatchers = new ArrayList<>();
-    Set<String> exactMatches = new HashSet<>();
+    NodeBuilder root = new NodeBuilder();
+    Map<String, SuffixMapping> suffixMappings = new LinkedHashMap<>();
+    int maxSuffixLength = 0;
     boolean hasDefault = false;
+    // wildcard mappings are tried in the order in which they were registered
+    int order = 0;
     for (String mapping : mappings) {
       if (mapping.equals("")) {
-        exactMatches.add("/");
+        root.add("/").exactMapping = "/";
       } else if (mapping.equals("/") || mapping.equals("/*")) {
         hasDefault = true;
       } else if (mapping.startsWith("*.") && mapping.length() > 2) {
-        wildcardMatchers.add(new SuffixMatcher("/" + mapping, mapping.substring(1)));
+        String suffix = mapping.substring(1);
+        if (!suffixMappings.containsKey(suffix)) {
+          suffixMappings.put(suffix, new SuffixMapping("/" + mapping, order++));
+          maxSuffixLength = Math.max(maxSuffixLength, suffix.length());
+        }
       } else if (mapping.endsWith("/*")) {
-        wildcardMatchers.add(
-            new PrefixMatcher(mapping, mapping.substring(0, mapping.length() - 2)));
+        NodeBuilder node = root.add(mapping.substring(0, mapping.length() - 2));
+        if (node.prefixMapping == null) {
+          node.prefixMapping = mapping;
+          node.prefixOrder = order++;
+        }
       } else {
-        exactMatches.add(mapping);
+        root.add(mapping).exactMapping = mapping;
       }
     }
 
@@ -48,7 +66,11 @@ public class MappingResolver {
       hasDefault = true;
     }
 
-    return new MappingResolver(exactMatches, wildcardMatchers, hasDefault);
+    Table<SuffixMapping> suffixTable = new Table<>(suffixMappings.size());
+    for (Map.Entry<String, SuffixMapping> entry : suffixMappings.entrySet()) {
+      suffixTable.put(entry.getKey(), reverseHashCode(entry.getKey()), entry.getValue());
+    }
+    return new MappingResolver(root.build(), suffixTable, maxSuffixLength, hasDefault);
   }
 
   /** Find mapping for requested path. */
@@ -57,81 +79,194 @@ public class MappingResolver {
       return null;
     }
 
-    // get full path inside context
-    String path = servletPath;
-    if (pathInfo != null) {
-      path += pathInfo;
-    }
+    // the full path inside context is servletPath + pathInfo
+    int length = servletPath.length() + (pathInfo == null ? 0 : pathInfo.length());
     // trim trailing /
-    if (path.endsWith("/") && !path.equals("/")) {
-      path = path.substring(0, path.length() - 1);
+    if (length > 1 && charAt(servletPath, pathInfo, length - 1) == '/') {
+      length--;
     }
 
-    if (exactMatches.contains(path)) {
-      return path;
+    // walk the trie one segment at a time, remembering the first registered prefix mapping
+    String wildcardMapping = null;
+    int wildcardOrder = NO_MATCH;
+    Node node = root;
+    int segmentStart = 0;
+    int hash = 0;
+    for (int i = 0; i <= length && node != null; i++) {
+      char c = i < length ? charAt(servletPath, pathInfo, i) : '/';
+      if (c != '/') {
+        hash = 31 * hash + c;
+        continue;
+      }
+      node = node.children.get(servletPath, pathInfo, segmentStart, i, hash);
+      if (node != null && node.prefixOrder < wildcardOrder) {
+        wildcardMapping = node.prefixMapping;
+        wildcardOrder = node.prefixOrder;
+      }
+      segmentStart = i + 1;
+      hash = 0;
     }
 
-    for (WildcardMatcher matcher : wildcardMatchers) {
-      if (matcher.match(path)) {
-        String mapping = matcher.getMapping();
-        // for jsp return servlet path
-        if ("/*.jsp".equals(mapping) || "/*.jspx".equals(mapping)) {
-          return servletPath;
-        }
-        return mapping;
+    if (node != null && node.exactMapping != null) {
+      return node.exactMapping;
+    }
+
+    // every extension mapping starts with a '.', look up the path from each '.' to its end
+    hash = 0;
+    for (int i = length - 1; i >= 0 && length - i <= maxSuffixLength; i--) {
+      char c = charAt(servletPath, pathInfo, i);
+      hash = 31 * hash + c;
+      if (c != '.') {
+        continue;
+      }
+      SuffixMapping suffixMapping = suffixMappings.get(servletPath, pathInfo, i, length, hash);
+      if (suffixMapping != null && suffixMapping.order < wildcardOrder) {
+        wildcardMapping = suffixMapping.mapping;
+        wildcardOrder = suffixMapping.order;
+      }
+    }
+
+    if (wildcardMapping != null) {
+      // for jsp return servlet path
+      if ("/*.jsp".equals(wildcardMapping) || "/*.jspx".equals(wildcardMapping)) {
+        return servletPath;
       }
+      return wildcardMapping;
     }
 
     if (hasDefault) {
-      return path.equals("/") ? "/" : "/*";
+      return length == 1 && charAt(servletPath, pathInfo, 0) == '/' ? "/" : "/*";
     }
 
     return null;
   }
 
-  private interface WildcardMatcher {
-    boolean match(String path);
+  private static char charAt(String servletPath, String pathInfo, int index) {
+    int servletPathLength = servletPath.length();
+    return index < servletPathLength
+        ? servletPath.charAt(index)
+        : pathInfo.charAt(index - servletPathLength);
+  }
 
-    String getMapping();
+  // the hash code of the reversed string, which can be computed while scanning a path backwards
+  private static int reverseHashCode(String value) {
+    int hash = 0;
+    for (int i = value.length() - 1; i >= 0; i--) {
+      hash = 31 * hash + value.charAt(i);
+    }
+    return hash;
   }
 
-  private static class PrefixMatcher implements WildcardMatcher {
-    private final String mapping;
-    private final String prefix;
+  private static final class Node {
+    private final String exactMapping;
+    private final String prefixMapping;
+    private final int prefixOrder;
+    private final Table<Node> children;
 
-    private PrefixMatcher(String mapping, String prefix) {
-      this.mapping = mapping;
-      this.prefix = prefix;
+    private Node(String exactMapping, String prefixMapping, int prefixOrder, Table<Node> children) {
+      this.exactMapping = exactMapping;
+      this.prefixMapping = prefixMapping;
+      this.prefixOrder = prefixOrder;
+      this.children = children;
     }
+  }
 
-    @Override
-    public boolean match(String path) {
-      return path.equals(prefix) || path.startsWith(prefix + "/");
+  private static final class NodeBuilder {
+    private final Map<String, NodeBuilder> children = new LinkedHashMap<>();
+    private String exactMapping;
+    private String prefixMapping;
+    private int prefixOrder = NO_MATCH;
+
+    // a path has one more segment than '/' characters, e.g. "/a" is "" and "a"
+    private NodeBuilder add(String path) {
+      NodeBuilder node = this;
+      int segmentStart = 0;
+      while (true) {
+        int segmentEnd = path.indexOf('/', segmentStart);
+        String segment =
+            path.substring(segmentStart, segmentEnd == -1 ? path.length() : segmentEnd);
+        node = node.children.computeIfAbsent(segment, s -> new NodeBuilder());
+        if (segmentEnd == -1) {
+          return node;
+        }
+        segmentStart = segmentEnd + 1;
+      }
     }
 
-    @Override
-    public String getMapping() {
-      return mapping;
+    private Node build() {
+      Table<Node> table = new Table<>(children.size());
+      for (Map.Entry<String, NodeBuilder> entry : children.entrySet()) {
+        table.put(entry.getKey(), entry.getKey().hashCode(), entry.getValue().build());
+      }
+      return new Node(exactMapping, prefixMapping, prefixOrder, table);
     }
   }
 
-  private static class SuffixMatcher implements WildcardMatcher {
+  private static final class SuffixMapping {
     private final String mapping;
-    private final String suffix;
+    private final int order;
 
-    private SuffixMatcher(String mapping, String suffix) {
+    private SuffixMapping(String mapping, int order) {
       this.mapping = mapping;
-      this.suffix = suffix;
+      this.order = order;
+    }
+  }
+
+  /**
+   * An open addressing hash table that is looked up with a range of servletPath + pathInfo and the
+   * hash code of that range.
+   */
+  private static final class Table<V> {
+    private final String[] keys;
+    private final int[] hashes;
+    private final Object[] values;
+    private final int mask;
+
+    private Table(int size) {
+      // at most half full
+      int capacity = Integer.highestOneBit(Math.max(size, 1)) * 4;
+      keys = new String[capacity];
+      hashes = new int[capacity];
+      values = new Object[capacity];
+      mask = capacity - 1;
     }
 
-    @Override
-    public boolean match(String path) {
-      return path.endsWith(suffix);
+    private void put(String key, int hash, V value) {
+      int index = spread(hash) & mask;
+      while (keys[index] != null) {
+        index = (index + 1) & mask;
+      }
+      keys[index] = key;
+      hashes[index] = hash;
+      values[index] = value;
     }
 
-    @Override
-    public String getMapping() {
-      return mapping;
+    @SuppressWarnings("unchecked")
+    private V get(String servletPath, String pathInfo, int start, int end, int hash) {
+      for (int index = spread(hash) & mask; keys[index] != null; index = (index + 1) & mask) {
+        if (hashes[index] == hash
+            && regionMatches(keys[index], servletPath, pathInfo, start, end)) {
+          return (V) values[index];
+        }
+      }
+      return null;
+    }
+
+    private static int spread(int hash) {
+      return hash ^ (hash >>> 16);
+    }
+
+    private static boolean regionMatches(
+        String key, String servletPath, String pathInfo, int start, int end) {
+      if (key.length() != end - start) {
+        return false;
+      }
+      for (int i = start; i < end; i++) {
+        if (key.charAt(i - start) != charAt(servletPath, pathInfo, i)) {
+          return false;
+        }
+      }
+      return true;
     }
   }
 }
@@ -11,6 +11,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.instrumentation.api.servlet.ServletSpanNaming;
 import io.opentelemetry.instrumentation.api.tracer.ServerSpan;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 import io.opentelemetry.instrumentation.servlet.ServletHttpServerTracer;
 import java.util.Collection;
 import javax.servlet.Servlet;
@@ -48,7 +49,7 @@ public class Servlet3HttpServerTracer extends ServletHttpServerTracer<HttpServle
     if (spanName == null && !allowNull) {
       String contextPath = request.getContextPath();
       if (contextPath == null || contextPath.isEmpty() || contextPath.equals("/")) {
-        return "HTTP " + request.getMethod();
+        return SpanNames.http(request.getMethod());
       }
       return contextPath;
     }
@@ -69,11 +70,7 @@ public class Servlet3HttpServerTracer extends ServletHttpServerTracer<HttpServle
     }
 
     // prepend context path
-    String contextPath = request.getContextPath();
-    if (contextPath == null || contextPath.isEmpty() || contextPath.equals("/")) {
-      return mapping;
-    }
-    return contextPath + mapping;
+    return SpanNames.route(request.getContextPath(), mapping, SpanNames.http(request.getMethod()));
   }
 
   private static String getMapping(Servlet servlet, String servletPath, String pathInfo) {
@@ -0,0 +1,96 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+import io.opentelemetry.javaagent.instrumentation.servlet.v3_0.MappingResolver
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class MappingResolverTest extends Specification {
+
+  @Unroll
+  def "resolve #servletPath + #pathInfo with #mappings"() {
+    setup:
+    def resolver = MappingResolver.build(mappings)
+
+    expect:
+    resolver.resolve(servletPath, pathInfo) == expected
+
+    where:
+    mappings                           | servletPath   | pathInfo | expected
+    ["/a", "/a/b"]                     | "/a/b"        | null     | "/a/b"
+    ["/a", "/a/b"]                     | "/a/b/"       | null     | "/a/b"
+    ["/a", "/a/b"]                     | "/a"          | "/b"     | "/a/b"
+    ["/a", "/a/b"]                     | "/a/c"        | null     | null
+    [""]                               | ""            | "/"      | "/"
+    ["/prefix/*"]                      | "/prefix"     | null     | "/prefix/*"
+    ["/prefix/*"]                      | "/prefix"     | "/a/b"   | "/prefix/*"
+    ["/prefix/*"]                      | "/prefixa"    | null     | null
+    ["/a/*", "/a/b/*"]                 | "/a/b"        | "/c"     | "/a/*"
+    ["/a/b/*", "/a/*"]                 | "/a/b"        | "/c"     | "/a/b/*"
+    ["/a/b/*", "/a/b"]                 | "/a/b"        | null     | "/a/b"
+    ["*.suffix"]                       | "/a.suffix"   | null     | "/*.suffix"
+    ["*.suffix"]                       | "/.suffix"    | null     | "/*.suffix"
+    ["*.suffix"]                       | "/suffix"     | null     | null
+    ["*.gz", "*.tar.gz"]               | "/a.tar.gz"   | null     | "/*.gz"
+    ["*.tar.gz", "*.gz"]               | "/a.tar.gz"   | null     | "/*.tar.gz"
+    ["*.suffix", "/a/*"]               | "/a/b.suffix" | null     | "/*.suffix"
+    ["/a/*", "*.suffix"]               | "/a/b.suffix" | null     | "/a/*"
+    ["*.jsp"]                          | "/a/b.jsp"    | null     | "/a/b.jsp"
+    ["/"]                              | "/"           | null     | "/"
+    ["/"]                              | "/a"          | null     | "/*"
+    ["/*", "/a"]                       | "/b"          | null     | "/*"
+    []                                 | "/a"          | null     | "/*"
+    ["/a"]                             | null          | null     | null
+  }
+
+  def "resolves the same mappings as the linear resolver"() {
+    setup:
+    def random = new Random(seed)
+    def mappings = (0..<random.nextInt(8)).collect { randomMapping(random) }
+    def resolver = MappingResolver.build(mappings)
+    def linearResolver = LinearMappingResolver.build(mappings)
+
+    expect:
+    for (int i = 0; i < 100; i++) {
+      def path = randomPath(random) + (random.nextBoolean() ? "/" : "")
+      // the path info, if any, starts at one of the '/' of the path
+      def slashes = (0..<path.length()).findAll { path.charAt(it) == (char) '/' }
+      def split = random.nextBoolean() ? path.length() : slashes[random.nextInt(slashes.size())]
+      def servletPath = path.substring(0, split)
+      def pathInfo = split == path.length() ? null : path.substring(split)
+
+      def expected = linearResolver.resolve(servletPath, pathInfo)
+      def actual = resolver.resolve(servletPath, pathInfo)
+      assert actual == expected: "seed $seed: $mappings, $servletPath + $pathInfo"
+    }
+
+    where:
+    seed << (0..<500)
+  }
+
+  static final List<String> SEGMENTS = ["a", "b", "ab", "", "a.b", "b.jsp"]
+  static final List<String> EXTENSIONS = ["b", "ab", "a.b", "jsp", "b/a"]
+
+  static String randomMapping(Random random) {
+    switch (random.nextInt(4)) {
+      case 0:
+        return randomPath(random)
+      case 1:
+        return randomPath(random) + "/*"
+      case 2:
+        return "*." + EXTENSIONS[random.nextInt(EXTENSIONS.size())]
+      default:
+        return ["", "/", "/*"][random.nextInt(3)]
+    }
+  }
+
+  static String randomPath(Random random) {
+    def path = new StringBuilder()
+    for (int i = 0, segments = 1 + random.nextInt(3); i < segments; i++) {
+      path.append("/").append(SEGMENTS[random.nextInt(SEGMENTS.size())])
+    }
+    return path.toString()
+  }
+}
@@ -5,13 +5,15 @@
 
 package io.opentelemetry.javaagent.instrumentation.spring.webflux;
 
-import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.instrumentation.api.config.ConfigProperty;
 
 public class SpringWebfluxConfig {
 
+  private static final ConfigProperty<Boolean> CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES =
+      ConfigProperty.booleanProperty(
+          "otel.instrumentation.spring-webflux.experimental-span-attributes", false);
+
   public static boolean captureExperimentalSpanAttributes() {
-    return Config.get()
-        .getBooleanProperty(
-            "otel.instrumentation.spring-webflux.experimental-span-attributes", false);
+    return CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES.get();
   }
 }
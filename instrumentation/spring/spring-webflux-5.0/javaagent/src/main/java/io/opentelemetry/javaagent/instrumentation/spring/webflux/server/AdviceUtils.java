@@ -10,6 +10,7 @@ import static io.opentelemetry.javaagent.instrumentation.spring.webflux.server.S
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.reactor.ContextPropagationOperator;
 import java.util.Map;
 import java.util.function.Function;
 import org.reactivestreams.Publisher;
@@ -95,7 +96,10 @@ public class AdviceUtils {
         CoreSubscriber<? super T> subscriber, io.opentelemetry.context.Context otelContext) {
       this.subscriber = subscriber;
       this.otelContext = otelContext;
-      context = subscriber.currentContext().put(Span.class, otelContext);
+      // for the operators downstream of the handler and the WebClient exchanges it subscribes to
+      context =
+          ContextPropagationOperator.storeOpenTelemetryContext(
+              subscriber.currentContext(), otelContext);
     }
 
     @Override
@@ -10,8 +10,8 @@ import static io.opentelemetry.javaagent.instrumentation.spring.webflux.server.S
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
-import io.opentelemetry.instrumentation.api.servlet.ServletContextPath;
 import io.opentelemetry.instrumentation.api.tracer.ServerSpan;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 import io.opentelemetry.javaagent.instrumentation.spring.webflux.SpringWebfluxConfig;
 import net.bytebuddy.asm.Advice;
 import org.springframework.web.method.HandlerMethod;
@@ -57,8 +57,11 @@ public class HandlerAdapterAdvice {
       PathPattern bestPattern =
           exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
       if (serverSpan != null && bestPattern != null) {
-        serverSpan.updateName(
-            ServletContextPath.prepend(Context.current(), bestPattern.toString()));
+        String spanName = SpanNames.route(Context.current(), bestPattern.toString(), null);
+        // keeps the generic name once there are too many distinct span names
+        if (spanName != null) {
+          serverSpan.updateName(spanName);
+        }
       }
     }
   }
@@ -7,8 +7,8 @@ package io.opentelemetry.javaagent.instrumentation.spring.webflux.server;
 
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
-import io.opentelemetry.instrumentation.api.servlet.ServletContextPath;
 import io.opentelemetry.instrumentation.api.tracer.ServerSpan;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 import io.opentelemetry.javaagent.instrumentation.spring.webflux.SpringWebfluxConfig;
 import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
@@ -45,7 +45,11 @@ public class RouteOnSuccessOrError implements BiConsumer<HandlerFunction<?>, Thr
 
           Span serverSpan = ServerSpan.fromContextOrNull(context);
           if (serverSpan != null) {
-            serverSpan.updateName(ServletContextPath.prepend(context, parseRoute(predicateString)));
+            String spanName = SpanNames.route(context, parseRoute(predicateString), null);
+            // keeps the generic name once there are too many distinct span names
+            if (spanName != null) {
+              serverSpan.updateName(spanName);
+            }
           }
         }
       }
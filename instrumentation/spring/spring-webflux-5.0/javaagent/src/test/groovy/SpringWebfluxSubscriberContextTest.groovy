@@ -0,0 +1,126 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+import static io.opentelemetry.api.trace.SpanKind.CLIENT
+import static io.opentelemetry.api.trace.SpanKind.INTERNAL
+import static io.opentelemetry.api.trace.SpanKind.SERVER
+
+import io.opentelemetry.instrumentation.test.AgentInstrumentationSpecification
+import io.opentelemetry.instrumentation.test.utils.OkHttpUtils
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.boot.test.context.TestConfiguration
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory
+import org.springframework.boot.web.server.LocalServerPort
+import org.springframework.context.annotation.Bean
+import server.FooModel
+import server.SpringWebFluxTestApplication
+import server.TestController
+
+/**
+ * Runs with {@code otel.instrumentation.reactor.context-propagation=subscriber-context}, where no
+ * operator is wrapped and the context is only restored at the handler, the WebClient response and
+ * the scheduler hops, see the testSubscriberContext task.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = [SpringWebFluxTestApplication, ForceNettyAutoConfiguration])
+class SpringWebfluxSubscriberContextTest extends AgentInstrumentationSpecification {
+  @TestConfiguration
+  static class ForceNettyAutoConfiguration {
+    @Bean
+    NettyReactiveWebServerFactory nettyFactory() {
+      return new NettyReactiveWebServerFactory()
+    }
+  }
+
+  @LocalServerPort
+  private int port
+
+  OkHttpClient client = OkHttpUtils.client(true)
+
+  def "GET test with async response #testName"() {
+    setup:
+    String url = "http://localhost:$port$urlPath"
+    def request = new Request.Builder().url(url).get().build()
+
+    when:
+    def response = client.newCall(request).execute()
+
+    then:
+    response.code == 200
+    response.body().string() == expectedResponseBody
+    assertTraces(1) {
+      trace(0, 3) {
+        span(0) {
+          name urlPathWithVariables
+          kind SERVER
+          hasNoParent()
+        }
+        span(1) {
+          name TestController.getSimpleName() + "." + annotatedMethod
+          kind INTERNAL
+          childOf span(0)
+        }
+        span(2) {
+          name "tracedMethod"
+          // the pipeline returned by the handler is subscribed to while the handler span is current
+          childOf span(1)
+        }
+      }
+    }
+
+    where:
+    testName                                  | urlPath                     | urlPathWithVariables           | annotatedMethod       | expectedResponseBody
+    "annotation API traced method from mono"  | "/foo-mono-from-callable/7" | "/foo-mono-from-callable/{id}" | "getMonoFromCallable" | new FooModel(7L, "tracedMethod").toString()
+    "annotation API traced method with delay" | "/foo-delayed-mono/9"       | "/foo-delayed-mono/{id}"       | "getFooDelayedMono"   | new FooModel(9L, "tracedMethod").toString()
+  }
+
+  def "GET test with web client call and publishOn"() {
+    setup:
+    String url = "http://localhost:$port/foo-web-client-publish-on/11"
+    def request = new Request.Builder().url(url).get().build()
+
+    when:
+    def response = client.newCall(request).execute()
+
+    then:
+    response.code == 200
+    response.body().string() == new FooModel(11L, "tracedMethod").toString()
+    assertTraces(1) {
+      trace(0, 6) {
+        span(0) {
+          name "/foo-web-client-publish-on/{id}"
+          kind SERVER
+          hasNoParent()
+        }
+        span(1) {
+          name TestController.getSimpleName() + ".getFooWebClientPublishOn"
+          kind INTERNAL
+          childOf span(0)
+        }
+        span(2) {
+          name "HTTP GET"
+          kind CLIENT
+          childOf span(1)
+        }
+        span(3) {
+          name "/foo"
+          kind SERVER
+          childOf span(2)
+        }
+        span(4) {
+          name TestController.getSimpleName() + ".getFooModel"
+          kind INTERNAL
+          childOf span(3)
+        }
+        span(5) {
+          // runs on a Reactor scheduler after the response was signalled on a Netty event loop
+          name "tracedMethod"
+          childOf span(1)
+        }
+      }
+    }
+  }
+}
@@ -8,10 +8,13 @@ package server
 import io.opentelemetry.api.GlobalOpenTelemetry
 import io.opentelemetry.api.trace.Tracer
 import java.time.Duration
+import org.springframework.http.server.reactive.ServerHttpRequest
 import org.springframework.web.bind.annotation.GetMapping
 import org.springframework.web.bind.annotation.PathVariable
 import org.springframework.web.bind.annotation.RestController
+import org.springframework.web.reactive.function.client.WebClient
 import reactor.core.publisher.Mono
+import reactor.core.scheduler.Schedulers
 
 @RestController
 class TestController {
@@ -63,6 +66,18 @@ class TestController {
     return Mono.just(id).delayElement(Duration.ofMillis(100)).map { i -> tracedMethod(i) }
   }
 
+  @GetMapping("/foo-web-client-publish-on/{id}")
+  Mono<FooModel> getFooWebClientPublishOn(@PathVariable("id") long id, ServerHttpRequest request) {
+    // the response is signalled on a Netty event loop and then handed to another thread
+    return WebClient.create().get()
+      .uri(request.getURI().resolve("/foo"))
+      .exchange()
+      .publishOn(Schedulers.single())
+      .map { response -> tracedMethod(id); response }
+      .flatMap { response -> response.bodyToMono(String) }
+      .map { new FooModel(id, "tracedMethod") }
+  }
+
   private FooModel tracedMethod(long id) {
     tracer.spanBuilder("tracedMethod").startSpan().end()
     return new FooModel(id, "tracedMethod")
@@ -10,7 +10,7 @@ import static io.opentelemetry.instrumentation.spring.webflux.client.HttpHeaders
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapSetter;
-import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.instrumentation.api.config.ConfigProperty;
 import io.opentelemetry.instrumentation.api.tracer.HttpClientTracer;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
@@ -23,6 +23,10 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 public class SpringWebfluxHttpClientTracer
     extends HttpClientTracer<ClientRequest, ClientRequest.Builder, ClientResponse> {
 
+  private static final ConfigProperty<Boolean> CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES =
+      ConfigProperty.booleanProperty(
+          "otel.instrumentation.spring-webflux.experimental-span-attributes", false);
+
   private static final SpringWebfluxHttpClientTracer TRACER = new SpringWebfluxHttpClientTracer();
 
   public static SpringWebfluxHttpClientTracer tracer() {
@@ -96,11 +100,7 @@ public class SpringWebfluxHttpClientTracer
     }
   }
 
-  // TODO cache this after
-  //  https://github.com/open-telemetry/opentelemetry-java-instrumentation/pull/1643
   private static boolean captureExperimentalSpanAttributes() {
-    return Config.get()
-        .getBooleanProperty(
-            "otel.instrumentation.spring-webflux.experimental-span-attributes", false);
+    return CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES.get();
   }
 }
@@ -23,12 +23,15 @@ public final class TraceWebClientSubscriber implements CoreSubscriber<ClientResp
   final reactor.util.context.Context context;
 
   private final io.opentelemetry.context.Context tracingContext;
+  private final io.opentelemetry.context.Context parentContext;
 
   public TraceWebClientSubscriber(
       CoreSubscriber<? super ClientResponse> actual,
-      io.opentelemetry.context.Context tracingContext) {
+      io.opentelemetry.context.Context tracingContext,
+      io.opentelemetry.context.Context parentContext) {
     this.actual = actual;
     this.tracingContext = tracingContext;
+    this.parentContext = parentContext;
     this.context = actual.currentContext();
   }
 
@@ -37,9 +40,12 @@ public final class TraceWebClientSubscriber implements CoreSubscriber<ClientResp
     this.actual.onSubscribe(subscription);
   }
 
+  // the response is signalled on a Netty event loop, downstream operators and the tasks they
+  // schedule, e.g. with publishOn, belong to the span that made the request, not the client span
+
   @Override
   public void onNext(ClientResponse response) {
-    try (Scope ignored = tracingContext.makeCurrent()) {
+    try (Scope ignored = parentContext.makeCurrent()) {
       this.actual.onNext(response);
     } finally {
       tracer().end(tracingContext, response);
@@ -48,7 +54,7 @@ public final class TraceWebClientSubscriber implements CoreSubscriber<ClientResp
 
   @Override
   public void onError(Throwable t) {
-    try (Scope ignored = tracingContext.makeCurrent()) {
+    try (Scope ignored = parentContext.makeCurrent()) {
       this.actual.onError(t);
     } finally {
       tracer().endExceptionally(tracingContext, t);
@@ -57,7 +63,7 @@ public final class TraceWebClientSubscriber implements CoreSubscriber<ClientResp
 
   @Override
   public void onComplete() {
-    try (Scope ignored = tracingContext.makeCurrent()) {
+    try (Scope ignored = parentContext.makeCurrent()) {
       this.actual.onComplete();
     }
   }
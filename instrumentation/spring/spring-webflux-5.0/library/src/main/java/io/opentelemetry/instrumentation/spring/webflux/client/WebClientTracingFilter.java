@@ -9,6 +9,7 @@ import static io.opentelemetry.instrumentation.spring.webflux.client.SpringWebfl
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.reactor.ContextPropagationOperator;
 import java.util.List;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ClientResponse;
@@ -50,6 +51,13 @@ public class WebClientTracingFilter implements ExchangeFilterFunction {
     @Override
     public void subscribe(CoreSubscriber<? super ClientResponse> subscriber) {
       Context parentContext = Context.current();
+      if (parentContext == Context.root()) {
+        // the exchange may be subscribed to on a thread where no context is current, e.g. when
+        // the context is propagated in the subscriber context instead of by wrapping operators
+        parentContext =
+            ContextPropagationOperator.getOpenTelemetryContext(
+                subscriber.currentContext(), parentContext);
+      }
       if (!tracer().shouldStartSpan(parentContext)) {
         return;
       }
@@ -64,7 +72,7 @@ public class WebClientTracingFilter implements ExchangeFilterFunction {
                   tracer().onCancel(context);
                   tracer().end(context);
                 })
-            .subscribe(new TraceWebClientSubscriber(subscriber, context));
+            .subscribe(new TraceWebClientSubscriber(subscriber, context, parentContext));
       }
     }
   }
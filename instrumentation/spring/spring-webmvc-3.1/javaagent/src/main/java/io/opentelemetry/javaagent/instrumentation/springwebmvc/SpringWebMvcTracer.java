@@ -11,8 +11,8 @@ import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.config.Config;
-import io.opentelemetry.instrumentation.api.servlet.ServletContextPath;
 import io.opentelemetry.instrumentation.api.tracer.BaseTracer;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 import java.lang.reflect.Method;
 import javax.servlet.Servlet;
 import javax.servlet.http.HttpServletRequest;
@@ -57,7 +57,11 @@ public class SpringWebMvcTracer extends BaseTracer {
       Object bestMatchingPattern =
           request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
       if (bestMatchingPattern != null) {
-        span.updateName(ServletContextPath.prepend(context, bestMatchingPattern.toString()));
+        String spanName = SpanNames.route(context, bestMatchingPattern.toString(), null);
+        // keeps the generic name once there are too many distinct span names
+        if (spanName != null) {
+          span.updateName(spanName);
+        }
       }
     }
   }
@@ -10,6 +10,7 @@ import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.instrumentation.api.servlet.AppServerBridge;
 import io.opentelemetry.instrumentation.api.servlet.ServletSpanNaming;
 import io.opentelemetry.instrumentation.api.tracer.HttpServerTracer;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 import java.net.URI;
 import java.util.Collections;
 import org.apache.coyote.ActionCode;
@@ -30,7 +31,7 @@ public class TomcatTracer extends HttpServerTracer<Request, Response, Request, R
   }
 
   public Context startServerSpan(Request request) {
-    return startSpan(request, request, request, "HTTP " + request.method().toString());
+    return startSpan(request, request, request, SpanNames.http(request.method().toString()));
   }
 
   @Override
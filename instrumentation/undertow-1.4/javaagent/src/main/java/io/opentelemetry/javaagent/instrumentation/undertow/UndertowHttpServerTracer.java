@@ -10,6 +10,7 @@ import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.instrumentation.api.servlet.AppServerBridge;
 import io.opentelemetry.instrumentation.api.servlet.ServletSpanNaming;
 import io.opentelemetry.instrumentation.api.tracer.HttpServerTracer;
+import io.opentelemetry.instrumentation.api.tracer.SpanNames;
 import io.opentelemetry.javaagent.instrumentation.api.undertow.KeyHolder;
 import io.opentelemetry.javaagent.instrumentation.api.undertow.UndertowActiveHandlers;
 import io.undertow.server.DefaultResponseListener;
@@ -34,7 +35,7 @@ public class UndertowHttpServerTracer
 
   public Context startServerSpan(HttpServerExchange exchange) {
     return startSpan(
-        exchange, exchange, exchange, "HTTP " + exchange.getRequestMethod().toString());
+        exchange, exchange, exchange, SpanNames.http(exchange.getRequestMethod().toString()));
   }
 
   @Override
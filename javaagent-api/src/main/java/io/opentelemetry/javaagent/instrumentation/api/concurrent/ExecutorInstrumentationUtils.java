@@ -43,7 +43,11 @@ public class ExecutorInstrumentationUtils {
         && (enclosingClass == null
             || !enclosingClass
                 .getName()
-                .equals("io.netty.util.concurrent.SingleThreadEventExecutor"));
+                .equals("io.netty.util.concurrent.SingleThreadEventExecutor"))
+        // Virtual threads submit their continuation to the scheduler (a ForkJoinPool) every time
+        // they are unparked, from whatever thread unparked them. The task of a virtual thread
+        // restores the context that it was started with by itself.
+        && !taskClass.getName().startsWith("java.lang.VirtualThread$");
   }
 
   /**
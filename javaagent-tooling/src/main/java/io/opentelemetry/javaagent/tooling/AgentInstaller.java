@@ -5,11 +5,9 @@
 
 package io.opentelemetry.javaagent.tooling;
 
-import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.NameMatchers.namedOneOf;
+import static io.opentelemetry.javaagent.tooling.bytebuddy.matcher.NameMatchers.nameMatches;
 import static io.opentelemetry.javaagent.tooling.matcher.GlobalIgnoresMatcher.globalIgnoresMatcher;
 import static net.bytebuddy.matcher.ElementMatchers.any;
-import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
-import static net.bytebuddy.matcher.ElementMatchers.none;
 
 import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.javaagent.bootstrap.AgentClassLoader;
@@ -20,6 +18,7 @@ import io.opentelemetry.javaagent.spi.BootstrapPackagesProvider;
 import io.opentelemetry.javaagent.spi.ByteBuddyAgentCustomizer;
 import io.opentelemetry.javaagent.spi.ComponentInstaller;
 import io.opentelemetry.javaagent.spi.IgnoreMatcherProvider;
+import io.opentelemetry.javaagent.tooling.bytebuddy.matcher.NameTrie;
 import io.opentelemetry.javaagent.tooling.config.ConfigInitializer;
 import io.opentelemetry.javaagent.tooling.context.FieldBackedProvider;
 import io.opentelemetry.javaagent.tooling.matcher.GlobalClassloaderIgnoresMatcher;
@@ -108,11 +107,24 @@ public class AgentInstaller {
     log.debug(
         "Ignore matcher provider {} will be used", ignoreMatcherProvider.getClass().getName());
 
+    ElementMatcher<ClassLoader> ignoredClassLoaders =
+        GlobalClassloaderIgnoresMatcher.skipClassLoader(ignoreMatcherProvider);
+    ElementMatcher.Junction<TypeDescription> ignoredTypes =
+        globalIgnoresMatcher(
+                Config.get().getBooleanProperty(ADDITIONAL_LIBRARY_IGNORES_ENABLED, true),
+                ignoreMatcherProvider)
+            .or(matchesConfiguredExcludes());
+
+    // populated by the instrumentation modules below
+    List<AgentBuilder.RawMatcher> typeMatchers = new ArrayList<>();
+    AgentBuilder.RedefinitionStrategy.DiscoveryStrategy discoveryStrategy =
+        createDiscoveryStrategy(ignoredClassLoaders, ignoredTypes, typeMatchers);
+
     AgentBuilder.Ignored ignoredAgentBuilder =
         new AgentBuilder.Default()
             .disableClassFormatChanges()
             .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
-            .with(new RedefinitionDiscoveryStrategy())
+            .with(discoveryStrategy)
             .with(AgentBuilder.DescriptionStrategy.Default.POOL_ONLY)
             .with(AgentTooling.poolStrategy())
             .with(new ClassLoadListener())
@@ -120,22 +132,16 @@ public class AgentInstaller {
             // FIXME: we cannot enable it yet due to BB/JVM bug, see
             // https://github.com/raphw/byte-buddy/issues/558
             // .with(AgentBuilder.LambdaInstrumentationStrategy.ENABLED)
-            .ignore(any(), GlobalClassloaderIgnoresMatcher.skipClassLoader(ignoreMatcherProvider));
+            .ignore(any(), ignoredClassLoaders);
 
-    ignoredAgentBuilder =
-        ignoredAgentBuilder.or(
-            globalIgnoresMatcher(
-                Config.get().getBooleanProperty(ADDITIONAL_LIBRARY_IGNORES_ENABLED, true),
-                ignoreMatcherProvider));
-
-    ignoredAgentBuilder = ignoredAgentBuilder.or(matchesConfiguredExcludes());
+    ignoredAgentBuilder = ignoredAgentBuilder.or(ignoredTypes);
 
     AgentBuilder agentBuilder = ignoredAgentBuilder;
     if (log.isDebugEnabled()) {
       agentBuilder =
           agentBuilder
               .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
-              .with(new RedefinitionDiscoveryStrategy())
+              .with(discoveryStrategy)
               .with(new RedefinitionLoggingListener())
               .with(new TransformLoggingListener());
     }
@@ -145,7 +151,7 @@ public class AgentInstaller {
     for (InstrumentationModule instrumentationModule : loadInstrumentationModules()) {
       log.debug("Loading instrumentation {}", instrumentationModule.getClass().getName());
       try {
-        agentBuilder = instrumentationModule.instrument(agentBuilder);
+        agentBuilder = instrumentationModule.instrument(agentBuilder, typeMatchers);
         numInstrumenters++;
       } catch (Exception | LinkageError e) {
         log.error(
@@ -160,6 +166,22 @@ public class AgentInstaller {
     return resettableClassFileTransformer;
   }
 
+  private static AgentBuilder.RedefinitionStrategy.DiscoveryStrategy createDiscoveryStrategy(
+      ElementMatcher<ClassLoader> ignoredClassLoaders,
+      ElementMatcher<TypeDescription> ignoredTypes,
+      List<AgentBuilder.RawMatcher> typeMatchers) {
+    if (!Config.get().getBooleanProperty(ParallelMatchingDiscoveryStrategy.ENABLED_CONFIG, false)) {
+      return new RedefinitionDiscoveryStrategy();
+    }
+    // customizers may add transformations whose matchers the parallel matching phase can't see
+    if (loadByteBuddyAgentCustomizers().iterator().hasNext()) {
+      log.debug("Parallel retransformation is not supported with ByteBuddyAgentCustomizers");
+      return new RedefinitionDiscoveryStrategy();
+    }
+    return new ParallelMatchingDiscoveryStrategy(
+        new RedefinitionDiscoveryStrategy(), ignoredClassLoaders, ignoredTypes, typeMatchers);
+  }
+
   private static void installComponentsBeforeByteBuddy(
       Iterable<ComponentInstaller> componentInstallers) {
     Thread.currentThread().setContextClassLoader(AgentInstaller.class.getClassLoader());
@@ -256,30 +278,20 @@ public class AgentInstaller {
     }
   }
 
-  private static ElementMatcher.Junction<Object> matchesConfiguredExcludes() {
+  private static ElementMatcher.Junction<TypeDescription> matchesConfiguredExcludes() {
     List<String> excludedClasses = Config.get().getListProperty(EXCLUDED_CLASSES_CONFIG);
-    ElementMatcher.Junction matcher = none();
-    List<String> literals = new ArrayList<>();
-    List<String> prefixes = new ArrayList<>();
-    // first accumulate by operation because a lot of work can be aggregated
+    // all literals and prefixes are handled by a single longest common prefix query
+    NameTrie.Builder<Boolean> excludes = NameTrie.builder();
     for (String excludedClass : excludedClasses) {
       excludedClass = excludedClass.trim();
       if (excludedClass.endsWith("*")) {
         // remove the trailing *
-        prefixes.add(excludedClass.substring(0, excludedClass.length() - 1));
+        excludes.prefix(excludedClass.substring(0, excludedClass.length() - 1), true);
       } else {
-        literals.add(excludedClass);
+        excludes.name(excludedClass, true);
       }
     }
-    if (!literals.isEmpty()) {
-      matcher = matcher.or(namedOneOf(literals));
-    }
-    for (String prefix : prefixes) {
-      // TODO - with a prefix tree this matching logic can be handled by a
-      // single longest common prefix query
-      matcher = matcher.or(nameStartsWith(prefix));
-    }
-    return matcher;
+    return nameMatches(excludes.build());
   }
 
   private static List<String> loadBootstrapPackagePrefixes() {
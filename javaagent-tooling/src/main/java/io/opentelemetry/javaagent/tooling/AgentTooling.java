@@ -5,11 +5,14 @@
 
 package io.opentelemetry.javaagent.tooling;
 
+import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.javaagent.bootstrap.WeakCache;
 import io.opentelemetry.javaagent.bootstrap.WeakCache.Provider;
 import io.opentelemetry.javaagent.instrumentation.api.WeakMap;
 import io.opentelemetry.javaagent.tooling.bytebuddy.AgentCachingPoolStrategy;
 import io.opentelemetry.javaagent.tooling.bytebuddy.AgentLocationStrategy;
+import io.opentelemetry.javaagent.tooling.bytebuddy.PersistentTypeCache;
+import java.lang.instrument.Instrumentation;
 import java.util.Iterator;
 import java.util.ServiceLoader;
 
@@ -50,7 +53,6 @@ public class AgentTooling {
   private static final Provider weakCacheProvider = loadWeakCacheProvider();
 
   private static final AgentLocationStrategy LOCATION_STRATEGY = new AgentLocationStrategy();
-  private static final AgentCachingPoolStrategy POOL_STRATEGY = new AgentCachingPoolStrategy();
 
   public static <K, V> WeakCache<K, V> newWeakCache() {
     return weakCacheProvider.newWeakCache();
@@ -65,6 +67,28 @@ public class AgentTooling {
   }
 
   public static AgentCachingPoolStrategy poolStrategy() {
-    return POOL_STRATEGY;
+    return PoolStrategyHolder.POOL_STRATEGY;
+  }
+
+  /** Returns the persistent type cache, or {@code null} if it was not configured. */
+  public static PersistentTypeCache typeCache() {
+    return TypeCacheHolder.TYPE_CACHE;
+  }
+
+  // lazily initialized: this class is loaded before the agent config is initialized
+  private static class PoolStrategyHolder {
+    private static final AgentCachingPoolStrategy POOL_STRATEGY =
+        AgentCachingPoolStrategy.create(Config.get(), loadedClassCount());
+
+    // muzzle uses the pool strategy without an agent, so there may be no instrumentation
+    private static int loadedClassCount() {
+      Instrumentation instrumentation = AgentInstaller.getInstrumentation();
+      return instrumentation == null ? 0 : instrumentation.getAllLoadedClasses().length;
+    }
+  }
+
+  // lazily initialized: muzzle uses this class at compile time, when there is no agent config
+  private static class TypeCacheHolder {
+    private static final PersistentTypeCache TYPE_CACHE = PersistentTypeCache.create(Config.get());
   }
 }
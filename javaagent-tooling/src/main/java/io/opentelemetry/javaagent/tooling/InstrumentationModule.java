@@ -15,6 +15,8 @@ import static net.bytebuddy.matcher.ElementMatchers.not;
 import io.opentelemetry.instrumentation.api.config.Config;
 import io.opentelemetry.javaagent.tooling.bytebuddy.AgentTransformers;
 import io.opentelemetry.javaagent.tooling.bytebuddy.ExceptionHandlers;
+import io.opentelemetry.javaagent.tooling.bytebuddy.MethodConstantMapping;
+import io.opentelemetry.javaagent.tooling.bytebuddy.PersistentTypeCache;
 import io.opentelemetry.javaagent.tooling.context.FieldBackedProvider;
 import io.opentelemetry.javaagent.tooling.context.InstrumentationContextProvider;
 import io.opentelemetry.javaagent.tooling.context.NoopContextProvider;
@@ -29,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.annotation.AnnotationSource;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
@@ -51,6 +54,9 @@ public abstract class InstrumentationModule {
 
   private static final String[] EMPTY = new String[0];
 
+  private static final Advice.WithCustomMapping ADVICE_MAPPING =
+      Advice.withCustomMapping().bind(MethodConstantMapping.INSTANCE);
+
   // Added here instead of AgentInstaller's ignores because it's relatively
   // expensive. https://github.com/DataDog/dd-trace-java/pull/1045
   public static final ElementMatcher.Junction<AnnotationSource> NOT_DECORATOR_MATCHER =
@@ -111,6 +117,19 @@ public abstract class InstrumentationModule {
    * @return the original agentBuilder and this instrumentation
    */
   public final AgentBuilder instrument(AgentBuilder parentAgentBuilder) {
+    return instrument(parentAgentBuilder, new ArrayList<>());
+  }
+
+  /**
+   * Add this instrumentation to an AgentBuilder.
+   *
+   * @param parentAgentBuilder AgentBuilder to base instrumentation config off of.
+   * @param typeMatchers collects the combined type and class loader matcher of each type
+   *     instrumentation
+   * @return the original agentBuilder and this instrumentation
+   */
+  final AgentBuilder instrument(
+      AgentBuilder parentAgentBuilder, List<AgentBuilder.RawMatcher> typeMatchers) {
     if (!enabled) {
       log.debug("Instrumentation {} is disabled", mainInstrumentationName());
       return parentAgentBuilder;
@@ -135,18 +154,37 @@ public abstract class InstrumentationModule {
         new HelperInjector(mainInstrumentationName(), helperClassNames, helperResourceNames);
     InstrumentationContextProvider contextProvider = getContextProvider();
 
+    PersistentTypeCache typeCache = AgentTooling.typeCache();
+
     AgentBuilder agentBuilder = parentAgentBuilder;
-    for (TypeInstrumentation typeInstrumentation : typeInstrumentations) {
+    for (int i = 0; i < typeInstrumentations.size(); i++) {
+      TypeInstrumentation typeInstrumentation = typeInstrumentations.get(i);
+      ElementMatcher<TypeDescription> typeMatcher =
+          failSafe(
+              typeInstrumentation.typeMatcher(),
+              "Instrumentation type matcher unexpected exception: " + getClass().getName());
+      ElementMatcher<ClassLoader> classLoaderMatcher =
+          failSafe(
+              moduleClassLoaderMatcher.and(typeInstrumentation.classLoaderOptimization()),
+              "Instrumentation class loader matcher unexpected exception: "
+                  + getClass().getName());
+
+      AgentBuilder.RawMatcher typeAndClassLoaderMatcher;
+      if (typeCache == null) {
+        typeAndClassLoaderMatcher =
+            new AgentBuilder.RawMatcher.ForElementMatchers(typeMatcher, classLoaderMatcher);
+      } else {
+        // the same type instrumentation class may be registered more than once in a module
+        String instrumentationName =
+            getClass().getName() + '#' + typeInstrumentation.getClass().getName() + '#' + i;
+        typeAndClassLoaderMatcher =
+            typeCache.cachingMatcher(instrumentationName, typeMatcher, classLoaderMatcher);
+      }
+      typeMatchers.add(typeAndClassLoaderMatcher);
+
       AgentBuilder.Identified.Extendable extendableAgentBuilder =
           agentBuilder
-              .type(
-                  failSafe(
-                      typeInstrumentation.typeMatcher(),
-                      "Instrumentation type matcher unexpected exception: " + getClass().getName()),
-                  failSafe(
-                      moduleClassLoaderMatcher.and(typeInstrumentation.classLoaderOptimization()),
-                      "Instrumentation class loader matcher unexpected exception: "
-                          + getClass().getName()))
+              .type(typeAndClassLoaderMatcher)
               .and(NOT_DECORATOR_MATCHER)
               .and(muzzleMatcher)
               .transform(AgentTransformers.defaultTransformers())
@@ -181,7 +219,7 @@ public abstract class InstrumentationModule {
         transformers.entrySet()) {
       agentBuilder =
           agentBuilder.transform(
-              new AgentBuilder.Transformer.ForAdvice()
+              new AgentBuilder.Transformer.ForAdvice(ADVICE_MAPPING)
                   .include(Utils.getBootstrapProxy(), Utils.getAgentClassLoader())
                   .withExceptionHandler(ExceptionHandlers.defaultExceptionHandler())
                   .advice(entry.getKey(), entry.getValue()));
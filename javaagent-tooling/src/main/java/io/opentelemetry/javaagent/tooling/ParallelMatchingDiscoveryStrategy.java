@@ -0,0 +1,245 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.javaagent.bootstrap.FieldBackedContextStoreAppliedMarker;
+import java.lang.instrument.Instrumentation;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.utility.JavaModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A discovery strategy that runs the type matching phase of the retransformation of already loaded
+ * classes on a bounded fork-join pool, instead of on the thread that installs the agent.
+ *
+ * <p>Each batch of classes returned by the delegate strategy is partitioned by class loader and
+ * every partition is matched against the type and class loader matchers of all type
+ * instrumentations in parallel. Classes that the agent's global ignore matchers ignore are skipped
+ * before they are matched. Only the classes that may be transformed are passed on to ByteBuddy,
+ * which then matches them once more (this time hitting the type pool cache) and retransforms them
+ * in batches.
+ *
+ * <p>The pre-matching is a superset of the actual matching: decorator and muzzle checks are
+ * applied afterwards by ByteBuddy.
+ */
+final class ParallelMatchingDiscoveryStrategy
+    implements AgentBuilder.RedefinitionStrategy.DiscoveryStrategy {
+
+  private static final Logger log =
+      LoggerFactory.getLogger(ParallelMatchingDiscoveryStrategy.class);
+
+  static final String ENABLED_CONFIG =
+      "otel.javaagent.experimental.parallel-retransformation.enabled";
+
+  // large class loaders are split so that they don't end up on a single worker
+  private static final int PARTITION_SIZE = 256;
+  private static final int MAX_PARALLELISM = 8;
+
+  private final AgentBuilder.RedefinitionStrategy.DiscoveryStrategy delegate;
+  private final ElementMatcher<ClassLoader> ignoredClassLoaders;
+  private final ElementMatcher<TypeDescription> ignoredTypes;
+  private final List<AgentBuilder.RawMatcher> typeMatchers;
+  private final int parallelism;
+
+  /**
+   * Creates a new discovery strategy.
+   *
+   * @param ignoredClassLoaders the class loaders that the agent builder ignores
+   * @param ignoredTypes the types that the agent builder ignores
+   * @param typeMatchers matchers of all type instrumentations; may be populated after this
+   *     strategy was created, but before the agent is installed
+   */
+  ParallelMatchingDiscoveryStrategy(
+      AgentBuilder.RedefinitionStrategy.DiscoveryStrategy delegate,
+      ElementMatcher<ClassLoader> ignoredClassLoaders,
+      ElementMatcher<TypeDescription> ignoredTypes,
+      List<AgentBuilder.RawMatcher> typeMatchers) {
+    this(
+        delegate,
+        ignoredClassLoaders,
+        ignoredTypes,
+        typeMatchers,
+        Math.min(MAX_PARALLELISM, Runtime.getRuntime().availableProcessors()));
+  }
+
+  ParallelMatchingDiscoveryStrategy(
+      AgentBuilder.RedefinitionStrategy.DiscoveryStrategy delegate,
+      ElementMatcher<ClassLoader> ignoredClassLoaders,
+      ElementMatcher<TypeDescription> ignoredTypes,
+      List<AgentBuilder.RawMatcher> typeMatchers,
+      int parallelism) {
+    this.delegate = delegate;
+    this.ignoredClassLoaders = ignoredClassLoaders;
+    this.ignoredTypes = ignoredTypes;
+    this.typeMatchers = typeMatchers;
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
+    Iterable<Iterable<Class<?>>> batches = delegate.resolve(instrumentation);
+    return () -> {
+      Iterator<Iterable<Class<?>>> iterator = batches.iterator();
+      return new Iterator<Iterable<Class<?>>>() {
+        // shared by all batches, and shut down once the last batch was matched
+        private ForkJoinPool pool;
+
+        @Override
+        public boolean hasNext() {
+          boolean hasNext = iterator.hasNext();
+          if (!hasNext && pool != null) {
+            pool.shutdown();
+            pool = null;
+          }
+          return hasNext;
+        }
+
+        @Override
+        public Iterable<Class<?>> next() {
+          if (pool == null) {
+            pool = new ForkJoinPool(parallelism, new WorkerThreadFactory(), null, false);
+          }
+          return matchInParallel(pool, instrumentation, iterator.next());
+        }
+      };
+    };
+  }
+
+  private List<Class<?>> matchInParallel(
+      ForkJoinPool pool, Instrumentation instrumentation, Iterable<Class<?>> batch) {
+    List<MatchingTask> tasks = new ArrayList<>();
+    for (List<Class<?>> partition : partitionByClassLoader(batch)) {
+      tasks.add(new MatchingTask(instrumentation, partition));
+    }
+
+    long startTime = System.nanoTime();
+    List<Class<?>> matched = new ArrayList<>();
+    for (MatchingTask task : tasks) {
+      pool.execute(task);
+    }
+    for (MatchingTask task : tasks) {
+      matched.addAll(task.join());
+    }
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Matched {} already loaded classes in {} partitions in {} ms",
+          matched.size(),
+          tasks.size(),
+          (System.nanoTime() - startTime) / 1_000_000);
+    }
+    return matched;
+  }
+
+  // Visible for testing
+  static List<List<Class<?>>> partitionByClassLoader(Iterable<Class<?>> classes) {
+    // HashMap allows the null (bootstrap) class loader key
+    Map<ClassLoader, List<Class<?>>> byClassLoader = new HashMap<>();
+    List<List<Class<?>>> partitions = new ArrayList<>();
+    for (Class<?> type : classes) {
+      ClassLoader classLoader = type.getClassLoader();
+      List<Class<?>> partition = byClassLoader.get(classLoader);
+      if (partition == null || partition.size() >= PARTITION_SIZE) {
+        partition = new ArrayList<>();
+        byClassLoader.put(classLoader, partition);
+        partitions.add(partition);
+      }
+      partition.add(type);
+    }
+    return partitions;
+  }
+
+  private boolean matches(Instrumentation instrumentation, Class<?> type) {
+    if (!instrumentation.isModifiableClass(type)) {
+      return false;
+    }
+    ClassLoader classLoader = type.getClassLoader();
+    if (ignoredClassLoaders.matches(classLoader)) {
+      return false;
+    }
+    // classes that had context store fields injected must be transformed again, see
+    // FieldBackedProvider#safeToInjectFieldsMatcher()
+    if (Arrays.asList(type.getInterfaces()).contains(FieldBackedContextStoreAppliedMarker.class)) {
+      return true;
+    }
+
+    JavaModule module = JavaModule.ofType(type);
+    ProtectionDomain protectionDomain = type.getProtectionDomain();
+    ClassFileLocator classFileLocator =
+        AgentTooling.locationStrategy().classFileLocator(classLoader, module);
+    TypeDescription typeDescription =
+        AgentTooling.poolStrategy()
+            .typePool(classFileLocator, classLoader)
+            .describe(type.getName())
+            .resolve();
+    // the description is resolved lazily, so name based ignores don't parse the class file
+    if (ignoredTypes.matches(typeDescription)) {
+      return false;
+    }
+    for (AgentBuilder.RawMatcher typeMatcher : typeMatchers) {
+      if (typeMatcher.matches(typeDescription, classLoader, module, type, protectionDomain)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private final class MatchingTask extends RecursiveTask<List<Class<?>>> {
+    private final Instrumentation instrumentation;
+    private final List<Class<?>> classes;
+
+    private MatchingTask(Instrumentation instrumentation, List<Class<?>> classes) {
+      this.instrumentation = instrumentation;
+      this.classes = classes;
+    }
+
+    @Override
+    protected List<Class<?>> compute() {
+      List<Class<?>> matched = new ArrayList<>();
+      for (Class<?> type : classes) {
+        try {
+          if (matches(instrumentation, type)) {
+            matched.add(type);
+          }
+        } catch (Throwable t) {
+          // let ByteBuddy decide (and report the error) on the installing thread
+          log.debug("Failed to match {} before retransformation", type.getName(), t);
+          matched.add(type);
+        }
+      }
+      return matched;
+    }
+  }
+
+  private static final class WorkerThreadFactory
+      implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    @Override
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+      ForkJoinWorkerThread thread =
+          ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("otel-retransform-matcher-" + threadNumber.getAndIncrement());
+      thread.setDaemon(true);
+      thread.setContextClassLoader(AgentInstaller.class.getClassLoader());
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.javaagent.instrumentation.api.WeakMap;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A concurrent map with weak keys that are compared by identity.
+ *
+ * <p>Unlike {@code WeakConcurrentMap}, which has to be polled periodically, all instances register
+ * their keys with a single reference queue. A single daemon thread blocks on that queue and removes
+ * each entry as soon as its key is collected, so maps whose keys stay alive cost nothing to clean.
+ */
+final class WeakKeyConcurrentMap<K, V> implements WeakMap<K, V> {
+
+  // must be a power of two
+  private static final int LOCK_STRIPES = 16;
+
+  // like WeakConcurrentMap with reuseKeys, lookups don't allocate a key; a lookup never calls back
+  // into a map, so a single key per thread is enough
+  private static final ThreadLocal<LookupKey> LOOKUP_KEY = ThreadLocal.withInitial(LookupKey::new);
+
+  private final ConcurrentHashMap<Object, V> target = new ConcurrentHashMap<>();
+  // computeIfAbsent only needs to be atomic for the same key
+  private final Object[] locks = new Object[LOCK_STRIPES];
+
+  WeakKeyConcurrentMap() {
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  @Override
+  public int size() {
+    return target.size();
+  }
+
+  @Override
+  public boolean containsKey(K key) {
+    LookupKey lookupKey = LOOKUP_KEY.get().set(key);
+    try {
+      return target.containsKey(lookupKey);
+    } finally {
+      lookupKey.clear();
+    }
+  }
+
+  @Override
+  public V get(K key) {
+    LookupKey lookupKey = LOOKUP_KEY.get().set(key);
+    try {
+      return target.get(lookupKey);
+    } finally {
+      lookupKey.clear();
+    }
+  }
+
+  @Override
+  public void put(K key, V value) {
+    target.put(new WeakKey<>(key, this), value);
+  }
+
+  @Override
+  public void putIfAbsent(K key, V value) {
+    // avoid creating (and later expunging) a weak reference if the key is already present
+    if (!containsKey(key)) {
+      target.putIfAbsent(new WeakKey<>(key, this), value);
+    }
+  }
+
+  @Override
+  public V computeIfAbsent(K key, ValueSupplier<? super K, ? extends V> supplier) {
+    // the map doesn't allow null values, so a single lock free read is enough
+    V value = get(key);
+    if (value != null) {
+      return value;
+    }
+
+    synchronized (locks[System.identityHashCode(key) & (LOCK_STRIPES - 1)]) {
+      value = get(key);
+      if (value == null) {
+        value = supplier.get(key);
+        put(key, value);
+      }
+      return value;
+    }
+  }
+
+  @Override
+  public V remove(K key) {
+    LookupKey lookupKey = LOOKUP_KEY.get().set(key);
+    try {
+      return target.remove(lookupKey);
+    } finally {
+      lookupKey.clear();
+    }
+  }
+
+  private void expunge(WeakKey<?> key) {
+    // a key that replaced an equal one in put() was never stored, and is not equal to the stored
+    // key once it has been collected, so this does not remove anything
+    target.remove(key);
+  }
+
+  @Override
+  public String toString() {
+    return "WeakKeyConcurrentMap{size=" + target.size() + '}';
+  }
+
+  private static final class WeakKey<K> extends WeakReference<K> {
+    private final int hashCode;
+    // keeps the map alive only as long as the key is stored in it
+    private final WeakKeyConcurrentMap<K, ?> owner;
+
+    private WeakKey(K key, WeakKeyConcurrentMap<K, ?> owner) {
+      super(nonNull(key), Cleaner.QUEUE);
+      hashCode = System.identityHashCode(key);
+      this.owner = owner;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof LookupKey) {
+        return ((LookupKey) obj).key == get();
+      }
+      if (obj instanceof WeakKey) {
+        // collected keys are only equal to themselves
+        Object key = get();
+        return key != null && key == ((WeakKey<?>) obj).get();
+      }
+      return false;
+    }
+  }
+
+  private static final class LookupKey {
+    private Object key;
+    private int hashCode;
+
+    private LookupKey set(Object key) {
+      this.key = nonNull(key);
+      hashCode = System.identityHashCode(key);
+      return this;
+    }
+
+    // doesn't keep the last looked up key alive
+    private void clear() {
+      key = null;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof WeakKey) {
+        return ((WeakKey<?>) obj).get() == key;
+      }
+      return obj instanceof LookupKey && ((LookupKey) obj).key == key;
+    }
+  }
+
+  private static <T> T nonNull(T key) {
+    if (key == null) {
+      throw new NullPointerException("key");
+    }
+    return key;
+  }
+
+  private static final class Cleaner implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(Cleaner.class);
+
+    private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+
+    static {
+      new DaemonThreadFactory("otel-weak-map-cleaner").newThread(new Cleaner()).start();
+    }
+
+    @Override
+    public void run() {
+      while (!Thread.currentThread().isInterrupted()) {
+        try {
+          Reference<?> reference = QUEUE.remove();
+          WeakKey<?> key = (WeakKey<?>) reference;
+          key.owner.expunge(key);
+        } catch (InterruptedException e) {
+          return;
+        } catch (Throwable t) {
+          log.debug("Failed to expunge a weak map entry", t);
+        }
+      }
+    }
+  }
+}
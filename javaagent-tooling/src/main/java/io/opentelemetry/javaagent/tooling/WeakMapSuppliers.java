@@ -8,7 +8,6 @@ package io.opentelemetry.javaagent.tooling;
 import com.blogspot.mydailyjava.weaklockfree.WeakConcurrentMap;
 import com.google.common.collect.MapMaker;
 import io.opentelemetry.javaagent.instrumentation.api.WeakMap;
-import java.util.concurrent.TimeUnit;
 
 class WeakMapSuppliers {
   // Comparison with using WeakConcurrentMap vs Guava's implementation:
@@ -28,37 +27,15 @@ class WeakMapSuppliers {
   //            backed by big company with many-many users
 
   /**
-   * Provides instances of {@link WeakConcurrentMap} and retains weak reference to them to allow a
-   * single thread to clean void weak references out for all instances. Cleaning is done every
-   * second.
+   * Provides instances of {@link WeakKeyConcurrentMap}. All of them share a single reference queue
+   * which is drained by a single thread, so entries are removed as soon as their keys are collected
+   * and maps without collected keys are never scanned.
    */
   static class WeakConcurrent implements WeakMap.Implementation {
 
-    // Visible for testing
-    static final long CLEAN_FREQUENCY_SECONDS = 1;
-
     @Override
     public <K, V> WeakMap<K, V> get() {
-      WeakConcurrentMap<K, V> map = new WeakConcurrentMap<>(false, true);
-      CommonTaskExecutor.INSTANCE.scheduleAtFixedRate(
-          MapCleaningTask.INSTANCE,
-          map,
-          CLEAN_FREQUENCY_SECONDS,
-          CLEAN_FREQUENCY_SECONDS,
-          TimeUnit.SECONDS,
-          "cleaner for " + map);
-      return new Adapter<>(map);
-    }
-
-    // Important to use explicit class to avoid implicit hard references to target
-    private static class MapCleaningTask implements CommonTaskExecutor.Task<WeakConcurrentMap> {
-
-      static final MapCleaningTask INSTANCE = new MapCleaningTask();
-
-      @Override
-      public void run(WeakConcurrentMap target) {
-        target.expungeStaleEntries();
-      }
+      return new WeakKeyConcurrentMap<>();
     }
 
     private static class Adapter<K, V> implements WeakMap<K, V> {
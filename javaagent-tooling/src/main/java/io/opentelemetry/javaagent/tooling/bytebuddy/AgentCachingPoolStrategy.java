@@ -7,10 +7,11 @@ package io.opentelemetry.javaagent.tooling.bytebuddy;
 
 import static net.bytebuddy.agent.builder.AgentBuilder.PoolStrategy;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import io.opentelemetry.instrumentation.api.caching.Cache;
+import io.opentelemetry.instrumentation.api.config.Config;
 import java.lang.ref.WeakReference;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 import net.bytebuddy.description.annotation.AnnotationList;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.MethodList;
@@ -18,15 +19,19 @@ import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.description.type.TypeList;
 import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.pool.TypePool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * NEW (Jan 2020) Custom Pool strategy.
+ * Custom Pool strategy.
  *
  * <ul>
- *   Uses a Guava Cache directly...
+ *   Uses bounded W-TinyLFU caches (Caffeine)...
  *   <li>better control over locking than WeakMap.Provider
- *   <li>provides direct control over concurrency level
- *   <li>initial and maximum capacity
+ *   <li>frequency-aware admission, so that commonly shared super types (e.g. {@code Runnable},
+ *       {@code Servlet}) are not evicted by a burst of one-off class loads
+ *   <li>maximum capacity derived from the heap size and the number of loaded classes,
+ *       configurable through {@code otel.javaagent.experimental.type-pool-cache.size}
  * </ul>
  *
  * <ul>
@@ -39,17 +44,24 @@ import net.bytebuddy.pool.TypePool;
  * <p>This design was chosen to create a single limited size cache that can be adjusted for the
  * entire application -- without having to create a large number of WeakReference objects.
  *
- * <p>Eviction is handled almost entirely through a size restriction; however, softValues are still
- * used as a further safeguard.
+ * <p>Eviction is handled entirely through a size restriction. Soft values are intentionally not
+ * used: they tend to get cleared all at once under GC pressure, which usually happens exactly when
+ * class loading peaks.
  */
 public class AgentCachingPoolStrategy implements PoolStrategy {
 
+  private static final Logger log = LoggerFactory.getLogger(AgentCachingPoolStrategy.class);
+
   // Many things are package visible for testing purposes --
   // others to avoid creation of synthetic accessors
 
-  static final int CONCURRENCY_LEVEL = 8;
+  static final String TYPE_CAPACITY_CONFIG = "otel.javaagent.experimental.type-pool-cache.size";
+
   static final int LOADER_CAPACITY = 64;
-  static final int TYPE_CAPACITY = 64;
+  static final int MIN_TYPE_CAPACITY = 64;
+  static final int MAX_TYPE_CAPACITY = 64 * 1024;
+  // roughly 1-2% of the heap, a resolution usually retains a few KB
+  static final int TYPES_PER_HEAP_MB = 4;
 
   static final int BOOTSTRAP_HASH = 7236344; // Just a random number
 
@@ -61,28 +73,53 @@ public class AgentCachingPoolStrategy implements PoolStrategy {
    *   <li>Allow for quick fast path equivalence check of composite keys
    * </ul>
    */
-  final Cache<ClassLoader, WeakReference<ClassLoader>> loaderRefCache =
-      CacheBuilder.newBuilder()
-          .weakKeys()
-          .concurrencyLevel(CONCURRENCY_LEVEL)
-          .initialCapacity(LOADER_CAPACITY / 2)
-          .maximumSize(LOADER_CAPACITY)
-          .build();
+  final Cache<ClassLoader, WeakReference<ClassLoader>> loaderRefCache;
 
   /**
    * Single shared Type.Resolution cache -- uses a composite key -- conceptually of loader & name
    */
-  final Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache =
-      CacheBuilder.newBuilder()
-          .softValues()
-          .concurrencyLevel(CONCURRENCY_LEVEL)
-          .initialCapacity(TYPE_CAPACITY)
-          .maximumSize(TYPE_CAPACITY)
-          .build();
+  final Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache;
+
+  final Counters counters = new Counters();
 
   // fast path for bootstrap
-  final SharedResolutionCacheAdapter bootstrapCacheProvider =
-      new SharedResolutionCacheAdapter(BOOTSTRAP_HASH, null, sharedResolutionCache);
+  final SharedResolutionCacheAdapter bootstrapCacheProvider;
+
+  private final int typeCapacity;
+
+  /**
+   * Creates a pool strategy whose type cache capacity is read from the agent configuration, or
+   * derived from the maximum heap size and the number of classes loaded so far if not configured.
+   */
+  public static AgentCachingPoolStrategy create(Config config, int loadedClassCount) {
+    int typeCapacity = computeTypeCapacity(Runtime.getRuntime().maxMemory(), loadedClassCount);
+    String configuredCapacity = config.getProperty(TYPE_CAPACITY_CONFIG);
+    if (configuredCapacity != null) {
+      try {
+        typeCapacity = Math.max(MIN_TYPE_CAPACITY, Integer.parseInt(configuredCapacity.trim()));
+      } catch (NumberFormatException e) {
+        log.warn("Invalid {} value: {}", TYPE_CAPACITY_CONFIG, configuredCapacity);
+      }
+    }
+    return new AgentCachingPoolStrategy(LOADER_CAPACITY, typeCapacity);
+  }
+
+  // when the agent is attached to a running application, the classes that are already loaded are
+  // all matched on retransformation, so the cache should hold at least that many types
+  static int computeTypeCapacity(long maxHeapBytes, int loadedClassCount) {
+    long capacity = (maxHeapBytes / (1024 * 1024)) * TYPES_PER_HEAP_MB;
+    capacity = Math.max(capacity, loadedClassCount);
+    return (int) Math.max(MIN_TYPE_CAPACITY, Math.min(MAX_TYPE_CAPACITY, capacity));
+  }
+
+  AgentCachingPoolStrategy(int loaderCapacity, int typeCapacity) {
+    this.typeCapacity = typeCapacity;
+    loaderRefCache = Cache.newBuilder().setWeakKeys().setMaximumSize(loaderCapacity).build();
+    sharedResolutionCache =
+        Cache.newBuilder().setMaximumSize(typeCapacity).setRecordEvictions().build();
+    bootstrapCacheProvider =
+        new SharedResolutionCacheAdapter(BOOTSTRAP_HASH, null, sharedResolutionCache, counters);
+  }
 
   @Override
   public final TypePool typePool(ClassFileLocator classFileLocator, ClassLoader classLoader) {
@@ -90,12 +127,8 @@ public class AgentCachingPoolStrategy implements PoolStrategy {
       return createCachingTypePool(bootstrapCacheProvider, classFileLocator);
     }
 
-    WeakReference<ClassLoader> loaderRef = loaderRefCache.getIfPresent(classLoader);
-
-    if (loaderRef == null) {
-      loaderRef = new WeakReference<>(classLoader);
-      loaderRefCache.put(classLoader, loaderRef);
-    }
+    WeakReference<ClassLoader> loaderRef =
+        loaderRefCache.computeIfAbsent(classLoader, WeakReference::new);
 
     int loaderHash = classLoader.hashCode();
     return createCachingTypePool(loaderHash, loaderRef, classFileLocator);
@@ -103,7 +136,8 @@ public class AgentCachingPoolStrategy implements PoolStrategy {
 
   private TypePool.CacheProvider createCacheProvider(
       int loaderHash, WeakReference<ClassLoader> loaderRef) {
-    return new SharedResolutionCacheAdapter(loaderHash, loaderRef, sharedResolutionCache);
+    return new SharedResolutionCacheAdapter(
+        loaderHash, loaderRef, sharedResolutionCache, counters);
   }
 
   private TypePool createCachingTypePool(
@@ -121,7 +155,35 @@ public class AgentCachingPoolStrategy implements PoolStrategy {
   }
 
   final long approximateSize() {
-    return sharedResolutionCache.size();
+    return sharedResolutionCache.estimatedSize();
+  }
+
+  /** Returns the maximum number of type resolutions kept in the shared cache. */
+  public final int typeCapacity() {
+    return typeCapacity;
+  }
+
+  /** Returns the number of type lookups that were answered from the shared cache. */
+  public final long hitCount() {
+    return counters.hits.sum();
+  }
+
+  /** Returns the number of type lookups that required parsing the class file. */
+  public final long missCount() {
+    return counters.misses.sum();
+  }
+
+  /**
+   * Returns the number of type resolutions that were evicted from the shared cache because of its
+   * capacity.
+   */
+  public final long evictionCount() {
+    return sharedResolutionCache.evictionCount();
+  }
+
+  static final class Counters {
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
   }
 
   /**
@@ -210,28 +272,33 @@ public class AgentCachingPoolStrategy implements PoolStrategy {
     private final int loaderHash;
     private final WeakReference<ClassLoader> loaderRef;
     private final Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache;
+    private final Counters counters;
 
     SharedResolutionCacheAdapter(
         int loaderHash,
         WeakReference<ClassLoader> loaderRef,
-        Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache) {
+        Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache,
+        Counters counters) {
       this.loaderHash = loaderHash;
       this.loaderRef = loaderRef;
       this.sharedResolutionCache = sharedResolutionCache;
+      this.counters = counters;
     }
 
     @Override
     public TypePool.Resolution find(String className) {
+      if (OBJECT_NAME.equals(className)) {
+        return OBJECT_RESOLUTION;
+      }
+
       TypePool.Resolution existingResolution =
-          sharedResolutionCache.getIfPresent(new TypeCacheKey(loaderHash, loaderRef, className));
+          sharedResolutionCache.get(new TypeCacheKey(loaderHash, loaderRef, className));
       if (existingResolution != null) {
+        counters.hits.increment();
         return existingResolution;
       }
 
-      if (OBJECT_NAME.equals(className)) {
-        return OBJECT_RESOLUTION;
-      }
-
+      counters.misses.increment();
       return null;
     }
 
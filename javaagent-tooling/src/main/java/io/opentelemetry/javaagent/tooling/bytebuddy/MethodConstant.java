@@ -0,0 +1,36 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import net.bytebuddy.description.method.MethodDescription;
+
+/**
+ * Binds an advice parameter to a value that is computed from the instrumented method when it is
+ * transformed, and then embedded in its bytecode as a constant, e.g. a span name. Unlike {@code
+ * Advice.Origin Method}, it costs nothing per call: neither a reflective lookup of the method nor
+ * the computation of the value.
+ *
+ * <p>The value is computed by a new instance of the given {@link Resolver}, in the agent class
+ * loader. It can be a {@link String}, an enum constant or {@code null}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface MethodConstant {
+
+  Class<? extends Resolver> value();
+
+  /**
+   * Computes the value of a {@link MethodConstant} parameter. Implementations need a public no-arg
+   * constructor.
+   */
+  interface Resolver {
+    Object resolve(MethodDescription method);
+  }
+}
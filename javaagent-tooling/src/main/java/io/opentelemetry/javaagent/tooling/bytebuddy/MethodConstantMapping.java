@@ -0,0 +1,102 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.enumeration.EnumerationDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.constant.NullConstant;
+import net.bytebuddy.implementation.bytecode.constant.TextConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+
+/** Binds the advice parameters annotated with {@link MethodConstant}. */
+public final class MethodConstantMapping implements Advice.OffsetMapping.Factory<MethodConstant> {
+
+  public static final MethodConstantMapping INSTANCE = new MethodConstantMapping();
+
+  private static final MethodDescription.InDefinedShape RESOLVER =
+      TypeDescription.ForLoadedType.of(MethodConstant.class)
+          .getDeclaredMethods()
+          .filter(named("value"))
+          .getOnly();
+
+  private MethodConstantMapping() {}
+
+  @Override
+  public Class<MethodConstant> getAnnotationType() {
+    return MethodConstant.class;
+  }
+
+  @Override
+  public Advice.OffsetMapping make(
+      ParameterDescription.InDefinedShape target,
+      AnnotationDescription.Loadable<MethodConstant> annotation,
+      AdviceType adviceType) {
+    String resolverName = annotation.getValue(RESOLVER).resolve(TypeDescription.class).getName();
+    MethodConstant.Resolver resolver;
+    try {
+      // resolvers live next to the advice classes, in the agent class loader
+      resolver =
+          (MethodConstant.Resolver)
+              Class.forName(resolverName, true, MethodConstant.class.getClassLoader())
+                  .getDeclaredConstructor()
+                  .newInstance();
+    } catch (ReflectiveOperationException | ClassCastException e) {
+      throw new IllegalStateException("Cannot create method constant resolver " + resolverName, e);
+    }
+    return new Mapping(target.getType().asErasure(), resolver);
+  }
+
+  private static final class Mapping implements Advice.OffsetMapping {
+    private final TypeDescription targetType;
+    private final MethodConstant.Resolver resolver;
+
+    private Mapping(TypeDescription targetType, MethodConstant.Resolver resolver) {
+      this.targetType = targetType;
+      this.resolver = resolver;
+    }
+
+    @Override
+    public Target resolve(
+        TypeDescription instrumentedType,
+        MethodDescription instrumentedMethod,
+        Assigner assigner,
+        Advice.ArgumentHandler argumentHandler,
+        Sort sort) {
+      Object value = resolver.resolve(instrumentedMethod);
+      StackManipulation constant;
+      TypeDescription valueType;
+      if (value == null) {
+        if (targetType.isPrimitive()) {
+          throw new IllegalStateException("null method constant for " + targetType);
+        }
+        return new Target.ForStackManipulation(NullConstant.INSTANCE);
+      } else if (value instanceof String) {
+        constant = new TextConstant((String) value);
+        valueType = TypeDescription.ForLoadedType.of(String.class);
+      } else if (value instanceof Enum) {
+        EnumerationDescription enumeration =
+            new EnumerationDescription.ForLoadedEnumeration((Enum<?>) value);
+        constant = FieldAccess.forEnumeration(enumeration);
+        valueType = enumeration.getEnumerationType();
+      } else {
+        throw new IllegalStateException("Unsupported method constant " + value.getClass());
+      }
+      if (!valueType.isAssignableTo(targetType)) {
+        throw new IllegalStateException(
+            "Method constant of type " + valueType + " is not assignable to " + targetType);
+      }
+      return new Target.ForStackManipulation(constant);
+    }
+  }
+}
@@ -0,0 +1,693 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+
+import io.opentelemetry.instrumentation.api.InstrumentationVersion;
+import io.opentelemetry.instrumentation.api.config.Config;
+import io.opentelemetry.javaagent.instrumentation.api.WeakMap;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.utility.JavaModule;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Optional on-disk cache of type matcher verdicts that survives agent restarts.
+ *
+ * <p>Verdicts are keyed by a fingerprint of the class path of the class loader that defines the
+ * matched class, including the class paths of its parents and the JVM version, and by the class
+ * name. A verdict depends on the whole type hierarchy, whose super types may come from any jar of
+ * that class path, so upgrading any of these jars discards the verdicts of all the classes that it
+ * may affect. When an unchanged deployment is restarted, a cached verdict is returned without
+ * resolving the type description, which means that neither the class file nor any of its super
+ * types have to be parsed by the {@link AgentCachingPoolStrategy} type pool.
+ *
+ * <p>A name only identifies the content of a class if the class file comes from one of the jars
+ * that were checksummed, so verdicts are only cached for classes whose code source is a class path
+ * entry of the class loader that defines them. Classes that are generated at runtime, e.g. JDK,
+ * CGLIB and Byte Buddy proxies, whose names are reused for different content across restarts, are
+ * always matched and never written to the cache file.
+ *
+ * <ul>
+ *   Caveats...
+ *   <li>only classes of the bootstrap class loader, the system class loader and {@link
+ *       URLClassLoader URLClassLoaders} whose class paths only contain jar files are cached; other
+ *       classes are always matched
+ *   <li>bootstrap classes are cached if they come from the JVM or from a jar appended with {@code
+ *       -Xbootclasspath/a}, not from jars appended at runtime, e.g. with {@code
+ *       Instrumentation.appendToBootstrapClassLoaderSearch}
+ *   <li>fingerprints are computed in the background, the first time a class loader is seen; classes
+ *       loaded before it is ready are matched, and URLs added to a class loader afterwards are not
+ *       part of its fingerprint
+ *   <li>the cache file is versioned with the agent version, so an agent upgrade discards it
+ * </ul>
+ *
+ * <p>The cache is written to disk when the JVM shuts down.
+ */
+public final class PersistentTypeCache {
+
+  private static final Logger log = LoggerFactory.getLogger(PersistentTypeCache.class);
+
+  static final String DIRECTORY_CONFIG = "otel.javaagent.experimental.type-cache.directory";
+
+  private static final int MAGIC = 0x07e1ca5e;
+  private static final int FORMAT_VERSION = 3;
+
+  // ConcurrentHashMap does not allow null values
+  private static final String NOT_CACHEABLE = "";
+  private static final String JDK = "jdk:" + System.getProperty("java.runtime.version");
+  @Nullable
+  private static final String JAVA_HOME =
+      canonicalPath(new File(System.getProperty("java.home", "")));
+
+  // class loaders whose fingerprint is being computed or can't be computed
+  private static final ClassPath PENDING = new ClassPath(null, null);
+  private static final ClassPath NOT_CACHEABLE_CLASS_PATH = new ClassPath(null, null);
+  // classes without a class file, which are never written to the cache file
+  private static final Verdicts GENERATED = new Verdicts();
+
+  private final Path cacheFile;
+  private final String agentVersion;
+
+  private final ConcurrentMap<String, Integer> instrumentationIds = new ConcurrentHashMap<>();
+  private final AtomicInteger nextInstrumentationId = new AtomicInteger();
+
+  // class path fingerprint -> class name -> verdicts
+  private final ConcurrentMap<String, ConcurrentMap<String, Verdicts>> verdictsByClassPath =
+      new ConcurrentHashMap<>();
+  // class loader -> class path, NOT_CACHEABLE_CLASS_PATH or PENDING
+  private final WeakMap<ClassLoader, ClassPath> classPaths = WeakMap.Provider.newWeakMap();
+  // the bootstrap class loader can't be a WeakMap key
+  private final AtomicReference<ClassPath> bootstrapClassPath = new AtomicReference<>();
+  // jar path -> jar checksum, shared by all the class loaders that see the jar
+  private final ConcurrentMap<String, String> checksums = new ConcurrentHashMap<>();
+  // computes fingerprints, so that jars are never read on a class loading thread
+  private final Executor fingerprintExecutor;
+
+  private volatile boolean dirty = false;
+
+  /**
+   * Returns a new {@link PersistentTypeCache} if a cache directory is configured, {@code null}
+   * otherwise.
+   */
+  @Nullable
+  public static PersistentTypeCache create(Config config) {
+    String directory = config.getProperty(DIRECTORY_CONFIG);
+    if (directory == null || directory.trim().isEmpty()) {
+      return null;
+    }
+    ExecutorService fingerprintExecutor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "otel-type-cache-fingerprint");
+              thread.setDaemon(true);
+              return thread;
+            });
+    PersistentTypeCache typeCache =
+        new PersistentTypeCache(
+            Paths.get(directory.trim()).resolve("type-cache.bin"),
+            String.valueOf(InstrumentationVersion.VERSION),
+            fingerprintExecutor);
+    typeCache.load();
+    // start fingerprinting the application class path before its classes are loaded
+    typeCache.classPath(ClassLoader.getSystemClassLoader());
+
+    Thread shutdownHook = new Thread(typeCache::save, "otel-type-cache-writer");
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+    return typeCache;
+  }
+
+  // Visible for testing
+  PersistentTypeCache(Path cacheFile, String agentVersion, Executor fingerprintExecutor) {
+    this.cacheFile = cacheFile;
+    this.agentVersion = agentVersion;
+    this.fingerprintExecutor = fingerprintExecutor;
+  }
+
+  /**
+   * Returns a matcher that answers with a cached verdict when one is available and otherwise
+   * delegates to {@code typeMatcher} and records its verdict. {@code classLoaderMatcher} is never
+   * cached since it is usually cheap and the same jar may be visible from many class loaders.
+   *
+   * @param instrumentationName a name that is unique and stable across agent restarts for the
+   *     passed type matcher
+   */
+  public AgentBuilder.RawMatcher cachingMatcher(
+      String instrumentationName,
+      ElementMatcher<? super TypeDescription> typeMatcher,
+      ElementMatcher<? super ClassLoader> classLoaderMatcher) {
+    return new CachingMatcher(
+        instrumentationId(instrumentationName), typeMatcher, classLoaderMatcher);
+  }
+
+  private int instrumentationId(String instrumentationName) {
+    return instrumentationIds.computeIfAbsent(
+        instrumentationName, name -> nextInstrumentationId.getAndIncrement());
+  }
+
+  /**
+   * Returns the verdicts of the class, or {@code null} if the class can't be cached, e.g. because
+   * it was not loaded from a checksummed class path entry of the class loader.
+   */
+  @Nullable
+  Verdicts verdicts(
+      @Nullable ClassLoader classLoader,
+      String className,
+      @Nullable ProtectionDomain protectionDomain) {
+    ClassPath classPath = classPath(classLoader);
+    if (classPath.fingerprint == null
+        || !classPath.containsLocation(location(classLoader, className, protectionDomain))) {
+      return null;
+    }
+    ConcurrentMap<String, Verdicts> verdictsByClass =
+        verdictsByClassPath.computeIfAbsent(classPath.fingerprint, k -> new ConcurrentHashMap<>());
+    Verdicts verdicts = verdictsByClass.get(className);
+    if (verdicts == null) {
+      // classes generated at runtime, e.g. CGLIB proxies, may have the code source of the class
+      // that they are generated for, so check once that the name belongs to a class file
+      verdicts =
+          classLoader == null || classLoader.getResource(classFile(className)) != null
+              ? new Verdicts()
+              : GENERATED;
+      Verdicts previous = verdictsByClass.putIfAbsent(className, verdicts);
+      if (previous != null) {
+        verdicts = previous;
+      }
+    }
+    return verdicts == GENERATED ? null : verdicts;
+  }
+
+  private static String classFile(String className) {
+    return className.replace('.', '/') + ".class";
+  }
+
+  // Visible for testing
+  ClassPath classPath(@Nullable ClassLoader classLoader) {
+    if (classLoader == null) {
+      ClassPath classPath = bootstrapClassPath.get();
+      if (classPath == null && bootstrapClassPath.compareAndSet(null, PENDING)) {
+        fingerprintExecutor.execute(() -> bootstrapClassPath.set(computeBootstrapClassPath()));
+        classPath = bootstrapClassPath.get();
+      }
+      return classPath == null ? PENDING : classPath;
+    }
+    ClassPath classPath = classPaths.get(classLoader);
+    if (classPath == null) {
+      // concurrent class loading may compute the same fingerprint twice, which is harmless
+      classPaths.put(classLoader, PENDING);
+      fingerprintExecutor.execute(
+          () -> classPaths.put(classLoader, computeClassPath(classLoader)));
+      classPath = classPaths.get(classLoader);
+    }
+    return classPath == null ? PENDING : classPath;
+  }
+
+  private ClassPath computeClassPath(ClassLoader classLoader) {
+    MessageDigest digest = newDigest();
+    if (digest == null) {
+      return NOT_CACHEABLE_CLASS_PATH;
+    }
+    digest.update(JDK.getBytes(UTF_8));
+    ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+    // the parent of the system class loader is the platform (or extension) class loader, whose
+    // classes change together with the JVM
+    ClassLoader platformClassLoader = systemClassLoader.getParent();
+    Set<String> entries = null;
+    for (ClassLoader loader = classLoader;
+        loader != null && loader != platformClassLoader;
+        loader = loader.getParent()) {
+      List<File> classPath = classPath(loader, systemClassLoader);
+      if (classPath == null || !update(digest, classPath)) {
+        return NOT_CACHEABLE_CLASS_PATH;
+      }
+      if (loader == classLoader) {
+        // only the classes that the class loader defines itself are looked up in its class path
+        entries = canonicalPaths(classPath);
+      }
+    }
+    return new ClassPath(hex(digest), entries);
+  }
+
+  private ClassPath computeBootstrapClassPath() {
+    MessageDigest digest = newDigest();
+    if (digest == null) {
+      return NOT_CACHEABLE_CLASS_PATH;
+    }
+    // the classes of the JVM only change together with it, only the appended jars are checksummed
+    digest.update(JDK.getBytes(UTF_8));
+    List<File> appended = bootstrapAppendedClassPath();
+    if (!update(digest, appended)) {
+      return NOT_CACHEABLE_CLASS_PATH;
+    }
+    Set<String> entries = canonicalPaths(appended);
+    entries.add(JDK);
+    return new ClassPath(hex(digest), entries);
+  }
+
+  // the entries of -Xbootclasspath/a, which are not part of the JVM
+  private static List<File> bootstrapAppendedClassPath() {
+    List<File> appended = new ArrayList<>();
+    // Java 8 lists the whole boot class path, later versions only the appended entries
+    for (String property : asList("sun.boot.class.path", "jdk.boot.class.path.append")) {
+      for (String entry : System.getProperty(property, "").split(File.pathSeparator)) {
+        if (entry.isEmpty()) {
+          continue;
+        }
+        File file = new File(entry);
+        if (!isJdkPath(canonicalPath(file))) {
+          appended.add(file);
+        }
+      }
+    }
+    return appended;
+  }
+
+  // returns false if an entry can't be checksummed
+  private boolean update(MessageDigest digest, List<File> classPath) {
+    for (File entry : classPath) {
+      String checksum = checksum(entry);
+      if (checksum.equals(NOT_CACHEABLE)) {
+        return false;
+      }
+      digest.update(checksum.getBytes(UTF_8));
+    }
+    return true;
+  }
+
+  /**
+   * Returns the class path entry that the class file was loaded from, {@link #JDK} for the classes
+   * of the JVM, or {@code null} if it is not known, e.g. for classes generated at runtime.
+   */
+  @Nullable
+  private static String location(
+      @Nullable ClassLoader classLoader,
+      String className,
+      @Nullable ProtectionDomain protectionDomain) {
+    if (classLoader != null) {
+      CodeSource codeSource = protectionDomain == null ? null : protectionDomain.getCodeSource();
+      URL location = codeSource == null ? null : codeSource.getLocation();
+      return location == null ? null : location.toString();
+    }
+    // bootstrap classes don't have a code source, look up where their class file is instead
+    URL resource = ClassLoader.getSystemResource(classFile(className));
+    if (resource == null) {
+      return null;
+    }
+    if (resource.getProtocol().equals("jrt")) {
+      return JDK;
+    }
+    if (resource.getProtocol().equals("jar")) {
+      String path = resource.getPath();
+      int separator = path.indexOf("!/");
+      return separator == -1 ? null : path.substring(0, separator);
+    }
+    return null;
+  }
+
+  private static boolean isJdkPath(@Nullable String path) {
+    return JAVA_HOME != null && path != null && path.startsWith(JAVA_HOME + File.separator);
+  }
+
+  private static Set<String> canonicalPaths(List<File> classPath) {
+    Set<String> paths = new HashSet<>();
+    for (File entry : classPath) {
+      String path = canonicalPath(entry);
+      if (path != null) {
+        paths.add(path);
+      }
+    }
+    return paths;
+  }
+
+  @Nullable
+  private static String canonicalPath(File file) {
+    try {
+      return file.getCanonicalPath();
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  @Nullable
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      return null;
+    }
+  }
+
+  private static String hex(MessageDigest digest) {
+    StringBuilder fingerprint = new StringBuilder();
+    for (byte b : digest.digest()) {
+      fingerprint.append(Character.forDigit((b >> 4) & 0xF, 16));
+      fingerprint.append(Character.forDigit(b & 0xF, 16));
+    }
+    return fingerprint.toString();
+  }
+
+  @Nullable
+  private static List<File> classPath(ClassLoader loader, ClassLoader systemClassLoader) {
+    List<File> classPath = new ArrayList<>();
+    if (loader == systemClassLoader) {
+      // since Java 9 the system class loader is not a URLClassLoader anymore
+      for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+        if (!entry.isEmpty()) {
+          classPath.add(new File(entry));
+        }
+      }
+      return classPath;
+    }
+    if (!(loader instanceof URLClassLoader)) {
+      return null;
+    }
+    for (URL url : ((URLClassLoader) loader).getURLs()) {
+      if (!"file".equals(url.getProtocol())) {
+        return null;
+      }
+      try {
+        classPath.add(new File(url.toURI()));
+      } catch (Exception e) {
+        return null;
+      }
+    }
+    return classPath;
+  }
+
+  private String checksum(File file) {
+    String path = file.getAbsolutePath();
+    String checksum = checksums.get(path);
+    if (checksum == null) {
+      // computed outside of the map, jars may be large
+      checksum = computeChecksum(file);
+      String previous = checksums.putIfAbsent(path, checksum);
+      if (previous != null) {
+        checksum = previous;
+      }
+    }
+    return checksum;
+  }
+
+  private static String computeChecksum(File file) {
+    if (!file.exists()) {
+      // a missing class path entry doesn't contain any classes
+      return "-";
+    }
+    if (!file.isFile()) {
+      // directory contents can't be checksummed cheaply
+      return NOT_CACHEABLE;
+    }
+    CRC32 crc = new CRC32();
+    byte[] buffer = new byte[8192];
+    try (InputStream in = Files.newInputStream(file.toPath())) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        crc.update(buffer, 0, read);
+      }
+    } catch (IOException e) {
+      log.debug("Cannot compute checksum of {}", file, e);
+      return NOT_CACHEABLE;
+    }
+    return Long.toHexString(crc.getValue()) + ':' + Long.toHexString(file.length());
+  }
+
+  // Visible for testing
+  void load() {
+    if (!Files.isRegularFile(cacheFile)) {
+      return;
+    }
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+      if (in.readInt() != MAGIC
+          || in.readInt() != FORMAT_VERSION
+          || !agentVersion.equals(in.readUTF())) {
+        log.debug("Discarding type cache {} written by a different agent version", cacheFile);
+        return;
+      }
+
+      // instrumentation ids are assigned in registration order, which may differ between runs
+      int instrumentationCount = in.readInt();
+      int[] idMapping = new int[instrumentationCount];
+      for (int i = 0; i < instrumentationCount; i++) {
+        idMapping[i] = instrumentationId(in.readUTF());
+      }
+
+      int classPathCount = in.readInt();
+      for (int i = 0; i < classPathCount; i++) {
+        String fingerprint = in.readUTF();
+        ConcurrentMap<String, Verdicts> verdictsByClass = new ConcurrentHashMap<>();
+        int classCount = in.readInt();
+        for (int j = 0; j < classCount; j++) {
+          String className = in.readUTF();
+          BitSet evaluated = remap(readBitSet(in), idMapping);
+          BitSet matched = remap(readBitSet(in), idMapping);
+          verdictsByClass.put(className, new Verdicts(evaluated, matched));
+        }
+        verdictsByClassPath.put(fingerprint, verdictsByClass);
+      }
+      log.debug("Loaded type cache {} ({} class paths)", cacheFile, classPathCount);
+    } catch (IOException | RuntimeException e) {
+      log.debug("Cannot read type cache {}", cacheFile, e);
+      verdictsByClassPath.clear();
+    }
+  }
+
+  // Visible for testing
+  void save() {
+    if (!dirty) {
+      return;
+    }
+    try {
+      Files.createDirectories(cacheFile.getParent());
+      Path tempFile = Files.createTempFile(cacheFile.getParent(), "type-cache", ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(agentVersion);
+
+        List<String> names = new ArrayList<>(instrumentationIds.size());
+        for (int i = 0; i < instrumentationIds.size(); i++) {
+          names.add(null);
+        }
+        for (Map.Entry<String, Integer> entry : instrumentationIds.entrySet()) {
+          names.set(entry.getValue(), entry.getKey());
+        }
+        out.writeInt(names.size());
+        for (String name : names) {
+          out.writeUTF(name);
+        }
+
+        out.writeInt(verdictsByClassPath.size());
+        for (Map.Entry<String, ConcurrentMap<String, Verdicts>> classPath :
+            verdictsByClassPath.entrySet()) {
+          List<Map.Entry<String, Verdicts>> types = new ArrayList<>();
+          for (Map.Entry<String, Verdicts> type : classPath.getValue().entrySet()) {
+            if (type.getValue() != GENERATED) {
+              types.add(type);
+            }
+          }
+          out.writeUTF(classPath.getKey());
+          out.writeInt(types.size());
+          for (Map.Entry<String, Verdicts> type : types) {
+            out.writeUTF(type.getKey());
+            type.getValue().write(out);
+          }
+        }
+      }
+      Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+      dirty = false;
+    } catch (IOException | RuntimeException e) {
+      log.debug("Cannot write type cache {}", cacheFile, e);
+    }
+  }
+
+  private static BitSet readBitSet(DataInputStream in) throws IOException {
+    long[] words = new long[in.readInt()];
+    for (int i = 0; i < words.length; i++) {
+      words[i] = in.readLong();
+    }
+    return BitSet.valueOf(words);
+  }
+
+  private static void writeBitSet(DataOutputStream out, BitSet bitSet) throws IOException {
+    long[] words = bitSet.toLongArray();
+    out.writeInt(words.length);
+    for (long word : words) {
+      out.writeLong(word);
+    }
+  }
+
+  private static BitSet remap(BitSet bitSet, int[] idMapping) {
+    BitSet remapped = new BitSet();
+    for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+      if (i < idMapping.length) {
+        remapped.set(idMapping[i]);
+      }
+    }
+    return remapped;
+  }
+
+  /** The fingerprint of the class path of a class loader and its own checksummed entries. */
+  static final class ClassPath {
+    // null if the class path is not cacheable (yet)
+    @Nullable final String fingerprint;
+    private final Set<String> entries;
+    // code source location -> whether it is one of the entries, locations are mostly jars
+    private final ConcurrentMap<String, Boolean> locations = new ConcurrentHashMap<>();
+
+    ClassPath(@Nullable String fingerprint, @Nullable Set<String> entries) {
+      this.fingerprint = fingerprint;
+      this.entries = entries == null ? Collections.emptySet() : entries;
+    }
+
+    boolean containsLocation(@Nullable String location) {
+      if (location == null) {
+        return false;
+      }
+      boolean jdk = entries.contains(JDK);
+      if (location.equals(JDK)) {
+        return jdk;
+      }
+      Boolean contains = locations.get(location);
+      if (contains == null) {
+        String path = canonicalLocation(location);
+        // Java 8 loads the classes of the JVM from jars in java.home
+        contains = entries.contains(path) || (jdk && isJdkPath(path));
+        locations.putIfAbsent(location, contains);
+      }
+      return contains;
+    }
+
+    @Nullable
+    private static String canonicalLocation(String location) {
+      try {
+        URI uri = new URI(location);
+        return "file".equals(uri.getScheme()) ? canonicalPath(new File(uri)) : null;
+      } catch (URISyntaxException | IllegalArgumentException e) {
+        return null;
+      }
+    }
+  }
+
+  /** Verdicts of all type matchers that were evaluated against a single class. */
+  static final class Verdicts {
+    private final BitSet evaluated;
+    private final BitSet matched;
+
+    Verdicts() {
+      this(new BitSet(), new BitSet());
+    }
+
+    Verdicts(BitSet evaluated, BitSet matched) {
+      this.evaluated = evaluated;
+      this.matched = matched;
+    }
+
+    @Nullable
+    synchronized Boolean get(int instrumentationId) {
+      if (!evaluated.get(instrumentationId)) {
+        return null;
+      }
+      return matched.get(instrumentationId);
+    }
+
+    synchronized void put(int instrumentationId, boolean match) {
+      evaluated.set(instrumentationId);
+      matched.set(instrumentationId, match);
+    }
+
+    synchronized void write(DataOutputStream out) throws IOException {
+      writeBitSet(out, evaluated);
+      writeBitSet(out, matched);
+    }
+  }
+
+  private final class CachingMatcher implements AgentBuilder.RawMatcher {
+    private final int instrumentationId;
+    private final ElementMatcher<? super TypeDescription> typeMatcher;
+    private final ElementMatcher<? super ClassLoader> classLoaderMatcher;
+
+    private CachingMatcher(
+        int instrumentationId,
+        ElementMatcher<? super TypeDescription> typeMatcher,
+        ElementMatcher<? super ClassLoader> classLoaderMatcher) {
+      this.instrumentationId = instrumentationId;
+      this.typeMatcher = typeMatcher;
+      this.classLoaderMatcher = classLoaderMatcher;
+    }
+
+    @Override
+    public boolean matches(
+        TypeDescription typeDescription,
+        ClassLoader classLoader,
+        JavaModule module,
+        Class<?> classBeingRedefined,
+        ProtectionDomain protectionDomain) {
+      if (!classLoaderMatcher.matches(classLoader)) {
+        return false;
+      }
+
+      // getName() does not resolve lazy type descriptions
+      Verdicts verdicts = verdicts(classLoader, typeDescription.getName(), protectionDomain);
+      if (verdicts == null) {
+        return typeMatcher.matches(typeDescription);
+      }
+      Boolean cached = verdicts.get(instrumentationId);
+      if (cached != null) {
+        return cached;
+      }
+      boolean match = typeMatcher.matches(typeDescription);
+      verdicts.put(instrumentationId, match);
+      dirty = true;
+      return match;
+    }
+
+    @Override
+    public String toString() {
+      return "persistentTypeCache(" + typeMatcher + ", " + classLoaderMatcher + ")";
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.PackageDescription;
+import net.bytebuddy.description.type.TypeDescription;
+
+/**
+ * Resolves the same span name as {@code BaseTracer.spanNameForMethod(Method)}, at transformation
+ * time, for {@link MethodConstant} parameters.
+ */
+public class SpanNameForMethod implements MethodConstant.Resolver {
+
+  @Override
+  public Object resolve(MethodDescription method) {
+    return spanNameForMethod(method);
+  }
+
+  public static String spanNameForMethod(MethodDescription method) {
+    return spanNameForClass(method.getDeclaringType().asErasure()) + "." + method.getName();
+  }
+
+  /** Anonymous classes are named based on their parent, like in {@code BaseTracer}. */
+  public static String spanNameForClass(TypeDescription type) {
+    if (!type.isAnonymousType()) {
+      return type.getSimpleName();
+    }
+    String className = type.getName();
+    PackageDescription packageDescription = type.getPackage();
+    if (packageDescription != null) {
+      String packageName = packageDescription.getName();
+      if (!packageName.isEmpty()) {
+        className = className.substring(packageName.length() + 1);
+      }
+    }
+    return className;
+  }
+}
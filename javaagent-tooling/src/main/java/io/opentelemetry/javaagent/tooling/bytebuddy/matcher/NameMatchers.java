@@ -47,6 +47,20 @@ public final class NameMatchers {
     return new SetMatcher<>(false, names);
   }
 
+  /**
+   * Matches a {@link NamedElement} for the value of the most specific rule that applies to its
+   * exact name.
+   *
+   * @param rules The name rules, {@code true} meaning a match.
+   * @param <T> The type of the matched object.
+   * @return An element matcher checking if the most specific rule that applies to an element's
+   *     exact name is {@code true}.
+   */
+  public static <T extends NamedElement> ElementMatcher.Junction<T> nameMatches(
+      NameTrie<Boolean> rules) {
+    return new TrieMatcher<>(rules);
+  }
+
   private static class SetMatcher<T extends NamedElement>
       extends ElementMatcher.Junction.AbstractBase<T> {
 
@@ -74,4 +88,19 @@ public final class NameMatchers {
       return (include && contained) || (!include && !contained);
     }
   }
+
+  private static class TrieMatcher<T extends NamedElement>
+      extends ElementMatcher.Junction.AbstractBase<T> {
+
+    private final NameTrie<Boolean> rules;
+
+    private TrieMatcher(NameTrie<Boolean> rules) {
+      this.rules = rules;
+    }
+
+    @Override
+    public boolean matches(T target) {
+      return Boolean.TRUE.equals(rules.get(target.getActualName()));
+    }
+  }
 }
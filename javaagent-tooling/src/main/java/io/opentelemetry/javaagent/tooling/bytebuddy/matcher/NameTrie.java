@@ -0,0 +1,156 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy.matcher;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable, compiled prefix tree of class name rules. Each rule is either a prefix rule (the
+ * rule applies to all names starting with the given prefix) or an exact rule (the rule applies to
+ * the given name only).
+ *
+ * <p>A lookup walks the tree once and returns the value of the most specific rule that applies to
+ * the name: the longest matching prefix wins, and an exact rule wins over prefix rules. This allows
+ * expressing carve-outs, e.g. ignoring all {@code java.} classes except {@code
+ * java.util.concurrent.} ones:
+ *
+ * <pre>{@code
+ * NameTrie<Boolean> ignores =
+ *     NameTrie.<Boolean>builder()
+ *         .prefix("java.", true)
+ *         .prefix("java.util.concurrent.", false)
+ *         .build();
+ * }</pre>
+ *
+ * <p>Chains of nodes that carry no rule are collapsed into a single edge, so a lookup costs one
+ * character comparison per character of the name plus one binary search per branch.
+ */
+public final class NameTrie<V> {
+
+  public static <V> Builder<V> builder() {
+    return new Builder<>();
+  }
+
+  private final Node<V> root;
+
+  private NameTrie(Node<V> root) {
+    this.root = root;
+  }
+
+  /**
+   * Returns the value of the most specific rule that applies to {@code name}, or {@code null} if no
+   * rule applies.
+   */
+  @Nullable
+  public V get(String name) {
+    Node<V> node = root;
+    V value = node.prefixValue;
+    int length = name.length();
+    int index = 0;
+    while (index < length) {
+      int child = Arrays.binarySearch(node.childKeys, name.charAt(index));
+      if (child < 0) {
+        return value;
+      }
+      node = node.children[child];
+      String edge = node.edge;
+      // no rule ends inside of an edge, so a partial match can't yield a more specific value
+      if (!name.regionMatches(index, edge, 0, edge.length())) {
+        return value;
+      }
+      index += edge.length();
+      if (node.prefixValue != null) {
+        value = node.prefixValue;
+      }
+    }
+    return node.exactValue != null ? node.exactValue : value;
+  }
+
+  private static final class Node<V> {
+    // the part of the name between the parent node and this node
+    private final String edge;
+    // sorted first characters of the child edges
+    private final char[] childKeys;
+    private final Node<V>[] children;
+    @Nullable private final V prefixValue;
+    @Nullable private final V exactValue;
+
+    private Node(
+        String edge,
+        char[] childKeys,
+        Node<V>[] children,
+        @Nullable V prefixValue,
+        @Nullable V exactValue) {
+      this.edge = edge;
+      this.childKeys = childKeys;
+      this.children = children;
+      this.prefixValue = prefixValue;
+      this.exactValue = exactValue;
+    }
+  }
+
+  public static final class Builder<V> {
+    private final MutableNode<V> root = new MutableNode<>();
+
+    private Builder() {}
+
+    /** Adds a rule that applies to all names starting with {@code prefix}. */
+    public Builder<V> prefix(String prefix, V value) {
+      node(prefix).prefixValue = value;
+      return this;
+    }
+
+    /** Adds a rule that applies to {@code name} only. */
+    public Builder<V> name(String name, V value) {
+      node(name).exactValue = value;
+      return this;
+    }
+
+    private MutableNode<V> node(String key) {
+      MutableNode<V> node = root;
+      for (int i = 0; i < key.length(); i++) {
+        node = node.children.computeIfAbsent(key.charAt(i), c -> new MutableNode<>());
+      }
+      return node;
+    }
+
+    public NameTrie<V> build() {
+      return new NameTrie<>(compile("", root));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <V> Node<V> compile(String edge, MutableNode<V> node) {
+      char[] childKeys = new char[node.children.size()];
+      Node<V>[] children = new Node[node.children.size()];
+      int i = 0;
+      // TreeMap iterates in ascending key order, which is what the binary search needs
+      for (Map.Entry<Character, MutableNode<V>> entry : node.children.entrySet()) {
+        StringBuilder childEdge = new StringBuilder().append(entry.getKey().charValue());
+        MutableNode<V> child = entry.getValue();
+        while (child.children.size() == 1
+            && child.prefixValue == null
+            && child.exactValue == null) {
+          Map.Entry<Character, MutableNode<V>> only = child.children.firstEntry();
+          childEdge.append(only.getKey().charValue());
+          child = only.getValue();
+        }
+        childKeys[i] = entry.getKey();
+        children[i] = compile(childEdge.toString(), child);
+        i++;
+      }
+      return new Node<>(edge, childKeys, children, node.prefixValue, node.exactValue);
+    }
+  }
+
+  private static final class MutableNode<V> {
+    private final TreeMap<Character, MutableNode<V>> children = new TreeMap<>();
+    @Nullable private V prefixValue;
+    @Nullable private V exactValue;
+  }
+}
@@ -873,7 +873,11 @@ public class FieldBackedProvider implements InstrumentationContextProvider {
       if (null != existingContext) {
         return existingContext;
       }
-      synchronized (realSynchronizeInstance(key)) {
+      Object lock = realSynchronizeInstance(key);
+      if (lock == null) {
+        return mapPutIfAbsent(key, context);
+      }
+      synchronized (lock) {
         existingContext = realGet(key);
         if (null != existingContext) {
           return existingContext;
@@ -889,7 +893,12 @@ public class FieldBackedProvider implements InstrumentationContextProvider {
       if (null != existingContext) {
         return existingContext;
       }
-      synchronized (realSynchronizeInstance(key)) {
+      Object lock = realSynchronizeInstance(key);
+      if (lock == null) {
+        // when another thread stores a context for the same key first, this one is discarded
+        return mapPutIfAbsent(key, contextFactory.create());
+      }
+      synchronized (lock) {
         existingContext = realGet(key);
         if (null != existingContext) {
           return existingContext;
@@ -931,8 +940,17 @@ public class FieldBackedProvider implements InstrumentationContextProvider {
       }
     }
 
+    private Object mapPutIfAbsent(Object key, Object context) {
+      map.putIfAbsent(key, context);
+      Object existingContext = map.get(key);
+      // the context may have been removed concurrently
+      return null != existingContext ? existingContext : context;
+    }
+
     private Object mapSynchronizeInstance(Object key) {
-      return map;
+      // the weak map is concurrent and its putIfAbsent is atomic, so keys that are stored in it
+      // don't need a lock, which would be shared by all of them
+      return null;
     }
 
     public static ContextStore getContextStore(Class keyClass, Class contextClass) {
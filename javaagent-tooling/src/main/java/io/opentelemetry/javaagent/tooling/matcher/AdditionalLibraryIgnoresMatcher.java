@@ -5,9 +5,7 @@
 
 package io.opentelemetry.javaagent.tooling.matcher;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import io.opentelemetry.javaagent.tooling.bytebuddy.matcher.NameTrie;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 
@@ -18,8 +16,6 @@ import net.bytebuddy.matcher.ElementMatcher;
  * <p>This is separated from {@link GlobalIgnoresMatcher} to allow for better testing. The idea is
  * that we should be able to remove this matcher from the agent and all tests should still pass.
  * Moreover, no classes matched by this matcher should be modified during test run.
- *
- * <p>TODO: refactor/optimize this class (spring boot approach as a possible solution)
  */
 public class AdditionalLibraryIgnoresMatcher<T extends TypeDescription>
     extends ElementMatcher.Junction.AbstractBase<T> {
@@ -28,329 +24,249 @@ public class AdditionalLibraryIgnoresMatcher<T extends TypeDescription>
     return new AdditionalLibraryIgnoresMatcher<>();
   }
 
-  /**
-   * Be very careful about the types of matchers used in this section as they are called on every
-   * class load, so they must be fast. Generally speaking try to only use name matchers as they
-   * don't have to load additional info.
-   */
-  @Override
-  public boolean matches(T target) {
-    String name = target.getActualName();
-
-    if (name.startsWith("com.beust.jcommander.")
-        || name.startsWith("com.fasterxml.classmate.")
-        || name.startsWith("com.github.mustachejava.")
-        || name.startsWith("com.jayway.jsonpath.")
-        || name.startsWith("com.lightbend.lagom.")
-        || name.startsWith("javax.el.")
-        || name.startsWith("org.apache.lucene.")
-        || name.startsWith("org.apache.tartarus.")
-        || name.startsWith("org.json.simple.")
-        || name.startsWith("org.yaml.snakeyaml.")) {
-      return true;
-    }
-
-    if (name.startsWith("net.sf.cglib.")) {
-      return !name.equals("net.sf.cglib.core.internal.LoadingCache$2");
-    }
-
-    if (name.startsWith("org.springframework.")) {
-      if (name.startsWith("org.springframework.aop.")
-          || name.startsWith("org.springframework.cache.")
-          || name.startsWith("org.springframework.dao.")
-          || name.startsWith("org.springframework.ejb.")
-          || name.startsWith("org.springframework.expression.")
-          || name.startsWith("org.springframework.format.")
-          || name.startsWith("org.springframework.jca.")
-          || name.startsWith("org.springframework.jdbc.")
-          || name.startsWith("org.springframework.jmx.")
-          || name.startsWith("org.springframework.jndi.")
-          || name.startsWith("org.springframework.lang.")
-          || name.startsWith("org.springframework.messaging.")
-          || name.startsWith("org.springframework.objenesis.")
-          || name.startsWith("org.springframework.orm.")
-          || name.startsWith("org.springframework.remoting.")
-          || name.startsWith("org.springframework.scripting.")
-          || name.startsWith("org.springframework.stereotype.")
-          || name.startsWith("org.springframework.transaction.")
-          || name.startsWith("org.springframework.ui.")
-          || name.startsWith("org.springframework.validation.")) {
-        return true;
-      }
-
-      if (name.startsWith("org.springframework.data.")) {
-        if (name.equals("org.springframework.data.repository.core.support.RepositoryFactorySupport")
-            || name.startsWith(
-                "org.springframework.data.convert.ClassGeneratingEntityInstantiator$")
-            || name.equals(
-                "org.springframework.data.jpa.repository.config.InspectionClassLoader")) {
-          return false;
-        }
-        return true;
-      }
-
-      if (name.startsWith("org.springframework.amqp.")) {
-        if (name.startsWith("org.springframework.amqp.rabbit.connection.")) {
-          return false;
-        }
-        return true;
-      }
-
-      if (name.startsWith("org.springframework.beans.")) {
-        if (name.equals("org.springframework.beans.factory.support.DisposableBeanAdapter")
-            || name.startsWith(
-                "org.springframework.beans.factory.groovy.GroovyBeanDefinitionReader$")) {
-          return false;
-        }
-        return true;
-      }
-
-      if (name.startsWith("org.springframework.boot.")) {
-        return !instrumentedSpringBootClasses(name)
-            && !name.startsWith("org.springframework.boot.context.web.")
-            && !name.startsWith("org.springframework.boot.web.filter.")
-            && !name.startsWith("org.springframework.boot.web.servlet.");
-      }
-
-      if (name.startsWith("org.springframework.cglib.")) {
-        // This class contains nested Callable instance that we'd happily not touch, but
-        // unfortunately our field injection code is not flexible enough to realize that, so instead
-        // we instrument this Callable to make tests happy.
-        if (name.startsWith("org.springframework.cglib.core.internal.LoadingCache$")) {
-          return false;
-        }
-        return true;
-      }
-
-      if (name.startsWith("org.springframework.context.")) {
-        // More runnables to deal with
-        if (name.startsWith("org.springframework.context.support.AbstractApplicationContext$")
-            || name.equals("org.springframework.context.support.ContextTypeMatchClassLoader")) {
-          return false;
-        }
-        return true;
-      }
-
-      if (name.startsWith("org.springframework.core.")) {
-        if (name.startsWith("org.springframework.core.task.")
-            || name.equals("org.springframework.core.DecoratingClassLoader")
-            || name.equals("org.springframework.core.OverridingClassLoader")
-            || name.equals(
-                "org.springframework.core.ReactiveAdapterRegistry$EmptyCompletableFuture")) {
-          return false;
-        }
-        return true;
-      }
-
-      if (name.startsWith("org.springframework.instrument.")) {
-        if (name.equals("org.springframework.instrument.classloading.SimpleThrowawayClassLoader")
-            || name.equals("org.springframework.instrument.classloading.ShadowingClassLoader")) {
-          return false;
-        }
-        return true;
-      }
-
-      if (name.startsWith("org.springframework.http.")) {
-        // There are some Mono implementation that get instrumented
-        if (name.startsWith("org.springframework.http.server.reactive.")) {
-          return false;
-        }
-        return true;
-      }
-
-      if (name.startsWith("org.springframework.jms.")) {
-        if (name.startsWith("org.springframework.jms.listener.")
-            || name.equals(
-                "org.springframework.jms.config.JmsListenerEndpointRegistry$AggregatingCallback")) {
-          return false;
-        }
-        return true;
-      }
-
-      if (name.startsWith("org.springframework.util.")) {
-        if (name.startsWith("org.springframework.util.concurrent.")) {
-          return false;
-        }
-        return true;
-      }
-
-      if (name.startsWith("org.springframework.web.")) {
-        if (name.startsWith("org.springframework.web.servlet.")
-            || name.startsWith("org.springframework.web.filter.")
-            || name.startsWith("org.springframework.web.reactive.")
-            || name.startsWith("org.springframework.web.context.request.async.")
-            || name.equals(
-                "org.springframework.web.context.support.AbstractRefreshableWebApplicationContext")
-            || name.equals("org.springframework.web.context.support.GenericWebApplicationContext")
-            || name.equals("org.springframework.web.context.support.XmlWebApplicationContext")) {
-          return false;
-        }
-        return true;
-      }
-
-      return false;
-    }
+  // true means ignored, false means allowed; the most specific rule wins
+  private static final NameTrie<Boolean> IGNORES;
+
+  static {
+    NameTrie.Builder<Boolean> ignores = NameTrie.builder();
+
+    ignores
+        .prefix("com.beust.jcommander.", true)
+        .prefix("com.fasterxml.classmate.", true)
+        .prefix("com.github.mustachejava.", true)
+        .prefix("com.jayway.jsonpath.", true)
+        .prefix("com.lightbend.lagom.", true)
+        .prefix("javax.el.", true)
+        .prefix("org.apache.lucene.", true)
+        .prefix("org.apache.tartarus.", true)
+        .prefix("org.json.simple.", true)
+        .prefix("org.yaml.snakeyaml.", true);
+
+    ignores
+        .prefix("net.sf.cglib.", true)
+        .name("net.sf.cglib.core.internal.LoadingCache$2", false);
+
+    ignores
+        .prefix("org.springframework.aop.", true)
+        .prefix("org.springframework.cache.", true)
+        .prefix("org.springframework.dao.", true)
+        .prefix("org.springframework.ejb.", true)
+        .prefix("org.springframework.expression.", true)
+        .prefix("org.springframework.format.", true)
+        .prefix("org.springframework.jca.", true)
+        .prefix("org.springframework.jdbc.", true)
+        .prefix("org.springframework.jmx.", true)
+        .prefix("org.springframework.jndi.", true)
+        .prefix("org.springframework.lang.", true)
+        .prefix("org.springframework.messaging.", true)
+        .prefix("org.springframework.objenesis.", true)
+        .prefix("org.springframework.orm.", true)
+        .prefix("org.springframework.remoting.", true)
+        .prefix("org.springframework.scripting.", true)
+        .prefix("org.springframework.stereotype.", true)
+        .prefix("org.springframework.transaction.", true)
+        .prefix("org.springframework.ui.", true)
+        .prefix("org.springframework.validation.", true);
+
+    ignores
+        .prefix("org.springframework.data.", true)
+        .name("org.springframework.data.repository.core.support.RepositoryFactorySupport", false)
+        .prefix("org.springframework.data.convert.ClassGeneratingEntityInstantiator$", false)
+        .name("org.springframework.data.jpa.repository.config.InspectionClassLoader", false);
+
+    ignores
+        .prefix("org.springframework.amqp.", true)
+        .prefix("org.springframework.amqp.rabbit.connection.", false);
+
+    ignores
+        .prefix("org.springframework.beans.", true)
+        .name("org.springframework.beans.factory.support.DisposableBeanAdapter", false)
+        .prefix("org.springframework.beans.factory.groovy.GroovyBeanDefinitionReader$", false);
+
+    ignores
+        .prefix("org.springframework.boot.", true)
+        .prefix("org.springframework.boot.context.web.", false)
+        .prefix("org.springframework.boot.web.filter.", false)
+        .prefix("org.springframework.boot.web.servlet.", false);
+    // instrumented spring boot classes, names ending with $ allow all inner classes
+    ignores
+        .prefix("org.springframework.boot.autoconfigure.BackgroundPreinitializer$", false)
+        .prefix("org.springframework.boot.autoconfigure.condition.OnClassCondition$", false)
+        .prefix("org.springframework.boot.web.embedded.netty.NettyWebServer$", false)
+        .prefix(
+            "org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainer$",
+            false)
+        .name(
+            "org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedWebappClassLoader",
+            false)
+        .name("org.springframework.boot.context.embedded.EmbeddedWebApplicationContext", false)
+        .name(
+            "org.springframework.boot.context.embedded.AnnotationConfigEmbeddedWebApplicationContext",
+            false)
+        // spring boot 2 classes
+        .name(
+            "org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext",
+            false)
+        .name(
+            "org.springframework.boot.web.servlet.context.AnnotationConfigServletWebServerApplicationContext",
+            false)
+        .prefix("org.springframework.boot.web.embedded.tomcat.TomcatWebServer$", false)
+        .name(
+            "org.springframework.boot.web.embedded.tomcat.TomcatEmbeddedWebappClassLoader", false)
+        .prefix(
+            "org.springframework.boot.web.servlet.DelegatingFilterProxyRegistrationBean$", false)
+        .prefix("org.springframework.boot.StartupInfoLogger$", false);
+
+    // This class contains nested Callable instance that we'd happily not touch, but
+    // unfortunately our field injection code is not flexible enough to realize that, so instead
+    // we instrument this Callable to make tests happy.
+    ignores
+        .prefix("org.springframework.cglib.", true)
+        .prefix("org.springframework.cglib.core.internal.LoadingCache$", false);
+
+    // More runnables to deal with
+    ignores
+        .prefix("org.springframework.context.", true)
+        .prefix("org.springframework.context.support.AbstractApplicationContext$", false)
+        .name("org.springframework.context.support.ContextTypeMatchClassLoader", false);
+
+    ignores
+        .prefix("org.springframework.core.", true)
+        .prefix("org.springframework.core.task.", false)
+        .name("org.springframework.core.DecoratingClassLoader", false)
+        .name("org.springframework.core.OverridingClassLoader", false)
+        .name("org.springframework.core.ReactiveAdapterRegistry$EmptyCompletableFuture", false);
+
+    ignores
+        .prefix("org.springframework.instrument.", true)
+        .name("org.springframework.instrument.classloading.SimpleThrowawayClassLoader", false)
+        .name("org.springframework.instrument.classloading.ShadowingClassLoader", false);
+
+    // There are some Mono implementation that get instrumented
+    ignores
+        .prefix("org.springframework.http.", true)
+        .prefix("org.springframework.http.server.reactive.", false);
+
+    ignores
+        .prefix("org.springframework.jms.", true)
+        .prefix("org.springframework.jms.listener.", false)
+        .name(
+            "org.springframework.jms.config.JmsListenerEndpointRegistry$AggregatingCallback",
+            false);
+
+    ignores
+        .prefix("org.springframework.util.", true)
+        .prefix("org.springframework.util.concurrent.", false);
+
+    ignores
+        .prefix("org.springframework.web.", true)
+        .prefix("org.springframework.web.servlet.", false)
+        .prefix("org.springframework.web.filter.", false)
+        .prefix("org.springframework.web.reactive.", false)
+        .prefix("org.springframework.web.context.request.async.", false)
+        .name(
+            "org.springframework.web.context.support.AbstractRefreshableWebApplicationContext",
+            false)
+        .name("org.springframework.web.context.support.GenericWebApplicationContext", false)
+        .name("org.springframework.web.context.support.XmlWebApplicationContext", false);
 
     // xml-apis, xerces, xalan, but not xml web-services
-    if ((name.startsWith("javax.xml.") && !name.startsWith("javax.xml.ws."))
-        || name.startsWith("org.apache.bcel.")
-        || name.startsWith("org.apache.html.")
-        || name.startsWith("org.apache.regexp.")
-        || name.startsWith("org.apache.wml.")
-        || name.startsWith("org.apache.xalan.")
-        || name.startsWith("org.apache.xerces.")
-        || name.startsWith("org.apache.xml.")
-        || name.startsWith("org.apache.xpath.")
-        || name.startsWith("org.xml.")) {
-      return true;
-    }
-
-    if (name.startsWith("ch.qos.logback.")) {
-      // We instrument this Runnable
-      if (name.equals("ch.qos.logback.core.AsyncAppenderBase$Worker")) {
-        return false;
-      }
-      // Allow instrumenting loggers & events
-      if (name.equals("ch.qos.logback.classic.Logger")
-          || name.equals("ch.qos.logback.classic.spi.LoggingEvent")
-          || name.equals("ch.qos.logback.classic.spi.LoggingEventVO")) {
-        return false;
-      }
-      return true;
-    }
-
-    if (name.startsWith("com.codahale.metrics.")) {
-      // We instrument servlets
-      if (name.startsWith("com.codahale.metrics.servlets.")) {
-        return false;
-      }
-      return true;
-    }
-
-    if (name.startsWith("com.couchbase.client.deps.")) {
-      // Couchbase library includes some packaged dependencies, unfortunately some of them are
-      // instrumented by executors instrumentation
-      if (name.startsWith("com.couchbase.client.deps.io.netty.")
-          || name.startsWith("com.couchbase.client.deps.org.LatencyUtils.")
-          || name.startsWith("com.couchbase.client.deps.com.lmax.disruptor.")) {
-        return false;
-      }
-      return true;
-    }
-
-    if (name.startsWith("com.google.cloud.")
-        || name.startsWith("com.google.instrumentation.")
-        || name.startsWith("com.google.j2objc.")
-        || name.startsWith("com.google.gson.")
-        || name.startsWith("com.google.logging.")
-        || name.startsWith("com.google.longrunning.")
-        || name.startsWith("com.google.protobuf.")
-        || name.startsWith("com.google.rpc.")
-        || name.startsWith("com.google.thirdparty.")
-        || name.startsWith("com.google.type.")) {
-      return true;
-    }
-    if (name.startsWith("com.google.common.")) {
-      if (name.startsWith("com.google.common.util.concurrent.")
-          || name.equals("com.google.common.base.internal.Finalizer")) {
-        return false;
-      }
-      return true;
-    }
-    if (name.startsWith("com.google.inject.")) {
-      // We instrument Runnable there
-      if (name.startsWith("com.google.inject.internal.AbstractBindingProcessor$")
-          || name.startsWith("com.google.inject.internal.BytecodeGen$")
-          || name.startsWith("com.google.inject.internal.cglib.core.internal.$LoadingCache$")) {
-        return false;
-      }
-      // We instrument Callable there
-      if (name.startsWith("com.google.inject.internal.cglib.core.internal.$LoadingCache$")) {
-        return false;
-      }
-      return true;
-    }
-    if (name.startsWith("com.google.api.")) {
-      if (name.startsWith("com.google.api.client.http.HttpRequest")) {
-        return false;
-      }
-      return true;
-    }
-
-    if (name.startsWith("org.h2.")) {
-      if (name.equals("org.h2.Driver")
-          || name.startsWith("org.h2.jdbc.")
-          || name.startsWith("org.h2.jdbcx.")
-          // Some runnables that get instrumented
-          || name.equals("org.h2.util.Task")
-          || name.equals("org.h2.store.FileLock")
-          || name.equals("org.h2.engine.DatabaseCloser")
-          || name.equals("org.h2.engine.OnExitDatabaseCloser")) {
-        return false;
-      }
-      return true;
-    }
-
-    if (name.startsWith("com.carrotsearch.hppc.")) {
-      if (name.startsWith("com.carrotsearch.hppc.HashOrderMixing$")) {
-        return false;
-      }
-      return true;
-    }
-
-    if (name.startsWith("com.fasterxml.jackson.")) {
-      if (name.equals("com.fasterxml.jackson.module.afterburner.util.MyClassLoader")) {
-        return false;
-      }
-      return true;
-    }
+    ignores
+        .prefix("javax.xml.", true)
+        .prefix("javax.xml.ws.", false)
+        .prefix("org.apache.bcel.", true)
+        .prefix("org.apache.html.", true)
+        .prefix("org.apache.regexp.", true)
+        .prefix("org.apache.wml.", true)
+        .prefix("org.apache.xalan.", true)
+        .prefix("org.apache.xerces.", true)
+        .prefix("org.apache.xml.", true)
+        .prefix("org.apache.xpath.", true)
+        .prefix("org.xml.", true);
+
+    ignores
+        .prefix("ch.qos.logback.", true)
+        // We instrument this Runnable
+        .name("ch.qos.logback.core.AsyncAppenderBase$Worker", false)
+        // Allow instrumenting loggers & events
+        .name("ch.qos.logback.classic.Logger", false)
+        .name("ch.qos.logback.classic.spi.LoggingEvent", false)
+        .name("ch.qos.logback.classic.spi.LoggingEventVO", false);
+
+    // We instrument servlets
+    ignores
+        .prefix("com.codahale.metrics.", true)
+        .prefix("com.codahale.metrics.servlets.", false);
+
+    // Couchbase library includes some packaged dependencies, unfortunately some of them are
+    // instrumented by executors instrumentation
+    ignores
+        .prefix("com.couchbase.client.deps.", true)
+        .prefix("com.couchbase.client.deps.io.netty.", false)
+        .prefix("com.couchbase.client.deps.org.LatencyUtils.", false)
+        .prefix("com.couchbase.client.deps.com.lmax.disruptor.", false);
+
+    ignores
+        .prefix("com.google.cloud.", true)
+        .prefix("com.google.instrumentation.", true)
+        .prefix("com.google.j2objc.", true)
+        .prefix("com.google.gson.", true)
+        .prefix("com.google.logging.", true)
+        .prefix("com.google.longrunning.", true)
+        .prefix("com.google.protobuf.", true)
+        .prefix("com.google.rpc.", true)
+        .prefix("com.google.thirdparty.", true)
+        .prefix("com.google.type.", true);
+    ignores
+        .prefix("com.google.common.", true)
+        .prefix("com.google.common.util.concurrent.", false)
+        .name("com.google.common.base.internal.Finalizer", false);
+    ignores
+        .prefix("com.google.inject.", true)
+        // We instrument Runnable there
+        .prefix("com.google.inject.internal.AbstractBindingProcessor$", false)
+        .prefix("com.google.inject.internal.BytecodeGen$", false)
+        // We instrument Callable there
+        .prefix("com.google.inject.internal.cglib.core.internal.$LoadingCache$", false);
+    ignores
+        .prefix("com.google.api.", true)
+        .prefix("com.google.api.client.http.HttpRequest", false);
+
+    ignores
+        .prefix("org.h2.", true)
+        .name("org.h2.Driver", false)
+        .prefix("org.h2.jdbc.", false)
+        .prefix("org.h2.jdbcx.", false)
+        // Some runnables that get instrumented
+        .name("org.h2.util.Task", false)
+        .name("org.h2.store.FileLock", false)
+        .name("org.h2.engine.DatabaseCloser", false)
+        .name("org.h2.engine.OnExitDatabaseCloser", false);
+
+    ignores
+        .prefix("com.carrotsearch.hppc.", true)
+        .prefix("com.carrotsearch.hppc.HashOrderMixing$", false);
+
+    ignores
+        .prefix("com.fasterxml.jackson.", true)
+        .name("com.fasterxml.jackson.module.afterburner.util.MyClassLoader", false);
 
     // kotlin, note we do not ignore kotlinx because we instrument coroutins code
-    if (name.startsWith("kotlin.")) {
-      if (name.equals("kotlin.coroutines.jvm.internal.DebugProbesKt")) {
-        return false;
-      }
-      return true;
-    }
-
-    return false;
-  }
+    ignores
+        .prefix("kotlin.", true)
+        .name("kotlin.coroutines.jvm.internal.DebugProbesKt", false);
 
-  private static final Set<String> INSTRUMENTED_SPRING_BOOT_CLASSES;
-
-  static {
-    Set<String> instrumented = new HashSet<>();
-    instrumented.add("org.springframework.boot.autoconfigure.BackgroundPreinitializer$");
-    instrumented.add("org.springframework.boot.autoconfigure.condition.OnClassCondition$");
-    instrumented.add("org.springframework.boot.web.embedded.netty.NettyWebServer$");
-    instrumented.add(
-        "org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainer$");
-    instrumented.add(
-        "org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedWebappClassLoader");
-    instrumented.add("org.springframework.boot.context.embedded.EmbeddedWebApplicationContext");
-    instrumented.add(
-        "org.springframework.boot.context.embedded.AnnotationConfigEmbeddedWebApplicationContext");
-    // spring boot 2 classes
-    instrumented.add(
-        "org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext");
-    instrumented.add(
-        "org.springframework.boot.web.servlet.context.AnnotationConfigServletWebServerApplicationContext");
-    instrumented.add("org.springframework.boot.web.embedded.tomcat.TomcatWebServer$");
-    instrumented.add(
-        "org.springframework.boot.web.embedded.tomcat.TomcatEmbeddedWebappClassLoader");
-    instrumented.add("org.springframework.boot.web.servlet.DelegatingFilterProxyRegistrationBean$");
-    instrumented.add("org.springframework.boot.StartupInfoLogger$");
-    INSTRUMENTED_SPRING_BOOT_CLASSES = Collections.unmodifiableSet(instrumented);
-  }
-
-  private static String outerClassName(final String name) {
-    int separator = name.indexOf('$');
-    return (separator == -1 ? name : name.substring(0, separator + 1));
+    IGNORES = ignores.build();
   }
 
-  private static boolean instrumentedSpringBootClasses(final String name) {
-    String outerName = outerClassName(name);
-    return INSTRUMENTED_SPRING_BOOT_CLASSES.contains(outerName);
+  /**
+   * Be very careful about the types of matchers used in this section as they are called on every
+   * class load, so they must be fast. Generally speaking try to only use name matchers as they
+   * don't have to load additional info.
+   */
+  @Override
+  public boolean matches(T target) {
+    return Boolean.TRUE.equals(IGNORES.get(target.getActualName()));
   }
 
   @Override
@@ -6,6 +6,7 @@
 package io.opentelemetry.javaagent.tooling.matcher;
 
 import io.opentelemetry.javaagent.spi.IgnoreMatcherProvider;
+import io.opentelemetry.javaagent.tooling.bytebuddy.matcher.NameTrie;
 import java.util.regex.Pattern;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
@@ -32,6 +33,67 @@ public class GlobalIgnoresMatcher<T extends TypeDescription>
   private static final Pattern COM_MCHANGE_PROXY =
       Pattern.compile("com\\.mchange\\.v2\\.c3p0\\..*Proxy");
 
+  // true means ignored, false means allowed; the most specific rule wins
+  private static final NameTrie<Boolean> IGNORES =
+      NameTrie.<Boolean>builder()
+          .prefix("jdk.", true)
+          .prefix("jdk.internal.net.http.", false)
+          .prefix("org.gradle.", true)
+          .prefix("net.bytebuddy.", true)
+          .prefix("org.aspectj.", true)
+          .prefix("datadog.", true)
+          .prefix("com.intellij.rt.debugger.", true)
+          .prefix("com.p6spy.", true)
+          .prefix("com.dynatrace.", true)
+          .prefix("com.jloadtrace.", true)
+          .prefix("com.appdynamics.", true)
+          .prefix("com.newrelic.agent.", true)
+          .prefix("com.newrelic.api.agent.", true)
+          .prefix("com.nr.agent.", true)
+          .prefix("com.singularity.", true)
+          .prefix("com.jinspired.", true)
+          .prefix("org.jinspired.", true)
+          // groovy
+          .prefix("org.groovy.", true)
+          .prefix("org.apache.groovy.", true)
+          .prefix("org.codehaus.groovy.", true)
+          // We seem to instrument some classes in runtime
+          .prefix("org.codehaus.groovy.runtime.", false)
+          // clojure
+          .prefix("clojure.", true)
+          .prefix("io.opentelemetry.javaagent.", true)
+          // FIXME: We should remove this once
+          // https://github.com/raphw/byte-buddy/issues/558 is fixed
+          .name("io.opentelemetry.javaagent.instrumentation.api.concurrent.RunnableWrapper", false)
+          .name("io.opentelemetry.javaagent.instrumentation.api.concurrent.CallableWrapper", false)
+          .prefix("java.", true)
+          .name("java.net.URL", false)
+          .name("java.net.HttpURLConnection", false)
+          .prefix("java.rmi.", false)
+          .prefix("java.util.concurrent.", false)
+          .name("java.lang.ClassLoader", false)
+          .name("java.lang.ThreadBuilders", false)
+          // Concurrent instrumentation modifies the structure of
+          // Cleaner class incompatibly with java9+ modules.
+          // Working around until a long-term fix for modules can be
+          // put in place.
+          .prefix("java.util.logging.", false)
+          .name("java.util.logging.LogManager$Cleaner", true)
+          .prefix("com.sun.", true)
+          .prefix("com.sun.messaging.", false)
+          .prefix("com.sun.jersey.api.client", false)
+          .prefix("com.sun.appserv", false)
+          .prefix("com.sun.faces", false)
+          .prefix("com.sun.xml.ws", false)
+          .prefix("sun.", true)
+          .prefix("sun.net.www.protocol.", false)
+          .prefix("sun.rmi.server", false)
+          .prefix("sun.rmi.transport", false)
+          .name("sun.net.www.http.HttpClient", false)
+          .prefix("org.slf4j.", true)
+          .name("org.slf4j.MDC", false)
+          .build();
+
   public static <T extends TypeDescription> ElementMatcher.Junction<T> globalIgnoresMatcher(
       boolean additionalLibraryMatcher, IgnoreMatcherProvider ignoreMatcherProviders) {
     return new GlobalIgnoresMatcher<>(additionalLibraryMatcher, ignoreMatcherProviders);
@@ -67,108 +129,14 @@ public class GlobalIgnoresMatcher<T extends TypeDescription>
 
     String name = target.getActualName();
 
-    if (name.startsWith("jdk.internal.net.http.")) {
-      return false;
-    }
-
-    if (name.startsWith("org.gradle.")
-        || name.startsWith("net.bytebuddy.")
-        || name.startsWith("jdk.")
-        || name.startsWith("org.aspectj.")
-        || name.startsWith("datadog.")
-        || name.startsWith("com.intellij.rt.debugger.")
-        || name.startsWith("com.p6spy.")
-        || name.startsWith("com.dynatrace.")
-        || name.startsWith("com.jloadtrace.")
-        || name.startsWith("com.appdynamics.")
-        || name.startsWith("com.newrelic.agent.")
-        || name.startsWith("com.newrelic.api.agent.")
-        || name.startsWith("com.nr.agent.")
-        || name.startsWith("com.singularity.")
-        || name.startsWith("com.jinspired.")
-        || name.startsWith("org.jinspired.")) {
-      return true;
-    }
-
-    // groovy
-    if (name.startsWith("org.groovy.") || name.startsWith("org.apache.groovy.")) {
-      return true;
-    }
-    if (name.startsWith("org.codehaus.groovy.")) {
-      // We seem to instrument some classes in runtime
-      if (name.startsWith("org.codehaus.groovy.runtime.")) {
-        return false;
-      }
-      return true;
-    }
     // clojure
-    if (name.startsWith("clojure.") || name.contains("$fn__")) {
-      return true;
-    }
-
-    if (name.startsWith("io.opentelemetry.javaagent.")) {
-      // FIXME: We should remove this once
-      // https://github.com/raphw/byte-buddy/issues/558 is fixed
-      if (name.equals("io.opentelemetry.javaagent.instrumentation.api.concurrent.RunnableWrapper")
-          || name.equals(
-              "io.opentelemetry.javaagent.instrumentation.api.concurrent.CallableWrapper")) {
-        return false;
-      }
+    if (name.contains("$fn__")) {
       return true;
     }
 
-    if (name.startsWith("java.")) {
-      if (name.equals("java.net.URL") || name.equals("java.net.HttpURLConnection")) {
-        return false;
-      }
-      if (name.startsWith("java.rmi.") || name.startsWith("java.util.concurrent.")) {
-        return false;
-      }
-      if (name.equals("java.lang.ClassLoader")) {
-        return false;
-      }
-
-      // Concurrent instrumentation modifies the structure of
-      // Cleaner class incompatibly with java9+ modules.
-      // Working around until a long-term fix for modules can be
-      // put in place.
-      if (name.startsWith("java.util.logging.")
-          && !name.equals("java.util.logging.LogManager$Cleaner")) {
-        return false;
-      }
-
-      return true;
-    }
-
-    if (name.startsWith("com.sun.")) {
-      if (name.startsWith("com.sun.messaging.")
-          || name.startsWith("com.sun.jersey.api.client")
-          || name.startsWith("com.sun.appserv")
-          || name.startsWith("com.sun.faces")
-          || name.startsWith("com.sun.xml.ws")) {
-        return false;
-      }
-
-      return true;
-    }
-
-    if (name.startsWith("sun.")) {
-      if (name.startsWith("sun.net.www.protocol.")
-          || name.startsWith("sun.rmi.server")
-          || name.startsWith("sun.rmi.transport")
-          || name.equals("sun.net.www.http.HttpClient")) {
-        return false;
-      }
-
-      return true;
-    }
-
-    if (name.startsWith("org.slf4j.")) {
-      if (name.equals("org.slf4j.MDC")) {
-        return false;
-      }
-
-      return true;
+    Boolean ignored = IGNORES.get(name);
+    if (ignored != null) {
+      return ignored;
     }
 
     // bytecode proxies typically have $$ in their name
@@ -94,7 +94,7 @@ class CacheProviderTest extends Specification {
 
   def "test basic caching"() {
     setup:
-    def poolStrat = new AgentCachingPoolStrategy()
+    def poolStrat = newPoolStrategy()
 
     def loader = newClassLoader()
     def loaderHash = loader.hashCode()
@@ -113,7 +113,7 @@ class CacheProviderTest extends Specification {
 
   def "test loader equivalence"() {
     setup:
-    def poolStrat = new AgentCachingPoolStrategy()
+    def poolStrat = newPoolStrategy()
 
     def loader1 = newClassLoader()
     def loaderHash1 = loader1.hashCode()
@@ -137,7 +137,7 @@ class CacheProviderTest extends Specification {
 
   def "test loader separation"() {
     setup:
-    def poolStrat = new AgentCachingPoolStrategy()
+    def poolStrat = newPoolStrategy()
 
     def loader1 = newClassLoader()
     def loaderHash1 = loader1.hashCode()
@@ -165,8 +165,8 @@ class CacheProviderTest extends Specification {
 
   def "test capacity"() {
     setup:
-    def poolStrat = new AgentCachingPoolStrategy()
-    def capacity = AgentCachingPoolStrategy.TYPE_CAPACITY
+    def capacity = AgentCachingPoolStrategy.MIN_TYPE_CAPACITY
+    def poolStrat = new AgentCachingPoolStrategy(AgentCachingPoolStrategy.LOADER_CAPACITY, capacity)
 
     def loader1 = newClassLoader()
     def loaderHash1 = loader1.hashCode()
@@ -187,10 +187,12 @@ class CacheProviderTest extends Specification {
       cacheProvider1.register("foo${id}", newVoid())
       cacheProvider2.register("foo${id}", newVoid())
     }
+    // evictions are otherwise applied asynchronously
+    poolStrat.sharedResolutionCache.cleanup()
 
     then:
-    // cache will start to proactively free slots & size calc is approximate
-    poolStrat.approximateSize() >= 0.75 * capacity
+    poolStrat.approximateSize() == capacity
+    poolStrat.evictionCount() == 0
 
     when:
     10.times {
@@ -198,10 +200,65 @@ class CacheProviderTest extends Specification {
       cacheProvider1.register("foo${id}", newVoid())
       cacheProvider2.register("foo${id}", newVoid())
     }
+    poolStrat.sharedResolutionCache.cleanup()
 
     then:
-    // cache will start to proactively free slots & size calc is approximate
-    poolStrat.approximateSize() > 0.8 * capacity
+    poolStrat.approximateSize() == capacity
+    poolStrat.evictionCount() == 20
+  }
+
+  def "replaced resolutions are not counted as evictions"() {
+    setup:
+    def poolStrat = newPoolStrategy()
+
+    def loader = newClassLoader()
+    def cacheProvider = poolStrat.createCacheProvider(loader.hashCode(), new WeakReference<ClassLoader>(loader))
+
+    when:
+    cacheProvider.register("foo", newVoid())
+    cacheProvider.register("foo", newVoid())
+    poolStrat.sharedResolutionCache.cleanup()
+
+    then:
+    poolStrat.approximateSize() == 1
+    poolStrat.evictionCount() == 0
+  }
+
+  def "test hit and miss counters"() {
+    setup:
+    def poolStrat = newPoolStrategy()
+
+    def loader = newClassLoader()
+    def cacheProvider = poolStrat.createCacheProvider(loader.hashCode(), new WeakReference<ClassLoader>(loader))
+
+    when:
+    cacheProvider.find("foo")
+    cacheProvider.register("foo", newVoid())
+    cacheProvider.find("foo")
+    cacheProvider.find("foo")
+
+    then:
+    poolStrat.missCount() == 1
+    poolStrat.hitCount() == 2
+    poolStrat.evictionCount() == 0
+  }
+
+  def "type capacity is derived from heap size and loaded classes"() {
+    expect:
+    AgentCachingPoolStrategy.computeTypeCapacity(maxHeap, loadedClasses) == capacity
+
+    where:
+    maxHeap                 | loadedClasses | capacity
+    8 * 1024 * 1024         | 0             | AgentCachingPoolStrategy.MIN_TYPE_CAPACITY
+    1024 * 1024 * 1024      | 0             | 1024 * AgentCachingPoolStrategy.TYPES_PER_HEAP_MB
+    1024 * 1024 * 1024      | 20_000        | 20_000
+    Long.MAX_VALUE          | 0             | AgentCachingPoolStrategy.MAX_TYPE_CAPACITY
+    8 * 1024 * 1024         | 1_000_000     | AgentCachingPoolStrategy.MAX_TYPE_CAPACITY
+  }
+
+  static newPoolStrategy() {
+    return new AgentCachingPoolStrategy(
+      AgentCachingPoolStrategy.LOADER_CAPACITY, AgentCachingPoolStrategy.MIN_TYPE_CAPACITY)
   }
 
   static newVoid() {
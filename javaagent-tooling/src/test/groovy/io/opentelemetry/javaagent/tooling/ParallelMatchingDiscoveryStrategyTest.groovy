@@ -0,0 +1,78 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling
+
+import static net.bytebuddy.matcher.ElementMatchers.named
+import static net.bytebuddy.matcher.ElementMatchers.none
+
+import java.lang.instrument.Instrumentation
+import net.bytebuddy.agent.builder.AgentBuilder
+import spock.lang.Specification
+
+class ParallelMatchingDiscoveryStrategyTest extends Specification {
+
+  def "classes are partitioned by class loader"() {
+    when:
+    def partitions = ParallelMatchingDiscoveryStrategy.partitionByClassLoader(
+      [String, ParallelMatchingDiscoveryStrategyTest, Integer, AgentInstaller])
+
+    then:
+    partitions == [[String, Integer], [ParallelMatchingDiscoveryStrategyTest, AgentInstaller]]
+  }
+
+  def "large partitions are split"() {
+    setup:
+    def classes = (1..600).collect { String }
+
+    when:
+    def partitions = ParallelMatchingDiscoveryStrategy.partitionByClassLoader(classes)
+
+    then:
+    partitions*.size() == [256, 256, 88]
+  }
+
+  def "only matching classes are retransformed"() {
+    setup:
+    def instrumentation = Mock(Instrumentation)
+    instrumentation.isModifiableClass(_) >> { Class<?> type -> type != Integer }
+    def delegate = Mock(AgentBuilder.RedefinitionStrategy.DiscoveryStrategy)
+    delegate.resolve(instrumentation) >> [[String, Integer, Runnable, AgentInstaller]]
+
+    def typeMatcher = Stub(AgentBuilder.RawMatcher)
+    typeMatcher.matches(_, _, _, _, _) >> { args -> args[0].name != "java.lang.Runnable" }
+    def strategy = new ParallelMatchingDiscoveryStrategy(delegate, none(), none(), [typeMatcher], 2)
+
+    when:
+    def batches = strategy.resolve(instrumentation).collect { it.toList() }
+
+    then:
+    batches == [[String, AgentInstaller]]
+  }
+
+  def "ignored classes are not matched"() {
+    setup:
+    def instrumentation = Mock(Instrumentation)
+    instrumentation.isModifiableClass(_) >> true
+    def delegate = Mock(AgentBuilder.RedefinitionStrategy.DiscoveryStrategy)
+    delegate.resolve(instrumentation) >> [[String, Integer], [AgentInstaller]]
+
+    def typeMatcher = Mock(AgentBuilder.RawMatcher)
+    def strategy = new ParallelMatchingDiscoveryStrategy(
+      delegate,
+      { it == AgentInstaller.classLoader },
+      named("java.lang.Integer"),
+      [typeMatcher],
+      2)
+
+    when:
+    def batches = strategy.resolve(instrumentation).collect { it.toList() }
+
+    then:
+    batches == [[String], []]
+    1 * typeMatcher.matches({ it.name == "java.lang.String" }, _, _, _, _) >> true
+    0 * typeMatcher.matches(_, _, _, _, _)
+  }
+}
@@ -8,7 +8,9 @@ package io.opentelemetry.javaagent.tooling
 import io.opentelemetry.instrumentation.test.utils.GcUtils
 import io.opentelemetry.javaagent.instrumentation.api.WeakMap
 import java.lang.ref.WeakReference
-import java.util.concurrent.TimeUnit
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
 import spock.lang.Shared
 import spock.lang.Specification
 
@@ -99,12 +101,11 @@ class WeakConcurrentSupplierTest extends Specification {
     GcUtils.awaitGc(keyRef)
 
     if (name == "WeakConcurrent") {
-      // Sleep enough time for cleanup thread to get scheduled.
-      // But on a very slow box (or high load) scheduling may not be exactly predictable
-      // so we try a few times.
+      // The cleaner thread removes the entry once the collected key is enqueued.
+      // But on a very slow box (or high load) this may take a while, so we try a few times.
       int count = 0
-      while (map.size() != 0 && count < 10) {
-        Thread.sleep(TimeUnit.SECONDS.toMillis(WeakMapSuppliers.WeakConcurrent.CLEAN_FREQUENCY_SECONDS))
+      while (map.size() != 0 && count < 50) {
+        Thread.sleep(100)
         count++
       }
     }
@@ -130,4 +131,57 @@ class WeakConcurrentSupplierTest extends Specification {
     // and in order to be able to test it we need to set concurrency to 1
     "Guava"          | guavaSupplier.get(1)
   }
+
+  def "computeIfAbsent on #name computes the value once per key"() {
+    setup:
+    def keys = (1..16).collect { new Object() }
+    def computations = new AtomicInteger()
+    def executor = Executors.newFixedThreadPool(8)
+
+    when:
+    def futures = (1..64).collect { i ->
+      executor.submit({
+        map.computeIfAbsent(keys[i % keys.size()], { key ->
+          computations.incrementAndGet()
+          return "value"
+        } as WeakMap.ValueSupplier)
+      } as Callable)
+    }
+    def values = futures*.get()
+    executor.shutdown()
+
+    then:
+    values.every { it == "value" }
+    computations.get() == keys.size()
+
+    where:
+    name             | map
+    "WeakConcurrent" | weakConcurrentSupplier.get()
+    "WeakInline"     | weakInlineSupplier.get()
+    "Guava"          | guavaSupplier.get()
+  }
+
+  def "Collected keys are expunged"() {
+    setup:
+    def map = new WeakKeyConcurrentMap()
+    def liveKey = new Object()
+    def key = new Object()
+    map.put(liveKey, "live")
+    map.put(key, "value")
+    map.put(key, "replaced")
+
+    when:
+    def keyRef = new WeakReference(key)
+    key = null
+    GcUtils.awaitGc(keyRef)
+    int count = 0
+    while (map.size() > 1 && count < 50) {
+      Thread.sleep(100)
+      count++
+    }
+
+    then:
+    map.size() == 1
+    map.get(liveKey) == "live"
+  }
 }
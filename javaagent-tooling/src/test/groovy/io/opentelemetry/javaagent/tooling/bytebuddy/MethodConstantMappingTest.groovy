@@ -0,0 +1,44 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy
+
+import static net.bytebuddy.matcher.ElementMatchers.named
+
+import java.util.concurrent.TimeUnit
+import net.bytebuddy.ByteBuddy
+import net.bytebuddy.asm.Advice
+import net.bytebuddy.description.type.TypeDescription
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy
+import spock.lang.Specification
+
+class MethodConstantMappingTest extends Specification {
+
+  def "binds constants computed from the instrumented method"() {
+    setup:
+    def mapping = Advice.withCustomMapping().bind(MethodConstantMapping.INSTANCE)
+    def type = new ByteBuddy()
+      .redefine(MethodConstantTestClasses.Traced)
+      .visit(mapping.to(MethodConstantTestClasses.SpanNameAdvice).on(named("spanName")))
+      .visit(mapping.to(MethodConstantTestClasses.UnitAdvice).on(named("unit")))
+      .make()
+      .load(new URLClassLoader([] as URL[], (ClassLoader) null), ClassLoadingStrategy.Default.CHILD_FIRST)
+      .getLoaded()
+    def traced = type.getConstructor().newInstance()
+
+    expect:
+    traced.spanName() == "Traced.spanName"
+    traced.unit() == TimeUnit.SECONDS
+  }
+
+  def "anonymous classes are named after their parent"() {
+    setup:
+    def anonymous = new MethodConstantTestClasses.Traced().anonymous().getClass()
+    def method = new TypeDescription.ForLoadedType(anonymous).getDeclaredMethods().filter(named("call")).getOnly()
+
+    expect:
+    SpanNameForMethod.spanNameForMethod(method) == "MethodConstantTestClasses\$Traced\$1.call"
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy
+
+import static net.bytebuddy.matcher.ElementMatchers.any
+
+import java.nio.file.Files
+import java.security.CodeSource
+import java.security.ProtectionDomain
+import java.security.cert.Certificate
+import java.util.concurrent.Executor
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+import net.bytebuddy.description.type.TypeDescription
+import net.bytebuddy.matcher.ElementMatcher
+import spock.lang.Specification
+
+class PersistentTypeCacheTest extends Specification {
+
+  static final Executor DIRECT = { it.run() } as Executor
+
+  def "verdicts are reused after restart"() {
+    setup:
+    def cacheDir = Files.createTempDirectory("type-cache")
+    def cacheFile = cacheDir.resolve("type-cache.bin")
+    def library = jar("library-", "library")
+    def loader = classLoader(library)
+    def typeMatcher = Mock(ElementMatcher)
+
+    when:
+    def cache = new PersistentTypeCache(cacheFile, "1.0", DIRECT)
+    def matcher = cache.cachingMatcher("instrumentation", typeMatcher, any())
+    def first = matcher.matches(TypeDescription.VOID, loader, null, null, domain(library))
+    def second = matcher.matches(TypeDescription.VOID, loader, null, null, domain(library))
+    cache.save()
+
+    then:
+    1 * typeMatcher.matches(TypeDescription.VOID) >> true
+    first
+    second
+
+    when:
+    def restartedCache = new PersistentTypeCache(cacheFile, "1.0", DIRECT)
+    restartedCache.load()
+    def restartedMatcher = restartedCache.cachingMatcher("instrumentation", typeMatcher, any())
+
+    then:
+    restartedMatcher.matches(TypeDescription.VOID, loader, null, null, domain(library))
+    0 * typeMatcher.matches(_)
+  }
+
+  def "upgrading a dependency jar discards the verdicts of the class loader"() {
+    setup:
+    def cacheFile = Files.createTempDirectory("type-cache").resolve("type-cache.bin")
+    def application = jar("application-", "application")
+    def dependency = jar("dependency-", "1.0")
+    def typeMatcher = Mock(ElementMatcher)
+
+    when:
+    def cache = new PersistentTypeCache(cacheFile, "1.0", DIRECT)
+    cache.cachingMatcher("instrumentation", typeMatcher, any())
+      .matches(TypeDescription.VOID, classLoader(application, dependency), null, null,
+        domain(application))
+    cache.save()
+
+    // only the jar of a super type changed, not the one of the matched class
+    dependency.text = "2.0"
+    def restartedCache = new PersistentTypeCache(cacheFile, "1.0", DIRECT)
+    restartedCache.load()
+    restartedCache.cachingMatcher("instrumentation", typeMatcher, any())
+      .matches(TypeDescription.VOID, classLoader(application, dependency), null, null,
+        domain(application))
+
+    then:
+    2 * typeMatcher.matches(TypeDescription.VOID) >> true
+  }
+
+  def "classes are matched until the fingerprint is computed"() {
+    setup:
+    def cacheFile = Files.createTempDirectory("type-cache").resolve("type-cache.bin")
+    def library = jar("library-", "library")
+    def loader = classLoader(library)
+    def tasks = []
+    def typeMatcher = Mock(ElementMatcher)
+    def cache = new PersistentTypeCache(cacheFile, "1.0", { tasks.add(it) } as Executor)
+    def matcher = cache.cachingMatcher("instrumentation", typeMatcher, any())
+
+    when:
+    matcher.matches(TypeDescription.VOID, loader, null, null, domain(library))
+    matcher.matches(TypeDescription.VOID, loader, null, null, domain(library))
+
+    then:
+    2 * typeMatcher.matches(TypeDescription.VOID) >> true
+    tasks.size() == 1
+
+    when:
+    tasks.each { it.run() }
+    matcher.matches(TypeDescription.VOID, loader, null, null, domain(library))
+    matcher.matches(TypeDescription.VOID, loader, null, null, domain(library))
+
+    then:
+    1 * typeMatcher.matches(TypeDescription.VOID) >> true
+  }
+
+  def "cache written by a different agent version is discarded"() {
+    setup:
+    def cacheFile = Files.createTempDirectory("type-cache").resolve("type-cache.bin")
+    def library = jar("library-", "library")
+    def loader = classLoader(library)
+    def typeMatcher = Mock(ElementMatcher)
+
+    when:
+    def cache = new PersistentTypeCache(cacheFile, "1.0", DIRECT)
+    cache.cachingMatcher("instrumentation", typeMatcher, any())
+      .matches(TypeDescription.VOID, loader, null, null, domain(library))
+    cache.save()
+
+    def upgradedCache = new PersistentTypeCache(cacheFile, "2.0", DIRECT)
+    upgradedCache.load()
+    upgradedCache.cachingMatcher("instrumentation", typeMatcher, any())
+      .matches(TypeDescription.VOID, loader, null, null, domain(library))
+
+    then:
+    2 * typeMatcher.matches(TypeDescription.VOID) >> false
+  }
+
+  def "classes of class paths with directories are not cached"() {
+    setup:
+    def cacheFile = Files.createTempDirectory("type-cache").resolve("type-cache.bin")
+    def library = jar("library-", "library")
+    def loader = classLoader(library, Files.createTempDirectory("classes").toFile())
+    def typeMatcher = Mock(ElementMatcher)
+    def matcher = new PersistentTypeCache(cacheFile, "1.0", DIRECT)
+      .cachingMatcher("instrumentation", typeMatcher, any())
+
+    when:
+    matcher.matches(TypeDescription.VOID, loader, null, null, domain(library))
+    matcher.matches(TypeDescription.VOID, loader, null, null, domain(library))
+
+    then:
+    2 * typeMatcher.matches(TypeDescription.VOID) >> true
+  }
+
+  def "classes generated at runtime are not cached"() {
+    setup:
+    def cacheFile = Files.createTempDirectory("type-cache").resolve("type-cache.bin")
+    def library = jar("library-", "library")
+    def loader = classLoader(library)
+    def typeMatcher = Mock(ElementMatcher)
+    def cache = new PersistentTypeCache(cacheFile, "1.0", DIRECT)
+    def matcher = cache.cachingMatcher("instrumentation", typeMatcher, any())
+
+    // CGLIB proxies usually have the code source of the class they are generated for
+    def proxy = new TypeDescription.Latent(
+      'com.example.Library$$EnhancerByCGLIB$$1', 0, TypeDescription.Generic.OBJECT)
+
+    when:
+    // JDK proxies have no code source
+    [null, domain(null), domain(jar("other-", "other"))].each {
+      matcher.matches(TypeDescription.VOID, loader, null, null, it)
+      matcher.matches(TypeDescription.VOID, loader, null, null, it)
+    }
+    matcher.matches(proxy, loader, null, null, domain(library))
+    matcher.matches(proxy, loader, null, null, domain(library))
+    cache.save()
+    def restartedCache = new PersistentTypeCache(cacheFile, "1.0", DIRECT)
+    restartedCache.load()
+
+    then:
+    6 * typeMatcher.matches(TypeDescription.VOID) >> true
+    2 * typeMatcher.matches(proxy) >> true
+    restartedCache.verdictsByClassPath.values().every { it.isEmpty() }
+  }
+
+  def "bootstrap classes of the JVM are cached"() {
+    setup:
+    def cacheFile = Files.createTempDirectory("type-cache").resolve("type-cache.bin")
+    def typeMatcher = Mock(ElementMatcher)
+    def matcher = new PersistentTypeCache(cacheFile, "1.0", DIRECT)
+      .cachingMatcher("instrumentation", typeMatcher, any())
+    def type = TypeDescription.ForLoadedType.of(Object)
+
+    when:
+    matcher.matches(type, null, null, null, null)
+    matcher.matches(type, null, null, null, null)
+
+    then:
+    1 * typeMatcher.matches(type) >> true
+  }
+
+  // a jar that contains the class file of TypeDescription.VOID
+  static File jar(String prefix, String content) {
+    def file = File.createTempFile(prefix, ".jar")
+    new JarOutputStream(new FileOutputStream(file)).withCloseable { out ->
+      out.putNextEntry(new JarEntry("void.class"))
+      out.write(content.bytes)
+    }
+    return file
+  }
+
+  static ProtectionDomain domain(File codeSource) {
+    def location = codeSource == null ? null : codeSource.toURI().toURL()
+    return new ProtectionDomain(new CodeSource(location, (Certificate[]) null), null)
+  }
+
+  static ClassLoader classLoader(File... classPath) {
+    return new URLClassLoader(classPath.collect { it.toURI().toURL() } as URL[], (ClassLoader) null)
+  }
+}
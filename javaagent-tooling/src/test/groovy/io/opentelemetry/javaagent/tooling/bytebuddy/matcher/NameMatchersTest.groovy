@@ -49,4 +49,29 @@ class NameMatchersTest extends Specification {
     "bar"     | false
     "missing" | true
   }
+
+  def "test nameMatches"() {
+    setup:
+    def named = Mock(NamedElement)
+    named.getActualName() >> { name }
+    def rules = NameTrie.<Boolean> builder()
+      .prefix("com.example.", true)
+      .prefix("com.example.internal.", false)
+      .name("com.example.Excluded", false)
+      .build()
+    def matcher = NameMatchers.nameMatches(rules)
+
+    when:
+    def result = matcher.matches(named)
+
+    then:
+    result == expected
+
+    where:
+    name                         | expected
+    "com.example.Foo"            | true
+    "com.example.internal.Foo"   | false
+    "com.example.Excluded"       | false
+    "org.example.Foo"            | false
+  }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy.matcher
+
+import spock.lang.Specification
+
+class NameTrieTest extends Specification {
+
+  def "most specific rule wins"() {
+    setup:
+    def trie = NameTrie.<Boolean> builder()
+      .prefix("java.", true)
+      .prefix("java.util.concurrent.", false)
+      .name("java.util.concurrent.Unsafe", true)
+      .name("java.net.URL", false)
+      .prefix("org.codehaus.groovy.", true)
+      .prefix("org.codehaus.groovy.runtime.", false)
+      .build()
+
+    expect:
+    trie.get(name) == expected
+
+    where:
+    name                                        | expected
+    "java.lang.String"                          | true
+    "java.util.concurrent.Executors"            | false
+    "java.util.concurrent.Unsafe"               | true
+    "java.util.concurrent.Unsafe\$Inner"        | false
+    "java.net.URL"                              | false
+    "java.net.URLConnection"                    | true
+    "java.util.concurrent"                      | true
+    "org.codehaus.groovy.ast.ClassNode"         | true
+    "org.codehaus.groovy.runtime.InvokerHelper" | false
+    "org.codehaus"                              | null
+    "org.springframework.Foo"                   | null
+    "java"                                      | null
+    ""                                          | null
+  }
+
+  def "empty prefix applies to all names"() {
+    setup:
+    def trie = NameTrie.<String> builder()
+      .prefix("", "all")
+      .prefix("com.", "com")
+      .build()
+
+    expect:
+    trie.get("") == "all"
+    trie.get("org.Foo") == "all"
+    trie.get("com.Foo") == "com"
+  }
+
+  def "later rules replace earlier ones"() {
+    setup:
+    def trie = NameTrie.<Boolean> builder()
+      .prefix("com.example.", true)
+      .prefix("com.example.", false)
+      .build()
+
+    expect:
+    trie.get("com.example.Foo") == false
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.bytebuddy;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+
+public class MethodConstantTestClasses {
+
+  public static class Traced {
+    public String spanName() {
+      return null;
+    }
+
+    public TimeUnit unit() {
+      return null;
+    }
+
+    public Callable<String> anonymous() {
+      return new Callable<String>() {
+        @Override
+        public String call() {
+          return null;
+        }
+      };
+    }
+  }
+
+  public static class SpanNameAdvice {
+    @Advice.OnMethodExit
+    public static void onExit(
+        @MethodConstant(SpanNameForMethod.class) String spanName,
+        @Advice.Return(readOnly = false) String result) {
+      result = spanName;
+    }
+  }
+
+  public static class UnitAdvice {
+    @Advice.OnMethodExit
+    public static void onExit(
+        @MethodConstant(UnitResolver.class) TimeUnit unit,
+        @Advice.Return(readOnly = false) TimeUnit result) {
+      result = unit;
+    }
+  }
+
+  public static class UnitResolver implements MethodConstant.Resolver {
+    @Override
+    public Object resolve(MethodDescription method) {
+      return TimeUnit.SECONDS;
+    }
+  }
+}
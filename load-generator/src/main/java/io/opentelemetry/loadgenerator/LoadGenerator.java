@@ -5,14 +5,23 @@
 
 package io.opentelemetry.loadgenerator;
 
-import com.google.common.util.concurrent.RateLimiter;
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
@@ -24,7 +33,25 @@ public class LoadGenerator implements Callable<Integer> {
 
   private static final Tracer tracer = GlobalOpenTelemetry.getTracer("test");
 
-  @Option(names = "--rate", required = true, description = "rate, per second, to generate traces")
+  enum Mode {
+    /** Traces are started at the given rate, regardless of how long they take. */
+    OPEN,
+    /** Every thread starts a trace as soon as its previous one ended. */
+    CLOSED
+  }
+
+  @Option(
+      names = "--mode",
+      defaultValue = "OPEN",
+      description =
+          "OPEN to generate traces at --rate, CLOSED to generate them as fast as the threads can,"
+              + " which finds the maximum sustainable throughput (default: ${DEFAULT-VALUE})")
+  private Mode mode;
+
+  @Option(
+      names = "--rate",
+      defaultValue = "0",
+      description = "rate, per second, to generate traces, required in OPEN mode")
   private int rate;
 
   @Option(
@@ -45,27 +72,89 @@ public class LoadGenerator implements Callable<Integer> {
       description = "Total spans deep per trace, including parent (default: ${DEFAULT-VALUE})")
   private int depth;
 
+  @Option(
+      names = "--attributes",
+      defaultValue = "0",
+      description = "Number of string attributes per span (default: ${DEFAULT-VALUE})")
+  private int attributes;
+
+  @Option(
+      names = "--attribute-length",
+      defaultValue = "16",
+      description = "Length of the attribute values (default: ${DEFAULT-VALUE})")
+  private int attributeLength;
+
+  @Option(
+      names = "--events",
+      defaultValue = "0",
+      description = "Number of events per span (default: ${DEFAULT-VALUE})")
+  private int events;
+
+  @Option(
+      names = "--event-attributes",
+      defaultValue = "0",
+      description = "Number of string attributes per event (default: ${DEFAULT-VALUE})")
+  private int eventAttributes;
+
   @Option(
       names = "--warmup",
       defaultValue = "5",
-      description = "Time, in seconds, to ramp up to target rate (default: ${DEFAULT-VALUE})")
+      description =
+          "Time, in seconds, to generate traces before the statistics are collected"
+              + " (default: ${DEFAULT-VALUE})")
   private int warmupPeriod;
 
+  @Option(
+      names = "--duration",
+      defaultValue = "0",
+      description =
+          "Time, in seconds, to generate traces after the warmup, 0 to run until stopped"
+              + " (default: ${DEFAULT-VALUE})")
+  private int duration;
+
   @Option(
       names = "--print-interval",
       defaultValue = "20",
       description = "Interval, in seconds, to print statistics (default: ${DEFAULT-VALUE})")
   private int printInterval;
 
-  private RateLimiter rateLimiter;
+  @Option(
+      names = "--output-format",
+      defaultValue = "TEXT",
+      description = "TEXT, CSV or JSON, one object per line (default: ${DEFAULT-VALUE})")
+  private Reporter.Format outputFormat;
+
+  @Option(names = "--output", description = "File to print the statistics to, instead of stdout")
+  private File output;
+
+  // in OPEN mode, trace n is scheduled to start at scheduleStart + n * scheduleIntervalNanos
+  private long scheduleStart;
+  private long scheduleIntervalNanos;
+  private final AtomicLong tracesScheduled = new AtomicLong();
   private final AtomicLong tracesSent = new AtomicLong();
 
+  // all in nanoseconds; in OPEN mode the trace latency is measured from the scheduled start, so
+  // that it isn't subject to coordinated omission
+  private final Recorder traceLatency = new Recorder(3);
+  private final Recorder spanStartLatency = new Recorder(3);
+  private final Recorder spanEndLatency = new Recorder(3);
+
+  private Attributes spanAttributes;
+  private Attributes eventAttributesValue;
+
   @Override
   public Integer call() throws Exception {
-    rateLimiter = RateLimiter.create(rate, warmupPeriod, TimeUnit.SECONDS);
+    if (mode == Mode.OPEN && rate <= 0) {
+      System.err.println("--rate is required in OPEN mode");
+      return 1;
+    }
+    spanAttributes = attributes(attributes);
+    eventAttributesValue = attributes(eventAttributes);
 
-    long intervalStart = System.currentTimeMillis();
-    long tracesAtLastReport = 0;
+    if (mode == Mode.OPEN) {
+      scheduleIntervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+      scheduleStart = System.nanoTime();
+    }
 
     for (int i = 0; i < threads; i++) {
       Thread workerThread = new Thread(new Worker(), "Worker-" + i);
@@ -73,59 +162,141 @@ public class LoadGenerator implements Callable<Integer> {
       workerThread.start();
     }
 
-    while (true) {
-      Thread.sleep(printInterval * 1000);
+    try (Reporter reporter = Reporter.create(outputFormat, output)) {
+      Thread.sleep(TimeUnit.SECONDS.toMillis(warmupPeriod));
+      // discard the warmup
+      Map<String, Histogram> totals = intervalHistograms();
+      totals.values().forEach(Histogram::reset);
+
+      long start = System.nanoTime();
+      long end = duration > 0 ? start + TimeUnit.SECONDS.toNanos(duration) : Long.MAX_VALUE;
+      long intervalStart = start;
+      long tracesAtStart = tracesSent.get();
+      long tracesAtLastReport = tracesAtStart;
 
-      long currentTracesSent = tracesSent.get();
-      long intervalEnd = System.currentTimeMillis();
+      for (long now = start; now < end; ) {
+        long sleepNanos = Math.min(TimeUnit.SECONDS.toNanos(printInterval), end - now);
+        TimeUnit.NANOSECONDS.sleep(sleepNanos);
 
-      double currentRate =
-          (currentTracesSent - tracesAtLastReport) / ((intervalEnd - intervalStart) / 1000d);
+        long currentTracesSent = tracesSent.get();
+        Map<String, Histogram> intervalHistograms = intervalHistograms();
+        now = System.nanoTime();
+
+        reporter.report(
+            "interval",
+            (now - start) / 1e9,
+            currentTracesSent - tracesAtStart,
+            (currentTracesSent - tracesAtLastReport) / ((now - intervalStart) / 1e9),
+            intervalHistograms);
+        for (Map.Entry<String, Histogram> entry : intervalHistograms.entrySet()) {
+          totals.get(entry.getKey()).add(entry.getValue());
+        }
+        intervalStart = now;
+        tracesAtLastReport = currentTracesSent;
+      }
 
-      System.out.println(
-          "Total Traces Sent: " + currentTracesSent + ", Rate this interval: " + currentRate);
-      intervalStart = System.currentTimeMillis();
-      tracesAtLastReport = currentTracesSent;
+      reporter.report(
+          "summary",
+          (intervalStart - start) / 1e9,
+          tracesAtLastReport - tracesAtStart,
+          (tracesAtLastReport - tracesAtStart) / ((intervalStart - start) / 1e9),
+          totals);
     }
+    return 0;
   }
 
   public static void main(String[] args) {
-    int exitCode = new CommandLine(new LoadGenerator()).execute(args);
+    int exitCode =
+        new CommandLine(new LoadGenerator())
+            .setCaseInsensitiveEnumValuesAllowed(true)
+            .execute(args);
     System.exit(exitCode);
   }
 
+  private Map<String, Histogram> intervalHistograms() {
+    Map<String, Histogram> histograms = new LinkedHashMap<>();
+    histograms.put("trace", traceLatency.getIntervalHistogram());
+    histograms.put("spanStart", spanStartLatency.getIntervalHistogram());
+    histograms.put("spanEnd", spanEndLatency.getIntervalHistogram());
+    return histograms;
+  }
+
+  private Attributes attributes(int count) {
+    char[] value = new char[attributeLength];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (char) ('a' + i % 26);
+    }
+    AttributesBuilder builder = Attributes.builder();
+    for (int i = 0; i < count; i++) {
+      builder.put(AttributeKey.stringKey("attribute-" + i), new String(value));
+    }
+    return builder.build();
+  }
+
   private class Worker implements Runnable {
 
     @Override
     public void run() {
 
       while (true) {
-        rateLimiter.acquire();
-        Span parent = tracer.spanBuilder("parentSpan").startSpan();
+        long traceStart = scheduleIntervalNanos > 0 ? awaitScheduledStart() : System.nanoTime();
+        Span parent = startSpan(tracer.spanBuilder("parentSpan"));
 
         try (Scope scope = parent.makeCurrent()) {
           for (int i = 0; i < width; i++) {
-            Span widthSpan = tracer.spanBuilder("span-" + i).startSpan();
+            Span widthSpan = startSpan(tracer.spanBuilder("span-" + i));
             try (Scope widthScope = widthSpan.makeCurrent()) {
               for (int j = 0; j < depth - 2; j++) {
-                Span depthSpan = tracer.spanBuilder("span-" + i + "-" + j).startSpan();
+                Span depthSpan = startSpan(tracer.spanBuilder("span-" + i + "-" + j));
                 try (Scope depthScope = depthSpan.makeCurrent()) {
                   // do nothing.  Maybe sleep? but that will mean we need more threads to keep the
                   // effective rate
                 } finally {
-                  depthSpan.end();
+                  endSpan(depthSpan);
                 }
               }
             } finally {
-              widthSpan.end();
+              endSpan(widthSpan);
             }
           }
         } finally {
-          parent.end();
+          endSpan(parent);
         }
 
+        traceLatency.recordValue(System.nanoTime() - traceStart);
         tracesSent.getAndIncrement();
       }
     }
+
+    /**
+     * Waits until the next scheduled trace is due and returns its scheduled start. A trace that is
+     * started late, because the previous ones took too long, includes the delay in its latency.
+     */
+    private long awaitScheduledStart() {
+      long scheduledStart =
+          scheduleStart + tracesScheduled.getAndIncrement() * scheduleIntervalNanos;
+      for (long delay = scheduledStart - System.nanoTime();
+          delay > 0;
+          delay = scheduledStart - System.nanoTime()) {
+        LockSupport.parkNanos(delay);
+      }
+      return scheduledStart;
+    }
+
+    private Span startSpan(SpanBuilder spanBuilder) {
+      long start = System.nanoTime();
+      Span span = spanBuilder.setAllAttributes(spanAttributes).startSpan();
+      for (int i = 0; i < events; i++) {
+        span.addEvent("event", eventAttributesValue);
+      }
+      spanStartLatency.recordValue(System.nanoTime() - start);
+      return span;
+    }
+
+    private void endSpan(Span span) {
+      long start = System.nanoTime();
+      span.end();
+      spanEndLatency.recordValue(System.nanoTime() - start);
+    }
   }
 }
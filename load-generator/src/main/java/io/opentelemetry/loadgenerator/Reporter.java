@@ -0,0 +1,190 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.loadgenerator;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/** Prints the statistics of the {@link LoadGenerator}, with latencies in microseconds. */
+final class Reporter implements Closeable {
+
+  enum Format {
+    TEXT,
+    CSV,
+    JSON
+  }
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+  private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+  private final Format format;
+  private final PrintWriter out;
+  private final boolean closeOut;
+  private boolean headerPrinted;
+
+  private Reporter(Format format, PrintWriter out, boolean closeOut) {
+    this.format = format;
+    this.out = out;
+    this.closeOut = closeOut;
+  }
+
+  static Reporter create(Format format, File output) throws IOException {
+    if (output == null) {
+      PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, UTF_8));
+      return new Reporter(format, out, false);
+    }
+    PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(output), UTF_8));
+    return new Reporter(format, out, true);
+  }
+
+  /**
+   * Prints one line of statistics.
+   *
+   * @param type {@code interval} for the statistics since the last report, {@code summary} for
+   *     those of the whole run
+   */
+  void report(
+      String type,
+      double elapsedSeconds,
+      long traces,
+      double tracesPerSecond,
+      Map<String, Histogram> latencies) {
+    switch (format) {
+      case CSV:
+        printCsv(type, elapsedSeconds, traces, tracesPerSecond, latencies);
+        break;
+      case JSON:
+        printJson(type, elapsedSeconds, traces, tracesPerSecond, latencies);
+        break;
+      default:
+        printText(type, traces, tracesPerSecond, latencies);
+    }
+    out.flush();
+  }
+
+  private void printText(
+      String type, long traces, double tracesPerSecond, Map<String, Histogram> latencies) {
+    StringBuilder line = new StringBuilder();
+    line.append("summary".equals(type) ? "Summary - " : "")
+        .append("Total Traces Sent: ")
+        .append(traces)
+        .append(", Rate: ")
+        .append(format(tracesPerSecond));
+    for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+      Histogram histogram = entry.getValue();
+      line.append(", ").append(entry.getKey()).append(" latency us");
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        line.append(i == 0 ? " " : "/").append(PERCENTILE_NAMES[i]);
+      }
+      line.append("/max:");
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        line.append(i == 0 ? " " : "/").append(format(percentile(histogram, PERCENTILES[i])));
+      }
+      line.append('/').append(format(micros(histogram.getMaxValue())));
+    }
+    out.println(line);
+  }
+
+  private void printCsv(
+      String type,
+      double elapsedSeconds,
+      long traces,
+      double tracesPerSecond,
+      Map<String, Histogram> latencies) {
+    if (!headerPrinted) {
+      StringBuilder header = new StringBuilder("type,elapsedSeconds,traces,tracesPerSecond");
+      for (String name : latencies.keySet()) {
+        header.append(',').append(name).append("Count");
+        for (String percentile : PERCENTILE_NAMES) {
+          header.append(',').append(name).append('_').append(percentile).append("Micros");
+        }
+        header.append(',').append(name).append("_maxMicros");
+      }
+      out.println(header);
+      headerPrinted = true;
+    }
+    StringBuilder line = new StringBuilder(type);
+    line.append(',')
+        .append(format(elapsedSeconds))
+        .append(',')
+        .append(traces)
+        .append(',')
+        .append(format(tracesPerSecond));
+    for (Histogram histogram : latencies.values()) {
+      line.append(',').append(histogram.getTotalCount());
+      for (double percentile : PERCENTILES) {
+        line.append(',').append(format(percentile(histogram, percentile)));
+      }
+      line.append(',').append(format(micros(histogram.getMaxValue())));
+    }
+    out.println(line);
+  }
+
+  private void printJson(
+      String type,
+      double elapsedSeconds,
+      long traces,
+      double tracesPerSecond,
+      Map<String, Histogram> latencies) {
+    StringBuilder line = new StringBuilder("{\"type\":\"");
+    line.append(type)
+        .append("\",\"elapsedSeconds\":")
+        .append(format(elapsedSeconds))
+        .append(",\"traces\":")
+        .append(traces)
+        .append(",\"tracesPerSecond\":")
+        .append(format(tracesPerSecond));
+    for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+      Histogram histogram = entry.getValue();
+      line.append(",\"")
+          .append(entry.getKey())
+          .append("LatencyMicros\":{\"count\":")
+          .append(histogram.getTotalCount());
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        line.append(",\"")
+            .append(PERCENTILE_NAMES[i])
+            .append("\":")
+            .append(format(percentile(histogram, PERCENTILES[i])));
+      }
+      line.append(",\"max\":").append(format(micros(histogram.getMaxValue()))).append('}');
+    }
+    out.println(line.append('}'));
+  }
+
+  private static double percentile(Histogram histogram, double percentile) {
+    return micros(histogram.getValueAtPercentile(percentile));
+  }
+
+  private static double micros(long nanos) {
+    return nanos / 1000d;
+  }
+
+  // not locale dependent, which would break the CSV and JSON output
+  private static String format(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return "0";
+    }
+    return String.format(Locale.ROOT, "%.3f", value);
+  }
+
+  @Override
+  public void close() {
+    if (closeOut) {
+      out.close();
+    } else {
+      out.flush();
+    }
+  }
+}